@@ -73,6 +73,7 @@ import static com.oracle.js.parser.TokenType.XML;
 import java.math.BigInteger;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Function;
 
 // @formatter:off
 /**
@@ -117,6 +118,9 @@ public class Lexer extends Scanner {
     /** Map to intern strings during parsing (memory footprint). */
     private final Map<String, String> internedStrings;
 
+    /** Shared string table consulted for strings not yet interned by this parse, or null. */
+    final Function<String, String> stringInterner;
+
     private static final String JAVASCRIPT_WHITESPACE_HIGH =
         "\u1680" + // Ogham space mark
         "\u2000" + // en quad
@@ -182,6 +186,25 @@ public class Lexer extends Scanner {
      * avoid reading ahead unnecessarily when we skip the function bodies.
      */
     public Lexer(final Source source, final int start, final int len, final TokenStream stream, final boolean scripting, final boolean es6, final boolean shebang, final boolean pauseOnFunctionBody) {
+        this(source, start, len, stream, scripting, es6, shebang, pauseOnFunctionBody, null);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param source    the source
+     * @param start     start position in source from which to start lexing
+     * @param len       length of source segment to lex
+     * @param stream    token stream to lex
+     * @param scripting are we in scripting mode
+     * @param es6       are we in ECMAScript 6 mode
+     * @param shebang   do we support shebang
+     * @param pauseOnFunctionBody if true, lexer will return from {@link #lexify()} when it encounters a
+     * function body.
+     * @param stringInterner shared string table for identifiers and string literals, or null
+     */
+    public Lexer(final Source source, final int start, final int len, final TokenStream stream, final boolean scripting, final boolean es6, final boolean shebang, final boolean pauseOnFunctionBody,
+                    final Function<String, String> stringInterner) {
         super(source.getContent().toString().toCharArray(), 1, start, len);
         this.source      = source;
         this.stream      = stream;
@@ -194,6 +217,7 @@ public class Lexer extends Scanner {
 
         this.pauseOnFunctionBody = pauseOnFunctionBody;
         this.internedStrings = new HashMap<>();
+        this.stringInterner = stringInterner;
     }
 
     private Lexer(final Lexer lexer, final State state) {
@@ -211,6 +235,7 @@ public class Lexer extends Scanner {
         last = EOL;
         pauseOnFunctionBody = false;
         internedStrings = lexer.internedStrings;
+        stringInterner = lexer.stringInterner;
     }
 
     static class State extends Scanner.State {
@@ -2053,8 +2078,12 @@ public class Lexer extends Scanner {
     }
 
     public String stringIntern(String candidate) {
-        String interned = internedStrings.putIfAbsent(candidate, candidate);
-        return interned == null ? candidate : interned;
+        String interned = internedStrings.get(candidate);
+        if (interned == null) {
+            interned = stringInterner == null ? candidate : stringInterner.apply(candidate);
+            internedStrings.put(interned, interned);
+        }
+        return interned;
     }
 
     /**
@@ -344,7 +344,7 @@ public class Parser extends AbstractParser {
      */
     private void prepareLexer(final int startPos, final int len) {
         stream = new TokenStream();
-        lexer  = new Lexer(source, startPos, len, stream, scripting && env.syntaxExtensions, isES6(), shebang && env.syntaxExtensions, reparsedFunction != null);
+        lexer  = new Lexer(source, startPos, len, stream, scripting && env.syntaxExtensions, isES6(), shebang && env.syntaxExtensions, reparsedFunction != null, env.stringInterner);
         lexer.line = lexer.pendingLine = lineOffset + 1;
         line = lineOffset;
     }
@@ -441,7 +441,7 @@ public class Parser extends AbstractParser {
     public void parseFormalParameterList() {
         try {
             stream = new TokenStream();
-            lexer  = new Lexer(source, stream, scripting && env.syntaxExtensions, isES6(), shebang && env.syntaxExtensions);
+            lexer  = new Lexer(source, 0, source.getLength(), stream, scripting && env.syntaxExtensions, isES6(), shebang && env.syntaxExtensions, false, env.stringInterner);
 
             scanFirstToken();
 
@@ -462,7 +462,7 @@ public class Parser extends AbstractParser {
     public FunctionNode parseFunctionBody(boolean generator, boolean async) {
         try {
             stream = new TokenStream();
-            lexer  = new Lexer(source, stream, scripting && env.syntaxExtensions, isES6(), shebang && env.syntaxExtensions);
+            lexer  = new Lexer(source, 0, source.getLength(), stream, scripting && env.syntaxExtensions, isES6(), shebang && env.syntaxExtensions, false, env.stringInterner);
             final int functionLine = line;
 
             scanFirstToken();
@@ -4691,7 +4691,7 @@ loop:
         }
 
         Lexer createLexer(final Source source, final Lexer lexer, final TokenStream stream, final boolean scripting, final boolean es6, final boolean shebang) {
-            final Lexer newLexer = new Lexer(source, position, lexer.limit - position, stream, scripting, es6, shebang, true);
+            final Lexer newLexer = new Lexer(source, position, lexer.limit - position, stream, scripting, es6, shebang, true, lexer.stringInterner);
             newLexer.restoreState(new Lexer.State(position, Integer.MAX_VALUE, line, -1, linePosition, SEMICOLON));
             return newLexer;
         }
@@ -42,6 +42,7 @@
 package com.oracle.js.parser;
 
 import java.io.PrintWriter;
+import java.util.function.Function;
 
 /**
  * Parser environment consists of command line options, and output and error writers, etc.
@@ -107,8 +108,11 @@ public final class ScriptEnvironment {
     /** is this environment in strict mode? */
     final boolean strict;
 
+    /** Shared table for interning identifiers and string literals across parses, or null. */
+    final Function<String, String> stringInterner;
+
     private ScriptEnvironment(boolean strict, int ecmaScriptVersion, boolean earlyLvalueError, boolean emptyStatements, boolean syntaxExtensions, boolean scripting, boolean shebang,
-                    boolean constAsVar, FunctionStatementBehavior functionStatementBehavior, PrintWriter dumpOnError) {
+                    boolean constAsVar, FunctionStatementBehavior functionStatementBehavior, PrintWriter dumpOnError, Function<String, String> stringInterner) {
         this.namespace = new Namespace();
         this.err = dumpOnError;
 
@@ -122,6 +126,7 @@ public final class ScriptEnvironment {
         this.scripting = scripting;
         this.shebang = shebang;
         this.ecmaScriptVersion = ecmaScriptVersion;
+        this.stringInterner = stringInterner;
     }
 
     /**
@@ -162,6 +167,7 @@ public final class ScriptEnvironment {
         private boolean strict;
         private FunctionStatementBehavior functionStatementBehavior = FunctionStatementBehavior.ERROR;
         private PrintWriter dumpOnError;
+        private Function<String, String> stringInterner;
 
         private Builder() {
         }
@@ -216,9 +222,14 @@ public final class ScriptEnvironment {
             return this;
         }
 
+        public Builder stringInterner(Function<String, String> stringInterner) {
+            this.stringInterner = stringInterner;
+            return this;
+        }
+
         public ScriptEnvironment build() {
             return new ScriptEnvironment(strict, ecmaScriptVersion, earlyLvalueError, emptyStatements, syntaxExtensions, scripting, shebang, constAsVar,
-                            functionStatementBehavior, dumpOnError);
+                            functionStatementBehavior, dumpOnError, stringInterner);
         }
     }
 }
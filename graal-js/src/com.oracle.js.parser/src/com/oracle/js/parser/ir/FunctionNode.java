@@ -459,6 +459,16 @@ public final class FunctionNode extends LexicalContextExpression implements Flag
         return getFlag(HAS_EVAL);
     }
 
+    /**
+     * Check if this function or any of its nested functions calls {@code eval}, i.e., if any of the
+     * variables of this function might be accessed by eval code.
+     *
+     * @return true if {@code eval} is called by this function or a nested function.
+     */
+    public boolean hasDeepEval() {
+        return getFlag(HAS_DEEP_EVAL);
+    }
+
     /**
      * Get the first token for this function
      * @return the first token
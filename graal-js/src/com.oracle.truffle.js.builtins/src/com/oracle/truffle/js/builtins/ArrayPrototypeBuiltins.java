@@ -149,9 +149,11 @@ import com.oracle.truffle.js.runtime.array.SparseArray;
 import com.oracle.truffle.js.runtime.array.TypedArray;
 import com.oracle.truffle.js.runtime.array.dyn.AbstractDoubleArray;
 import com.oracle.truffle.js.runtime.array.dyn.AbstractIntArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractObjectArray;
 import com.oracle.truffle.js.runtime.array.dyn.ConstantByteArray;
 import com.oracle.truffle.js.runtime.array.dyn.ConstantDoubleArray;
 import com.oracle.truffle.js.runtime.array.dyn.ConstantIntArray;
+import com.oracle.truffle.js.runtime.array.dyn.ConstantObjectArray;
 import com.oracle.truffle.js.runtime.builtins.BuiltinEnum;
 import com.oracle.truffle.js.runtime.builtins.JSArray;
 import com.oracle.truffle.js.runtime.builtins.JSArrayBuffer;
@@ -350,8 +352,7 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
                     errorBranch.enter();
                     throw Errors.createTypeErrorDetachedBuffer();
                 }
-                TypedArray typedArray = typedArrayTypeProfile.profile(JSArrayBufferView.typedArrayGetArrayType(dynObj));
-                return typedArray.length(dynObj);
+                return getTypedArrayType(dynObj).length(dynObj);
             } else {
                 if (getLengthNode == null) {
                     CompilerDirectives.transferToInterpreterAndInvalidate();
@@ -361,6 +362,11 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
             }
         }
 
+        protected final TypedArray getTypedArrayType(DynamicObject view) {
+            assert isTypedArrayImplementation;
+            return typedArrayTypeProfile.profile(JSArrayBufferView.typedArrayGetArrayType(view));
+        }
+
         protected final boolean isCallable(Object callback) {
             if (isCallableNode == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
@@ -1355,6 +1361,7 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
 
         private final BranchProfile arrayWithContentBranch = BranchProfile.create();
         private final BranchProfile fromConversionBranch = BranchProfile.create();
+        private final ConditionProfile typedArrayNumberSearch = ConditionProfile.createBinaryProfile();
 
         public JSArrayIndexOfNode(JSContext context, JSBuiltin builtin, boolean isTypedArrayImplementation, boolean isForward) {
             super(context, builtin, isTypedArrayImplementation);
@@ -1377,6 +1384,12 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
             if (fromIndexValue < 0) {
                 return -1;
             }
+            if (isTypedArrayImplementation && typedArrayNumberSearch.profile(JSRuntime.isNumber(searchElement) &&
+                            !JSArrayBufferView.hasDetachedBuffer((DynamicObject) thisJSObject, getContext()))) {
+                DynamicObject view = (DynamicObject) thisJSObject;
+                boolean condition = JSArrayBufferView.isJSArrayBufferView(view);
+                return getTypedArrayType(view).indexOfNumber(view, JSRuntime.doubleValue((Number) searchElement), (int) fromIndexValue, isForward(), false, condition);
+            }
             return forEachIndexCall(thisJSObject, Undefined.instance, searchElement, fromIndexValue, len, -1);
         }
 
@@ -1446,6 +1459,9 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
         private final ConditionProfile isOne = ConditionProfile.createBinaryProfile();
         private final ConditionProfile isTwo = ConditionProfile.createBinaryProfile();
         private final ConditionProfile isSparse = ConditionProfile.createBinaryProfile();
+        private final ConditionProfile isDense = ConditionProfile.createBinaryProfile();
+        private final ConditionProfile hasObjectElements = ConditionProfile.createBinaryProfile();
+        private final ValueProfile arrayTypeProfile = ValueProfile.createClassProfile();
         private final BranchProfile growProfile = BranchProfile.create();
         private final BranchProfile sbAppendProfile = BranchProfile.create();
 
@@ -1465,6 +1481,14 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
             } else if (isOne.profile(length == 1)) {
                 return joinOne(thisJSObject);
             } else {
+                if (isDense.profile(isDenseFastArray(thisJSObject, length))) {
+                    DynamicObject array = (DynamicObject) thisJSObject;
+                    String result = joinDenseFastArray(array, arrayTypeProfile.profile(arrayGetArrayType(array)), (int) length, joinSeparator);
+                    // arrays with objects are joined element-wise, but the fast path stays enabled
+                    if (!hasObjectElements.profile(result == null)) {
+                        return result;
+                    }
+                }
                 final boolean appendSep = separatorNotEmpty.profile(joinSeparator.length() > 0);
                 if (isTwo.profile(length == 2)) {
                     return joinTwo(thisJSObject, joinSeparator, appendSep);
@@ -1476,6 +1500,219 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
             }
         }
 
+        /**
+         * Returns true for fast arrays without holes whose strategy holds numbers or arbitrary
+         * values. Such arrays have no accessors and no holes that would be looked up in the
+         * prototype chain, so their elements can be joined in a single pass.
+         */
+        private boolean isDenseFastArray(TruffleObject thisObj, long length) {
+            if (isTypedArrayImplementation || !JSArray.isJSFastArray(thisObj) || length > Integer.MAX_VALUE) {
+                return false;
+            }
+            DynamicObject array = (DynamicObject) thisObj;
+            ScriptArray arrayType = arrayTypeProfile.profile(arrayGetArrayType(array));
+            if (!(arrayType instanceof AbstractIntArray || arrayType instanceof AbstractDoubleArray || arrayType instanceof AbstractObjectArray || arrayType instanceof ConstantIntArray ||
+                            arrayType instanceof ConstantByteArray || arrayType instanceof ConstantDoubleArray || arrayType instanceof ConstantObjectArray)) {
+                return false;
+            }
+            return !arrayType.hasHoles(array) && arrayType.firstElementIndex(array) == 0 && arrayType.lastElementIndex(array) == length - 1;
+        }
+
+        /**
+         * Joins the elements of a dense fast array directly from its backing store into a buffer of
+         * the exact result length. Returns null if any element is an object or a value whose
+         * conversion could have side effects or throw, so that the caller can fall back to the
+         * generic loop.
+         */
+        @TruffleBoundary
+        private static String joinDenseFastArray(DynamicObject array, ScriptArray arrayType, int length, String joinSeparator) {
+            boolean condition = JSArray.isJSArray(array);
+            if (arrayType instanceof AbstractIntArray) {
+                return joinInts(AbstractIntArray.getArray(array, condition), ((AbstractIntArray) arrayType).getArrayOffset(array, condition), length, joinSeparator);
+            } else if (arrayType instanceof ConstantIntArray) {
+                return joinInts(ConstantIntArray.getArray(array, condition), 0, length, joinSeparator);
+            } else if (arrayType instanceof ConstantByteArray) {
+                return joinBytes(ConstantByteArray.getArray(array, condition), length, joinSeparator);
+            } else if (arrayType instanceof AbstractDoubleArray) {
+                return joinDoubles(AbstractDoubleArray.getArray(array, condition), ((AbstractDoubleArray) arrayType).getArrayOffset(array, condition), length, joinSeparator);
+            } else if (arrayType instanceof ConstantDoubleArray) {
+                return joinDoubles(ConstantDoubleArray.getArray(array, condition), 0, length, joinSeparator);
+            } else if (arrayType instanceof AbstractObjectArray) {
+                return joinObjects(AbstractObjectArray.getArray(array, condition), ((AbstractObjectArray) arrayType).getArrayOffset(array, condition), length, joinSeparator);
+            } else {
+                assert arrayType instanceof ConstantObjectArray;
+                return joinObjects(ConstantObjectArray.getArray(array, condition), 0, length, joinSeparator);
+            }
+        }
+
+        private static String joinInts(int[] elements, int offset, int length, String joinSeparator) {
+            long resultLength = (long) (length - 1) * joinSeparator.length();
+            for (int i = 0; i < length; i++) {
+                resultLength += formattedLength(elements[offset + i]);
+            }
+            char[] buffer = allocateResult(resultLength);
+            int pos = 0;
+            for (int i = 0; i < length; i++) {
+                if (i != 0) {
+                    pos = appendString(joinSeparator, buffer, pos);
+                }
+                pos = appendLong(elements[offset + i], buffer, pos);
+            }
+            assert pos == buffer.length;
+            return new String(buffer);
+        }
+
+        private static String joinBytes(byte[] elements, int length, String joinSeparator) {
+            long resultLength = (long) (length - 1) * joinSeparator.length();
+            for (int i = 0; i < length; i++) {
+                resultLength += formattedLength(elements[i]);
+            }
+            char[] buffer = allocateResult(resultLength);
+            int pos = 0;
+            for (int i = 0; i < length; i++) {
+                if (i != 0) {
+                    pos = appendString(joinSeparator, buffer, pos);
+                }
+                pos = appendLong(elements[i], buffer, pos);
+            }
+            assert pos == buffer.length;
+            return new String(buffer);
+        }
+
+        /**
+         * Integral doubles are formatted in place; only the other values are converted to strings,
+         * which are kept until the buffer is filled.
+         */
+        private static String joinDoubles(double[] elements, int offset, int length, String joinSeparator) {
+            long resultLength = (long) (length - 1) * joinSeparator.length();
+            String[] strings = null;
+            for (int i = 0; i < length; i++) {
+                double value = elements[offset + i];
+                if (isFormattableAsLong(value)) {
+                    resultLength += formattedLength((long) value);
+                } else {
+                    if (strings == null) {
+                        strings = new String[length];
+                    }
+                    strings[i] = JSRuntime.doubleToString(value);
+                    resultLength += strings[i].length();
+                }
+            }
+            char[] buffer = allocateResult(resultLength);
+            int pos = 0;
+            for (int i = 0; i < length; i++) {
+                if (i != 0) {
+                    pos = appendString(joinSeparator, buffer, pos);
+                }
+                if (strings != null && strings[i] != null) {
+                    pos = appendString(strings[i], buffer, pos);
+                } else {
+                    pos = appendLong((long) elements[offset + i], buffer, pos);
+                }
+            }
+            assert pos == buffer.length;
+            return new String(buffer);
+        }
+
+        /**
+         * Checks all elements before converting any of them, so that arrays holding objects are
+         * left to the generic loop without doing any conversion work first.
+         */
+        private static String joinObjects(Object[] elements, int offset, int length, String joinSeparator) {
+            for (int i = 0; i < length; i++) {
+                if (!isJoinablePrimitive(elements[offset + i])) {
+                    return null;
+                }
+            }
+            long resultLength = (long) (length - 1) * joinSeparator.length();
+            String[] strings = null;
+            for (int i = 0; i < length; i++) {
+                Object value = elements[offset + i];
+                if (value instanceof Integer) {
+                    resultLength += formattedLength((int) value);
+                } else if (value instanceof Double && isFormattableAsLong((double) value)) {
+                    resultLength += formattedLength((long) (double) value);
+                } else if (value instanceof String) {
+                    resultLength += ((String) value).length();
+                } else {
+                    if (strings == null) {
+                        strings = new String[length];
+                    }
+                    strings[i] = value == Undefined.instance || value == Null.instance ? "" : JSRuntime.toString(value);
+                    resultLength += strings[i].length();
+                }
+            }
+            char[] buffer = allocateResult(resultLength);
+            int pos = 0;
+            for (int i = 0; i < length; i++) {
+                if (i != 0) {
+                    pos = appendString(joinSeparator, buffer, pos);
+                }
+                Object value = elements[offset + i];
+                if (value instanceof Integer) {
+                    pos = appendLong((int) value, buffer, pos);
+                } else if (value instanceof Double && isFormattableAsLong((double) value)) {
+                    pos = appendLong((long) (double) value, buffer, pos);
+                } else if (value instanceof String) {
+                    pos = appendString((String) value, buffer, pos);
+                } else {
+                    pos = appendString(strings[i], buffer, pos);
+                }
+            }
+            assert pos == buffer.length;
+            return new String(buffer);
+        }
+
+        private static boolean isJoinablePrimitive(Object value) {
+            return JSRuntime.isString(value) || JSRuntime.isNumber(value) || value instanceof Boolean || value == Undefined.instance || value == Null.instance;
+        }
+
+        private static char[] allocateResult(long resultLength) {
+            if (resultLength > JSTruffleOptions.StringLengthLimit) {
+                throw Errors.createRangeErrorInvalidStringLength();
+            }
+            return new char[(int) resultLength];
+        }
+
+        private static int appendString(String string, char[] buffer, int pos) {
+            string.getChars(0, string.length(), buffer, pos);
+            return pos + string.length();
+        }
+
+        private static int appendLong(long value, char[] buffer, int pos) {
+            int end = pos + formattedLength(value);
+            formatLong(value, buffer, end);
+            return end;
+        }
+
+        private static boolean isFormattableAsLong(double value) {
+            // -0 is formatted as "0", just like the long value it is converted to
+            return value == (long) value && Math.abs(value) <= JSRuntime.MAX_SAFE_INTEGER;
+        }
+
+        private static int formattedLength(long value) {
+            int length = value < 0 ? 2 : 1;
+            for (long rest = Math.abs(value) / 10; rest != 0; rest /= 10) {
+                length++;
+            }
+            return length;
+        }
+
+        /**
+         * Writes the decimal digits of the value into the buffer, ending before {@code end}.
+         */
+        private static void formatLong(long value, char[] buffer, int end) {
+            int pos = end;
+            long rest = Math.abs(value);
+            do {
+                buffer[--pos] = (char) ('0' + rest % 10);
+                rest /= 10;
+            } while (rest != 0);
+            if (value < 0) {
+                buffer[--pos] = '-';
+            }
+        }
+
         private JSToStringNode getSeparatorToString() {
             if (separatorToStringNode == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
@@ -2746,6 +2983,15 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
             }
             long count = Math.min(finalIdx - from, len - to);
 
+            if (isTypedArrayImplementation) {
+                DynamicObject view = (DynamicObject) obj;
+                checkHasDetachedBuffer(view);
+                if (count > 0) {
+                    getTypedArrayType(view).copyWithin(view, (int) to, (int) from, (int) count, JSArrayBufferView.isJSArrayBufferView(view));
+                }
+                return obj;
+            }
+
             long direction;
             if (from < to && to < (from + count)) {
                 direction = -1;
@@ -2772,6 +3018,7 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
     }
 
     public abstract static class JSArrayIncludesNode extends JSArrayOperationWithToInt {
+        private final ConditionProfile typedArrayNumberSearch = ConditionProfile.createBinaryProfile();
 
         public JSArrayIncludesNode(JSContext context, JSBuiltin builtin, boolean isTypedArrayImplementation) {
             super(context, builtin, isTypedArrayImplementation);
@@ -2801,6 +3048,16 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
                 return true;
             }
 
+            if (isTypedArrayImplementation && typedArrayNumberSearch.profile(JSRuntime.isNumber(searchElement) &&
+                            !JSArrayBufferView.hasDetachedBuffer((DynamicObject) thisJSObj, getContext()))) {
+                if (k >= len) {
+                    return false;
+                }
+                DynamicObject view = (DynamicObject) thisJSObj;
+                boolean condition = JSArrayBufferView.isJSArrayBufferView(view);
+                return getTypedArrayType(view).indexOfNumber(view, JSRuntime.doubleValue((Number) searchElement), (int) k, true, true, condition) >= 0;
+            }
+
             while (k < len) {
                 Object currentElement = read(thisObj, k);
 
@@ -41,7 +41,6 @@
 package com.oracle.truffle.js.builtins;
 
 import java.nio.ByteBuffer;
-import java.util.List;
 import java.util.function.BinaryOperator;
 import java.util.function.IntBinaryOperator;
 
@@ -67,7 +66,6 @@ import com.oracle.truffle.js.nodes.cast.JSToNumberNode;
 import com.oracle.truffle.js.nodes.function.JSBuiltin;
 import com.oracle.truffle.js.nodes.function.JSBuiltinNode;
 import com.oracle.truffle.js.runtime.BigInt;
-import com.oracle.truffle.js.runtime.Boundaries;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSAgentWaiterList.JSAgentWaiterListEntry;
 import com.oracle.truffle.js.runtime.JSContext;
@@ -831,12 +829,11 @@ public final class AtomicsBuiltins extends JSBuiltinsContainer.SwitchEnum<Atomic
 
             SharedMemorySync.enterCriticalSection(getContext(), wl);
             try {
-                List<Integer> waiters = SharedMemorySync.removeWaiters(getContext(), wl, c);
-                int n = 0;
-                while (n < waiters.size()) {
-                    SharedMemorySync.wakeWaiter(getContext(), Boundaries.listGet(waiters, n++), wl);
+                int[] waiters = SharedMemorySync.removeWaiters(getContext(), wl, i, c);
+                for (int w : waiters) {
+                    SharedMemorySync.wakeWaiter(getContext(), w, wl);
                 }
-                return n;
+                return waiters.length;
 
             } finally {
                 SharedMemorySync.leaveCriticalSection(getContext(), wl);
@@ -896,15 +893,12 @@ public final class AtomicsBuiltins extends JSBuiltinsContainer.SwitchEnum<Atomic
                     return NOT_EQUAL;
                 }
                 int id = getContext().getJSAgent().getSignifier();
-                SharedMemorySync.addWaiter(getContext(), wl, id);
-                if (t < 0) {
-                    return TIMED_OUT;
-                }
-                boolean awoken = SharedMemorySync.suspendAgent(getContext(), wl, id, t);
-                SharedMemorySync.removeWaiter(getContext(), wl, id);
+                SharedMemorySync.addWaiter(getContext(), wl, i, id);
+                boolean awoken = SharedMemorySync.suspendAgent(getContext(), wl, i, id, t);
                 if (awoken) {
                     return OK;
                 } else {
+                    SharedMemorySync.removeWaiter(getContext(), wl, i, id);
                     return TIMED_OUT;
                 }
             } finally {
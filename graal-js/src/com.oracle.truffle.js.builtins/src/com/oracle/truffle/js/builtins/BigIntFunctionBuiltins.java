@@ -108,7 +108,9 @@ public final class BigIntFunctionBuiltins extends JSBuiltinsContainer.SwitchEnum
 
             long bits = toIndexNode.executeLong(bitsObj);
             BigInt bigint = toBigIntNode.executeBigInteger(bigIntObj);
-            if (bits > JSRuntime.MAX_BIG_INT_EXPONENT) {
+            if (bits <= 64) {
+                return bigint.asUintN((int) bits);
+            } else if (bits > JSRuntime.MAX_BIG_INT_EXPONENT) {
                 if (bigint.signum() >= 0) {
                     return bigint;
                 } else {
@@ -133,7 +135,9 @@ public final class BigIntFunctionBuiltins extends JSBuiltinsContainer.SwitchEnum
 
             long bits = toIndexNode.executeLong(bitsObj);
             BigInt bigint = toBigIntNode.executeBigInteger(bigIntObj);
-            if (bits > JSRuntime.MAX_BIG_INT_EXPONENT) {
+            if (bits <= 64) {
+                return bigint.asIntN((int) bits);
+            } else if (bits > JSRuntime.MAX_BIG_INT_EXPONENT) {
                 return bigint;
             }
             BigInt twoPowBits = BigInt.TWO.pow((int) bits);
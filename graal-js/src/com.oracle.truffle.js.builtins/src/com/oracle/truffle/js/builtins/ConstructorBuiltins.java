@@ -44,6 +44,8 @@ import static com.oracle.truffle.js.runtime.JSTruffleOptions.ECMAScript2017;
 import static com.oracle.truffle.js.runtime.JSTruffleOptions.ECMAScript2018;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.Map;
 import java.util.StringJoiner;
@@ -55,6 +57,7 @@ import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.TruffleLanguage;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Fallback;
 import com.oracle.truffle.api.dsl.ImportStatic;
@@ -197,6 +200,7 @@ import com.oracle.truffle.js.runtime.objects.JSLazyString;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.DirectByteBufferHelper;
 import com.oracle.truffle.js.runtime.util.JSClassProfile;
 import com.oracle.truffle.js.runtime.util.SimpleArrayList;
 import com.oracle.truffle.js.runtime.util.TRegexUtil;
@@ -1456,7 +1460,7 @@ public final class ConstructorBuiltins extends JSBuiltinsContainer.SwitchEnum<Co
             }
         }
 
-        @Specialization(guards = "!isByteBuffer(length)")
+        @Specialization(guards = {"!isByteBuffer(length)", "!isHostByteBuffer(length)"})
         protected DynamicObject constructFromLength(DynamicObject newTarget, Object length,
                         @Cached("create()") JSToIndexNode toIndexNode) {
             long byteLength = toIndexNode.executeLong(length);
@@ -1493,6 +1497,48 @@ public final class ConstructorBuiltins extends JSBuiltinsContainer.SwitchEnum<Co
             return swapPrototype(JSArrayBuffer.createArrayBuffer(getContext(), byteBuffer.array()), newTarget);
         }
 
+        /**
+         * With {@code js.map-file}, wraps the remaining bytes of a {@link ByteBuffer} passed in
+         * from the host (e.g. a {@link java.nio.MappedByteBuffer} from {@code FileChannel.map}).
+         */
+        @Specialization(guards = "isHostByteBuffer(buffer)")
+        protected DynamicObject constructFromHostByteBuffer(DynamicObject newTarget, TruffleObject buffer) {
+            return swapPrototype(wrapByteBuffer((ByteBuffer) getContext().getRealm().getEnv().asHostObject(buffer)), newTarget);
+        }
+
+        protected final boolean isHostByteBuffer(Object buffer) {
+            if (JSTruffleOptions.SubstrateVM || !(buffer instanceof TruffleObject) || !getContext().getContextOptions().isMapFile()) {
+                return false;
+            }
+            TruffleLanguage.Env env = getContext().getRealm().getEnv();
+            return env.isHostObject(buffer) && env.asHostObject(buffer) instanceof ByteBuffer;
+        }
+
+        /**
+         * A direct buffer is shared, from its position to its limit. The bytes of a heap buffer are
+         * shared only if the buffer spans its whole array, and copied otherwise.
+         */
+        @TruffleBoundary
+        private DynamicObject wrapByteBuffer(ByteBuffer byteBuffer) {
+            if (byteBuffer.isReadOnly()) {
+                throw Errors.createTypeError("Cannot create an ArrayBuffer from a read-only ByteBuffer");
+            }
+            if (byteBuffer.remaining() > JSTruffleOptions.MaxTypedArrayLength) {
+                throw Errors.createRangeError("Array buffer allocation failed");
+            }
+            if (byteBuffer.isDirect()) {
+                assert DirectByteBufferHelper.isExactDirectByteBuffer(byteBuffer);
+                return JSArrayBuffer.createDirectArrayBuffer(getContext(), byteBuffer.slice().order(ByteOrder.nativeOrder()));
+            }
+            byte[] array = byteBuffer.array();
+            int from = byteBuffer.arrayOffset() + byteBuffer.position();
+            int to = byteBuffer.arrayOffset() + byteBuffer.limit();
+            if (from == 0 && to == array.length) {
+                return JSArrayBuffer.createArrayBuffer(getContext(), array);
+            }
+            return JSArrayBuffer.createArrayBuffer(getContext(), Arrays.copyOfRange(array, from, to));
+        }
+
         @Override
         protected DynamicObject getIntrinsicDefaultProto(JSRealm realm) {
             return (useShared ? realm.getSharedArrayBufferConstructor() : realm.getArrayBufferConstructor()).getPrototype();
@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2018, 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.builtins;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.OpenOption;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumSet;
+import java.util.Set;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.js.builtins.GraalBuiltinsFactory.GraalMapFileNodeGen;
+import com.oracle.truffle.js.builtins.GraalBuiltinsFactory.GraalUnmapFileNodeGen;
+import com.oracle.truffle.js.nodes.function.JSBuiltin;
+import com.oracle.truffle.js.nodes.function.JSBuiltinNode;
+import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSRealm;
+import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.JSTruffleOptions;
+import com.oracle.truffle.js.runtime.builtins.JSArray;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBuffer;
+import com.oracle.truffle.js.runtime.objects.JSAttributes;
+import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.DirectByteBufferHelper;
+
+/**
+ * Functions of the {@code Graal} object that are only available with the {@code js.map-file}
+ * option: memory-mapping (parts of) files into direct ArrayBuffers.
+ */
+public final class GraalBuiltins extends JSBuiltinsContainer.Lambda {
+
+    /** Largest page-aligned segment that still fits into a single ArrayBuffer. */
+    static final long DEFAULT_SEGMENT_SIZE = JSTruffleOptions.MaxTypedArrayLength & ~0xfffL;
+
+    public GraalBuiltins() {
+        super(JSRealm.GRAAL_CLASS_NAME);
+        defineFunction("mapFile", 2, JSAttributes.getDefault(), (context, builtin) -> GraalMapFileNodeGen.create(context, builtin, false, args().fixedArgs(2).createArgumentNodes(context)));
+        defineFunction("mapFileSegments", 2, JSAttributes.getDefault(),
+                        (context, builtin) -> GraalMapFileNodeGen.create(context, builtin, true, args().fixedArgs(2).createArgumentNodes(context)));
+        defineFunction("unmapFile", 1, JSAttributes.getDefault(), (context, builtin) -> GraalUnmapFileNodeGen.create(context, builtin, args().fixedArgs(1).createArgumentNodes(context)));
+    }
+
+    /**
+     * {@code mapFile(path, options)} returns an ArrayBuffer backed by a {@link MappedByteBuffer};
+     * {@code mapFileSegments(path, options)} returns an array of consecutive, non-overlapping
+     * ArrayBuffers of at most {@code segmentSize} bytes each, which allows files larger than the
+     * maximum ArrayBuffer length to be mapped.
+     *
+     * Recognized options are {@code writable} (default {@code false}), {@code offset} (default 0),
+     * {@code length} (default: rest of the file) and, for segments, {@code segmentSize}. Non-writable
+     * mappings only need read access to the file and are read-only: stores from JavaScript throw a
+     * TypeError.
+     */
+    public abstract static class GraalMapFileNode extends JSBuiltinNode {
+        private final boolean segmented;
+
+        public GraalMapFileNode(JSContext context, JSBuiltin builtin, boolean segmented) {
+            super(context, builtin);
+            this.segmented = segmented;
+        }
+
+        @Specialization
+        protected Object mapFile(Object path, Object options) {
+            return mapFileImpl(path, options);
+        }
+
+        @TruffleBoundary
+        private Object mapFileImpl(Object path, Object options) {
+            Object file = GlobalBuiltins.getFileFromArgument(path, getContext().getRealm().getEnv());
+            boolean writable = JSRuntime.toBoolean(getOption(options, "writable"));
+            Object offsetOption = getOption(options, "offset");
+            Object lengthOption = getOption(options, "length");
+            Object segmentSizeOption = getOption(options, "segmentSize");
+            long offset = offsetOption == Undefined.instance ? 0 : JSRuntime.toInteger(offsetOption);
+            long segmentSize = segmentSizeOption == Undefined.instance ? DEFAULT_SEGMENT_SIZE : JSRuntime.toInteger(segmentSizeOption);
+            if (offset < 0) {
+                throw Errors.createRangeError("Invalid offset");
+            }
+            if (segmentSize <= 0 || segmentSize > JSTruffleOptions.MaxTypedArrayLength) {
+                throw Errors.createRangeError("Invalid segment size");
+            }
+
+            try (FileChannel channel = openChannel(file, writable)) {
+                long size = channel.size();
+                if (offset > size) {
+                    throw Errors.createRangeError("Offset is outside the bounds of the file");
+                }
+                long length = lengthOption == Undefined.instance ? size - offset : JSRuntime.toInteger(lengthOption);
+                if (length < 0 || offset + length > size) {
+                    throw Errors.createRangeError("Invalid length");
+                }
+                MapMode mode = writable ? MapMode.READ_WRITE : MapMode.READ_ONLY;
+                if (!segmented) {
+                    if (length > JSTruffleOptions.MaxTypedArrayLength) {
+                        throw Errors.createRangeError("File region too large for a single ArrayBuffer, use mapFileSegments");
+                    }
+                    return map(channel, mode, offset, length);
+                }
+                int count = (int) ((length + segmentSize - 1) / segmentSize);
+                Object[] segments = new Object[count];
+                for (int i = 0; i < count; i++) {
+                    long segmentOffset = offset + i * segmentSize;
+                    segments[i] = map(channel, mode, segmentOffset, Math.min(segmentSize, offset + length - segmentOffset));
+                }
+                return JSArray.createConstant(getContext(), segments);
+            } catch (IOException | SecurityException | UnsupportedOperationException e) {
+                throw Errors.createErrorFromException(e);
+            }
+        }
+
+        private static FileChannel openChannel(Object file, boolean writable) throws IOException {
+            Set<OpenOption> openOptions = writable ? EnumSet.of(StandardOpenOption.READ, StandardOpenOption.WRITE) : EnumSet.of(StandardOpenOption.READ);
+            if (file instanceof TruffleFile) {
+                SeekableByteChannel channel = ((TruffleFile) file).newByteChannel(openOptions);
+                if (!(channel instanceof FileChannel)) {
+                    channel.close();
+                    throw Errors.createTypeError("File system does not support memory-mapped files");
+                }
+                return (FileChannel) channel;
+            } else {
+                return FileChannel.open(((File) file).toPath(), openOptions);
+            }
+        }
+
+        private DynamicObject map(FileChannel channel, MapMode mode, long offset, long length) throws IOException {
+            ByteBuffer buffer = channel.map(mode, offset, length).order(ByteOrder.nativeOrder());
+            assert DirectByteBufferHelper.isDirectByteBuffer(buffer);
+            return JSArrayBuffer.createDirectArrayBuffer(getContext(), buffer);
+        }
+
+        private static Object getOption(Object options, String name) {
+            if (JSObject.isJSObject(options)) {
+                return JSObject.get((DynamicObject) options, name);
+            }
+            return Undefined.instance;
+        }
+    }
+
+    /**
+     * {@code unmapFile(buffer)} flushes the changes of a writable mapping to the file and detaches
+     * the ArrayBuffer, so that all views on it observe a length of 0. The mapping itself is released
+     * once the buffer has been garbage collected, so no stale view can ever access unmapped memory.
+     */
+    public abstract static class GraalUnmapFileNode extends JSBuiltinNode {
+
+        public GraalUnmapFileNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization
+        protected Object unmapFile(Object buffer) {
+            unmapFileImpl(buffer);
+            return Undefined.instance;
+        }
+
+        @TruffleBoundary
+        private static void unmapFileImpl(Object buffer) {
+            if (!JSArrayBuffer.isJSDirectArrayBuffer(buffer)) {
+                throw Errors.createTypeError("Not a memory-mapped ArrayBuffer");
+            }
+            DynamicObject arrayBuffer = (DynamicObject) buffer;
+            if (JSArrayBuffer.isDetachedBuffer(arrayBuffer)) {
+                return;
+            }
+            ByteBuffer byteBuffer = JSArrayBuffer.getDirectByteBuffer(arrayBuffer);
+            if (!(byteBuffer instanceof MappedByteBuffer)) {
+                throw Errors.createTypeError("Not a memory-mapped ArrayBuffer");
+            }
+            if (!byteBuffer.isReadOnly()) {
+                ((MappedByteBuffer) byteBuffer).force();
+            }
+            JSArrayBuffer.detachArrayBuffer(arrayBuffer);
+        }
+    }
+}
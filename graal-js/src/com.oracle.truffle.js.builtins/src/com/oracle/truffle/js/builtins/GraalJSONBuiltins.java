@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2018, 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.builtins;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleLanguage;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.HiddenKey;
+import com.oracle.truffle.js.builtins.GraalJSONBuiltinsFactory.GraalJSONElementIteratorNextNodeGen;
+import com.oracle.truffle.js.builtins.GraalJSONBuiltinsFactory.GraalParseJSONElementsNodeGen;
+import com.oracle.truffle.js.builtins.GraalJSONBuiltinsFactory.GraalParseJSONNodeGen;
+import com.oracle.truffle.js.builtins.helper.TruffleJSONStreamParser;
+import com.oracle.truffle.js.nodes.access.CreateIterResultObjectNode;
+import com.oracle.truffle.js.nodes.function.JSBuiltin;
+import com.oracle.truffle.js.nodes.function.JSBuiltinNode;
+import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSRealm;
+import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.JSTruffleOptions;
+import com.oracle.truffle.js.runtime.builtins.JSAbstractBuffer;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBuffer;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
+import com.oracle.truffle.js.runtime.builtins.JSDataView;
+import com.oracle.truffle.js.runtime.builtins.JSUserObject;
+import com.oracle.truffle.js.runtime.objects.JSAttributes;
+import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.Undefined;
+
+/**
+ * JSON parsing functions of the {@code Graal} object that read their input incrementally. The
+ * source can be a string, an ArrayBuffer, a typed array or DataView (e.g. a Node.js Buffer)
+ * containing UTF-8, or a host {@link Reader}, {@link InputStream} (UTF-8) or {@link ByteBuffer}
+ * (UTF-8). Host readers and streams are closed once parsing ends or fails.
+ */
+public final class GraalJSONBuiltins extends JSBuiltinsContainer.Lambda {
+
+    static final HiddenKey PARSER_ID = new HiddenKey("JSONStreamParser");
+
+    public GraalJSONBuiltins() {
+        super(JSRealm.GRAAL_JSON_CLASS_NAME);
+        defineFunction("parseJSON", 1, JSAttributes.getDefault(), (context, builtin) -> GraalParseJSONNodeGen.create(context, builtin, args().fixedArgs(1).createArgumentNodes(context)));
+        defineFunction("parseJSONElements", 1, JSAttributes.getDefault(),
+                        (context, builtin) -> GraalParseJSONElementsNodeGen.create(context, builtin, args().fixedArgs(1).createArgumentNodes(context)));
+    }
+
+    /**
+     * Functions of the iterators returned by {@code parseJSONElements}, installed on their prototype
+     * ({@link JSRealm#getGraalJSONElementIteratorPrototype()}).
+     */
+    public static final class ElementIterator extends JSBuiltinsContainer.Lambda {
+        public ElementIterator() {
+            super(JSRealm.GRAAL_JSON_ELEMENT_ITERATOR_CLASS_NAME);
+            defineFunction("next", 0, JSAttributes.getDefault(),
+                            (context, builtin) -> GraalJSONElementIteratorNextNodeGen.create(context, builtin, args().withThis().fixedArgs(0).createArgumentNodes(context)));
+        }
+    }
+
+    @TruffleBoundary
+    static Reader createReader(JSContext context, Object source) {
+        if (JSRuntime.isString(source)) {
+            return new StringReader(source.toString());
+        } else if (JSAbstractBuffer.isJSAbstractBuffer(source)) {
+            DynamicObject arrayBuffer = (DynamicObject) source;
+            return createReader(arrayBuffer, 0, -1);
+        } else if (JSArrayBufferView.isJSArrayBufferView(source)) {
+            DynamicObject view = (DynamicObject) source;
+            return createReader(JSArrayBufferView.getArrayBuffer(view), JSArrayBufferView.getByteOffset(view, true, context),
+                            JSArrayBufferView.getByteLength(view, true, context));
+        } else if (JSDataView.isJSDataView(source)) {
+            DynamicObject view = (DynamicObject) source;
+            return createReader(JSDataView.getArrayBuffer(view), JSDataView.typedArrayGetOffset(view), JSDataView.typedArrayGetLength(view));
+        } else if (!JSTruffleOptions.SubstrateVM) {
+            TruffleLanguage.Env env = context.getRealm().getEnv();
+            Object hostObject = env.isHostObject(source) ? env.asHostObject(source) : null;
+            if (hostObject instanceof Reader) {
+                return (Reader) hostObject;
+            } else if (hostObject instanceof InputStream) {
+                return new InputStreamReader((InputStream) hostObject, StandardCharsets.UTF_8);
+            } else if (hostObject instanceof ByteBuffer) {
+                return TruffleJSONStreamParser.createUTF8Reader((ByteBuffer) hostObject);
+            }
+        }
+        throw Errors.createTypeError("JSON source must be a string, a buffer or a Reader");
+    }
+
+    private static Reader createReader(DynamicObject arrayBuffer, int byteOffset, int byteLength) {
+        if (JSArrayBuffer.isDetachedBuffer(arrayBuffer)) {
+            throw Errors.createTypeErrorDetachedBuffer();
+        }
+        ByteBuffer buffer;
+        if (JSAbstractBuffer.isJSAbstractHeapBuffer(arrayBuffer)) {
+            buffer = ByteBuffer.wrap(JSAbstractBuffer.getByteArray(arrayBuffer));
+        } else {
+            buffer = JSArrayBuffer.getDirectByteBuffer(arrayBuffer).duplicate();
+        }
+        buffer.position(byteOffset);
+        if (byteLength >= 0) {
+            buffer.limit(byteOffset + byteLength);
+        }
+        return TruffleJSONStreamParser.createUTF8Reader(buffer);
+    }
+
+    /**
+     * {@code parseJSON(source)} parses a complete JSON text without materializing the source as a
+     * string first.
+     */
+    public abstract static class GraalParseJSONNode extends JSBuiltinNode {
+
+        public GraalParseJSONNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization
+        protected Object parseJSON(Object source) {
+            return parseJSONIntl(source);
+        }
+
+        @TruffleBoundary(transferToInterpreterOnException = false)
+        private Object parseJSONIntl(Object source) {
+            return new TruffleJSONStreamParser(getContext()).parse(createReader(getContext(), source));
+        }
+    }
+
+    /**
+     * {@code parseJSONElements(source)} expects the source to contain a single JSON array and
+     * returns an iterator over its elements, which are only parsed when the iterator advances.
+     */
+    public abstract static class GraalParseJSONElementsNode extends JSBuiltinNode {
+
+        public GraalParseJSONElementsNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization
+        protected Object parseJSONElements(Object source) {
+            return createIterator(source);
+        }
+
+        @TruffleBoundary(transferToInterpreterOnException = false)
+        private DynamicObject createIterator(Object source) {
+            TruffleJSONStreamParser parser = new TruffleJSONStreamParser(getContext());
+            parser.startElements(createReader(getContext(), source));
+            DynamicObject iterator = JSUserObject.createWithPrototype(getContext().getRealm().getGraalJSONElementIteratorPrototype(), getContext());
+            iterator.define(PARSER_ID, parser);
+            return iterator;
+        }
+    }
+
+    public abstract static class GraalJSONElementIteratorNextNode extends JSBuiltinNode {
+        @Child private CreateIterResultObjectNode createIterResultObjectNode;
+
+        public GraalJSONElementIteratorNextNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+            this.createIterResultObjectNode = CreateIterResultObjectNode.create(context);
+        }
+
+        @Specialization
+        protected DynamicObject next(VirtualFrame frame, Object thisObj) {
+            Object element = nextElement(thisObj);
+            if (element == null) {
+                return createIterResultObjectNode.execute(frame, Undefined.instance, true);
+            }
+            return createIterResultObjectNode.execute(frame, element, false);
+        }
+
+        @TruffleBoundary(transferToInterpreterOnException = false)
+        private static Object nextElement(Object thisObj) {
+            Object parser = JSObject.isDynamicObject(thisObj) ? ((DynamicObject) thisObj).get(PARSER_ID, null) : null;
+            if (!(parser instanceof TruffleJSONStreamParser)) {
+                throw Errors.createTypeError("not a JSON element iterator");
+            }
+            return ((TruffleJSONStreamParser) parser).nextElement();
+        }
+    }
+}
@@ -173,6 +173,9 @@ public class JSDefaultBuiltinLookup extends JSBuiltinLookup {
         defineBuiltins(new PolyglotInternalBuiltins());
         defineBuiltins(new DebugBuiltins());
         defineBuiltins(new PerformanceBuiltins());
+        defineBuiltins(new GraalBuiltins());
+        defineBuiltins(new GraalJSONBuiltins());
+        defineBuiltins(new GraalJSONBuiltins.ElementIterator());
         defineBuiltins(new RealmFunctionBuiltins());
         if (!JSTruffleOptions.SubstrateVM) {
             defineJavaInterop();
@@ -53,6 +53,7 @@ import com.oracle.truffle.js.builtins.JSONBuiltinsFactory.JSONParseNodeGen;
 import com.oracle.truffle.js.builtins.JSONBuiltinsFactory.JSONStringifyNodeGen;
 import com.oracle.truffle.js.builtins.helper.JSONData;
 import com.oracle.truffle.js.builtins.helper.JSONStringifyStringNode;
+import com.oracle.truffle.js.builtins.helper.TruffleJSONLazyParser;
 import com.oracle.truffle.js.builtins.helper.TruffleJSONParser;
 import com.oracle.truffle.js.nodes.access.PropertySetNode;
 import com.oracle.truffle.js.nodes.cast.JSToIntegerNode;
@@ -147,7 +148,19 @@ public final class JSONBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONBuilt
 
         @Specialization(guards = "!isCallable(reviver)")
         protected Object parseUnfiltered(Object text, @SuppressWarnings("unused") Object reviver) {
-            return parseIntl(toString(text));
+            String jsonString = toString(text);
+            if (getContext().getContextOptions().isLazyJSON() && JSTruffleOptions.TruffleJSONParser) {
+                return parseLazy(jsonString);
+            }
+            return parseIntl(jsonString);
+        }
+
+        @TruffleBoundary(transferToInterpreterOnException = false)
+        private Object parseLazy(String jsonString) {
+            if (jsonString.length() < TruffleJSONLazyParser.MIN_LENGTH) {
+                return parseJSON(jsonString);
+            }
+            return TruffleJSONLazyParser.parse(getContext(), jsonString);
         }
 
         @TruffleBoundary(transferToInterpreterOnException = false)
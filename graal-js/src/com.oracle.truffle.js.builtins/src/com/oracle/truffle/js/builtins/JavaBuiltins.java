@@ -41,6 +41,9 @@
 package com.oracle.truffle.js.builtins;
 
 import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
 import java.util.AbstractList;
 import java.util.AbstractMap;
 import java.util.AbstractSet;
@@ -109,9 +112,17 @@ import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.JSTruffleOptions;
 import com.oracle.truffle.js.runtime.JavaScriptRootNode;
 import com.oracle.truffle.js.runtime.array.ScriptArray;
+import com.oracle.truffle.js.runtime.array.TypedArray;
+import com.oracle.truffle.js.runtime.array.TypedArrayFactory;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractDoubleArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractIntArray;
+import com.oracle.truffle.js.runtime.array.dyn.ConstantDoubleArray;
+import com.oracle.truffle.js.runtime.array.dyn.ConstantIntArray;
+import com.oracle.truffle.js.runtime.array.dyn.HolesDoubleArray;
 import com.oracle.truffle.js.runtime.builtins.BuiltinEnum;
 import com.oracle.truffle.js.runtime.builtins.JSAbstractArray;
 import com.oracle.truffle.js.runtime.builtins.JSArray;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
 import com.oracle.truffle.js.runtime.builtins.JSFunction;
 import com.oracle.truffle.js.runtime.builtins.JSFunctionData;
 import com.oracle.truffle.js.runtime.interop.Converters;
@@ -413,6 +424,7 @@ public final class JavaBuiltins extends JSBuiltinsContainer.SwitchEnum<JavaBuilt
         private final BranchProfile objectListBranch = BranchProfile.create();
         private final BranchProfile longArrayBranch = BranchProfile.create();
         private final BranchProfile intArrayBranch = BranchProfile.create();
+        private final BranchProfile doubleArrayBranch = BranchProfile.create();
         private final BranchProfile needErrorBranches = BranchProfile.create();
 
         @Child private WriteElementNode writeNode;
@@ -456,12 +468,14 @@ public final class JavaBuiltins extends JSBuiltinsContainer.SwitchEnum<JavaBuilt
         protected DynamicObject from(Object javaObj) {
             if (JSTruffleOptions.NashornJavaInterop) {
                 if (javaObj.getClass().isArray()) {
+                    DynamicObject primitiveArray = fromPrimitiveArray(javaObj);
+                    if (primitiveArray != null) {
+                        return primitiveArray;
+                    }
                     int len = Array.getLength(javaObj);
                     DynamicObject jsArrayObj = JSArray.createEmptyChecked(getContext(), len);
                     if (javaObj instanceof long[]) {
                         fromLong(javaObj, len, jsArrayObj);
-                    } else if (javaObj instanceof int[]) {
-                        fromInt(javaObj, len, jsArrayObj);
                     } else {
                         fromObject(javaObj, len, jsArrayObj);
                     }
@@ -478,6 +492,10 @@ public final class JavaBuiltins extends JSBuiltinsContainer.SwitchEnum<JavaBuilt
                 TruffleLanguage.Env env = getContext().getRealm().getEnv();
                 TruffleObject javaArray = (TruffleObject) javaObj;
                 if (env.isHostObject(javaArray)) {
+                    DynamicObject primitiveArray = fromPrimitiveArray(env.asHostObject(javaArray));
+                    if (primitiveArray != null) {
+                        return primitiveArray;
+                    }
                     try {
                         int size = sendGetSize(javaArray);
                         if (size >= 0) {
@@ -519,12 +537,29 @@ public final class JavaBuiltins extends JSBuiltinsContainer.SwitchEnum<JavaBuilt
             }
         }
 
-        private void fromInt(Object javaObj, int len, DynamicObject jsArrayObj) {
-            intArrayBranch.enter();
-            int[] javaArray = (int[]) javaObj;
-            for (int i = 0; i < len; i++) {
-                write(jsArrayObj, i, javaArray[i]);
+        /**
+         * Copies an {@code int[]} or {@code double[]} directly into the backing store of a new
+         * array instead of writing it element by element. Returns {@code null} for other objects.
+         */
+        private DynamicObject fromPrimitiveArray(Object javaObj) {
+            if (javaObj instanceof int[]) {
+                intArrayBranch.enter();
+                return JSArray.createZeroBasedIntArray(getContext(), ((int[]) javaObj).clone());
+            } else if (javaObj instanceof double[]) {
+                doubleArrayBranch.enter();
+                return JSArray.createZeroBasedDoubleArray(getContext(), copyDoubleArray((double[]) javaObj));
+            }
+            return null;
+        }
+
+        private static double[] copyDoubleArray(double[] javaArray) {
+            double[] result = new double[javaArray.length];
+            for (int i = 0; i < javaArray.length; i++) {
+                double value = javaArray[i];
+                // the hole marker is a NaN, so the canonical NaN preserves the value
+                result[i] = HolesDoubleArray.isHoleValue(value) ? Double.NaN : value;
             }
+            return result;
         }
 
         private void fromLong(Object javaObj, int len, DynamicObject jsArrayObj) {
@@ -645,6 +680,11 @@ public final class JavaBuiltins extends JSBuiltinsContainer.SwitchEnum<JavaBuilt
                 writeNode = insert(Message.WRITE.createNode());
             }
 
+            Object primitiveArray = toPrimitiveArray(jsObj, (Class<?>) env.asHostObject(arrayType));
+            if (primitiveArray != null) {
+                return env.asGuestValue(primitiveArray);
+            }
+
             Object[] arr = toObjectArray(jsObj);
             try {
                 TruffleObject result = (TruffleObject) ForeignAccess.sendNew(newNode, arrayType, arr.length);
@@ -659,6 +699,10 @@ public final class JavaBuiltins extends JSBuiltinsContainer.SwitchEnum<JavaBuilt
 
         private Object toArray(TruffleObject jsObj, Class<?> arrayType) {
             assert JSTruffleOptions.NashornJavaInterop;
+            Object primitiveArray = toPrimitiveArray(jsObj, arrayType);
+            if (primitiveArray != null) {
+                return primitiveArray;
+            }
             Object[] arr = toObjectArray(jsObj);
             if (arrayType == Object[].class) {
                 Object[] result = new Object[arr.length];
@@ -676,6 +720,59 @@ public final class JavaBuiltins extends JSBuiltinsContainer.SwitchEnum<JavaBuilt
             }
         }
 
+        /**
+         * Exports dense int and double arrays, as well as Int32Array and Float64Array, to
+         * {@code int[]} and {@code double[]} with a single bulk copy of the backing store. Returns
+         * {@code null} if there is no bulk path for the given source and target type.
+         */
+        private Object toPrimitiveArray(TruffleObject jsObj, Class<?> arrayType) {
+            if (arrayType != int[].class && arrayType != double[].class) {
+                return null;
+            }
+            if (JSArray.isJSFastArray(jsObj)) {
+                DynamicObject obj = (DynamicObject) jsObj;
+                boolean condition = JSArray.isJSArray(obj);
+                ScriptArray array = JSAbstractArray.arrayGetArrayType(obj, condition);
+                if (arrayType == int[].class) {
+                    if (array instanceof AbstractIntArray) {
+                        return ((AbstractIntArray) array).toIntArray(obj, condition);
+                    } else if (array instanceof ConstantIntArray) {
+                        return ConstantIntArray.getArray(obj, condition).clone();
+                    }
+                } else {
+                    if (array instanceof AbstractDoubleArray) {
+                        return ((AbstractDoubleArray) array).toDoubleArray(obj, condition);
+                    } else if (array instanceof ConstantDoubleArray) {
+                        return ConstantDoubleArray.getArray(obj, condition).clone();
+                    }
+                }
+            } else if (JSArrayBufferView.isJSArrayBufferView(jsObj) && !JSArrayBufferView.hasDetachedBuffer((DynamicObject) jsObj, getContext())) {
+                TypedArray typedArray = JSArrayBufferView.typedArrayGetArrayType((DynamicObject) jsObj);
+                if (arrayType == int[].class && typedArray.getFactory() == TypedArrayFactory.Int32Array) {
+                    return toIntArray(typedArray.asByteBuffer((DynamicObject) jsObj, true));
+                } else if (arrayType == double[].class && typedArray.getFactory() == TypedArrayFactory.Float64Array) {
+                    return toDoubleArray(typedArray.asByteBuffer((DynamicObject) jsObj, true));
+                }
+            }
+            return null;
+        }
+
+        @TruffleBoundary
+        private static int[] toIntArray(ByteBuffer buffer) {
+            IntBuffer elements = buffer.asIntBuffer();
+            int[] result = new int[elements.remaining()];
+            elements.get(result);
+            return result;
+        }
+
+        @TruffleBoundary
+        private static double[] toDoubleArray(ByteBuffer buffer) {
+            DoubleBuffer elements = buffer.asDoubleBuffer();
+            double[] result = new double[elements.remaining()];
+            elements.get(result);
+            return result;
+        }
+
         @TruffleBoundary
         private static Object convertElement(Object element, Class<?> componentType) {
             if (componentType == int.class) {
@@ -52,12 +52,16 @@ import com.oracle.truffle.api.dsl.ImportStatic;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.Property;
+import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.api.profiles.ValueProfile;
 import com.oracle.truffle.js.builtins.ArrayPrototypeBuiltins.JSArrayOperation;
+import com.oracle.truffle.js.builtins.ObjectFunctionBuiltinsFactory.AssignFromShapeNodeGen;
 import com.oracle.truffle.js.builtins.ObjectFunctionBuiltinsFactory.ObjectAssignNodeGen;
 import com.oracle.truffle.js.builtins.ObjectFunctionBuiltinsFactory.ObjectCreateNodeGen;
 import com.oracle.truffle.js.builtins.ObjectFunctionBuiltinsFactory.ObjectDefinePropertiesNodeGen;
@@ -75,11 +79,14 @@ import com.oracle.truffle.js.builtins.ObjectFunctionBuiltinsFactory.ObjectSetPro
 import com.oracle.truffle.js.builtins.ObjectFunctionBuiltinsFactory.ObjectTestIntegrityLevelNodeGen;
 import com.oracle.truffle.js.builtins.ObjectFunctionBuiltinsFactory.ObjectValuesOrEntriesNodeGen;
 import com.oracle.truffle.js.builtins.ObjectPrototypeBuiltins.ObjectOperation;
+import com.oracle.truffle.js.nodes.JavaScriptBaseNode;
 import com.oracle.truffle.js.nodes.JavaScriptNode;
+import com.oracle.truffle.js.nodes.NodeFactory;
 import com.oracle.truffle.js.nodes.access.CreateObjectNode;
 import com.oracle.truffle.js.nodes.access.JSGetOwnPropertyNode;
 import com.oracle.truffle.js.nodes.access.RequireObjectCoercibleNode;
 import com.oracle.truffle.js.nodes.access.ToPropertyDescriptorNode;
+import com.oracle.truffle.js.nodes.access.WriteElementNode;
 import com.oracle.truffle.js.nodes.binary.JSIdenticalNode;
 import com.oracle.truffle.js.nodes.cast.JSToPropertyKeyNode;
 import com.oracle.truffle.js.nodes.function.JSBuiltin;
@@ -88,6 +95,7 @@ import com.oracle.truffle.js.runtime.Boundaries;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.JSTruffleOptions;
 import com.oracle.truffle.js.runtime.LargeInteger;
 import com.oracle.truffle.js.runtime.Symbol;
 import com.oracle.truffle.js.runtime.builtins.BuiltinEnum;
@@ -96,6 +104,8 @@ import com.oracle.truffle.js.runtime.builtins.JSUserObject;
 import com.oracle.truffle.js.runtime.objects.JSAttributes;
 import com.oracle.truffle.js.runtime.objects.JSLazyString;
 import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.JSProperty;
+import com.oracle.truffle.js.runtime.objects.JSShape;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.PropertyDescriptor;
 import com.oracle.truffle.js.runtime.objects.Undefined;
@@ -718,6 +728,7 @@ public final class ObjectFunctionBuiltins extends JSBuiltinsContainer.SwitchEnum
         private final JSClassProfile classProfile = JSClassProfile.create();
         private final BranchProfile notAJSObjectBranch = BranchProfile.create();
         @Child private JSGetOwnPropertyNode getOwnPropertyNode;
+        @Child private AssignFromShapeNode assignFromShapeNode;
 
         public ObjectAssignNode(JSContext context, JSBuiltin builtin) {
             super(context, builtin);
@@ -733,6 +744,10 @@ public final class ObjectFunctionBuiltins extends JSBuiltinsContainer.SwitchEnum
                 if (o != Undefined.instance && o != Null.instance) {
                     listProfile.enter();
                     DynamicObject from = JSRuntime.expectJSObject(toObject(o), notAJSObjectBranch);
+                    if (JSObject.hasCachedEnumerableProperties(from, classProfile)) {
+                        assignFromShape(to, from);
+                        continue;
+                    }
                     for (Iterator<Object> iterator = Boundaries.iterator(JSObject.ownPropertyKeys(from, classProfile)); Boundaries.iteratorHasNext(iterator);) {
                         Object nextKey = Boundaries.iteratorNext(iterator);
                         PropertyDescriptor desc = getOwnProperty(from, nextKey);
@@ -747,6 +762,14 @@ public final class ObjectFunctionBuiltins extends JSBuiltinsContainer.SwitchEnum
             return to;
         }
 
+        private void assignFromShape(TruffleObject to, DynamicObject from) {
+            if (assignFromShapeNode == null) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                assignFromShapeNode = insert(AssignFromShapeNodeGen.create(getContext()));
+            }
+            assignFromShapeNode.execute(to, from);
+        }
+
         private PropertyDescriptor getOwnProperty(DynamicObject obj, Object key) {
             if (getOwnPropertyNode == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
@@ -756,6 +779,66 @@ public final class ObjectFunctionBuiltins extends JSBuiltinsContainer.SwitchEnum
         }
     }
 
+    /**
+     * Copies the enumerable own properties of an object that has only shape properties (see
+     * {@link JSObject#hasCachedEnumerableProperties}). For a cached shape, data properties are read
+     * directly from their locations as long as the shape of the source does not change.
+     */
+    protected abstract static class AssignFromShapeNode extends JavaScriptBaseNode {
+        protected static final int MAX_UNROLLED_PROPERTIES = 32;
+
+        @Child private WriteElementNode writeNode;
+
+        protected AssignFromShapeNode(JSContext context) {
+            this.writeNode = NodeFactory.getInstance(context).createWriteElementNode(context, true);
+        }
+
+        public abstract void execute(TruffleObject to, DynamicObject from);
+
+        @ExplodeLoop
+        @Specialization(guards = {"from.getShape() == cachedShape", "properties.length <= MAX_UNROLLED_PROPERTIES"}, assumptions = {
+                        "cachedShape.getValidAssumption()"}, limit = "getPropertyCacheLimit()")
+        protected void doCached(TruffleObject to, DynamicObject from,
+                        @Cached("from.getShape()") Shape cachedShape,
+                        @Cached(value = "getEnumerablePropertyArray(cachedShape)", dimensions = 1) Property[] properties) {
+            for (int i = 0; i < properties.length; i++) {
+                Property property = properties[i];
+                Object value;
+                if (JSProperty.isData(property) && !JSProperty.isProxy(property) && from.getShape() == cachedShape) {
+                    value = property.getLocation().get(from, true);
+                } else {
+                    // accessor, or the shape has been changed by an accessor or a setter
+                    value = JSObject.getEnumerablePropertyValue(from, cachedShape, property);
+                }
+                if (value != null) {
+                    writeNode.executeWithTargetAndIndexAndValue(to, property.getKey(), value);
+                }
+            }
+        }
+
+        @Specialization(replaces = "doCached")
+        protected void doUncached(TruffleObject to, DynamicObject from) {
+            Shape shape = from.getShape();
+            List<Property> properties = JSShape.getEnumerableProperties(shape);
+            for (int i = 0; i < Boundaries.listSize(properties); i++) {
+                Property property = Boundaries.listGet(properties, i);
+                Object value = JSObject.getEnumerablePropertyValue(from, shape, property);
+                if (value != null) {
+                    writeNode.executeWithTargetAndIndexAndValue(to, property.getKey(), value);
+                }
+            }
+        }
+
+        protected static int getPropertyCacheLimit() {
+            return JSTruffleOptions.PropertyCacheLimit;
+        }
+
+        @TruffleBoundary
+        protected static Property[] getEnumerablePropertyArray(Shape shape) {
+            return JSShape.getEnumerableProperties(shape).toArray(new Property[0]);
+        }
+    }
+
     public abstract static class ObjectValuesOrEntriesNode extends ObjectOperation {
         private final boolean entries;
 
@@ -774,23 +857,38 @@ public final class ObjectFunctionBuiltins extends JSBuiltinsContainer.SwitchEnum
         @TruffleBoundary
         protected List<Object> enumerableOwnProperties(DynamicObject thisObj) {
             List<Object> properties = new ArrayList<>();
+            if (JSTruffleOptions.FastOwnKeys && JSObject.getJSClass(thisObj).hasOnlyShapeProperties(thisObj)) {
+                Shape shape = thisObj.getShape();
+                for (Property property : JSShape.getEnumerableProperties(shape)) {
+                    if (property.getKey() instanceof String) {
+                        Object value = JSObject.getEnumerablePropertyValue(thisObj, shape, property);
+                        if (value != null) {
+                            addValueOrEntry(properties, (String) property.getKey(), value);
+                        }
+                    }
+                }
+                return properties;
+            }
             for (Object key : JSObject.ownPropertyKeys(thisObj)) {
                 if (key instanceof String) {
                     String propertyKey = (String) key;
                     PropertyDescriptor desc = JSObject.getOwnProperty(thisObj, propertyKey);
                     if (desc != null && desc.getEnumerable()) {
                         Object value = JSObject.get(thisObj, propertyKey);
-                        if (entries) {
-                            properties.add(JSArray.createConstant(getContext(), new Object[]{propertyKey, value}));
-                        } else {
-                            properties.add(value);
-                        }
-
+                        addValueOrEntry(properties, propertyKey, value);
                     }
                 }
             }
             return properties;
         }
+
+        private void addValueOrEntry(List<Object> properties, String propertyKey, Object value) {
+            if (entries) {
+                properties.add(JSArray.createConstant(getContext(), new Object[]{propertyKey, value}));
+            } else {
+                properties.add(value);
+            }
+        }
     }
 
 }
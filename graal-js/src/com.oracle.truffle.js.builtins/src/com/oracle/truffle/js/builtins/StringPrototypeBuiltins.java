@@ -519,6 +519,15 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
             super(context, builtin);
         }
 
+        @Specialization(guards = "thisStr.isOneByte()")
+        protected String oneByteCharAt(JSLazyString thisStr, int pos) {
+            if (indexOutOfBounds.profile(pos < 0 || pos >= thisStr.length())) {
+                return "";
+            } else {
+                return String.valueOf(thisStr.charAt(pos));
+            }
+        }
+
         @Specialization
         protected String stringCharAt(String thisStr, int pos) {
             if (indexOutOfBounds.profile(pos < 0 || pos >= thisStr.length())) {
@@ -579,9 +588,13 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
 
         @Specialization
         protected Object charCodeAtLazyString(JSLazyString thisStr, int index,
-                        @Cached("createBinaryProfile()") ConditionProfile flatten) {
+                        @Cached("createBinaryProfile()") ConditionProfile flatten,
+                        @Cached("createBinaryProfile()") ConditionProfile oneByte) {
             if (indexOutOfBounds.profile(0 > index || index >= thisStr.length())) {
                 return Double.NaN;
+            } else if (oneByte.profile(thisStr.isOneByte())) {
+                // no need to flatten (and widen) the string
+                return Integer.valueOf(thisStr.charAt(index));
             } else {
                 String s = thisStr.toString(flatten);
                 return Integer.valueOf(s.charAt(index));
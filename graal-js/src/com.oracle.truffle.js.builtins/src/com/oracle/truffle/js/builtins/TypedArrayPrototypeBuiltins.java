@@ -89,7 +89,6 @@ import com.oracle.truffle.js.nodes.access.ForEachIndexCallNode.MaybeResultNode;
 import com.oracle.truffle.js.nodes.access.JSGetLengthNode;
 import com.oracle.truffle.js.nodes.cast.JSToBigIntNode;
 import com.oracle.truffle.js.nodes.cast.JSToNumberNode;
-import com.oracle.truffle.js.nodes.control.DeletePropertyNode;
 import com.oracle.truffle.js.nodes.function.JSBuiltin;
 import com.oracle.truffle.js.nodes.function.JSBuiltinNode;
 import com.oracle.truffle.js.runtime.BigInt;
@@ -104,6 +103,7 @@ import com.oracle.truffle.js.runtime.builtins.JSArrayBuffer;
 import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.DirectByteBufferHelper;
 import com.oracle.truffle.js.runtime.util.JSClassProfile;
 
 /**
@@ -440,7 +440,8 @@ public final class TypedArrayPrototypeBuiltins extends JSBuiltinsContainer.Switc
         @SuppressWarnings("unchecked")
         private void copyTypedArrayElementsDistinctBuffers(DynamicObject targetBuffer, DynamicObject sourceBuffer, TypedArray targetType, TypedArray sourceType,
                         int targetOffset, int targetByteOffset, int sourceLength, int sourceByteIndex) {
-            Object targetBackingBuffer = isDirectProf.profile(targetType.isDirect()) ? JSArrayBuffer.getDirectByteBuffer(targetBuffer) : JSArrayBuffer.getByteArray(targetBuffer);
+            Object targetBackingBuffer = isDirectProf.profile(targetType.isDirect()) ? DirectByteBufferHelper.checkWritable(JSArrayBuffer.getDirectByteBuffer(targetBuffer))
+                            : JSArrayBuffer.getByteArray(targetBuffer);
             Object sourceBackingBuffer = isDirectProf.profile(sourceType.isDirect()) ? JSArrayBuffer.getDirectByteBuffer(sourceBuffer) : JSArrayBuffer.getByteArray(sourceBuffer);
             int targetElementSize = targetType.bytesPerElement();
             int sourceElementSize = sourceType.bytesPerElement();
@@ -559,46 +560,9 @@ public final class TypedArrayPrototypeBuiltins extends JSBuiltinsContainer.Switc
         }
 
         @Specialization(guards = "isJSArrayBufferView(thisObj)")
-        protected DynamicObject reverse(DynamicObject thisObj,
-                        @Cached("create(THROW_ERROR, getContext())") DeletePropertyNode deletePropertyNode) {
+        protected DynamicObject reverse(DynamicObject thisObj) {
             checkHasDetachedBuffer(thisObj);
-            long len = getLength(thisObj);
-            long middle = (long) JSRuntime.mathFloor(len / 2);
-            long lower = 0;
-
-            while (lower != middle) {
-                long upper = len - lower - 1;
-                Object lowerValue = null;
-                Object upperValue = null;
-                boolean lowerExists = hasProperty(thisObj, lower);
-                if (lowerExists) {
-                    lowerValue = read(thisObj, lower);
-                }
-                boolean upperExists = hasProperty(thisObj, upper);
-                if (upperExists) {
-                    upperValue = read(thisObj, upper);
-                }
-
-                if (lowerExists && upperExists) {
-                    write(thisObj, lower, upperValue);
-                    write(thisObj, upper, lowerValue);
-                } else if (upperExists) {
-                    write(thisObj, lower, upperValue);
-                    deletePropertyNode.executeEvaluated(thisObj, upper);
-                } else if (lowerExists) {
-                    deletePropertyNode.executeEvaluated(thisObj, lower);
-                    write(thisObj, upper, lowerValue);
-                }
-
-                long nextLower = nextElementIndex(thisObj, lower, len);
-                long nextUpper = previousElementIndex(thisObj, upper);
-                if ((len - nextLower - 1) >= nextUpper) {
-                    lower = nextLower;
-                } else {
-                    lower = len - nextUpper - 1;
-                }
-                upper = len - lower - 1;
-            }
+            getTypedArrayType(thisObj).reverse(thisObj, JSArrayBufferView.isJSArrayBufferView(thisObj));
             return thisObj;
         }
 
@@ -628,8 +592,10 @@ public final class TypedArrayPrototypeBuiltins extends JSBuiltinsContainer.Switc
             long lStart = JSRuntime.getOffset(toIntegerSpecial(start), len, offsetProfile1);
             long lEnd = end == Undefined.instance ? len : JSRuntime.getOffset(toIntegerSpecial(end), len, offsetProfile2);
             checkHasDetachedBuffer(thisJSObj);
-            for (long idx = lStart; idx < lEnd; idx++) {
-                write(thisJSObj, idx, convValue);
+            if (lStart < lEnd) {
+                // convert and store the value once, then replicate its bytes
+                write(thisJSObj, lStart, convValue);
+                getTypedArrayType(thisJSObj).fillFromFirstElement(thisJSObj, (int) lStart, (int) lEnd, JSArrayBufferView.isJSArrayBufferView(thisJSObj));
             }
             return thisJSObj;
         }
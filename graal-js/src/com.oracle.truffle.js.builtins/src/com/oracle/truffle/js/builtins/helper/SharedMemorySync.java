@@ -43,8 +43,7 @@ package com.oracle.truffle.js.builtins.helper;
 import static com.oracle.truffle.js.runtime.builtins.JSArrayBufferView.typedArrayGetArrayType;
 
 import java.lang.reflect.Field;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.object.DynamicObject;
@@ -264,55 +263,67 @@ public class SharedMemorySync {
     }
 
     @TruffleBoundary
-    public static void addWaiter(JSContext cx, JSAgentWaiterListEntry wl, int id) {
+    public static void addWaiter(JSContext cx, JSAgentWaiterListEntry wl, int indexPos, int id) {
         assert cx.getJSAgent().inCriticalSection();
-        assert !wl.contains(id);
-        wl.add(id);
+        assert !wl.contains(indexPos, id);
+        wl.add(indexPos, id);
     }
 
     @TruffleBoundary
-    public static void removeWaiter(JSContext cx, JSAgentWaiterListEntry wl, int w) {
+    public static void removeWaiter(JSContext cx, JSAgentWaiterListEntry wl, int indexPos, int w) {
         assert cx.getJSAgent().inCriticalSection();
-        assert wl.contains(w);
-        wl.remove(w);
+        assert wl.contains(indexPos, w);
+        wl.remove(indexPos, w);
     }
 
-    /* ECMA2017 24.4.1.9 - Suspend returns true if agent was woken by another agent */
+    /*
+     * ECMA2017 24.4.1.9 - Suspend returns true if agent was woken by another agent. The agent was
+     * woken iff it has been removed from the waiter list. An interrupt that is not accompanied by a
+     * removal (e.g., the termination of a worker) ends the wait as a time-out; the interrupt status
+     * is kept for the code that requested it.
+     */
     @TruffleBoundary
-    public static boolean suspendAgent(JSContext cx, JSAgentWaiterListEntry wl, int w, int timeout) {
+    public static boolean suspendAgent(JSContext cx, JSAgentWaiterListEntry wl, int indexPos, int w, int timeout) {
         assert cx.getJSAgent().inCriticalSection();
-        assert wl.contains(w);
+        assert wl.contains(indexPos, w);
         assert cx.getJSAgent().getSignifier() == w;
         assert cx.getJSAgent().canBlock();
-        cx.getJSAgent().criticalSectionLeave(wl);
-        boolean interrupt = false;
-        try {
-            Thread.sleep(timeout);
-        } catch (InterruptedException e) {
-            interrupt = true;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        boolean awoken;
+        boolean interrupted = false;
+        do {
+            cx.getJSAgent().criticalSectionLeave(wl);
+            try {
+                long remaining = deadline - System.nanoTime();
+                if (remaining > 0) {
+                    TimeUnit.NANOSECONDS.sleep(remaining);
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+            cx.getJSAgent().criticalSectionEnter(wl);
+            awoken = !wl.contains(indexPos, w);
+        } while (!awoken && !interrupted && deadline - System.nanoTime() > 0);
+        if (awoken) {
+            // the waking agent interrupts us after removing us from the list
+            Thread.interrupted();
+        } else if (interrupted) {
+            Thread.currentThread().interrupt();
         }
-        cx.getJSAgent().criticalSectionEnter(wl);
-        return interrupt;
+        return awoken;
     }
 
     /* ECMA2017 24.4.1.10 - Wake up another agent */
     @TruffleBoundary
     public static void wakeWaiter(JSContext cx, int w, JSAgentWaiterListEntry wl) {
         assert cx.getJSAgent().inCriticalSection();
-        assert wl.contains(w);
         cx.getJSAgent().wakeAgent(w);
     }
 
+    /* ECMA2017 24.4.1.6 - RemoveWaiters */
     @TruffleBoundary
-    public static List<Integer> removeWaiters(JSContext cx, JSAgentWaiterListEntry wl, int count) {
+    public static int[] removeWaiters(JSContext cx, JSAgentWaiterListEntry wl, int indexPos, int count) {
         assert cx.getJSAgent().inCriticalSection();
-        int c = Integer.min(wl.size(), count);
-        ArrayList<Integer> list = new ArrayList<>(c);
-        Integer[] s = wl.toArray(new Integer[]{});
-        while (c-- > 0) {
-            int w = s[c];
-            list.add(w);
-        }
-        return list;
+        return wl.removeWaiters(indexPos, count);
     }
 }
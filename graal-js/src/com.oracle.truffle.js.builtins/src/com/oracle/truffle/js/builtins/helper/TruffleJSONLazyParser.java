@@ -0,0 +1,451 @@
+/*
+ * Copyright (c) 2018, 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.builtins.helper;
+
+import java.util.Arrays;
+
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSRealm;
+import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.array.dyn.LazyJSONArray;
+import com.oracle.truffle.js.runtime.builtins.JSArray;
+import com.oracle.truffle.js.runtime.builtins.JSUserObject;
+
+/**
+ * JSON parser for the lazy mode of {@code JSON.parse}. The input is first validated in a single
+ * pass that does not allocate JavaScript values and builds an index of all arrays and objects
+ * (their end offset, element count and the number of nested containers). Arrays are then created
+ * as {@link LazyJSONArray}s whose elements are parsed from the retained source on first access.
+ * Objects are created eagerly, but arrays nested in them are lazy again.
+ *
+ * A lazy array keeps the source string and the container index of the whole input alive (but no
+ * parser state of other arrays) until all of its elements have been materialized, or until it is
+ * modified, which materializes it.
+ *
+ * Inputs the validator does not accept (including the ones the eager parser would accept or
+ * reject in a non-standard way) are handed to the eager parser, so the result and the errors
+ * are exactly those of the regular {@code JSON.parse}.
+ */
+public final class TruffleJSONLazyParser extends TruffleJSONParser {
+
+    /** Inputs shorter than this are parsed eagerly. */
+    public static final int MIN_LENGTH = 1024;
+    /** Deeper nesting falls back to the eager parser, so stack overflows are reported the same. */
+    private static final int MAX_DEPTH = 1000;
+    /** Longer exponents are left to the eager parser, which fails on them. */
+    private static final int MAX_EXPONENT_DIGITS = 9;
+
+    private final JSRealm realm;
+    private final String source;
+
+    // index of containers, in the order of their opening brackets; not modified after validation
+    private int[] containerEnd;
+    private int[] containerCount;
+    private int[] containerNext;
+    private int containers;
+    private Index index;
+
+    /** Index of the next container to be encountered while parsing. */
+    private int ordinal;
+
+    private TruffleJSONLazyParser(JSContext context, JSRealm realm, String source) {
+        super(context);
+        this.realm = realm;
+        this.source = source;
+        this.parseStr = source;
+        this.len = source.length();
+    }
+
+    private TruffleJSONLazyParser(JSContext context, JSRealm realm, Index index) {
+        this(context, realm, index.source);
+        this.containerEnd = index.containerEnd;
+        this.containerCount = index.containerCount;
+        this.containerNext = index.containerNext;
+        this.index = index;
+    }
+
+    public static Object parse(JSContext context, String value) {
+        TruffleJSONLazyParser parser = new TruffleJSONLazyParser(context, context.getRealm(), value);
+        if (!parser.validate()) {
+            return new TruffleJSONParser(context).parse(value);
+        }
+        parser.index = new Index(value, parser.containerEnd, parser.containerCount, parser.containerNext);
+        return parser.parseAt(0, 0);
+    }
+
+    private Object parseAt(int position, int containerOrdinal) {
+        this.pos = position;
+        this.ordinal = containerOrdinal;
+        this.parseDepth = 0;
+        skipWhitespace();
+        return parseJSONValue();
+    }
+
+    @Override
+    protected Object parseJSONValue() {
+        char c = get();
+        if (isArray(c)) {
+            return parseLazyArray();
+        } else if (isObject(c)) {
+            ordinal++;
+        }
+        return super.parseJSONValue();
+    }
+
+    @Override
+    protected DynamicObject createObject() {
+        return JSUserObject.create(context, realm);
+    }
+
+    private DynamicObject parseLazyArray() {
+        int arrayOrdinal = ordinal;
+        DynamicObject array = JSArray.createLazyJSONArray(context, realm, new Elements(context, realm, index, pos, arrayOrdinal, containerCount[arrayOrdinal]));
+        pos = containerEnd[arrayOrdinal];
+        ordinal = containerNext[arrayOrdinal];
+        skipWhitespace();
+        return array;
+    }
+
+    @Override
+    protected Object error(String message) {
+        throw new IllegalStateException("validated JSON could not be parsed: " + message);
+    }
+
+    /**
+     * Finds the start of each element of the array starting at {@code start}, skipping nested
+     * containers using the index.
+     */
+    private void scanElements(int start, int arrayOrdinal, int[] elementOffsets, int[] elementOrdinals) {
+        int p = start + 1;
+        int next = arrayOrdinal + 1;
+        for (int i = 0; i < elementOffsets.length; i++) {
+            p = skipWhitespace(p);
+            elementOffsets[i] = p;
+            elementOrdinals[i] = next;
+            char c = source.charAt(p);
+            if (c == '[' || c == '{') {
+                p = containerEnd[next];
+                next = containerNext[next];
+            } else if (c == '"') {
+                p = scanString(p);
+            } else {
+                while (p < len && !isDelimiter(source.charAt(p))) {
+                    p++;
+                }
+            }
+            p = skipWhitespace(p) + 1; // ',' or ']'
+        }
+    }
+
+    /**
+     * Result of the validation pass, shared by all lazy arrays of one input. Never modified.
+     */
+    private static final class Index {
+        final String source;
+        final int[] containerEnd;
+        final int[] containerCount;
+        final int[] containerNext;
+
+        Index(String source, int[] containerEnd, int[] containerCount, int[] containerNext) {
+            this.source = source;
+            this.containerEnd = containerEnd;
+            this.containerCount = containerCount;
+            this.containerNext = containerNext;
+        }
+    }
+
+    /**
+     * Elements of one lazy array. Each array parses with its own parser, and drops it together
+     * with the index once its last element has been materialized.
+     */
+    private static final class Elements extends LazyJSONArray.Elements {
+        private final JSContext context;
+        private final JSRealm realm;
+        private final int start;
+        private final int arrayOrdinal;
+        private Index index;
+        private TruffleJSONLazyParser parser;
+        /** Start offset of each element, or null before the first or after the last access. */
+        private int[] offsets;
+        /** Container ordinal of each element (unused for primitives). */
+        private int[] ordinals;
+        private int unmaterialized;
+
+        Elements(JSContext context, JSRealm realm, Index index, int start, int arrayOrdinal, int length) {
+            super(length);
+            this.context = context;
+            this.realm = realm;
+            this.start = start;
+            this.arrayOrdinal = arrayOrdinal;
+            this.unmaterialized = length;
+            this.index = length == 0 ? null : index;
+        }
+
+        @Override
+        protected Object materializeElement(int elementIndex) {
+            if (parser == null) {
+                parser = new TruffleJSONLazyParser(context, realm, index);
+                offsets = new int[length()];
+                ordinals = new int[length()];
+                parser.scanElements(start, arrayOrdinal, offsets, ordinals);
+            }
+            Object value = parser.parseAt(offsets[elementIndex], ordinals[elementIndex]);
+            if (--unmaterialized == 0) {
+                index = null;
+                parser = null;
+                offsets = null;
+                ordinals = null;
+            }
+            return value;
+        }
+    }
+
+    // ************************* Validation ****************************************//
+
+    private static final int VALUE = 0;
+    private static final int KEY = 1;
+    private static final int AFTER_VALUE = 2;
+
+    /**
+     * Validates the whole input and builds the container index.
+     *
+     * @return whether the input is valid and can be parsed lazily
+     */
+    private boolean validate() {
+        containerEnd = new int[16];
+        containerCount = new int[16];
+        containerNext = new int[16];
+        int[] stack = new int[16]; // container ordinal * 2 + (1 if object)
+        int depth = 0;
+        int state = VALUE;
+        int p = skipWhitespace(0);
+        while (true) {
+            if (state == AFTER_VALUE) {
+                p = skipWhitespace(p);
+                if (depth == 0) {
+                    return p == len;
+                }
+                if (p >= len) {
+                    return false;
+                }
+                int top = stack[depth - 1];
+                int container = top >> 1;
+                boolean isObjectContainer = (top & 1) != 0;
+                containerCount[container]++;
+                char c = source.charAt(p);
+                if (c == ',') {
+                    p = skipWhitespace(p + 1);
+                    state = isObjectContainer ? KEY : VALUE;
+                } else if (c == (isObjectContainer ? '}' : ']')) {
+                    containerEnd[container] = p + 1;
+                    containerNext[container] = containers;
+                    depth--;
+                    p++;
+                } else {
+                    return false;
+                }
+                continue;
+            }
+            if (p >= len) {
+                return false;
+            }
+            char c = source.charAt(p);
+            if (state == KEY) {
+                if (c != '"' || (p = scanString(p)) < 0) {
+                    return false;
+                }
+                p = skipWhitespace(p);
+                if (p >= len || source.charAt(p) != ':') {
+                    return false;
+                }
+                p = skipWhitespace(p + 1);
+                state = VALUE;
+                continue;
+            }
+            if (c == '[' || c == '{') {
+                if (depth == MAX_DEPTH) {
+                    return false;
+                }
+                if (depth == stack.length) {
+                    stack = Arrays.copyOf(stack, depth * 2);
+                }
+                int container = addContainer();
+                stack[depth++] = container * 2 + (c == '{' ? 1 : 0);
+                p = skipWhitespace(p + 1);
+                if (p < len && source.charAt(p) == (c == '{' ? '}' : ']')) {
+                    containerEnd[container] = p + 1;
+                    containerNext[container] = containers;
+                    depth--;
+                    p++;
+                    state = AFTER_VALUE;
+                    // an empty container is a value of its parent, but has no elements itself
+                    continue;
+                }
+                state = c == '{' ? KEY : VALUE;
+                continue;
+            }
+            if (c == '"') {
+                p = scanString(p);
+            } else if (c == '-' || JSRuntime.isAsciiDigit(c)) {
+                p = scanNumber(p);
+            } else {
+                p = scanLiteral(p);
+            }
+            if (p < 0) {
+                return false;
+            }
+            state = AFTER_VALUE;
+        }
+    }
+
+    private int addContainer() {
+        if (containers == containerEnd.length) {
+            int newLength = containers * 2;
+            containerEnd = Arrays.copyOf(containerEnd, newLength);
+            containerCount = Arrays.copyOf(containerCount, newLength);
+            containerNext = Arrays.copyOf(containerNext, newLength);
+        }
+        return containers++;
+    }
+
+    private int skipWhitespace(int start) {
+        int p = start;
+        while (p < len && isWhitespace(source.charAt(p))) {
+            p++;
+        }
+        return p;
+    }
+
+    private static boolean isDelimiter(char c) {
+        return c == ',' || c == ']' || c == '}' || isWhitespace(c);
+    }
+
+    /**
+     * @return the position after the closing quote of the string starting at {@code start}, or -1
+     */
+    private int scanString(int start) {
+        int p = start + 1;
+        while (p < len) {
+            char c = source.charAt(p++);
+            if (c == '"') {
+                return p;
+            } else if (c < ' ') {
+                return -1;
+            } else if (c == '\\') {
+                if (p >= len) {
+                    return -1;
+                }
+                char e = source.charAt(p++);
+                if (e == 'u') {
+                    if (p + 4 > len) {
+                        return -1;
+                    }
+                    for (int i = 0; i < 4; i++) {
+                        if (JSRuntime.valueInHex(source.charAt(p++)) < 0) {
+                            return -1;
+                        }
+                    }
+                } else if ("\"\\/bfnrt".indexOf(e) < 0) {
+                    return -1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Scans a number in strict JSON syntax.
+     *
+     * @return the position after the number starting at {@code start}, or -1
+     */
+    private int scanNumber(int start) {
+        int p = start;
+        if (source.charAt(p) == '-') {
+            p++;
+        }
+        if (p >= len || !JSRuntime.isAsciiDigit(source.charAt(p))) {
+            return -1;
+        }
+        if (source.charAt(p) == '0') {
+            p++;
+        } else {
+            while (p < len && JSRuntime.isAsciiDigit(source.charAt(p))) {
+                p++;
+            }
+        }
+        if (p < len && source.charAt(p) == '.') {
+            int digits = ++p;
+            while (p < len && JSRuntime.isAsciiDigit(source.charAt(p))) {
+                p++;
+            }
+            if (p == digits) {
+                return -1;
+            }
+        }
+        if (p < len && (source.charAt(p) == 'e' || source.charAt(p) == 'E')) {
+            p++;
+            if (p < len && (source.charAt(p) == '+' || source.charAt(p) == '-')) {
+                p++;
+            }
+            int digits = p;
+            while (p < len && JSRuntime.isAsciiDigit(source.charAt(p))) {
+                p++;
+            }
+            if (p == digits || p - digits > MAX_EXPONENT_DIGITS) {
+                return -1;
+            }
+        }
+        if (p < len && !isDelimiter(source.charAt(p))) {
+            return -1;
+        }
+        return p;
+    }
+
+    private int scanLiteral(int start) {
+        for (String literal : new String[]{"null", "true", "false"}) {
+            if (source.startsWith(literal, start)) {
+                return start + literal.length();
+            }
+        }
+        return -1;
+    }
+}
@@ -51,6 +51,7 @@ import com.oracle.truffle.js.runtime.builtins.JSAbstractArray;
 import com.oracle.truffle.js.runtime.builtins.JSArray;
 import com.oracle.truffle.js.runtime.builtins.JSUserObject;
 import com.oracle.truffle.js.runtime.objects.Null;
+import com.oracle.truffle.js.runtime.util.AtomTable;
 
 public class TruffleJSONParser {
 
@@ -70,29 +71,49 @@ public class TruffleJSONParser {
     }
 
     public Object parse(String value) {
-        this.pos = 0;
-        this.parseDepth = 0;
         this.parseStr = value;
         this.len = parseStr.length();
+        try {
+            return parseText();
+        } finally {
+            parseStr = null;
+        }
+    }
+
+    protected Object parseText() {
+        this.pos = 0;
+        this.parseDepth = 0;
         try {
             skipWhitespace();
             Object result = parseJSONText();
-            skipWhitespace();
-            if (posValid()) {
-                throw Errors.createSyntaxError("JSON cannot be fully parsed");
-            }
+            expectEndOfInput();
             return result;
-        } catch (StackOverflowError ex) {
+        } catch (StackOverflowError | Exception ex) {
+            throw handleParseException(ex);
+        }
+    }
+
+    protected void expectEndOfInput() {
+        skipWhitespace();
+        if (posValid()) {
+            throw Errors.createSyntaxError("JSON cannot be fully parsed");
+        }
+    }
+
+    /**
+     * Translates an exception thrown while parsing into the error reported to JavaScript.
+     */
+    protected RuntimeException handleParseException(Throwable ex) {
+        if (ex instanceof StackOverflowError) {
             throwStackError();
-        } catch (JSException ex) {
-            throw ex;
-        } catch (StringIndexOutOfBoundsException ex) {
+        } else if (ex instanceof JSException) {
+            throw (JSException) ex;
+        } else if (ex instanceof StringIndexOutOfBoundsException) {
             throwSyntaxError(unexpectedEndOfInputMessage());
-        } catch (Exception ex) {
-            throwSyntaxError(null);
-        } finally {
-            parseStr = null;
+        } else if (ex instanceof Error) {
+            throw (Error) ex;
         }
+        throwSyntaxError(null);
         return null;
     }
 
@@ -142,7 +163,7 @@ public class TruffleJSONParser {
         assert isObject(get());
         incDepth();
         read(); // parseJSONValue ensures this char is a "{"
-        DynamicObject object = JSUserObject.create(context);
+        DynamicObject object = createObject();
         if (get() != '}') {
             parseJSONMemberList(object);
             if (get() != '}') {
@@ -154,6 +175,10 @@ public class TruffleJSONParser {
         return object;
     }
 
+    protected DynamicObject createObject() {
+        return JSUserObject.create(context);
+    }
+
     private void parseJSONMemberList(DynamicObject object) {
         Member member = parseJSONMember();
         JSRuntime.createDataProperty(object, member.getKey(), member.getValue());
@@ -166,6 +191,10 @@ public class TruffleJSONParser {
 
     private Member parseJSONMember() {
         String jsonString = parseJSONString();
+        AtomTable atomTable = context.getAtomTable();
+        if (atomTable != null) {
+            jsonString = atomTable.intern(jsonString);
+        }
         read(':');
         Object jsonValue = parseJSONValue();
         return new Member(jsonString, jsonValue);
@@ -237,7 +266,7 @@ public class TruffleJSONParser {
     }
 
     protected String parseJSONStringCharacters() {
-        int startPos = pos;
+        int startPos = startToken();
         boolean hasEscapes = false;
         boolean curIsEscaped = false;
         char c = get();
@@ -253,7 +282,7 @@ public class TruffleJSONParser {
             pos++; // don't skip whitespace here
             c = get();
         }
-        String s = parseStr.substring(startPos, pos);
+        String s = substring(startPos, pos);
         if (hasEscapes) {
             return unquoteJSON(s);
         } else {
@@ -342,7 +371,7 @@ public class TruffleJSONParser {
         if (!posValid()) {
             error("malformed number");
         }
-        int startPos = pos;
+        int startPos = startToken();
         int fractionPos = -1;
         boolean firstPosIsZero = false;
         char c = get();
@@ -365,7 +394,7 @@ public class TruffleJSONParser {
             error("Expected number but found ident");
         } else if (firstPosIsZero) {
             // "0" should be parsable, but "08" not
-            if ((startPos + 1) < len) {
+            if (posValid(startPos + 1)) {
                 c = get(startPos + 1);
                 if (c == 'x' || c == 'X' || JSRuntime.isAsciiDigit(c)) {
                     error("octal and hexadecimal not allowed");
@@ -384,7 +413,7 @@ public class TruffleJSONParser {
             pos++; // reads the "E" without skipping whitespace
             exponent = readDigits();
         }
-        valueStr = parseStr.substring(startPos, pos);
+        valueStr = substring(startPos, pos);
         skipWhitespace(); // after the number
 
         if (fractionPos >= 0) {
@@ -431,7 +460,7 @@ public class TruffleJSONParser {
             error("malformed number");
         }
         cur = get();
-        int startPos = pos;
+        int startPos = startToken();
         while (JSRuntime.isAsciiDigit(cur)) {
             pos++; // don't skip whitespace
             if (!posValid()) {
@@ -442,7 +471,7 @@ public class TruffleJSONParser {
         if (pos == startPos) {
             error("Expected number but found ident");
         }
-        return sign * Integer.parseInt(parseStr.substring(startPos, pos));
+        return sign * Integer.parseInt(substring(startPos, pos));
     }
 
     protected boolean isExponentPart() {
@@ -504,14 +533,13 @@ public class TruffleJSONParser {
     }
 
     protected void read() {
-        assert len > pos;
+        assert posValid();
         pos++;
         skipWhitespace();
     }
 
     protected void read(String expected) {
-        assert len >= pos + expected.length();
-        assert parseStr.substring(pos, pos + expected.length()).equals(expected);
+        assert isLiteral(expected.toCharArray());
         pos += expected.length();
         skipWhitespace();
     }
@@ -531,11 +559,27 @@ public class TruffleJSONParser {
     }
 
     protected boolean posValid() {
-        return pos < len;
+        return posValid(pos);
+    }
+
+    protected boolean posValid(int posParam) {
+        return posParam < len;
+    }
+
+    /**
+     * Marks the start of a token that is later extracted with {@link #substring}; characters from
+     * this position on must remain accessible until then. Returns the current position.
+     */
+    protected int startToken() {
+        return pos;
+    }
+
+    protected String substring(int startPos, int endPos) {
+        return parseStr.substring(startPos, endPos);
     }
 
     protected boolean isLiteral(char[] literal) {
-        if (len < pos + literal.length) {
+        if (!posValid(pos + literal.length - 1)) {
             return false;
         }
         // fastpath for the cached current character
@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2018, 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.builtins.helper;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.JSContext;
+
+/**
+ * JSON parser that reads its input incrementally from a {@link Reader} (or a UTF-8 encoded
+ * {@link ByteBuffer}) instead of a fully materialized string. Only a window of the input is kept
+ * in memory: everything before the current token is discarded when more input is read.
+ *
+ * Besides parsing a complete JSON text with {@link #parse(Reader)}, the elements of a top-level
+ * array can be parsed one at a time with {@link #startElements(Reader)} and {@link #nextElement()}.
+ * The reader is closed when parsing ends, whether it succeeds or fails.
+ */
+public class TruffleJSONStreamParser extends TruffleJSONParser {
+
+    private static final int INITIAL_WINDOW_SIZE = 8192;
+
+    private Reader reader;
+    private char[] window;
+    /** Input position of {@code window[0]}. */
+    private int windowStart;
+    /** Input position after the last character read into the window. */
+    private int windowEnd;
+    /** Start of the token that is currently being parsed, or -1. */
+    private int tokenStart;
+    private boolean endOfInput;
+    private boolean elementsDone;
+
+    public TruffleJSONStreamParser(JSContext context) {
+        super(context);
+    }
+
+    public Object parse(Reader input) {
+        begin(input);
+        try {
+            return parseText();
+        } finally {
+            end();
+        }
+    }
+
+    public Object parse(ByteBuffer utf8) {
+        return parse(createUTF8Reader(utf8));
+    }
+
+    /**
+     * Starts parsing a JSON text that consists of a single array, whose elements are then returned
+     * by {@link #nextElement()}.
+     */
+    public void startElements(Reader input) {
+        begin(input);
+        try {
+            skipWhitespace();
+            if (!posValid() || !isArray(get())) {
+                throwSyntaxError("JSON array expected");
+            }
+            read();
+            elementsDone = get() == ']';
+            if (elementsDone) {
+                read();
+                expectEndOfInput();
+                end();
+            }
+        } catch (StackOverflowError | Exception ex) {
+            end();
+            throw handleParseException(ex);
+        }
+    }
+
+    /**
+     * Parses the next element of the array started with {@link #startElements(Reader)}.
+     *
+     * @return the element or {@code null} if there are no more elements
+     */
+    public Object nextElement() {
+        if (elementsDone) {
+            return null;
+        }
+        try {
+            Object element = parseJSONValue();
+            if (get() == ',') {
+                read();
+            } else {
+                read(']');
+                expectEndOfInput();
+                elementsDone = true;
+                end();
+            }
+            return element;
+        } catch (StackOverflowError | Exception ex) {
+            elementsDone = true;
+            end();
+            throw handleParseException(ex);
+        }
+    }
+
+    private void begin(Reader input) {
+        this.reader = input;
+        this.window = new char[INITIAL_WINDOW_SIZE];
+        this.windowStart = 0;
+        this.windowEnd = 0;
+        this.tokenStart = -1;
+        this.endOfInput = false;
+        this.elementsDone = false;
+        this.pos = 0;
+        this.parseDepth = 0;
+    }
+
+    private void end() {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                // the input has been consumed (or parsing failed) already
+            }
+        }
+        reader = null;
+        window = null;
+    }
+
+    @Override
+    protected char get(int posParam) {
+        int p = posParam;
+        if (p >= windowEnd) {
+            p = fill(p);
+            if (p < 0) {
+                throw new StringIndexOutOfBoundsException(posParam);
+            }
+        }
+        return window[p - windowStart];
+    }
+
+    @Override
+    protected boolean posValid(int posParam) {
+        if (posParam < windowEnd) {
+            return true;
+        }
+        // positions may have been rebased while filling
+        int p = fill(posParam);
+        return p >= 0 && p < windowEnd;
+    }
+
+    @Override
+    protected int startToken() {
+        if (tokenStart < 0) {
+            tokenStart = pos;
+        }
+        return pos;
+    }
+
+    @Override
+    protected String substring(int startPos, int endPos) {
+        String result = new String(window, startPos - windowStart, endPos - startPos);
+        if (startPos == tokenStart) {
+            tokenStart = -1;
+        }
+        return result;
+    }
+
+    /**
+     * Reads input until position {@code p} is in the window. Characters before the current token
+     * (or before {@link #pos} outside of tokens) are dropped. Outside of tokens, positions are
+     * rebased so that they stay small; {@code p} must therefore be relative to {@link #pos} then.
+     *
+     * @return the (possibly rebased) position {@code p}, or -1 at the end of the input
+     */
+    private int fill(int posParam) {
+        int p = posParam;
+        while (p >= windowEnd) {
+            if (endOfInput) {
+                return -1;
+            }
+            int keep = tokenStart >= 0 ? tokenStart : pos;
+            int live = windowEnd - keep;
+            if (keep > windowStart) {
+                System.arraycopy(window, keep - windowStart, window, 0, live);
+                windowStart = keep;
+            }
+            if (window.length - live < 2) {
+                // keep room for a surrogate pair
+                char[] newWindow = new char[window.length * 2];
+                System.arraycopy(window, 0, newWindow, 0, live);
+                window = newWindow;
+            }
+            int read;
+            try {
+                read = reader.read(window, live, window.length - live);
+            } catch (IOException e) {
+                throw Errors.createErrorFromException(e);
+            }
+            if (read < 0) {
+                endOfInput = true;
+            } else {
+                windowEnd = windowStart + live + read;
+            }
+            if (tokenStart < 0 && windowStart > 0) {
+                int shift = windowStart;
+                pos -= shift;
+                p -= shift;
+                windowStart = 0;
+                windowEnd -= shift;
+            }
+        }
+        return p;
+    }
+
+    @Override
+    protected Object error(String message) {
+        // unlike the string parser, we cannot re-parse the input to get a better message
+        throw Errors.createSyntaxError("Invalid JSON: " + message);
+    }
+
+    /**
+     * Creates a reader that decodes UTF-8 from the remaining bytes of the buffer on the fly.
+     * Malformed input is replaced with U+FFFD, like {@code Buffer.prototype.toString()} does.
+     */
+    public static Reader createUTF8Reader(ByteBuffer utf8) {
+        return new UTF8ByteBufferReader(utf8.duplicate());
+    }
+
+    private static final class UTF8ByteBufferReader extends Reader {
+        private final ByteBuffer input;
+        private final CharsetDecoder decoder;
+
+        UTF8ByteBufferReader(ByteBuffer input) {
+            this.input = input;
+            this.decoder = StandardCharsets.UTF_8.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            CharBuffer output = CharBuffer.wrap(cbuf, off, length);
+            decoder.decode(input, output, true);
+            int read = output.position() - off;
+            return read == 0 && !input.hasRemaining() ? -1 : read;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -122,6 +122,7 @@ import com.oracle.truffle.js.runtime.builtins.SIMDType.SIMDUint8x16;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.DirectByteBufferHelper;
 
 public final class SIMDTypeFunctionBuiltins extends JSBuiltinsContainer.SwitchEnum<SIMDTypeFunctionBuiltins.SIMDTypeFunction> {
     public SIMDTypeFunctionBuiltins(String typeName, SIMDType simdContext) {
@@ -683,7 +684,7 @@ public final class SIMDTypeFunctionBuiltins extends JSBuiltinsContainer.SwitchEn
             if (isHeapArrayBuffer) {
                 JSArrayBufferView.typedArraySetArray(tarray, block);
             } else {
-                ByteBuffer byteBuffer = JSArrayBuffer.getDirectByteBuffer(arrayBuffer);
+                ByteBuffer byteBuffer = DirectByteBufferHelper.checkWritable(JSArrayBuffer.getDirectByteBuffer(arrayBuffer));
                 ((ByteBuffer) byteBuffer.duplicate().clear()).put(block);
             }
             return n;
@@ -178,6 +178,7 @@ import com.oracle.truffle.js.nodes.function.AbstractBodyNode;
 import com.oracle.truffle.js.nodes.function.BlockScopeNode;
 import com.oracle.truffle.js.nodes.function.CallApplyArgumentsNode;
 import com.oracle.truffle.js.nodes.function.ClassDefinitionNode;
+import com.oracle.truffle.js.nodes.function.ClearFrameSlotsNode;
 import com.oracle.truffle.js.nodes.function.ConstructorResultNode;
 import com.oracle.truffle.js.nodes.function.ConstructorRootNode;
 import com.oracle.truffle.js.nodes.function.FunctionBodyNode;
@@ -938,6 +939,10 @@ public class NodeFactory {
         return ConstructorResultNode.createDerived(bodyNode, thisNode);
     }
 
+    public JavaScriptNode createClearFrameSlots(JavaScriptNode body, FrameSlot[] slots) {
+        return ClearFrameSlotsNode.create(body, slots);
+    }
+
     public JavaScriptNode createDerivedConstructorThis(JavaScriptNode thisNode) {
         return AccessDerivedConstructorThisNode.create(thisNode);
     }
@@ -46,12 +46,16 @@ import com.oracle.truffle.api.dsl.Executed;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.Property;
+import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.js.nodes.JavaScriptNode;
 import com.oracle.truffle.js.nodes.cast.JSToObjectNode;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.JSTruffleOptions;
 import com.oracle.truffle.js.runtime.builtins.JSArray;
 import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.JSShape;
 import com.oracle.truffle.js.runtime.objects.PropertyDescriptor;
 
 public abstract class CopyDataPropertiesNode extends JavaScriptNode {
@@ -99,20 +103,22 @@ public abstract class CopyDataPropertiesNode extends JavaScriptNode {
 
     @TruffleBoundary
     private static void copyDataProperties(DynamicObject target, DynamicObject from, Object[] excludedItems) {
-        Iterable<Object> ownPropertyKeys = JSObject.ownPropertyKeys(from);
-        for (Object nextKey : ownPropertyKeys) {
-            boolean found = false;
-            if (excludedItems != null) {
-                for (Object e : excludedItems) {
-                    if (e instanceof String) {
-                        if (((String) e).equals(nextKey)) {
-                            found = true;
-                            break;
-                        }
+        if (JSTruffleOptions.FastOwnKeys && JSObject.getJSClass(from).hasOnlyShapeProperties(from)) {
+            Shape shape = from.getShape();
+            for (Property property : JSShape.getEnumerableProperties(shape)) {
+                Object nextKey = property.getKey();
+                if (!isExcluded(nextKey, excludedItems)) {
+                    Object propValue = JSObject.getEnumerablePropertyValue(from, shape, property);
+                    if (propValue != null) {
+                        JSRuntime.createDataProperty(target, nextKey, propValue);
                     }
                 }
             }
-            if (!found) {
+            return;
+        }
+        Iterable<Object> ownPropertyKeys = JSObject.ownPropertyKeys(from);
+        for (Object nextKey : ownPropertyKeys) {
+            if (!isExcluded(nextKey, excludedItems)) {
                 PropertyDescriptor desc = JSObject.getOwnProperty(from, nextKey);
                 if (desc != null && desc.getEnumerable()) {
                     Object propValue = JSObject.get(from, nextKey);
@@ -122,6 +128,19 @@ public abstract class CopyDataPropertiesNode extends JavaScriptNode {
         }
     }
 
+    private static boolean isExcluded(Object key, Object[] excludedItems) {
+        if (excludedItems != null) {
+            for (Object e : excludedItems) {
+                if (e instanceof String) {
+                    if (((String) e).equals(key)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
     @Override
     protected JavaScriptNode copyUninitialized() {
         return create(context, cloneUninitialized(targetNode), cloneUninitialized(sourceNode), cloneUninitialized(excludedNode));
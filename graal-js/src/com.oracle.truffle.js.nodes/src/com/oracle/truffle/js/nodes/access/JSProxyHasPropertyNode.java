@@ -68,12 +68,14 @@ public abstract class JSProxyHasPropertyNode extends JavaScriptBaseNode {
     @Child private JSFunctionCallNode callNode;
     @Child private JSToBooleanNode toBooleanNode;
     @Child private JSToPropertyKeyNode toPropertyKeyNode;
+    @Child private JSProxyTargetInvariantsNode targetInvariantsNode;
 
     public JSProxyHasPropertyNode(JSContext context) {
         this.callNode = JSFunctionCallNode.createCall();
         this.trapGetter = GetMethodNode.create(context, null, JSProxy.HAS);
         this.toPropertyKeyNode = JSToPropertyKeyNode.create();
         this.toBooleanNode = JSToBooleanNode.create();
+        this.targetInvariantsNode = JSProxyTargetInvariantsNode.create();
     }
 
     public static JSProxyHasPropertyNode create(JSContext context) {
@@ -82,8 +84,8 @@ public abstract class JSProxyHasPropertyNode extends JavaScriptBaseNode {
 
     public abstract boolean executeWithTargetAndKeyBoolean(Object shared, Object key);
 
-    private void checkTrapResult(boolean accessible, boolean trapResult) {
-        if (!accessible && !trapResult) {
+    private void checkTrapResult(TruffleObject target, Object propertyKey) {
+        if (targetInvariantsNode.executeBoolean(target, propertyKey) && !JSProxy.checkPropertyIsSettable(target, propertyKey)) {
             throw Errors.createTypeError("Proxy can't successfully access a non-writable, non-configurable property", this);
         }
     }
@@ -105,8 +107,9 @@ public abstract class JSProxyHasPropertyNode extends JavaScriptBaseNode {
         } else {
             Object callResult = callNode.executeCall(JSArguments.create(handler, trapFun, target, propertyKey));
             boolean trapResult = toBooleanNode.executeBoolean(callResult);
-            boolean accessible = JSProxy.checkPropertyIsSettable(target, propertyKey);
-            checkTrapResult(accessible, trapResult);
+            if (!trapResult) {
+                checkTrapResult(target, propertyKey);
+            }
             return trapResult;
         }
     }
@@ -73,11 +73,13 @@ public abstract class JSProxyPropertyGetNode extends JavaScriptBaseNode {
     @Child private JSToPropertyKeyNode toPropertyKeyNode;
     @Child private JSGetOwnPropertyNode getOwnPropertyNode;
     @Child private JSIdenticalNode sameValueNode;
+    @Child private JSProxyTargetInvariantsNode targetInvariantsNode;
     private final BranchProfile errorBranch = BranchProfile.create();
 
     protected JSProxyPropertyGetNode(JSContext context) {
         this.callNode = JSFunctionCallNode.createCall();
         this.trapGet = GetMethodNode.create(context, null, JSProxy.GET);
+        this.targetInvariantsNode = JSProxyTargetInvariantsNode.create();
     }
 
     public static JSProxyPropertyGetNode create(JSContext context) {
@@ -103,7 +105,9 @@ public abstract class JSProxyPropertyGetNode extends JavaScriptBaseNode {
             }
         }
         Object trapResult = callNode.executeCall(JSArguments.create(handler, trapFun, target, propertyKey, receiver));
-        checkInvariants(propertyKey, target, trapResult);
+        if (targetInvariantsNode.executeBoolean(target, propertyKey)) {
+            checkInvariants(propertyKey, target, trapResult);
+        }
         return trapResult;
     }
 
@@ -74,11 +74,13 @@ public abstract class JSProxyPropertySetNode extends JavaScriptBaseNode {
     @Child protected GetMethodNode trapGet;
     @Child private JSToPropertyKeyNode toPropertyKeyNode;
     @Child private Node writeForeignNode;
+    @Child private JSProxyTargetInvariantsNode targetInvariantsNode;
 
     protected JSProxyPropertySetNode(JSContext context, boolean isStrict) {
         this.call = JSFunctionCallNode.createCall();
         this.trapGet = GetMethodNode.create(context, null, JSProxy.SET);
         this.toBoolean = JSToBooleanNode.create();
+        this.targetInvariantsNode = JSProxyTargetInvariantsNode.create();
         this.isStrict = isStrict;
     }
 
@@ -116,7 +118,10 @@ public abstract class JSProxyPropertySetNode extends JavaScriptBaseNode {
                 return false;
             }
         }
-        return JSProxy.checkProxySetTrapInvariants(proxy, propertyKey, value);
+        if (targetInvariantsNode.executeBoolean(target, propertyKey)) {
+            return JSProxy.checkProxySetTrapInvariants(proxy, propertyKey, value);
+        }
+        return true;
     }
 
     private Object truffleWrite(TruffleObject obj, Object key, Object value) {
@@ -40,7 +40,6 @@
  */
 package com.oracle.truffle.js.nodes.binary;
 
-import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.nodes.NodeInfo;
@@ -111,7 +110,6 @@ public abstract class JSMultiplyNode extends JSBinaryNode {
     }
 
     @Specialization
-    @TruffleBoundary
     protected BigInt doBigInts(BigInt a, BigInt b) {
         try {
             return a.multiply(b);
@@ -48,6 +48,7 @@ import com.oracle.truffle.js.nodes.JavaScriptBaseNode;
 import com.oracle.truffle.js.nodes.JavaScriptNode;
 import com.oracle.truffle.js.nodes.cast.JSToPropertyKeyNodeGen.JSToPropertyKeyWrapperNodeGen;
 import com.oracle.truffle.js.nodes.unary.JSUnaryNode;
+import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.Symbol;
 
 /**
@@ -80,7 +81,7 @@ public abstract class JSToPropertyKeyNode extends JavaScriptBaseNode {
         if (isSymbol.profile(key instanceof Symbol)) {
             return key;
         } else {
-            return toStringNode.executeString(key);
+            return JSRuntime.internPropertyKey(toStringNode.executeString(key));
         }
     }
 
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2018, 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.nodes.function;
+
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.frame.FrameSlot;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.js.nodes.JavaScriptNode;
+import com.oracle.truffle.js.runtime.objects.Undefined;
+
+/**
+ * Clears the given frame slots when the body has been executed (normally or abruptly).
+ *
+ * Used for function frames that may outlive the call because they are captured by closures: locals
+ * that are not referenced by any closure are dead after the function returns and must not keep
+ * their values alive. Only object slots are cleared; primitive values do not retain any memory and
+ * rewriting them would just change the slot kind.
+ */
+public final class ClearFrameSlotsNode extends JavaScriptNode {
+    @Child private JavaScriptNode body;
+    @CompilationFinal(dimensions = 1) private final FrameSlot[] slots;
+
+    private ClearFrameSlotsNode(JavaScriptNode body, FrameSlot[] slots) {
+        this.body = body;
+        this.slots = slots;
+    }
+
+    public static JavaScriptNode create(JavaScriptNode body, FrameSlot[] slots) {
+        return new ClearFrameSlotsNode(body, slots);
+    }
+
+    @Override
+    public Object execute(VirtualFrame frame) {
+        try {
+            return body.execute(frame);
+        } finally {
+            clearSlots(frame);
+        }
+    }
+
+    @Override
+    public void executeVoid(VirtualFrame frame) {
+        try {
+            body.executeVoid(frame);
+        } finally {
+            clearSlots(frame);
+        }
+    }
+
+    @ExplodeLoop
+    private void clearSlots(VirtualFrame frame) {
+        for (FrameSlot slot : slots) {
+            if (frame.isObject(slot)) {
+                frame.setObject(slot, Undefined.instance);
+            }
+        }
+    }
+
+    @Override
+    public boolean isResultAlwaysOfType(Class<?> clazz) {
+        return body.isResultAlwaysOfType(clazz);
+    }
+
+    @Override
+    protected JavaScriptNode copyUninitialized() {
+        return new ClearFrameSlotsNode(cloneUninitialized(body), slots);
+    }
+}
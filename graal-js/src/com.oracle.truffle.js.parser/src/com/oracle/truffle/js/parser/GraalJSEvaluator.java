@@ -328,11 +328,33 @@ public final class GraalJSEvaluator implements JSParser {
         }
     }
 
+    @Override
+    public Object parseModuleAhead(JSContext context, Source source) {
+        try {
+            return GraalJSParserHelper.parseModule(source, ((GraalJSParserOptions) context.getParserOptions()).putStrict(true), context.getAtomTable());
+        } catch (com.oracle.js.parser.ParserException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public JSModuleRecord parseModule(JSContext context, Source source, JSModuleLoader moduleLoader, Object parsedModule) {
+        if (parsedModule == null) {
+            return parseModule(context, source, moduleLoader);
+        }
+        return JavaScriptTranslator.translateModule(NodeFactory.getInstance(context), context, source, moduleLoader, (com.oracle.js.parser.ir.FunctionNode) parsedModule);
+    }
+
     @Override
     public JSModuleRecord hostResolveImportedModule(JSModuleRecord referencingModule, String specifier) {
         return referencingModule.getModuleLoader().resolveImportedModule(referencingModule, specifier);
     }
 
+    @Override
+    public List<String> getRequestedModules(JSModuleRecord moduleRecord) {
+        return ((Module) moduleRecord.getModule()).getRequestedModules();
+    }
+
     Collection<String> getExportedNames(JSModuleRecord moduleRecord) {
         return getExportedNames(moduleRecord, new HashSet<>());
     }
@@ -67,6 +67,7 @@ import com.oracle.truffle.js.runtime.JSException;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.JSTruffleOptions;
 import com.oracle.truffle.js.runtime.RegexCompilerInterface;
+import com.oracle.truffle.js.runtime.util.AtomTable;
 
 public class GraalJSParserHelper {
 
@@ -77,21 +78,36 @@ public class GraalJSParserHelper {
     }
 
     public static FunctionNode parseScript(com.oracle.truffle.api.source.Source truffleSource, GraalJSParserOptions parserOptions, boolean eval, boolean evalInGlobalScope) {
-        FunctionNode parsed = parseSource(truffleSource, parserOptions, false, eval);
+        return parseScript(truffleSource, parserOptions, eval, evalInGlobalScope, null);
+    }
+
+    /**
+     * @param atomTable table to intern identifiers and string literals in, or {@code null}
+     */
+    public static FunctionNode parseScript(com.oracle.truffle.api.source.Source truffleSource, GraalJSParserOptions parserOptions, boolean eval, boolean evalInGlobalScope,
+                    AtomTable atomTable) {
+        FunctionNode parsed = parseSource(truffleSource, parserOptions, false, eval, atomTable);
         GraalJSTranslator.earlyVariableDeclarationPass(parsed, parserOptions, eval, evalInGlobalScope);
         return parsed;
     }
 
     public static FunctionNode parseModule(com.oracle.truffle.api.source.Source truffleSource, GraalJSParserOptions parserOptions) {
-        return parseSource(truffleSource, parserOptions, true, false);
+        return parseModule(truffleSource, parserOptions, null);
+    }
+
+    /**
+     * @param atomTable table to intern identifiers and string literals in, or {@code null}
+     */
+    public static FunctionNode parseModule(com.oracle.truffle.api.source.Source truffleSource, GraalJSParserOptions parserOptions, AtomTable atomTable) {
+        return parseSource(truffleSource, parserOptions, true, false, atomTable);
     }
 
-    private static FunctionNode parseSource(com.oracle.truffle.api.source.Source truffleSource, GraalJSParserOptions parserOptions, boolean parseModule, boolean eval) {
+    private static FunctionNode parseSource(com.oracle.truffle.api.source.Source truffleSource, GraalJSParserOptions parserOptions, boolean parseModule, boolean eval, AtomTable atomTable) {
         CompilerAsserts.neverPartOfCompilation(NEVER_PART_OF_COMPILATION_MESSAGE);
         CharSequence code = truffleSource.getCharacters();
         com.oracle.js.parser.Source source = com.oracle.js.parser.Source.sourceFor(truffleSource.getName(), code, eval);
 
-        ScriptEnvironment env = makeScriptEnvironment(parserOptions);
+        ScriptEnvironment env = makeScriptEnvironment(parserOptions, atomTable);
         ErrorManager errors;
         if (eval) {
             errors = new ErrorManager.ThrowErrorManager();
@@ -159,6 +175,10 @@ public class GraalJSParserHelper {
     }
 
     private static ScriptEnvironment makeScriptEnvironment(GraalJSParserOptions parserOptions) {
+        return makeScriptEnvironment(parserOptions, null);
+    }
+
+    private static ScriptEnvironment makeScriptEnvironment(GraalJSParserOptions parserOptions, AtomTable atomTable) {
         ScriptEnvironment.Builder builder = ScriptEnvironment.builder();
         builder.strict(parserOptions.isStrict());
         builder.ecmaScriptVersion(parserOptions.getEcmaScriptVersion());
@@ -175,6 +195,9 @@ public class GraalJSParserHelper {
         if (parserOptions.isDumpOnError()) {
             builder.dumpOnError(new PrintWriter(System.err, true));
         }
+        if (atomTable != null) {
+            builder.stringInterner(atomTable::intern);
+        }
         return builder.build();
     }
 
@@ -387,6 +387,11 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
             }
         }
 
+        if (functionData.needsParentFrame() && environment != null) {
+            // the enclosing frame may be retained by the function object
+            currentFunction().setHasClosures();
+        }
+
         JavaScriptNode functionExpression;
         if (isArrowFunction && (functionNode.usesThis() || functionNode.hasEval())) {
             JavaScriptNode thisNode = !currentFunction().isGlobal() ? environment.findThisVar().createReadNode() : factory.createAccessThis();
@@ -434,9 +439,28 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
             body = factory.createDerivedConstructorResult(body, getThisBinding);
         }
 
+        if (canClearUncapturedLocals(functionNode, currentFunction)) {
+            FrameSlot[] uncapturedSlots = currentFunction.getUncapturedLocalSlots();
+            if (uncapturedSlots.length != 0) {
+                body = factory.createClearFrameSlots(body, uncapturedSlots);
+            }
+        }
+
         return body;
     }
 
+    /**
+     * Locals that are not captured by closures are dead once the function returns, but the frame
+     * itself may still be retained by closures. Such locals can only be cleared if all nested
+     * functions have been translated already (so that all captured slots are known) and no eval
+     * code may access them later on. Generator and async function frames are resumed later.
+     */
+    private static boolean canClearUncapturedLocals(FunctionNode functionNode, FunctionEnvironment currentFunction) {
+        return JSTruffleOptions.ClearUncapturedLocals && !JSTruffleOptions.LazyTranslation && currentFunction.hasClosures() &&
+                        !currentFunction.isGlobal() && !currentFunction.isEval() && !currentFunction.isDynamicallyScoped() && !functionNode.hasDeepEval() &&
+                        !currentFunction.isGeneratorFunction() && !currentFunction.isAsyncFunction();
+    }
+
     private FunctionRootNode translateFunctionOnDemand(FunctionNode functionNode, JSFunctionData functionData, boolean isStrict, boolean isArrowFunction, boolean isGeneratorFunction,
                     boolean isAsyncFunction, boolean isDerivedConstructor, boolean isGlobal, boolean needsNewTarget, boolean needsParentFrame, String functionName) {
         try (EnvironmentCloseable functionEnv = enterFunctionEnvironment(isStrict, isArrowFunction, isGeneratorFunction, isDerivedConstructor, isAsyncFunction, isGlobal)) {
@@ -461,6 +461,11 @@ public class JavaScriptLanguage extends AbstractJavaScriptLanguage {
         if (((GraalJSParserOptions) realm.getContext().getParserOptions()).isScripting()) {
             realm.addScriptingObjects();
         }
+
+        String startupSnapshot = JSContextOptions.STARTUP_SNAPSHOT.getValue(realm.getEnv().getOptions());
+        if (!startupSnapshot.isEmpty()) {
+            StartupSnapshot.get(startupSnapshot).run(realm);
+        }
     }
 
     @Override
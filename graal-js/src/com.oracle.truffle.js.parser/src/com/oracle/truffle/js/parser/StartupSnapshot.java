@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2018, 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.parser;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.js.nodes.JSNodeDecoder;
+import com.oracle.truffle.js.nodes.ScriptNode;
+import com.oracle.truffle.js.runtime.AbstractJavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSRealm;
+
+/**
+ * A set of warm-up scripts in binary snapshot form (see {@link BinarySnapshotProvider}) that is
+ * memory-mapped from a file and run in every new realm, so that the scripts are decoded instead of
+ * parsed and translated. The decoded scripts are shared by all realms of a {@link JSContext} and
+ * cached in the context (see {@link JSContext#getStartupScripts()}), as they refer to it.
+ *
+ * File format: magic, node decoder checksum, script count, then for every script its name, its
+ * source code and its binary snapshot, each prefixed with its length.
+ */
+public final class StartupSnapshot {
+    public static final int MAGIC = 0x31505453;
+
+    private static final Map<Path, StartupSnapshot> mappedSnapshots = new ConcurrentHashMap<>();
+
+    private final Source[] sources;
+    private final ByteBuffer[] binaries;
+
+    private StartupSnapshot(Source[] sources, ByteBuffer[] binaries) {
+        this.sources = sources;
+        this.binaries = binaries;
+    }
+
+    /**
+     * Returns the snapshot mapped from the given file, mapping it on first use.
+     */
+    @TruffleBoundary
+    public static StartupSnapshot get(String fileName) {
+        Path path = Paths.get(fileName).toAbsolutePath().normalize();
+        return mappedSnapshots.computeIfAbsent(path, p -> {
+            try {
+                return map(p);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static StartupSnapshot map(Path path) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Unknown format: " + path);
+        }
+        if (buffer.getInt() != JSNodeDecoder.getChecksum()) {
+            throw new IllegalArgumentException("Snapshot verification failed: " + path);
+        }
+        int count = buffer.getInt();
+        Source[] sources = new Source[count];
+        ByteBuffer[] binaries = new ByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            String name = getString(buffer);
+            String code = getString(buffer);
+            sources[i] = Source.newBuilder(AbstractJavaScriptLanguage.ID, code, name).build();
+            int length = buffer.getInt();
+            ByteBuffer binary = buffer.slice();
+            binary.limit(length);
+            binaries[i] = binary;
+            buffer.position(buffer.position() + length);
+        }
+        return new StartupSnapshot(sources, binaries);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        CharBuffer chars = buffer.asCharBuffer();
+        chars.limit(length);
+        buffer.position(buffer.position() + length * Character.BYTES);
+        return chars.toString();
+    }
+
+    /**
+     * Runs the snapshotted scripts in the given realm, in the order in which they were recorded.
+     */
+    @TruffleBoundary
+    public void run(JSRealm realm) {
+        for (ScriptNode script : getScripts(realm.getContext())) {
+            script.run(realm);
+        }
+    }
+
+    private ScriptNode[] getScripts(JSContext context) {
+        return (ScriptNode[]) context.getStartupScripts().computeIfAbsent(this, k -> decode(context));
+    }
+
+    private ScriptNode[] decode(JSContext context) {
+        JSParser parser = (JSParser) context.getEvaluator();
+        ScriptNode[] scripts = new ScriptNode[sources.length];
+        for (int i = 0; i < sources.length; i++) {
+            scripts[i] = parser.parseScriptNode(context, sources[i], binaries[i]);
+        }
+        return scripts;
+    }
+
+    /**
+     * Writes a startup snapshot of the given scripts; {@code binaries[i]} is the binary snapshot
+     * of {@code sources[i]}.
+     */
+    public static void write(OutputStream outs, Source[] sources, byte[][] binaries) throws IOException {
+        assert sources.length == binaries.length;
+        DataOutputStream out = new DataOutputStream(outs);
+        out.writeInt(MAGIC);
+        out.writeInt(JSNodeDecoder.getChecksum());
+        out.writeInt(sources.length);
+        for (int i = 0; i < sources.length; i++) {
+            putString(out, sources[i].getName());
+            putString(out, sources[i].getCharacters());
+            out.writeInt(binaries[i].length);
+            out.write(binaries[i]);
+        }
+        out.flush();
+    }
+
+    private static void putString(DataOutputStream out, CharSequence chars) throws IOException {
+        out.writeInt(chars.length());
+        for (int i = 0; i < chars.length(); i++) {
+            out.writeChar(chars.charAt(i));
+        }
+    }
+}
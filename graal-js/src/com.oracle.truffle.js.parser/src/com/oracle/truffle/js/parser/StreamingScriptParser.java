@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2018, 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.parser;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import com.oracle.js.parser.ir.FunctionNode;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.js.runtime.AbstractJavaScriptLanguage;
+
+/**
+ * Parses a script on a background thread while its source text is supplied in chunks, like a V8
+ * {@code ScriptStreamingTask}.
+ *
+ * The chunks are collected by the thread that supplies them, which also parses the script once the
+ * end of the source has been signaled (the parser needs the complete text). The thread that
+ * requested the compilation only waits for the result in {@link #finish()} and then translates the
+ * script as usual, so a large script does not block it for the duration of the parse.
+ */
+public final class StreamingScriptParser {
+    private static final String STREAMING_SOURCE_NAME = "<streaming>";
+
+    private final GraalJSParserOptions parserOptions;
+    private final StringBuilder content = new StringBuilder();
+    private final FutureTask<FunctionNode> parse;
+
+    public StreamingScriptParser(GraalJSParserOptions parserOptions) {
+        this.parserOptions = parserOptions;
+        this.parse = new FutureTask<>(this::parseContent);
+    }
+
+    /**
+     * Appends a chunk of the source text. Must be called on the supplying thread.
+     */
+    public void addChunk(CharSequence chunk) {
+        assert !parse.isDone();
+        content.append(chunk);
+    }
+
+    /**
+     * Signals the end of the source text and parses it on the current (supplying) thread.
+     */
+    public void endOfSource() {
+        parse.run();
+    }
+
+    private FunctionNode parseContent() {
+        // The name of the script is not known before it is compiled, the caller of finish()
+        // creates the source the script is bound to.
+        Source source = Source.newBuilder(AbstractJavaScriptLanguage.ID, content.toString(), STREAMING_SOURCE_NAME).build();
+        return GraalJSParserHelper.parseScript(source, parserOptions);
+    }
+
+    /**
+     * Waits until the script has been parsed and returns its source text.
+     */
+    public String getContent() {
+        finish();
+        return content.toString();
+    }
+
+    /**
+     * Waits until the script has been parsed and returns the result, or {@code null} if parsing
+     * failed. In the latter case, the caller is expected to parse the content again on its own
+     * thread to report the error. If parsing has not started yet, the script is parsed on the
+     * current thread instead of waiting for the end of the source to be signaled.
+     */
+    public FunctionNode finish() {
+        // no-op if the parse is already running or done
+        parse.run();
+        try {
+            return parse.get();
+        } catch (ExecutionException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+}
@@ -374,6 +374,9 @@ public abstract class Environment {
     }
 
     private VarRef newFrameSlotVarRef(FrameSlot slot, int scopeLevel, int frameLevel, String name, Environment current) {
+        if (frameLevel > 0) {
+            current.function().addCapturedSlot(slot);
+        }
         if (current instanceof DebugEnvironment) {
             return new LazyFrameSlotVarRef(slot, scopeLevel, frameLevel, name, current);
         } else {
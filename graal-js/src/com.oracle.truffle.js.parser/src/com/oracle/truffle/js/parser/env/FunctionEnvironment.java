@@ -42,10 +42,12 @@ package com.oracle.truffle.js.parser.env;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
 
 import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.api.frame.FrameSlot;
@@ -56,6 +58,7 @@ import com.oracle.truffle.js.nodes.access.ScopeFrameNode;
 import com.oracle.truffle.js.nodes.control.BreakTarget;
 import com.oracle.truffle.js.nodes.control.ContinueTarget;
 import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSFrameUtil;
 import com.oracle.truffle.js.runtime.objects.JSModuleRecord;
 
 public class FunctionEnvironment extends Environment {
@@ -111,6 +114,11 @@ public class FunctionEnvironment extends Environment {
 
     private Map<String, ImportBindingRef> importBindings;
 
+    /** Frame slots of this function that are accessed from nested functions. */
+    private Set<FrameSlot> capturedSlots;
+    /** The frame of this function may be retained by closures after the function returns. */
+    private boolean hasClosures;
+
     public FunctionEnvironment(Environment parent, NodeFactory factory, JSContext context,
                     boolean isStrictMode, boolean isEval, boolean isDirectEval, boolean isArrowFunction, boolean isGeneratorFunction, boolean isDerivedConstructor, boolean isAsyncFunction,
                     boolean isGlobal) {
@@ -384,6 +392,39 @@ public class FunctionEnvironment extends Environment {
         this.needsParentFrame = needsParentFrame;
     }
 
+    final void addCapturedSlot(FrameSlot slot) {
+        if (capturedSlots == null) {
+            capturedSlots = new HashSet<>();
+        }
+        capturedSlots.add(slot);
+    }
+
+    public final boolean isCapturedSlot(FrameSlot slot) {
+        return capturedSlots != null && capturedSlots.contains(slot);
+    }
+
+    public final boolean hasClosures() {
+        return hasClosures;
+    }
+
+    public final void setHasClosures() {
+        this.hasClosures = true;
+    }
+
+    /**
+     * Returns the frame slots of user-declared variables of this function that are not accessed
+     * from any nested function, i.e. that are dead once the function has returned.
+     */
+    public final FrameSlot[] getUncapturedLocalSlots() {
+        List<FrameSlot> uncaptured = new ArrayList<>();
+        for (FrameSlot slot : getFunctionFrameDescriptor().getSlots()) {
+            if (!JSFrameUtil.isInternal(slot) && !isCapturedSlot(slot)) {
+                uncaptured.add(slot);
+            }
+        }
+        return uncaptured.toArray(ScopeFrameNode.EMPTY_FRAME_SLOT_ARRAY);
+    }
+
     private static RuntimeException errorFrozenEnv() {
         return new IllegalStateException("frozen function environment cannot be mutated");
     }
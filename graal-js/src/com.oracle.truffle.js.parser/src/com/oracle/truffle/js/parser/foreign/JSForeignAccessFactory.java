@@ -481,9 +481,13 @@ public class JSForeignAccessFactory {
     @Resolve(message = "com.oracle.truffle.js.parser.foreign.JSForeignAccessExtraMessages.AllocateTypedArrayMessage")
     abstract static class AllocateTypedArrayMR extends Node {
         public Object access(@SuppressWarnings("unused") VirtualFrame frame, Object target, Object buffer) {
-            assert buffer instanceof ByteBuffer;
+            assert buffer instanceof ByteBuffer || buffer instanceof byte[];
             assert target instanceof DynamicObject;
             JSContext context = JSObject.getJSContext((DynamicObject) target);
+            if (buffer instanceof byte[]) {
+                // the byte[] becomes the backing store of the heap ArrayBuffer, without a copy
+                return JSArrayBuffer.createArrayBuffer(context, (byte[]) buffer);
+            }
             return createArray((ByteBuffer) buffer, context);
         }
 
@@ -536,10 +540,23 @@ public class JSForeignAccessFactory {
             DynamicObject arrayBuffer = JSArrayBufferView.getArrayBuffer((DynamicObject) target);
             if (JSArrayBuffer.isJSDirectArrayBuffer(arrayBuffer)) {
                 return extractByteBuffer(target, arrayBuffer);
+            } else if (JSArrayBuffer.isJSHeapArrayBuffer(arrayBuffer) && !JSArrayBuffer.isDetachedBuffer(arrayBuffer)) {
+                return wrapByteArray(target);
             }
             return createZeroLengthBuffer(target);
         }
 
+        /**
+         * Exposes a heap typed array as a ByteBuffer view of its byte[], without copying.
+         */
+        @TruffleBoundary
+        private static Object wrapByteArray(Object target) {
+            DynamicObject typedArray = (DynamicObject) target;
+            ByteBuffer byteBuffer = JSArrayBufferView.typedArrayGetArrayType(typedArray).asByteBuffer(typedArray, true);
+            JSContext context = JSObject.getJSContext(typedArray);
+            return JSArray.createConstant(context, new Object[]{byteBuffer});
+        }
+
         @TruffleBoundary
         private static Object createZeroLengthBuffer(Object target) {
             JSContext context = JSObject.getJSContext((DynamicObject) target);
@@ -48,29 +48,47 @@ import com.oracle.truffle.api.CompilerDirectives.ValueType;
 import com.oracle.truffle.api.interop.ForeignAccess;
 import com.oracle.truffle.api.interop.TruffleObject;
 
+/**
+ * JavaScript BigInt value. Values that fit into a {@code long} are stored inline and operated on
+ * with overflow-checked primitive arithmetic; a {@link BigInteger} is only used for values that do
+ * not fit, or when an operation on small values overflows. The representation is canonical, i.e.,
+ * {@link #value} is non-null if and only if the value does not fit into a {@code long}.
+ */
 @ValueType
 public final class BigInt implements Comparable<BigInt>, TruffleObject {
 
     static final long serialVersionUID = 6019523258212492110L;
 
+    private final long longValue;
     private final BigInteger value;
 
-    public static final BigInt ZERO = new BigInt(BigInteger.ZERO);
-    public static final BigInt ONE = new BigInt(BigInteger.ONE);
-    public static final BigInt NEGATIVE_ONE = new BigInt(BigInteger.valueOf(-1));
-    public static final BigInt TWO = new BigInt(BigInteger.valueOf(2));
+    public static final BigInt ZERO = new BigInt(0L);
+    public static final BigInt ONE = new BigInt(1L);
+    public static final BigInt NEGATIVE_ONE = new BigInt(-1L);
+    public static final BigInt TWO = new BigInt(2L);
 
-    public static final BigInt MAX_INT = new BigInt(BigInteger.valueOf(Integer.MAX_VALUE));
-    public static final BigInt MIN_INT = new BigInt(BigInteger.valueOf(Integer.MIN_VALUE));
+    public static final BigInt MAX_INT = new BigInt(Integer.MAX_VALUE);
+    public static final BigInt MIN_INT = new BigInt(Integer.MIN_VALUE);
 
     private static final BigInteger TWO64 = BigInteger.ONE.shiftLeft(64);
 
     public BigInt(String s, int r) {
-        this.value = new BigInteger(s, r);
+        this(new BigInteger(s, r));
     }
 
     public BigInt(BigInteger v) {
-        this.value = v;
+        if (v.bitLength() < 64) {
+            this.longValue = v.longValue();
+            this.value = null;
+        } else {
+            this.longValue = 0;
+            this.value = v;
+        }
+    }
+
+    private BigInt(long v) {
+        this.longValue = v;
+        this.value = null;
     }
 
     @TruffleBoundary
@@ -78,20 +96,30 @@ public final class BigInt implements Comparable<BigInt>, TruffleObject {
         return new BigInt(parseBigInteger(s));
     }
 
-    @TruffleBoundary
     public static BigInt valueOf(long i) {
-        return new BigInt(BigInteger.valueOf(i));
+        return new BigInt(i);
     }
 
-    @TruffleBoundary
     public static BigInt valueOfUnsigned(long i) {
         if (i >= 0) {
-            return new BigInt(BigInteger.valueOf(i));
+            return new BigInt(i);
         } else {
-            return new BigInt(BigInteger.valueOf(i).mod(TWO64));
+            return valueOfUnsignedBig(i);
         }
     }
 
+    @TruffleBoundary
+    private static BigInt valueOfUnsignedBig(long i) {
+        return new BigInt(BigInteger.valueOf(i).mod(TWO64));
+    }
+
+    /**
+     * Whether the value is stored inline, i.e., fits into a {@code long}.
+     */
+    public boolean fitsInLong() {
+        return value == null;
+    }
+
     @TruffleBoundary
     private static BigInteger parseBigInteger(final String valueString) {
 
@@ -124,100 +152,190 @@ public final class BigInt implements Comparable<BigInt>, TruffleObject {
     }
 
     public int intValue() {
-        return value.intValue();
+        return fitsInLong() ? (int) longValue : bigValue().intValue();
     }
 
     public double doubleValue() {
+        return fitsInLong() ? (double) longValue : bigDoubleValue();
+    }
+
+    @TruffleBoundary
+    private double bigDoubleValue() {
         return value.doubleValue();
     }
 
     public BigInteger bigIntegerValue() {
-        return value;
+        return fitsInLong() ? toBigInteger(longValue) : value;
     }
 
     @TruffleBoundary
+    private static BigInteger toBigInteger(long v) {
+        return BigInteger.valueOf(v);
+    }
+
+    private BigInteger bigValue() {
+        assert !fitsInLong();
+        return value;
+    }
+
     public BigInt toBigInt64() {
-        return valueOf(value.longValue());
+        return fitsInLong() ? this : valueOf(longValue());
     }
 
-    @TruffleBoundary
     public BigInt toBigUint64() {
-        return new BigInt(value.mod(TWO64));
+        return (fitsInLong() && longValue >= 0) ? this : valueOfUnsigned(longValue());
+    }
+
+    /**
+     * BigInt.asIntN(bits, this) for {@code bits <= 64}, computed on the lower 64 bits.
+     */
+    public BigInt asIntN(int bits) {
+        assert bits >= 0 && bits <= 64;
+        if (bits == 0) {
+            return ZERO;
+        }
+        int shift = 64 - bits;
+        return valueOf((longValue() << shift) >> shift);
+    }
+
+    /**
+     * BigInt.asUintN(bits, this) for {@code bits <= 64}, computed on the lower 64 bits.
+     */
+    public BigInt asUintN(int bits) {
+        assert bits >= 0 && bits <= 64;
+        if (bits == 64) {
+            return valueOfUnsigned(longValue());
+        }
+        return valueOf(longValue() & ((1L << bits) - 1));
     }
 
     @TruffleBoundary
     public BigInt pow(int e) {
-        return new BigInt(value.pow(e));
+        return new BigInt(bigIntegerValue().pow(e));
     }
 
     @TruffleBoundary
     public BigInt mod(BigInt m) {
-        return new BigInt(value.mod(m.value));
+        return new BigInt(bigIntegerValue().mod(m.bigIntegerValue()));
     }
 
     @Override
-    @TruffleBoundary
     public int compareTo(BigInt b) {
-        return value.compareTo(b.value);
+        if (fitsInLong() && b.fitsInLong()) {
+            return Long.compare(longValue, b.longValue);
+        }
+        return compareToBig(b);
     }
 
     @TruffleBoundary
-    public int compareValueTo(double b) {
+    private int compareToBig(BigInt b) {
+        return bigIntegerValue().compareTo(b.bigIntegerValue());
+    }
 
+    public int compareValueTo(double b) {
         assert !Double.isNaN(b) : "unexpected NAN in BigInt value comparison";
+        if (fitsInLong() && Math.abs(longValue) <= JSRuntime.MAX_SAFE_INTEGER_LONG) {
+            // exactly representable as a double
+            double d = longValue;
+            return d < b ? -1 : (d > b ? 1 : 0);
+        }
+        return compareValueToBig(b);
+    }
 
+    @TruffleBoundary
+    private int compareValueToBig(double b) {
         if (b == Double.POSITIVE_INFINITY) {
             return -1;
         } else if (b == Double.NEGATIVE_INFINITY) {
             return 1;
         } else {
-            BigDecimal thisValue = new BigDecimal(value);
+            BigDecimal thisValue = new BigDecimal(bigIntegerValue());
             BigDecimal theOtherValue = new BigDecimal(b);
             return thisValue.compareTo(theOtherValue);
         }
     }
 
-    @TruffleBoundary
     public BigInt subtract(BigInt b) {
-        return new BigInt(value.subtract(b.value));
+        if (fitsInLong() && b.fitsInLong()) {
+            long r = longValue - b.longValue;
+            // overflow check of Math.subtractExact
+            if (((longValue ^ b.longValue) & (longValue ^ r)) >= 0) {
+                return new BigInt(r);
+            }
+        }
+        return subtractBig(b);
     }
 
     @TruffleBoundary
+    private BigInt subtractBig(BigInt b) {
+        return new BigInt(bigIntegerValue().subtract(b.bigIntegerValue()));
+    }
+
     public BigInt add(BigInt b) {
-        return new BigInt(value.add(b.value));
+        if (fitsInLong() && b.fitsInLong()) {
+            long r = longValue + b.longValue;
+            // overflow check of Math.addExact
+            if (((longValue ^ r) & (b.longValue ^ r)) >= 0) {
+                return new BigInt(r);
+            }
+        }
+        return addBig(b);
     }
 
     @TruffleBoundary
-    public String toString(int radix) {
-        return value.toString(radix);
+    private BigInt addBig(BigInt b) {
+        return new BigInt(bigIntegerValue().add(b.bigIntegerValue()));
     }
 
     @TruffleBoundary
+    public String toString(int radix) {
+        return fitsInLong() ? Long.toString(longValue, radix) : value.toString(radix);
+    }
+
     public boolean testBit(int n) {
-        return value.testBit(n);
+        if (fitsInLong() && n >= 0) {
+            return n >= 64 ? longValue < 0 : ((longValue >> n) & 1) != 0;
+        }
+        return testBitBig(n);
+    }
+
+    @TruffleBoundary
+    private boolean testBitBig(int n) {
+        return bigIntegerValue().testBit(n);
     }
 
     public int signum() {
-        return value.signum();
+        return fitsInLong() ? Long.signum(longValue) : value.signum();
     }
 
-    @TruffleBoundary
     public BigInt negate() {
-        return new BigInt(value.negate());
+        if (fitsInLong() && longValue != Long.MIN_VALUE) {
+            return new BigInt(-longValue);
+        }
+        return negateBig();
     }
 
     @TruffleBoundary
+    private BigInt negateBig() {
+        return new BigInt(bigIntegerValue().negate());
+    }
+
     public BigInt not() {
+        if (fitsInLong()) {
+            return new BigInt(~longValue);
+        }
+        return notBig();
+    }
+
+    @TruffleBoundary
+    private BigInt notBig() {
         return new BigInt(value.not());
     }
 
     @Override
     @TruffleBoundary
     public int hashCode() {
-        final int prime = 31;
-        int result = 1;
-        result = prime * result + ((value == null) ? 0 : value.hashCode());
-        return result;
+        return fitsInLong() ? Long.hashCode(longValue) : value.hashCode();
     }
 
     @Override
@@ -234,69 +352,139 @@ public final class BigInt implements Comparable<BigInt>, TruffleObject {
         }
         BigInt other = (BigInt) obj;
         if (value == null) {
-            if (other.value != null) {
-                return false;
-            }
-        } else if (!value.equals(other.value)) {
-            return false;
+            return other.value == null && longValue == other.longValue;
+        } else {
+            return value.equals(other.value);
         }
-        return true;
     }
 
-    @TruffleBoundary
     public BigInt and(BigInt b) {
-        return new BigInt(value.and(b.value));
+        if (fitsInLong() && b.fitsInLong()) {
+            return new BigInt(longValue & b.longValue);
+        }
+        return andBig(b);
     }
 
     @TruffleBoundary
+    private BigInt andBig(BigInt b) {
+        return new BigInt(bigIntegerValue().and(b.bigIntegerValue()));
+    }
+
     public BigInt or(BigInt b) {
-        return new BigInt(value.or(b.value));
+        if (fitsInLong() && b.fitsInLong()) {
+            return new BigInt(longValue | b.longValue);
+        }
+        return orBig(b);
     }
 
     @TruffleBoundary
+    private BigInt orBig(BigInt b) {
+        return new BigInt(bigIntegerValue().or(b.bigIntegerValue()));
+    }
+
     public BigInt xor(BigInt b) {
-        return new BigInt(value.xor(b.value));
+        if (fitsInLong() && b.fitsInLong()) {
+            return new BigInt(longValue ^ b.longValue);
+        }
+        return xorBig(b);
     }
 
     @TruffleBoundary
+    private BigInt xorBig(BigInt b) {
+        return new BigInt(bigIntegerValue().xor(b.bigIntegerValue()));
+    }
+
     public BigInt multiply(BigInt b) {
-        return new BigInt(value.multiply(b.value));
+        if (fitsInLong() && b.fitsInLong()) {
+            long x = longValue;
+            long y = b.longValue;
+            long r = x * y;
+            // overflow check of Math.multiplyExact
+            if (((Math.abs(x) | Math.abs(y)) >>> 31 == 0) || ((y == 0 || r / y == x) && !(x == Long.MIN_VALUE && y == -1))) {
+                return new BigInt(r);
+            }
+        }
+        return multiplyBig(b);
     }
 
     @TruffleBoundary
+    private BigInt multiplyBig(BigInt b) {
+        return new BigInt(bigIntegerValue().multiply(b.bigIntegerValue()));
+    }
+
     public BigInt divide(BigInt b) {
-        return new BigInt(value.divide(b.value));
+        if (fitsInLong() && b.fitsInLong() && b.longValue != 0 && !(longValue == Long.MIN_VALUE && b.longValue == -1)) {
+            return new BigInt(longValue / b.longValue);
+        }
+        return divideBig(b);
     }
 
     @TruffleBoundary
+    private BigInt divideBig(BigInt b) {
+        return new BigInt(bigIntegerValue().divide(b.bigIntegerValue()));
+    }
+
     public BigInt remainder(BigInt b) {
-        return new BigInt(value.remainder(b.value));
+        if (fitsInLong() && b.fitsInLong() && b.longValue != 0) {
+            return new BigInt(longValue % b.longValue);
+        }
+        return remainderBig(b);
     }
 
     @TruffleBoundary
+    private BigInt remainderBig(BigInt b) {
+        return new BigInt(bigIntegerValue().remainder(b.bigIntegerValue()));
+    }
+
     public BigInt shiftLeft(int b) {
-        return new BigInt(value.shiftLeft(b));
+        if (fitsInLong() && b >= 0 && b < 64) {
+            long r = longValue << b;
+            if ((r >> b) == longValue) {
+                return new BigInt(r);
+            }
+        }
+        return shiftLeftBig(b);
     }
 
     @TruffleBoundary
+    private BigInt shiftLeftBig(int b) {
+        return new BigInt(bigIntegerValue().shiftLeft(b));
+    }
+
     public BigInt shiftRight(int b) {
-        return new BigInt(value.shiftRight(b));
+        if (fitsInLong() && b >= 0) {
+            return new BigInt(longValue >> Math.min(b, 63));
+        }
+        return shiftRightBig(b);
     }
 
     @TruffleBoundary
+    private BigInt shiftRightBig(int b) {
+        return new BigInt(bigIntegerValue().shiftRight(b));
+    }
+
     public long longValueExact() {
-        return value.longValueExact();
+        return fitsInLong() ? longValue : bigLongValueExact();
     }
 
     @TruffleBoundary
+    private long bigLongValueExact() {
+        return value.longValueExact();
+    }
+
     public long longValue() {
+        return fitsInLong() ? longValue : bigLongValue();
+    }
+
+    @TruffleBoundary
+    private long bigLongValue() {
         return value.longValue();
     }
 
     @Override
     @TruffleBoundary
     public String toString() {
-        return value.toString(10);
+        return toString(10);
     }
 
     public static boolean isInstance(TruffleObject object) {
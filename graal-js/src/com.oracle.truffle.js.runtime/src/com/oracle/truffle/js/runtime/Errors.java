@@ -453,6 +453,11 @@ public final class Errors {
         return Errors.createRangeError("Maximum call stack size exceeded", originatingNode);
     }
 
+    @TruffleBoundary
+    public static JSException createTypeErrorReadOnlyBuffer(Node originatingNode) {
+        return Errors.createTypeError("Cannot write to a read-only ArrayBuffer", originatingNode);
+    }
+
     @TruffleBoundary
     public static JSException createRangeErrorInvalidStringLength() {
         return Errors.createRangeError("Invalid string length");
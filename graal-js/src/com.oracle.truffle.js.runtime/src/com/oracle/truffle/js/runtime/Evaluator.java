@@ -40,6 +40,8 @@
  */
 package com.oracle.truffle.js.runtime;
 
+import java.util.List;
+
 import com.oracle.truffle.api.frame.MaterializedFrame;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.source.Source;
@@ -81,8 +83,30 @@ public interface Evaluator {
 
     JSModuleRecord parseModule(JSContext context, Source source, JSModuleLoader moduleLoader);
 
+    /**
+     * Parses a module without translating it. Does not require the context to be entered, so it
+     * may be called on another thread than the one using the context.
+     *
+     * @return the parsed module to be passed to
+     *         {@link #parseModule(JSContext, Source, JSModuleLoader, Object)}, or {@code null} if
+     *         the module has syntax errors, which are reported when it is parsed again
+     */
+    Object parseModuleAhead(JSContext context, Source source);
+
+    /**
+     * Translates a module that has been parsed with {@link #parseModuleAhead}. If it has not been
+     * parsed ({@code parsedModule} is {@code null}), it is parsed first.
+     */
+    JSModuleRecord parseModule(JSContext context, Source source, JSModuleLoader moduleLoader, Object parsedModule);
+
     JSModuleRecord hostResolveImportedModule(JSModuleRecord referencingModule, String specifier);
 
+    /**
+     * Returns the module specifiers requested by the import and export declarations of a parsed
+     * (not necessarily translated) module.
+     */
+    List<String> getRequestedModules(JSModuleRecord moduleRecord);
+
     void moduleInstantiation(JSModuleRecord moduleRecord);
 
     Object moduleEvaluation(JSRealm realm, JSModuleRecord moduleRecord);
@@ -40,35 +40,54 @@
  */
 package com.oracle.truffle.js.runtime;
 
-import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
 /**
  * Java-based implementation of ECMA2017 WaiterList (24.4.1.2).
+ *
+ * Waiters are sharded by index into lock stripes, so that agents waiting on (or waking) different
+ * locations of a SharedArrayBuffer do not contend on a single lock. Each stripe is a
+ * {@link JSAgentWaiterListEntry} and is only allocated once some agent waits on one of its indices.
  */
 public class JSAgentWaiterList {
 
-    private final Map<Integer, JSAgentWaiterListEntry> waiters;
+    private static final int STRIPES = 64;
+
+    private final AtomicReferenceArray<JSAgentWaiterListEntry> stripes;
 
     private final Lock globalMonitor;
 
     @TruffleBoundary
     public JSAgentWaiterList() {
-        this.waiters = new ConcurrentHashMap<>();
+        this.stripes = new AtomicReferenceArray<>(STRIPES);
         this.globalMonitor = new ReentrantLock();
     }
 
+    /**
+     * Returns the stripe the waiters of the given index belong to. Neighbouring indices are mapped
+     * to different stripes.
+     */
     public JSAgentWaiterListEntry getListForIndex(int indexPos) {
-        JSAgentWaiterListEntry list = Boundaries.mapPutIfAbsent(waiters, indexPos, new JSAgentWaiterListEntry());
+        int stripe = indexPos & (STRIPES - 1);
+        JSAgentWaiterListEntry list = stripes.get(stripe);
         if (list == null) {
-            return Boundaries.mapGet(waiters, indexPos);
-        } else {
+            return createList(stripe);
+        }
+        return list;
+    }
+
+    @TruffleBoundary
+    private JSAgentWaiterListEntry createList(int stripe) {
+        JSAgentWaiterListEntry list = new JSAgentWaiterListEntry();
+        if (stripes.compareAndSet(stripe, null, list)) {
             return list;
         }
+        return stripes.get(stripe);
     }
 
     public void lock() {
@@ -79,16 +98,24 @@ public class JSAgentWaiterList {
         globalMonitor.unlock();
     }
 
-    public static final class JSAgentWaiterListEntry extends ConcurrentLinkedQueue<Integer> {
+    /**
+     * FIFO queue of the agents waiting on the indices of one stripe. Every waiter is an unboxed
+     * (index, agent signifier) pair. Must only be accessed while holding the lock of the entry.
+     */
+    public static final class JSAgentWaiterListEntry {
 
-        private static final long serialVersionUID = 2655886588267252886L;
+        private static final int[] EMPTY = new int[0];
 
         private final Lock indexMonitor;
 
+        /** Pairs of index and agent signifier, in FIFO order. */
+        private int[] waiters;
+        private int size;
+
         @TruffleBoundary
         public JSAgentWaiterListEntry() {
-            super();
             this.indexMonitor = new ReentrantLock();
+            this.waiters = new int[8];
         }
 
         public void lock() {
@@ -99,6 +126,69 @@ public class JSAgentWaiterList {
             indexMonitor.unlock();
         }
 
+        @TruffleBoundary
+        public void add(int indexPos, int agent) {
+            if (size + 2 > waiters.length) {
+                waiters = Arrays.copyOf(waiters, waiters.length * 2);
+            }
+            waiters[size++] = indexPos;
+            waiters[size++] = agent;
+        }
+
+        public boolean contains(int indexPos, int agent) {
+            return find(indexPos, agent) >= 0;
+        }
+
+        @TruffleBoundary
+        public boolean remove(int indexPos, int agent) {
+            int pos = find(indexPos, agent);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(waiters, pos + 2, waiters, pos, size - pos - 2);
+            size -= 2;
+            return true;
+        }
+
+        /**
+         * Removes (at most) the first {@code count} agents waiting on the given index and returns
+         * their signifiers.
+         */
+        @TruffleBoundary
+        public int[] removeWaiters(int indexPos, int count) {
+            int found = 0;
+            for (int i = 0; i < size && found < count; i += 2) {
+                if (waiters[i] == indexPos) {
+                    found++;
+                }
+            }
+            if (found == 0) {
+                return EMPTY;
+            }
+            int[] removed = new int[found];
+            int n = 0;
+            int kept = 0;
+            for (int i = 0; i < size; i += 2) {
+                if (n < found && waiters[i] == indexPos) {
+                    removed[n++] = waiters[i + 1];
+                } else {
+                    waiters[kept++] = waiters[i];
+                    waiters[kept++] = waiters[i + 1];
+                }
+            }
+            size = kept;
+            return removed;
+        }
+
+        private int find(int indexPos, int agent) {
+            for (int i = 0; i < size; i += 2) {
+                if (waiters[i] == indexPos && waiters[i + 1] == agent) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
     }
 
 }
@@ -130,6 +130,7 @@ import com.oracle.truffle.js.runtime.objects.JSShape;
 import com.oracle.truffle.js.runtime.objects.JSShapeData;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.AtomTable;
 import com.oracle.truffle.js.runtime.util.CompilableBiFunction;
 import com.oracle.truffle.js.runtime.util.CompilableFunction;
 import com.oracle.truffle.js.runtime.util.DebugJSAgent;
@@ -197,6 +198,7 @@ public class JSContext {
 
     private JSInteropRuntime interopRuntime;
     private final TimeProfiler timeProfiler;
+    private final AtomTable atomTable;
 
     private final JSObjectFactory.BoundProto moduleNamespaceFactory;
     private final JSObjectFactory.BoundProto javaWrapperFactory;
@@ -304,6 +306,12 @@ public class JSContext {
 
     private volatile ClassValue<Class<?>> javaAdapterClasses;
 
+    /**
+     * Scripts of startup snapshots decoded for this context, by snapshot. Decoded scripts refer to
+     * the context, so they are kept here rather than in the (process-wide) snapshots.
+     */
+    private final Map<Object, Object[]> startupScripts = new ConcurrentHashMap<>();
+
     private final JSFunctionFactory functionFactoryNamed;
     private final JSFunctionFactory functionFactoryAnonymous;
     private final JSFunctionFactory constructorFactoryNamed;
@@ -417,6 +425,7 @@ public class JSContext {
         this.builtinFunctionData = new JSFunctionData[BuiltinFunctionKey.values().length];
 
         this.timeProfiler = JSTruffleOptions.ProfileTime ? new TimeProfiler() : null;
+        this.atomTable = JSTruffleOptions.SharedAtoms ? new AtomTable() : null;
         this.javaWrapperFactory = JSTruffleOptions.NashornJavaInterop ? JSObjectFactory.createBound(this, Null.instance, JSJavaWrapper.makeShape(this).createFactory()) : null;
 
         this.singleRealmAssumption = Truffle.getRuntime().createAssumption("single realm");
@@ -743,6 +752,17 @@ public class JSContext {
         return timeProfiler;
     }
 
+    /**
+     * Returns the table of canonical property key strings, or {@code null} if disabled.
+     */
+    public AtomTable getAtomTable() {
+        return atomTable;
+    }
+
+    public final Map<Object, Object[]> getStartupScripts() {
+        return startupScripts;
+    }
+
     /**
      * Get the current Realm using {@link ContextReference}.
      */
@@ -153,6 +153,10 @@ public final class JSContextOptions {
     public static final OptionKey<String> TIME_ZONE = new OptionKey<>("");
     private static final String TIME_ZONE_HELP = "Set custom timezone.";
 
+    public static final String STARTUP_SNAPSHOT_NAME = JS_OPTION_PREFIX + "startup-snapshot";
+    public static final OptionKey<String> STARTUP_SNAPSHOT = new OptionKey<>("");
+    private static final String STARTUP_SNAPSHOT_HELP = "Startup snapshot file (created by the snapshot tool with --startup) whose scripts are run in every new context.";
+
     public static final String TIMER_RESOLUTION_NAME = JS_OPTION_PREFIX + "timer-resolution";
     private static final OptionKey<Long> TIMER_RESOLUTION = new OptionKey<>(1000000L);
     private static final String TIMER_RESOLUTION_HELP = "Resolution of timers (performance.now() and Date built-ins) in nanoseconds. Fuzzy time is used when set to 0.";
@@ -197,6 +201,10 @@ public final class JSContextOptions {
     public static final OptionKey<Boolean> GRAAL_BUILTIN = new OptionKey<>(true);
     private static final String GRAAL_BUILTIN_HELP = "provide 'Graal' global property.";
 
+    public static final String MAP_FILE_NAME = JS_OPTION_PREFIX + "map-file";
+    public static final OptionKey<Boolean> MAP_FILE = new OptionKey<>(false);
+    private static final String MAP_FILE_HELP = "provide 'Graal.mapFile' and related methods for memory-mapping files into ArrayBuffers.";
+
     public static final String POLYGLOT_BUILTIN_NAME = JS_OPTION_PREFIX + "polyglot-builtin";
     public static final OptionKey<Boolean> POLYGLOT_BUILTIN = new OptionKey<>(true);
     private static final String POLYGLOT_BUILTIN_HELP = "provide 'Polyglot' global property.";
@@ -241,6 +249,11 @@ public final class JSContextOptions {
     private static final String ARRAY_LIKE_PROTOTYPE_HELP = "Non-JS array-like objects (like ProxyArray or java.util.List) have prototype set to Array.prototype.";
     @CompilationFinal private boolean arrayLikePrototype;
 
+    public static final String LAZY_JSON_NAME = JS_OPTION_PREFIX + "lazy-json";
+    public static final OptionKey<Boolean> LAZY_JSON = new OptionKey<>(false);
+    private static final String LAZY_JSON_HELP = "JSON.parse validates large inputs in one pass and materializes nested arrays on first access.";
+    @CompilationFinal private boolean lazyJSON;
+
     /**
      * Options which can be patched without throwing away the pre-initialized context.
      */
@@ -295,6 +308,7 @@ public final class JSContextOptions {
         this.regexAlwaysEager = readBooleanOption(REGEX_ALWAYS_EAGER, REGEX_ALWAYS_EAGER_NAME);
         this.scriptEngineGlobalScopeImport = readBooleanOption(SCRIPT_ENGINE_GLOBAL_SCOPE_IMPORT, SCRIPT_ENGINE_GLOBAL_SCOPE_IMPORT_NAME);
         this.arrayLikePrototype = readBooleanOption(ARRAY_LIKE_PROTOTYPE, ARRAY_LIKE_PROTOTYPE_NAME);
+        this.lazyJSON = readBooleanOption(LAZY_JSON, LAZY_JSON_NAME);
     }
 
     private boolean readBooleanOption(OptionKey<Boolean> key, String name) {
@@ -361,6 +375,7 @@ public final class JSContextOptions {
         options.add(newOptionDescriptor(DIRECT_BYTE_BUFFER, DIRECT_BYTE_BUFFER_NAME, OptionCategory.USER, DIRECT_BYTE_BUFFER_HELP));
         options.add(newOptionDescriptor(PARSE_ONLY, PARSE_ONLY_NAME, OptionCategory.USER, PARSE_ONLY_HELP));
         options.add(newOptionDescriptor(TIME_ZONE, TIME_ZONE_NAME, OptionCategory.USER, TIME_ZONE_HELP));
+        options.add(newOptionDescriptor(STARTUP_SNAPSHOT, STARTUP_SNAPSHOT_NAME, OptionCategory.EXPERT, STARTUP_SNAPSHOT_HELP));
         options.add(newOptionDescriptor(TIMER_RESOLUTION, TIMER_RESOLUTION_NAME, OptionCategory.USER, TIMER_RESOLUTION_HELP));
         options.add(newOptionDescriptor(AGENT_CAN_BLOCK, AGENT_CAN_BLOCK_NAME, OptionCategory.DEBUG, AGENT_CAN_BLOCK_HELP));
         options.add(newOptionDescriptor(JAVA_PACKAGE_GLOBALS, JAVA_PACKAGE_GLOBALS_NAME, OptionCategory.USER, JAVA_PACKAGE_GLOBALS_HELP));
@@ -372,6 +387,7 @@ public final class JSContextOptions {
         options.add(newOptionDescriptor(PRINT, PRINT_NAME, OptionCategory.USER, PRINT_HELP));
         options.add(newOptionDescriptor(LOAD, LOAD_NAME, OptionCategory.USER, LOAD_HELP));
         options.add(newOptionDescriptor(GRAAL_BUILTIN, GRAAL_BUILTIN_NAME, OptionCategory.USER, GRAAL_BUILTIN_HELP));
+        options.add(newOptionDescriptor(MAP_FILE, MAP_FILE_NAME, OptionCategory.USER, MAP_FILE_HELP));
         options.add(newOptionDescriptor(POLYGLOT_BUILTIN, POLYGLOT_BUILTIN_NAME, OptionCategory.USER, POLYGLOT_BUILTIN_HELP));
         options.add(newOptionDescriptor(AWAIT_OPTIMIZATION, AWAIT_OPTIMIZATION_NAME, OptionCategory.DEBUG, AWAIT_OPTIMIZATION_HELP));
         options.add(newOptionDescriptor(DISABLE_EVAL, DISABLE_EVAL_NAME, OptionCategory.EXPERT, DISABLE_EVAL_HELP));
@@ -381,6 +397,7 @@ public final class JSContextOptions {
         options.add(newOptionDescriptor(REGEX_ALWAYS_EAGER, REGEX_ALWAYS_EAGER_NAME, OptionCategory.DEBUG, REGEX_ALWAYS_EAGER_HELP));
         options.add(newOptionDescriptor(SCRIPT_ENGINE_GLOBAL_SCOPE_IMPORT, SCRIPT_ENGINE_GLOBAL_SCOPE_IMPORT_NAME, OptionCategory.EXPERT, SCRIPT_ENGINE_GLOBAL_SCOPE_IMPORT_HELP));
         options.add(newOptionDescriptor(ARRAY_LIKE_PROTOTYPE, ARRAY_LIKE_PROTOTYPE_NAME, OptionCategory.EXPERT, ARRAY_LIKE_PROTOTYPE_HELP));
+        options.add(newOptionDescriptor(LAZY_JSON, LAZY_JSON_NAME, OptionCategory.EXPERT, LAZY_JSON_HELP));
     }
 
     /**
@@ -510,6 +527,10 @@ public final class JSContextOptions {
         return arrayLikePrototype;
     }
 
+    public boolean isLazyJSON() {
+        return lazyJSON;
+    }
+
     public boolean isConsole() {
         return CONSOLE.getValue(optionValues);
     }
@@ -534,6 +555,10 @@ public final class JSContextOptions {
         return GRAAL_BUILTIN.getValue(optionValues);
     }
 
+    public boolean isMapFile() {
+        return MAP_FILE.getValue(optionValues);
+    }
+
     public boolean isPolyglotBuiltin() {
         return POLYGLOT_BUILTIN.getValue(optionValues);
     }
@@ -565,6 +590,7 @@ public final class JSContextOptions {
         hash = 53 * hash + (this.regexAlwaysEager ? 1 : 0);
         hash = 53 * hash + (this.scriptEngineGlobalScopeImport ? 1 : 0);
         hash = 53 * hash + (this.arrayLikePrototype ? 1 : 0);
+        hash = 53 * hash + (this.lazyJSON ? 1 : 0);
         return hash;
     }
 
@@ -649,6 +675,9 @@ public final class JSContextOptions {
         if (this.arrayLikePrototype != other.arrayLikePrototype) {
             return false;
         }
+        if (this.lazyJSON != other.lazyJSON) {
+            return false;
+        }
         return Objects.equals(this.parserOptions, other.parserOptions);
     }
 
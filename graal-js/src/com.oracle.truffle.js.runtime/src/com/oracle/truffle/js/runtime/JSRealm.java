@@ -40,7 +40,6 @@
  */
 package com.oracle.truffle.js.runtime;
 
-import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.io.Writer;
@@ -59,13 +58,11 @@ import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.Truffle;
 import com.oracle.truffle.api.TruffleContext;
-import com.oracle.truffle.api.TruffleFile;
 import com.oracle.truffle.api.TruffleLanguage;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.interop.TruffleObject;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.object.Shape;
-import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.js.runtime.array.TypedArray;
 import com.oracle.truffle.js.runtime.array.TypedArrayFactory;
 import com.oracle.truffle.js.runtime.builtins.Builtin;
@@ -113,9 +110,9 @@ import com.oracle.truffle.js.runtime.builtins.SIMDType.SIMDTypeFactory;
 import com.oracle.truffle.js.runtime.interop.JavaImporter;
 import com.oracle.truffle.js.runtime.interop.JavaPackage;
 import com.oracle.truffle.js.runtime.objects.Accessor;
+import com.oracle.truffle.js.runtime.objects.DefaultModuleLoader;
 import com.oracle.truffle.js.runtime.objects.JSAttributes;
 import com.oracle.truffle.js.runtime.objects.JSModuleLoader;
-import com.oracle.truffle.js.runtime.objects.JSModuleRecord;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
 import com.oracle.truffle.js.runtime.objects.Undefined;
@@ -139,6 +136,9 @@ public class JSRealm {
     public static final String JAVA_CLASS_NAME_NASHORN_COMPAT = "JavaNashornCompat";
     private static final String JAVA_WORKER_PROPERTY_NAME = "Worker";
     public static final String PERFORMANCE_CLASS_NAME = "performance";
+    public static final String GRAAL_CLASS_NAME = "Graal";
+    public static final String GRAAL_JSON_CLASS_NAME = "GraalJSON";
+    public static final String GRAAL_JSON_ELEMENT_ITERATOR_CLASS_NAME = "JSON Element Iterator";
     public static final String DEBUG_CLASS_NAME = "Debug";
     public static final String CONSOLE_CLASS_NAME = "Console";
 
@@ -278,6 +278,7 @@ public class JSRealm {
     private PrintWriterWrapper errorWriter;
 
     @CompilationFinal private JSConsoleUtil consoleUtil;
+    @CompilationFinal private DynamicObject graalJSONElementIteratorPrototype;
     private JSModuleLoader moduleLoader;
 
     public JSRealm(JSContext context, TruffleLanguage.Env env) {
@@ -721,6 +722,13 @@ public class JSRealm {
         return regExpStringIteratorPrototype;
     }
 
+    /**
+     * The prototype of the iterators returned by {@code Graal.parseJSONElements}.
+     */
+    public DynamicObject getGraalJSONElementIteratorPrototype() {
+        return graalJSONElementIteratorPrototype;
+    }
+
     /**
      * This function is used whenever a function is required that throws a TypeError. It is used by
      * some of the builtins that provide accessor functions that should not be called (e.g., as a
@@ -932,7 +940,12 @@ public class JSRealm {
             JSObjectUtil.putDataProperty(context, graalObject, "versionGraalVM", GRAALVM_VERSION, flags);
         }
         JSObjectUtil.putDataProperty(context, graalObject, "isGraalRuntime", JSFunction.create(this, isGraalRuntimeFunction(context)), flags);
-        putGlobalProperty(global, "Graal", graalObject);
+        JSObjectUtil.putFunctionsFromContainer(this, graalObject, GRAAL_JSON_CLASS_NAME);
+        this.graalJSONElementIteratorPrototype = createGraalJSONElementIteratorPrototype();
+        if (context.getContextOptions().isMapFile()) {
+            JSObjectUtil.putFunctionsFromContainer(this, graalObject, GRAAL_CLASS_NAME);
+        }
+        putGlobalProperty(global, GRAAL_CLASS_NAME, graalObject);
     }
 
     private static JSFunctionData isGraalRuntimeFunction(JSContext context) {
@@ -1113,6 +1126,13 @@ public class JSRealm {
         return prototype;
     }
 
+    private DynamicObject createGraalJSONElementIteratorPrototype() {
+        DynamicObject prototype = JSObject.createInit(this, this.iteratorPrototype, JSUserObject.INSTANCE);
+        JSObjectUtil.putFunctionsFromContainer(this, prototype, GRAAL_JSON_ELEMENT_ITERATOR_CLASS_NAME);
+        JSObjectUtil.putDataProperty(context, prototype, Symbol.SYMBOL_TO_STRING_TAG, GRAAL_JSON_ELEMENT_ITERATOR_CLASS_NAME, JSAttributes.configurableNotEnumerableNotWritable());
+        return prototype;
+    }
+
     public DynamicObject getArrayProtoValuesIterator() {
         return arrayProtoValuesIterator;
     }
@@ -1436,51 +1456,7 @@ public class JSRealm {
     @TruffleBoundary
     private synchronized void createModuleLoader() {
         if (moduleLoader == null) {
-            moduleLoader = new JSModuleLoader() {
-                private final Map<String, JSModuleRecord> moduleMap = new HashMap<>();
-
-                @Override
-                public JSModuleRecord resolveImportedModule(JSModuleRecord referencingModule, String specifier) {
-                    try {
-                        TruffleFile refFile = getEnv().getTruffleFile(getPath(referencingModule.getSource())).getCanonicalFile();
-                        TruffleFile moduleFile = refFile.resolveSibling(specifier);
-                        String canonicalPath = moduleFile.getCanonicalFile().getPath();
-                        JSModuleRecord existingModule = moduleMap.get(canonicalPath);
-                        if (existingModule != null) {
-                            return existingModule;
-                        }
-                        Source source = Source.newBuilder(AbstractJavaScriptLanguage.ID, moduleFile).name(specifier).build();
-                        JSModuleRecord newModule = getContext().getEvaluator().parseModule(getContext(), source, this);
-                        moduleMap.put(canonicalPath, newModule);
-                        return newModule;
-                    } catch (IOException | SecurityException e) {
-                        throw Errors.createErrorFromException(e);
-                    }
-                }
-
-                private String getPath(Source source) {
-                    String path = source.getPath();
-                    if (path == null) {
-                        path = source.getName();
-                    }
-                    return path;
-                }
-
-                @Override
-                public JSModuleRecord loadModule(Source source) {
-                    String path = getPath(source);
-                    String canoncialPath = path;
-                    try {
-                        TruffleFile moduleFile = getEnv().getTruffleFile(path);
-                        canoncialPath = moduleFile.getCanonicalFile().getPath();
-                    } catch (IOException e) {
-                        throw Errors.createErrorFromException(e);
-                    } catch (SecurityException e) {
-                        // ignore: might be a literal source that does not exist on the file system.
-                    }
-                    return moduleMap.computeIfAbsent(canoncialPath, (key) -> getContext().getEvaluator().parseModule(getContext(), source, this));
-                }
-            };
+            moduleLoader = new DefaultModuleLoader(this);
         }
     }
 }
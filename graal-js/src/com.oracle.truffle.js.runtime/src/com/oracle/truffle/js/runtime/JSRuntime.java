@@ -2300,11 +2300,23 @@ public final class JSRuntime {
         if (key instanceof Symbol) {
             return key;
         } else if (isString(key)) {
-            return key.toString();
+            return internPropertyKey(key.toString());
         } else if (key instanceof HiddenKey) {
             return key;
         }
-        return toString(key);
+        return internPropertyKey(toString(key));
+    }
+
+    /**
+     * Interns a property key computed at run time in the atom table of the current context, so that
+     * it is reference-identical to the equal keys from the parser and JSON.parse.
+     */
+    @TruffleBoundary
+    public static String internPropertyKey(String key) {
+        if (JSTruffleOptions.SharedAtoms) {
+            return AbstractJavaScriptLanguage.getCurrentJSRealm().getContext().getAtomTable().intern(key);
+        }
+        return key;
     }
 
     /**
@@ -68,6 +68,8 @@ public class JSTruffleOptions {
     public static final boolean OptimizeNoFallthroughSwitch = booleanOption("OptimizeNoFallthroughSwitch", true);
     public static final boolean ManyBlockScopes = booleanOption("ManyBlockScopes", false);
     public static final boolean YieldResultInFrame = booleanOption("YieldResultInFrame", true);
+    /** Clear locals that are not captured by closures when a function with closures returns. */
+    public static final boolean ClearUncapturedLocals = booleanOption("ClearUncapturedLocals", true);
 
     // Inline cache configuration
     public static int PropertyCacheLimit = integerOption("PropertyCacheLimit", 5);
@@ -93,9 +95,15 @@ public class JSTruffleOptions {
     public static final boolean RestrictForceSplittingBuiltins = booleanOption("RestrictForceSplittingBuiltins", false);
     public static final int MinLazyStringLength = integerOption("MinLazyStringLength", 20);
     public static final int ConcatToLeafLimit = integerOption("ConcatToLeafLimit", MinLazyStringLength / 2);
+    /** Keep strings decoded from one-byte data (e.g. ASCII buffers) in a byte[] until flattened. */
+    public static final boolean OneByteStrings = booleanOption("OneByteStrings", true);
     public static final int MaxLoadCacheLength = integerOption("MaxLoadCacheLength", 0);
     public static final int MaxCompiledRegexCacheLength = integerOption("MaxCompiledRegexCacheLength", 4);
     public static final boolean TrimLoadCache = booleanOption("TrimLoadCache", false);
+    /** Intern identifiers and property keys in the atom table of the context. */
+    public static final boolean SharedAtoms = booleanOption("SharedAtoms", true);
+    /** Maximum number of threads parsing imported ES modules ahead of time (0 to parse on demand). */
+    public static final int ModuleLoaderThreads = integerOption("ModuleLoaderThreads", 4);
     public static final boolean TrimCompiledRegexCache = booleanOption("TrimCompiledRegexCache", true);
     public static final int StackTraceLimit = integerOption("StackTraceLimit", 10);
     public static final int StringLengthLimit = integerOption("StringLengthLimit", (1 << 28) - 16);
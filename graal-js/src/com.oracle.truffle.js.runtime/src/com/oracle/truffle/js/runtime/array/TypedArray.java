@@ -50,13 +50,16 @@ import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.Arrays;
 
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.js.runtime.BigInt;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.builtins.JSArrayBuffer;
 import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.DirectByteBufferHelper;
 
 import sun.misc.Unsafe;
 
@@ -140,6 +143,10 @@ public abstract class TypedArray extends ScriptArray {
         return typedArrayGetByteBuffer(object, condition);
     }
 
+    protected static ByteBuffer getWritableByteBuffer(DynamicObject object, boolean condition) {
+        return DirectByteBufferHelper.checkWritable(typedArrayGetByteBuffer(object, condition));
+    }
+
     /**
      * Use when native byte order is required.
      */
@@ -151,6 +158,14 @@ public abstract class TypedArray extends ScriptArray {
         return isDirect() ? getByteBuffer(object, condition) : getByteArray(object, condition);
     }
 
+    /**
+     * Like {@link #getBufferFromTypedArray}, but throws a TypeError if the typed array is backed by
+     * a read-only buffer.
+     */
+    public final Object getWritableBufferFromTypedArray(DynamicObject object, boolean condition) {
+        return isDirect() ? getWritableByteBuffer(object, condition) : getByteArray(object, condition);
+    }
+
     protected final int getOffset(DynamicObject object, boolean condition) {
         if (offset) {
             return typedArrayGetOffset(object, condition);
@@ -239,6 +254,132 @@ public abstract class TypedArray extends ScriptArray {
         return offset;
     }
 
+    /**
+     * Replicates the element at index {@code start} into {@code [start + 1, end)}, copying the
+     * already filled block onto the remaining range so that the whole fill takes a logarithmic
+     * number of bulk copies.
+     */
+    public final void fillFromFirstElement(DynamicObject object, int start, int end, boolean condition) {
+        assert start < end;
+        int byteOffset = getOffset(object, condition);
+        int from = byteOffset + start * bytesPerElement;
+        int to = byteOffset + end * bytesPerElement;
+        if (isDirect()) {
+            ByteBuffer buffer = getWritableByteBuffer(object, condition);
+            for (int filled = bytesPerElement; from + filled < to;) {
+                int chunk = Math.min(filled, to - from - filled);
+                copyDirect(buffer, from, from + filled, chunk);
+                filled += chunk;
+            }
+        } else {
+            byte[] array = getByteArray(object, condition);
+            if (bytesPerElement == 1) {
+                Arrays.fill(array, from + 1, to, array[from]);
+            } else {
+                for (int filled = bytesPerElement; from + filled < to;) {
+                    int chunk = Math.min(filled, to - from - filled);
+                    System.arraycopy(array, from, array, from + filled, chunk);
+                    filled += chunk;
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves {@code count} elements from index {@code from} to index {@code to}; the ranges may
+     * overlap.
+     */
+    public final void copyWithin(DynamicObject object, int to, int from, int count, boolean condition) {
+        int byteOffset = getOffset(object, condition);
+        int byteFrom = byteOffset + from * bytesPerElement;
+        int byteTo = byteOffset + to * bytesPerElement;
+        int byteCount = count * bytesPerElement;
+        if (isDirect()) {
+            ByteBuffer buffer = getWritableByteBuffer(object, condition);
+            if (byteFrom < byteTo + byteCount && byteTo < byteFrom + byteCount) {
+                byte[] temp = new byte[byteCount];
+                ByteBuffer source = buffer.duplicate();
+                source.position(byteFrom);
+                source.get(temp);
+                ByteBuffer target = buffer.duplicate();
+                target.position(byteTo);
+                target.put(temp);
+            } else {
+                copyDirect(buffer, byteFrom, byteTo, byteCount);
+            }
+        } else {
+            byte[] array = getByteArray(object, condition);
+            System.arraycopy(array, byteFrom, array, byteTo, byteCount);
+        }
+    }
+
+    /**
+     * Reverses the order of the elements in place.
+     */
+    public final void reverse(DynamicObject object, boolean condition) {
+        int length = lengthInt(object, condition);
+        if (length <= 1) {
+            return;
+        }
+        int lower = getOffset(object, condition);
+        int upper = lower + (length - 1) * bytesPerElement;
+        if (isDirect()) {
+            ByteBuffer buffer = getWritableByteBuffer(object, condition);
+            for (; lower < upper; lower += bytesPerElement, upper -= bytesPerElement) {
+                for (int i = 0; i < bytesPerElement; i++) {
+                    byte temp = buffer.get(lower + i);
+                    buffer.put(lower + i, buffer.get(upper + i));
+                    buffer.put(upper + i, temp);
+                }
+            }
+        } else {
+            byte[] array = getByteArray(object, condition);
+            for (; lower < upper; lower += bytesPerElement, upper -= bytesPerElement) {
+                for (int i = 0; i < bytesPerElement; i++) {
+                    byte temp = array[lower + i];
+                    array[lower + i] = array[upper + i];
+                    array[upper + i] = temp;
+                }
+            }
+        }
+    }
+
+    /**
+     * Searches for an element that is equal to the numeric {@code value}, starting at
+     * {@code fromIndex} and scanning towards the end ({@code forward}) or the start of the array.
+     * NaN only matches NaN if {@code nanMatches} is set (SameValueZero instead of strict equality).
+     *
+     * @return the index of the matching element, or -1 if there is none
+     */
+    public abstract int indexOfNumber(DynamicObject object, double value, int fromIndex, boolean forward, boolean nanMatches, boolean condition);
+
+    /**
+     * Returns a native byte order view of the elements of the typed array that shares its backing
+     * store, i.e., no bytes are copied and writes through either side are visible to the other.
+     */
+    @TruffleBoundary
+    public final ByteBuffer asByteBuffer(DynamicObject object, boolean condition) {
+        int byteOffset = getOffset(object, condition);
+        int byteLength = lengthInt(object, condition) * bytesPerElement;
+        ByteBuffer buffer;
+        if (isDirect()) {
+            buffer = getByteBuffer(object, condition).duplicate();
+            buffer.limit(byteOffset + byteLength).position(byteOffset);
+        } else {
+            buffer = ByteBuffer.wrap(getByteArray(object, condition), byteOffset, byteLength);
+        }
+        return buffer.slice().order(ByteOrder.nativeOrder());
+    }
+
+    private static void copyDirect(ByteBuffer buffer, int from, int to, int byteCount) {
+        ByteBuffer source = buffer.duplicate();
+        source.limit(from + byteCount);
+        source.position(from);
+        ByteBuffer target = buffer.duplicate();
+        target.position(to);
+        target.put(source);
+    }
+
     protected static BufferAccess getBufferAccess(boolean littleEndian) {
         return littleEndian ? TypedArray.LITTLE_ENDIAN_ORDER : TypedArray.BIG_ENDIAN_ORDER;
     }
@@ -249,6 +390,12 @@ public abstract class TypedArray extends ScriptArray {
         return byteBuffer.duplicate().order(byteOrder);
     }
 
+    protected static ByteBuffer getWritableByteBufferFromBuffer(DynamicObject buffer, boolean littleEndian, boolean condition) {
+        ByteBuffer byteBuffer = DirectByteBufferHelper.checkWritable(JSArrayBuffer.getDirectByteBuffer(buffer, condition));
+        ByteOrder byteOrder = littleEndian ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+        return byteBuffer.duplicate().order(byteOrder);
+    }
+
     public abstract Object getBufferElement(DynamicObject buffer, int index, boolean littleEndian, boolean condition);
 
     public abstract void setBufferElement(DynamicObject buffer, int index, boolean littleEndian, boolean condition, Object value);
@@ -290,7 +437,7 @@ public abstract class TypedArray extends ScriptArray {
         }
 
         public final void setInt(DynamicObject object, int index, int value, boolean condition) {
-            setIntImpl(getBufferFromTypedArrayT(object, condition), getOffset(object, condition), index, value);
+            setIntImpl(getWritableBufferFromTypedArrayT(object, condition), getOffset(object, condition), index, value);
         }
 
         @SuppressWarnings("unchecked")
@@ -298,6 +445,40 @@ public abstract class TypedArray extends ScriptArray {
             return (T) super.getBufferFromTypedArray(object, condition);
         }
 
+        @SuppressWarnings("unchecked")
+        private T getWritableBufferFromTypedArrayT(DynamicObject object, boolean condition) {
+            return (T) super.getWritableBufferFromTypedArray(object, condition);
+        }
+
+        @Override
+        public final int indexOfNumber(DynamicObject object, double value, int fromIndex, boolean forward, boolean nanMatches, boolean condition) {
+            long longValue = (long) value;
+            if (longValue != value) {
+                return -1;
+            }
+            if (this instanceof AbstractUint32Array ? (longValue < 0 || longValue > 0xFFFFFFFFL) : (longValue < Integer.MIN_VALUE || longValue > Integer.MAX_VALUE)) {
+                return -1;
+            }
+            int intValue = (int) longValue;
+            T buffer = getBufferFromTypedArrayT(object, condition);
+            int offset = getOffset(object, condition);
+            if (forward) {
+                int length = lengthInt(object, condition);
+                for (int i = fromIndex; i < length; i++) {
+                    if (getIntImpl(buffer, offset, i) == intValue) {
+                        return i;
+                    }
+                }
+            } else {
+                for (int i = fromIndex; i >= 0; i--) {
+                    if (getIntImpl(buffer, offset, i) == intValue) {
+                        return i;
+                    }
+                }
+            }
+            return -1;
+        }
+
         public abstract int getIntImpl(T buffer, int offset, int index);
 
         public abstract void setIntImpl(T buffer, int offset, int index, int value);
@@ -358,7 +539,7 @@ public abstract class TypedArray extends ScriptArray {
 
         @Override
         public void setBufferElement(DynamicObject buffer, int index, boolean littleEndian, boolean condition, Object value) {
-            getByteBufferFromBuffer(buffer, littleEndian, condition).put(index, (byte) JSRuntime.toInt32((Number) value));
+            getWritableByteBufferFromBuffer(buffer, littleEndian, condition).put(index, (byte) JSRuntime.toInt32((Number) value));
         }
     }
 
@@ -417,7 +598,7 @@ public abstract class TypedArray extends ScriptArray {
 
         @Override
         public void setBufferElement(DynamicObject buffer, int index, boolean littleEndian, boolean condition, Object value) {
-            getByteBufferFromBuffer(buffer, littleEndian, condition).put(index, (byte) JSRuntime.toInt32((Number) value));
+            getWritableByteBufferFromBuffer(buffer, littleEndian, condition).put(index, (byte) JSRuntime.toInt32((Number) value));
         }
     }
 
@@ -496,7 +677,7 @@ public abstract class TypedArray extends ScriptArray {
 
         @Override
         public void setBufferElement(DynamicObject buffer, int index, boolean littleEndian, boolean condition, Object value) {
-            getByteBufferFromBuffer(buffer, littleEndian, condition).put(index, (byte) uint8Clamp(toInt(JSRuntime.toDouble((Number) value))));
+            getWritableByteBufferFromBuffer(buffer, littleEndian, condition).put(index, (byte) uint8Clamp(toInt(JSRuntime.toDouble((Number) value))));
         }
     }
 
@@ -555,7 +736,7 @@ public abstract class TypedArray extends ScriptArray {
 
         @Override
         public void setBufferElement(DynamicObject buffer, int index, boolean littleEndian, boolean condition, Object value) {
-            getByteBufferFromBuffer(buffer, littleEndian, condition).putShort(index, (short) JSRuntime.toInt32((Number) value));
+            getWritableByteBufferFromBuffer(buffer, littleEndian, condition).putShort(index, (short) JSRuntime.toInt32((Number) value));
         }
     }
 
@@ -614,7 +795,7 @@ public abstract class TypedArray extends ScriptArray {
 
         @Override
         public void setBufferElement(DynamicObject buffer, int index, boolean littleEndian, boolean condition, Object value) {
-            getByteBufferFromBuffer(buffer, littleEndian, condition).putChar(index, (char) JSRuntime.toInt32((Number) value));
+            getWritableByteBufferFromBuffer(buffer, littleEndian, condition).putChar(index, (char) JSRuntime.toInt32((Number) value));
         }
     }
 
@@ -673,7 +854,7 @@ public abstract class TypedArray extends ScriptArray {
 
         @Override
         public void setBufferElement(DynamicObject buffer, int index, boolean littleEndian, boolean condition, Object value) {
-            getByteBufferFromBuffer(buffer, littleEndian, condition).putInt(index, JSRuntime.toInt32((Number) value));
+            getWritableByteBufferFromBuffer(buffer, littleEndian, condition).putInt(index, JSRuntime.toInt32((Number) value));
         }
     }
 
@@ -762,7 +943,7 @@ public abstract class TypedArray extends ScriptArray {
 
         @Override
         public void setBufferElement(DynamicObject buffer, int index, boolean littleEndian, boolean condition, Object value) {
-            getByteBufferFromBuffer(buffer, littleEndian, condition).putInt(index, JSRuntime.toInt32((Number) value));
+            getWritableByteBufferFromBuffer(buffer, littleEndian, condition).putInt(index, JSRuntime.toInt32((Number) value));
         }
     }
 
@@ -799,7 +980,7 @@ public abstract class TypedArray extends ScriptArray {
         }
 
         public final void setBigInt(DynamicObject object, int index, BigInt value, boolean condition) {
-            setBigIntImpl(getBufferFromTypedArrayT(object, condition), getOffset(object, condition), index, value);
+            setBigIntImpl(getWritableBufferFromTypedArrayT(object, condition), getOffset(object, condition), index, value);
         }
 
         @SuppressWarnings("unchecked")
@@ -807,6 +988,17 @@ public abstract class TypedArray extends ScriptArray {
             return (T) super.getBufferFromTypedArray(object, condition);
         }
 
+        @SuppressWarnings("unchecked")
+        private T getWritableBufferFromTypedArrayT(DynamicObject object, boolean condition) {
+            return (T) super.getWritableBufferFromTypedArray(object, condition);
+        }
+
+        @Override
+        public final int indexOfNumber(DynamicObject object, double value, int fromIndex, boolean forward, boolean nanMatches, boolean condition) {
+            // a Number is never equal to a BigInt
+            return -1;
+        }
+
         public abstract BigInt getBigIntImpl(T buffer, int offset, int index);
 
         public abstract void setBigIntImpl(T buffer, int offset, int index, BigInt value);
@@ -857,7 +1049,7 @@ public abstract class TypedArray extends ScriptArray {
 
         @Override
         public void setBufferElement(DynamicObject buffer, int index, boolean littleEndian, boolean condition, Object value) {
-            getByteBufferFromBuffer(buffer, littleEndian, condition).putLong(index, JSRuntime.toBigInt(value).longValue());
+            getWritableByteBufferFromBuffer(buffer, littleEndian, condition).putLong(index, JSRuntime.toBigInt(value).longValue());
         }
 
         @Override
@@ -917,7 +1109,7 @@ public abstract class TypedArray extends ScriptArray {
 
         @Override
         public void setBufferElement(DynamicObject buffer, int index, boolean littleEndian, boolean condition, Object value) {
-            getByteBufferFromBuffer(buffer, littleEndian, condition).putLong(index, JSRuntime.toBigInt(value).longValue());
+            getWritableByteBufferFromBuffer(buffer, littleEndian, condition).putLong(index, JSRuntime.toBigInt(value).longValue());
         }
 
         @Override
@@ -964,12 +1156,44 @@ public abstract class TypedArray extends ScriptArray {
             return (T) super.getBufferFromTypedArray(object, condition);
         }
 
+        @SuppressWarnings("unchecked")
+        private T getWritableBufferFromTypedArrayT(DynamicObject object, boolean condition) {
+            return (T) super.getWritableBufferFromTypedArray(object, condition);
+        }
+
         public final double getDouble(DynamicObject object, int index, boolean condition) {
             return getDoubleImpl(getBufferFromTypedArrayT(object, condition), getOffset(object, condition), index);
         }
 
         public final void setDouble(DynamicObject object, int index, double value, boolean condition) {
-            setDoubleImpl(getBufferFromTypedArrayT(object, condition), getOffset(object, condition), index, value);
+            setDoubleImpl(getWritableBufferFromTypedArrayT(object, condition), getOffset(object, condition), index, value);
+        }
+
+        @Override
+        public final int indexOfNumber(DynamicObject object, double value, int fromIndex, boolean forward, boolean nanMatches, boolean condition) {
+            boolean isNaN = Double.isNaN(value);
+            if (isNaN && !nanMatches) {
+                return -1;
+            }
+            T buffer = getBufferFromTypedArrayT(object, condition);
+            int offset = getOffset(object, condition);
+            if (forward) {
+                int length = lengthInt(object, condition);
+                for (int i = fromIndex; i < length; i++) {
+                    double element = getDoubleImpl(buffer, offset, i);
+                    if (element == value || (isNaN && Double.isNaN(element))) {
+                        return i;
+                    }
+                }
+            } else {
+                for (int i = fromIndex; i >= 0; i--) {
+                    double element = getDoubleImpl(buffer, offset, i);
+                    if (element == value || (isNaN && Double.isNaN(element))) {
+                        return i;
+                    }
+                }
+            }
+            return -1;
         }
 
         public abstract double getDoubleImpl(T buffer, int offset, int index);
@@ -1032,7 +1256,7 @@ public abstract class TypedArray extends ScriptArray {
 
         @Override
         public void setBufferElement(DynamicObject buffer, int index, boolean littleEndian, boolean condition, Object value) {
-            getByteBufferFromBuffer(buffer, littleEndian, condition).putFloat(index, JSRuntime.floatValue((Number) value));
+            getWritableByteBufferFromBuffer(buffer, littleEndian, condition).putFloat(index, JSRuntime.floatValue((Number) value));
         }
     }
 
@@ -1091,7 +1315,7 @@ public abstract class TypedArray extends ScriptArray {
 
         @Override
         public void setBufferElement(DynamicObject buffer, int index, boolean littleEndian, boolean condition, Object value) {
-            getByteBufferFromBuffer(buffer, littleEndian, condition).putDouble(index, JSRuntime.doubleValue((Number) value));
+            getWritableByteBufferFromBuffer(buffer, littleEndian, condition).putDouble(index, JSRuntime.doubleValue((Number) value));
         }
     }
 
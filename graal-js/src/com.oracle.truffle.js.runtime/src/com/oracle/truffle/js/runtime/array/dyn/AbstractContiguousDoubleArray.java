@@ -89,7 +89,7 @@ public abstract class AbstractContiguousDoubleArray extends AbstractDoubleArray
     }
 
     @Override
-    protected final int getArrayOffset(DynamicObject object, boolean condition) {
+    public final int getArrayOffset(DynamicObject object, boolean condition) {
         return arrayGetArrayOffset(object, condition);
     }
 
@@ -89,7 +89,7 @@ public abstract class AbstractContiguousIntArray extends AbstractIntArray {
     }
 
     @Override
-    protected final int getArrayOffset(DynamicObject object, boolean condition) {
+    public final int getArrayOffset(DynamicObject object, boolean condition) {
         return arrayGetArrayOffset(object, condition);
     }
 
@@ -107,7 +107,7 @@ public abstract class AbstractDoubleArray extends AbstractWritableArray {
         return getArray(object, arrayCondition());
     }
 
-    protected static double[] getArray(DynamicObject object, boolean condition) {
+    public static double[] getArray(DynamicObject object, boolean condition) {
         return arrayCast(arrayGetArray(object, condition), double[].class, condition);
     }
 
@@ -144,6 +144,21 @@ public abstract class AbstractDoubleArray extends AbstractWritableArray {
         return HolesDoubleArray.isHoleValue(getArray(object, condition)[preparedIndex]);
     }
 
+    /**
+     * Copies the elements of a dense, zero-based array into a new {@code double[]} with a single bulk
+     * copy of the backing store. Returns {@code null} if the array has holes or does not start at
+     * index 0.
+     */
+    public final double[] toDoubleArray(DynamicObject object, boolean condition) {
+        int usedLength = getUsedLength(object, condition);
+        if (isHolesType() || usedLength != length(object, condition) || (usedLength != 0 && firstElementIndex(object, condition) != 0)) {
+            return null;
+        }
+        double[] result = new double[usedLength];
+        System.arraycopy(getArray(object, condition), getArrayOffset(object, condition), result, 0, usedLength);
+        return result;
+    }
+
     @Override
     protected final int getArrayCapacity(DynamicObject object, boolean condition) {
         return getArray(object, condition).length;
@@ -106,7 +106,7 @@ public abstract class AbstractIntArray extends AbstractWritableArray {
         return getArray(object, arrayCondition());
     }
 
-    protected static int[] getArray(DynamicObject object, boolean condition) {
+    public static int[] getArray(DynamicObject object, boolean condition) {
         return arrayCast(arrayGetArray(object, condition), int[].class, condition);
     }
 
@@ -148,6 +148,21 @@ public abstract class AbstractIntArray extends AbstractWritableArray {
         return HolesIntArray.isHoleValue(getArray(object, condition)[preparedIndex]);
     }
 
+    /**
+     * Copies the elements of a dense, zero-based array into a new {@code int[]} with a single bulk
+     * copy of the backing store. Returns {@code null} if the array has holes or does not start at
+     * index 0.
+     */
+    public final int[] toIntArray(DynamicObject object, boolean condition) {
+        int usedLength = getUsedLength(object, condition);
+        if (isHolesType() || usedLength != length(object, condition) || (usedLength != 0 && firstElementIndex(object, condition) != 0)) {
+            return null;
+        }
+        int[] result = new int[usedLength];
+        System.arraycopy(getArray(object, condition), getArrayOffset(object, condition), result, 0, usedLength);
+        return result;
+    }
+
     @Override
     protected final int getArrayCapacity(DynamicObject object, boolean condition) {
         return getArray(object, condition).length;
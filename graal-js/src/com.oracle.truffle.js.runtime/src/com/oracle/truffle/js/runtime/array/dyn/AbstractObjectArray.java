@@ -100,7 +100,7 @@ public abstract class AbstractObjectArray extends AbstractWritableArray {
         return getArray(object, arrayCondition());
     }
 
-    protected static Object[] getArray(DynamicObject object, boolean condition) {
+    public static Object[] getArray(DynamicObject object, boolean condition) {
         return arrayCast(arrayGetArray(object, condition), Object[].class, condition);
     }
 
@@ -218,7 +218,7 @@ public abstract class AbstractWritableArray extends DynamicArray {
     }
 
     @SuppressWarnings("unused")
-    protected int getArrayOffset(DynamicObject object, boolean condition) {
+    public int getArrayOffset(DynamicObject object, boolean condition) {
         return 0;
     }
 
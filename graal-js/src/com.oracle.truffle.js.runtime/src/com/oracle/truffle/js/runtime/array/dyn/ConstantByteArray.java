@@ -59,7 +59,7 @@ public final class ConstantByteArray extends AbstractConstantArray {
         super(integrityLevel, cache);
     }
 
-    private static byte[] getArray(DynamicObject object, boolean condition) {
+    public static byte[] getArray(DynamicObject object, boolean condition) {
         return (byte[]) arrayGetArray(object, condition);
     }
 
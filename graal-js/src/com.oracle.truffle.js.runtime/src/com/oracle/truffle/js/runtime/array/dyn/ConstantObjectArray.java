@@ -74,7 +74,7 @@ public final class ConstantObjectArray extends AbstractConstantArray {
         return (Object[]) arrayGetArray(object);
     }
 
-    private static Object[] getArray(DynamicObject object, boolean condition) {
+    public static Object[] getArray(DynamicObject object, boolean condition) {
         return (Object[]) arrayGetArray(object, condition);
     }
 
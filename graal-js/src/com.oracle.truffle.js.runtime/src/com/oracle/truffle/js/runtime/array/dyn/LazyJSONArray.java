@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2018, 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.array.dyn;
+
+import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arrayGetArray;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.js.runtime.JSTruffleOptions;
+import com.oracle.truffle.js.runtime.array.DynamicArray;
+import com.oracle.truffle.js.runtime.array.ScriptArray;
+
+/**
+ * Array type of arrays created by {@code JSON.parse} in lazy mode. The array storage is a
+ * {@link Elements} object that parses each element from the JSON source on first access. Any
+ * modification materializes all elements and turns the array into a regular object array.
+ */
+public final class LazyJSONArray extends AbstractConstantArray {
+
+    public static final LazyJSONArray LAZY_JSON_ARRAY = new LazyJSONArray(INTEGRITY_LEVEL_NONE, createCache());
+
+    /**
+     * Source of the elements of a lazy JSON array; materialized elements are cached.
+     */
+    public abstract static class Elements {
+        private final Object[] values;
+
+        protected Elements(int length) {
+            this.values = new Object[length];
+        }
+
+        public final int length() {
+            return values.length;
+        }
+
+        public final Object get(int index) {
+            Object value = values[index];
+            if (value == null) {
+                value = materialize(index);
+            }
+            return value;
+        }
+
+        @CompilerDirectives.TruffleBoundary
+        private Object materialize(int index) {
+            Object value = materializeElement(index);
+            assert value != null;
+            values[index] = value;
+            return value;
+        }
+
+        /**
+         * Returns the number of elements that have been materialized so far.
+         */
+        public final int materializedCount() {
+            int count = 0;
+            for (Object value : values) {
+                if (value != null) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        public final Object[] toArray() {
+            Object[] result = new Object[values.length];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = get(i);
+            }
+            return result;
+        }
+
+        /**
+         * Parses the element at the given index. Must not return {@code null}.
+         */
+        protected abstract Object materializeElement(int index);
+    }
+
+    public static LazyJSONArray createLazyJSONArray() {
+        return LAZY_JSON_ARRAY;
+    }
+
+    private LazyJSONArray(int integrityLevel, DynamicArrayCache cache) {
+        super(integrityLevel, cache);
+    }
+
+    private static Elements getElements(DynamicObject object) {
+        return (Elements) arrayGetArray(object);
+    }
+
+    private static Elements getElements(DynamicObject object, boolean condition) {
+        return (Elements) arrayGetArray(object, condition);
+    }
+
+    @CompilerDirectives.TruffleBoundary
+    private static Object[] materializeFull(DynamicObject object) {
+        return getElements(object).toArray();
+    }
+
+    @Override
+    public Object getElementInBounds(DynamicObject object, int index, boolean condition) {
+        return getElements(object, condition).get(index);
+    }
+
+    @Override
+    public boolean hasElement(DynamicObject object, long index, boolean condition) {
+        return index >= 0 && index < lengthInt(object, condition);
+    }
+
+    @Override
+    public int lengthInt(DynamicObject object, boolean condition) {
+        return getElements(object, condition).length();
+    }
+
+    @Override
+    public AbstractObjectArray createWriteableObject(DynamicObject object, long index, Object value, ProfileHolder profile) {
+        Object[] array = materializeFull(object);
+        AbstractObjectArray newArray = ZeroBasedObjectArray.makeZeroBasedObjectArray(object, array.length, array.length, array, integrityLevel);
+        if (JSTruffleOptions.TraceArrayTransitions) {
+            traceArrayTransition(this, newArray, index, value);
+        }
+        return newArray;
+    }
+
+    @Override
+    public AbstractObjectArray createWriteableInt(DynamicObject object, long index, int value, ProfileHolder profile) {
+        return createWriteableObject(object, index, value, profile);
+    }
+
+    @Override
+    public AbstractObjectArray createWriteableDouble(DynamicObject object, long index, double value, ProfileHolder profile) {
+        return createWriteableObject(object, index, value, profile);
+    }
+
+    @Override
+    public AbstractObjectArray createWriteableJSObject(DynamicObject object, long index, DynamicObject value, ProfileHolder profile) {
+        return createWriteableObject(object, index, value, profile);
+    }
+
+    @Override
+    public ScriptArray deleteElementImpl(DynamicObject object, long index, boolean strict, boolean condition) {
+        return createWriteableObject(object, index, null, ProfileHolder.empty()).deleteElementImpl(object, index, strict, condition);
+    }
+
+    @Override
+    public ScriptArray setLengthImpl(DynamicObject object, long length, boolean condition, ProfileHolder profile) {
+        return createWriteableObject(object, length - 1, null, ProfileHolder.empty()).setLengthImpl(object, length, condition, profile);
+    }
+
+    @Override
+    public ScriptArray addRangeImpl(DynamicObject object, long offset, int size) {
+        return createWriteableObject(object, offset, null, ProfileHolder.empty()).addRangeImpl(object, offset, size);
+    }
+
+    @Override
+    public ScriptArray removeRangeImpl(DynamicObject object, long start, long end) {
+        return createWriteableObject(object, start, null, ProfileHolder.empty()).removeRangeImpl(object, start, end);
+    }
+
+    @Override
+    public Object[] toArray(DynamicObject object) {
+        return materializeFull(object);
+    }
+
+    @Override
+    protected DynamicArray withIntegrityLevel(int newIntegrityLevel) {
+        return new LazyJSONArray(newIntegrityLevel, cache);
+    }
+}
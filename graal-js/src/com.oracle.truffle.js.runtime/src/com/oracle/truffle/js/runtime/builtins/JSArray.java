@@ -69,6 +69,7 @@ import com.oracle.truffle.js.runtime.array.dyn.ConstantEmptyPrototypeArray;
 import com.oracle.truffle.js.runtime.array.dyn.ConstantIntArray;
 import com.oracle.truffle.js.runtime.array.dyn.ConstantObjectArray;
 import com.oracle.truffle.js.runtime.array.dyn.HolesObjectArray;
+import com.oracle.truffle.js.runtime.array.dyn.LazyJSONArray;
 import com.oracle.truffle.js.runtime.array.dyn.LazyRegexResultArray;
 import com.oracle.truffle.js.runtime.array.dyn.ZeroBasedDoubleArray;
 import com.oracle.truffle.js.runtime.array.dyn.ZeroBasedIntArray;
@@ -345,6 +346,16 @@ public final class JSArray extends JSAbstractArray implements JSConstructorFacto
         return create(context, SparseArray.createSparseArray(), SparseArray.createArrayMap(), length);
     }
 
+    /**
+     * Creates an array whose elements are parsed from a JSON source on first access.
+     */
+    public static DynamicObject createLazyJSONArray(JSContext context, JSRealm realm, LazyJSONArray.Elements elements) {
+        int length = elements.length();
+        DynamicObject obj = JSObject.createWithRealm(context, context.getArrayFactory(), realm, elements, LazyJSONArray.createLazyJSONArray(), null, length, 0, 0, 0, 0);
+        assert isJSArray(obj);
+        return obj;
+    }
+
     public static DynamicObject createLazyRegexArray(JSContext context, int length, TruffleObject regexResult, String input, DynamicObject groups) {
         assert JSRuntime.isRepresentableAsUnsignedInt(length);
         ScriptArray arrayType = LazyRegexResultArray.createLazyRegexResultArray();
@@ -102,6 +102,7 @@ public final class JSArrayBuffer extends JSAbstractBuffer implements JSConstruct
     public static void setDirectByteBuffer(DynamicObject arrayBuffer, ByteBuffer buffer) {
         assert isJSDirectArrayBuffer(arrayBuffer);
         assert buffer != null;
+        DirectByteBufferHelper.ensureCastable(buffer);
         BYTE_BUFFER_PROPERTY.setSafe(arrayBuffer, buffer, null);
     }
 
@@ -110,6 +111,7 @@ public final class JSArrayBuffer extends JSAbstractBuffer implements JSConstruct
     }
 
     public static DynamicObject createDirectArrayBuffer(JSContext context, ByteBuffer buffer) {
+        DirectByteBufferHelper.ensureCastable(buffer);
         DynamicObject obj = JSObject.create(context, context.getDirectArrayBufferFactory(), buffer);
         assert isJSDirectArrayBuffer(obj);
         return obj;
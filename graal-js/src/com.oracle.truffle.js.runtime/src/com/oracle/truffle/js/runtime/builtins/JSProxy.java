@@ -59,6 +59,7 @@ import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.JSTruffleOptions;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
+import com.oracle.truffle.js.runtime.objects.JSProperty;
 import com.oracle.truffle.js.runtime.objects.JSShape;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.PropertyDescriptor;
@@ -130,6 +131,28 @@ public final class JSProxy extends AbstractJSClass implements PrototypeSupplier
         return true;
     }
 
+    /**
+     * Returns whether a trap result for the given key may have to be checked against the target,
+     * i.e., whether the target may have a non-configurable own property with that key, or has it
+     * and is not extensible. Ordinary objects are decided from their shape alone, without creating
+     * a property descriptor. Foreign targets cannot be checked.
+     */
+    public static boolean targetHasInvariants(TruffleObject target, Object key) {
+        assert JSRuntime.isPropertyKey(key);
+        if (!JSObject.isJSObject(target)) {
+            return false;
+        }
+        if (JSUserObject.isJSUserObject((DynamicObject) target)) {
+            return targetHasInvariants(((DynamicObject) target).getShape(), key);
+        }
+        return true;
+    }
+
+    public static boolean targetHasInvariants(Shape targetShape, Object key) {
+        Property property = targetShape.getProperty(key);
+        return property != null && (!JSProperty.isConfigurable(property) || !JSShape.isExtensible(targetShape));
+    }
+
     private JSProxy() {
     }
 
@@ -233,7 +256,9 @@ public final class JSProxy extends AbstractJSClass implements PrototypeSupplier
         }
 
         Object trapResult = JSFunction.call((DynamicObject) trap, handler, new Object[]{target, propertyKey, receiver});
-        checkProxyGetTrapInvariants(target, propertyKey, trapResult);
+        if (targetHasInvariants(target, propertyKey)) {
+            checkProxyGetTrapInvariants(target, propertyKey, trapResult);
+        }
         return trapResult;
     }
 
@@ -302,7 +327,9 @@ public final class JSProxy extends AbstractJSClass implements PrototypeSupplier
         if (!booleanTrapResult) {
             return false;
         }
-        checkProxySetTrapInvariants(thisObj, propertyKey, value);
+        if (targetHasInvariants(target, propertyKey)) {
+            checkProxySetTrapInvariants(thisObj, propertyKey, value);
+        }
         return booleanTrapResult;
     }
 
@@ -362,7 +389,7 @@ public final class JSProxy extends AbstractJSClass implements PrototypeSupplier
         }
 
         boolean trapResult = JSRuntime.toBoolean(JSFunction.call((DynamicObject) trap, handler, new Object[]{target, key}));
-        if (!trapResult && !isAccessibleProperty(thisObj, key)) {
+        if (!trapResult && targetHasInvariants(target, key) && !isAccessibleProperty(thisObj, key)) {
             throw Errors.createTypeErrorConfigurableExpected();
         }
         return trapResult;
@@ -397,7 +424,7 @@ public final class JSProxy extends AbstractJSClass implements PrototypeSupplier
             }
             return false;
         }
-        if (!JSObject.isJSObject(target)) {
+        if (!targetHasInvariants(target, propertyKey)) {
             return true;
         }
         PropertyDescriptor targetDesc = JSObject.getOwnProperty((DynamicObject) target, propertyKey);
@@ -689,12 +716,15 @@ public final class JSProxy extends AbstractJSClass implements PrototypeSupplier
             throw Errors.createTypeError("trap result contains duplicate entries");
         }
         boolean extensibleTarget = JSObject.isExtensible((DynamicObject) target);
+        if (extensibleTarget && JSTruffleOptions.FastOwnKeys && JSUserObject.isJSUserObject((DynamicObject) target) &&
+                        !hasNonConfigurableProperties(((DynamicObject) target).getShape())) {
+            return trapResult;
+        }
         Iterable<Object> targetKeys = JSObject.ownPropertyKeys((DynamicObject) target);
         List<Object> targetConfigurableKeys = new ArrayList<>();
         List<Object> targetNonconfigurableKeys = new ArrayList<>();
         for (Object key : targetKeys) {
-            PropertyDescriptor desc = JSObject.getOwnProperty((DynamicObject) target, key);
-            if (desc != null && !desc.getConfigurable()) {
+            if (isNonConfigurableOwnProperty((DynamicObject) target, key)) {
                 Boundaries.listAdd(targetNonconfigurableKeys, key);
             } else {
                 Boundaries.listAdd(targetConfigurableKeys, key);
@@ -731,6 +761,24 @@ public final class JSProxy extends AbstractJSClass implements PrototypeSupplier
         return trapResult;
     }
 
+    private static boolean hasNonConfigurableProperties(Shape shape) {
+        for (Property property : JSShape.getProperties(shape)) {
+            if (!JSProperty.isConfigurable(property) && !property.isHidden() && JSRuntime.isPropertyKey(property.getKey())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isNonConfigurableOwnProperty(DynamicObject target, Object key) {
+        if (JSUserObject.isJSUserObject(target)) {
+            Property property = target.getShape().getProperty(key);
+            return property != null && !JSProperty.isConfigurable(property);
+        }
+        PropertyDescriptor desc = JSObject.getOwnProperty(target, key);
+        return desc != null && !desc.getConfigurable();
+    }
+
     private static boolean containsDuplicateEntries(List<Object> trapResult) {
         // as spec does not specify, Object.equals should suffice?
         for (int i = 0; i < trapResult.size(); i++) {
@@ -47,6 +47,9 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.graalvm.polyglot.Context;
 
@@ -54,12 +57,30 @@ import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.JSTruffleOptions;
+import com.oracle.truffle.js.runtime.util.DebugCounter;
 
 /**
  * Provides static utility services to generated Java adapter classes.
  */
 public final class JavaAdapterFactory {
 
+    /**
+     * Engine-wide adapter cache, attached to a type whose class loader is the parent loader of the
+     * adapter, so that it lives exactly as long as the types it adapts.
+     */
+    private static final ClassValue<AdapterCache> ADAPTER_CACHES = new ClassValue<AdapterCache>() {
+        @Override
+        protected AdapterCache computeValue(Class<?> type) {
+            return new AdapterCache();
+        }
+    };
+
+    private static final DebugCounter adapterClassHitCount = DebugCounter.create("Java adapter class cache hits");
+    private static final DebugCounter adapterClassMissCount = DebugCounter.create("Java adapter class cache misses");
+    private static final DebugCounter adapterBytecodeHitCount = DebugCounter.create("Java adapter bytecode cache hits");
+    private static final DebugCounter adapterBytecodeMissCount = DebugCounter.create("Java adapter bytecode cache misses");
+
     @TruffleBoundary
     public static Class<?> getAdapterClassFor(Class<?>[] types, DynamicObject classOverrides) {
         return getAdapterClassFor(types, classOverrides, null);
@@ -120,18 +141,124 @@ public final class JavaAdapterFactory {
 
     private static Class<?> getAdapterClassForCommon(Class<?> superClass, List<Class<?>> interfaces, DynamicObject classOverrides, ClassLoader commonLoader) {
         boolean classOverride = classOverrides != null && JSRuntime.isObject(classOverrides);
-        JavaAdapterBytecodeGenerator bytecodeGenerator = new JavaAdapterBytecodeGenerator(superClass, interfaces, commonLoader, classOverride);
-        JavaAdapterClassLoader generatedClassLoader = bytecodeGenerator.createAdapterClassLoader();
+        AdapterInfo adapterInfo = getAdapterInfo(superClass, interfaces, classOverride, commonLoader);
+        if (!classOverride) {
+            return adapterInfo.getAdapterClass(commonLoader);
+        }
 
+        // class-level overrides are bound to the class, so a new class is needed every time
         JavaAdapterServices.setClassOverrides(Context.getCurrent().asValue(classOverrides));
         try {
-            Class<?> generatedClass = generatedClassLoader.generateClass(commonLoader);
+            Class<?> generatedClass = adapterInfo.generatedClassLoader.generateClass(commonLoader);
             return generatedClass;
         } finally {
             JavaAdapterServices.setClassOverrides(null);
         }
     }
 
+    /**
+     * Looks up the adapter for the given types in the engine-wide cache, generating its bytecode on
+     * a miss. Adapter classes without class-level overrides do not depend on the context, so the
+     * loaded class itself is shared if its parent class loader is the loader of one of the adapted
+     * types. Adapters for any other class loader share only their bytecode, keyed weakly by the
+     * class loader.
+     *
+     * The bytecode is generated without holding a lock; if several threads miss at the same time,
+     * the adapter that is cached first is used by all of them.
+     */
+    private static AdapterInfo getAdapterInfo(Class<?> superClass, List<Class<?>> interfaces, boolean classOverride, ClassLoader commonLoader) {
+        AdapterKey key = new AdapterKey(superClass, interfaces, classOverride);
+        Class<?> anchorType = getAnchorType(superClass, interfaces, commonLoader);
+        AdapterCache cache = ADAPTER_CACHES.get(anchorType != null ? anchorType : superClass);
+        ConcurrentMap<AdapterKey, AdapterInfo> adapters = anchorType != null ? cache.adapters : cache.getForeignLoaderAdapters(commonLoader);
+        AdapterInfo adapterInfo = adapters.get(key);
+        if (adapterInfo != null) {
+            adapterBytecodeHitCount.inc();
+            return adapterInfo;
+        }
+        adapterBytecodeMissCount.inc();
+        JavaAdapterBytecodeGenerator bytecodeGenerator = new JavaAdapterBytecodeGenerator(superClass, interfaces, commonLoader, classOverride);
+        boolean shareClass = anchorType != null && !classOverride && !JSTruffleOptions.SingleThreaded;
+        AdapterInfo newAdapterInfo = new AdapterInfo(bytecodeGenerator.createAdapterClassLoader(), shareClass);
+        adapterInfo = adapters.putIfAbsent(key, newAdapterInfo);
+        return adapterInfo != null ? adapterInfo : newAdapterInfo;
+    }
+
+    /**
+     * Returns one of the adapted types that was loaded by the given class loader, or null if there
+     * is none.
+     */
+    private static Class<?> getAnchorType(Class<?> superClass, List<Class<?>> interfaces, ClassLoader commonLoader) {
+        if (superClass.getClassLoader() == commonLoader) {
+            return superClass;
+        }
+        for (Class<?> type : interfaces) {
+            if (type.getClassLoader() == commonLoader) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    private static final class AdapterCache {
+        final ConcurrentMap<AdapterKey, AdapterInfo> adapters = new ConcurrentHashMap<>();
+        private final Map<ClassLoader, ConcurrentMap<AdapterKey, AdapterInfo>> foreignLoaderAdapters = new WeakHashMap<>();
+
+        synchronized ConcurrentMap<AdapterKey, AdapterInfo> getForeignLoaderAdapters(ClassLoader loader) {
+            return foreignLoaderAdapters.computeIfAbsent(loader, l -> new ConcurrentHashMap<>());
+        }
+    }
+
+    private static final class AdapterKey {
+        private final Class<?> superClass;
+        private final List<Class<?>> interfaces;
+        private final boolean classOverride;
+
+        AdapterKey(Class<?> superClass, List<Class<?>> interfaces, boolean classOverride) {
+            this.superClass = superClass;
+            this.interfaces = interfaces;
+            this.classOverride = classOverride;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof AdapterKey)) {
+                return false;
+            }
+            AdapterKey other = (AdapterKey) obj;
+            return superClass == other.superClass && classOverride == other.classOverride && interfaces.equals(other.interfaces);
+        }
+
+        @Override
+        public int hashCode() {
+            return (superClass.hashCode() * 31 + interfaces.hashCode()) * 31 + Boolean.hashCode(classOverride);
+        }
+    }
+
+    private static final class AdapterInfo {
+        final JavaAdapterClassLoader generatedClassLoader;
+        private final boolean shareClass;
+        private Class<?> adapterClass;
+
+        AdapterInfo(JavaAdapterClassLoader generatedClassLoader, boolean shareClass) {
+            this.generatedClassLoader = generatedClassLoader;
+            this.shareClass = shareClass;
+        }
+
+        synchronized Class<?> getAdapterClass(ClassLoader commonLoader) {
+            if (!shareClass) {
+                return generatedClassLoader.generateClass(commonLoader);
+            }
+            if (adapterClass == null) {
+                adapterClassMissCount.inc();
+                adapterClass = generatedClassLoader.generateClass(commonLoader);
+            } else {
+                adapterClassHitCount.inc();
+            }
+            return adapterClass;
+        }
+    }
+
     @TruffleBoundary
     private static void throwCannotExtendMultipleClassesError(Class<?> superClass, Class<?> t) {
         throw Errors.createTypeErrorFormat("Can not extend multiple classes %s and %s. At most one of the specified types can be a class, the rest must all be interfaces.", t.getCanonicalName(),
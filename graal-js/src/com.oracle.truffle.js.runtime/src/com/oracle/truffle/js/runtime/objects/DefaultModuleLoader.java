@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2018, 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.objects;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.js.runtime.AbstractJavaScriptLanguage;
+import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSRealm;
+import com.oracle.truffle.js.runtime.JSTruffleOptions;
+
+/**
+ * Module loader used when Graal.js is not embedded in Node.js. Module specifiers are resolved
+ * relative to the file of the referencing module.
+ *
+ * Once a module has been parsed, the modules it requests are read and parsed ahead of time on a
+ * small shared pool of worker threads. The workers do not enter the context; translation and
+ * linking happen on the thread that resolves the modules.
+ */
+public final class DefaultModuleLoader implements JSModuleLoader {
+    private static volatile ExecutorService parserPool;
+
+    private final JSRealm realm;
+    private final Map<String, JSModuleRecord> moduleMap = new ConcurrentHashMap<>();
+    /** Requested modules being read and parsed ahead of time, by canonical path. */
+    private final Map<String, Future<ParsedSource>> pendingModules = new ConcurrentHashMap<>();
+
+    public DefaultModuleLoader(JSRealm realm) {
+        this.realm = realm;
+    }
+
+    @TruffleBoundary
+    @Override
+    public JSModuleRecord resolveImportedModule(JSModuleRecord referencingModule, String specifier) {
+        boolean success = false;
+        try {
+            TruffleFile moduleFile = resolveModuleFile(referencingModule, specifier);
+            String canonicalPath = moduleFile.getCanonicalFile().getPath();
+            JSModuleRecord existingModule = moduleMap.get(canonicalPath);
+            if (existingModule != null) {
+                success = true;
+                return existingModule;
+            }
+            ParsedSource pending = takePendingModule(canonicalPath);
+            JSModuleRecord newModule;
+            if (pending != null) {
+                newModule = parseModule(pending.source, pending.parsedModule);
+            } else {
+                newModule = parseModule(createSource(moduleFile, specifier), null);
+            }
+            moduleMap.put(canonicalPath, newModule);
+            parseRequestedModules(newModule);
+            success = true;
+            return newModule;
+        } catch (IOException | SecurityException e) {
+            throw Errors.createErrorFromException(e);
+        } finally {
+            if (!success) {
+                // the import graph is abandoned; do not keep the modules parsed for it
+                cancelPendingModules();
+            }
+        }
+    }
+
+    @TruffleBoundary
+    @Override
+    public JSModuleRecord loadModule(Source source) {
+        String path = getPath(source);
+        String canonicalPath = path;
+        try {
+            TruffleFile moduleFile = realm.getEnv().getTruffleFile(path);
+            canonicalPath = moduleFile.getCanonicalFile().getPath();
+        } catch (IOException e) {
+            throw Errors.createErrorFromException(e);
+        } catch (SecurityException e) {
+            // ignore: might be a literal source that does not exist on the file system.
+        }
+        JSModuleRecord existingModule = moduleMap.get(canonicalPath);
+        if (existingModule != null) {
+            return existingModule;
+        }
+        JSModuleRecord newModule = parseModule(source, null);
+        moduleMap.put(canonicalPath, newModule);
+        parseRequestedModules(newModule);
+        return newModule;
+    }
+
+    private JSModuleRecord parseModule(Source source, Object parsedModule) {
+        JSContext context = realm.getContext();
+        return context.getEvaluator().parseModule(context, source, this, parsedModule);
+    }
+
+    private TruffleFile resolveModuleFile(JSModuleRecord referencingModule, String specifier) throws IOException {
+        TruffleFile refFile = realm.getEnv().getTruffleFile(getPath(referencingModule.getSource())).getCanonicalFile();
+        return refFile.resolveSibling(specifier);
+    }
+
+    private static Source createSource(TruffleFile moduleFile, String specifier) throws IOException {
+        return Source.newBuilder(AbstractJavaScriptLanguage.ID, moduleFile).name(specifier).build();
+    }
+
+    private static String getPath(Source source) {
+        String path = source.getPath();
+        if (path == null) {
+            path = source.getName();
+        }
+        return path;
+    }
+
+    /**
+     * Returns the module read and parsed ahead of time for the path, waiting for the worker to
+     * finish, or {@code null} if it has not been scheduled. Errors of the read are thrown.
+     */
+    private ParsedSource takePendingModule(String canonicalPath) throws IOException {
+        Future<ParsedSource> pending = pendingModules.remove(canonicalPath);
+        if (pending == null) {
+            return null;
+        }
+        try {
+            return pending.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw Errors.createErrorFromException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.cancel(true);
+            return null;
+        }
+    }
+
+    private void cancelPendingModules() {
+        for (Future<ParsedSource> pending : pendingModules.values()) {
+            pending.cancel(true);
+        }
+        pendingModules.clear();
+    }
+
+    /**
+     * Schedules reading and parsing the modules requested by a parsed module that are neither
+     * loaded nor already being parsed.
+     */
+    private void parseRequestedModules(JSModuleRecord moduleRecord) {
+        ExecutorService pool = getParserPool();
+        if (pool == null || realm.getEnv() == null) {
+            return;
+        }
+        JSContext context = realm.getContext();
+        for (String specifier : context.getEvaluator().getRequestedModules(moduleRecord)) {
+            TruffleFile moduleFile;
+            String canonicalPath;
+            try {
+                moduleFile = resolveModuleFile(moduleRecord, specifier);
+                canonicalPath = moduleFile.getCanonicalFile().getPath();
+            } catch (IOException | SecurityException e) {
+                continue; // reported when the module is resolved
+            }
+            if (!moduleMap.containsKey(canonicalPath)) {
+                pendingModules.computeIfAbsent(canonicalPath, (key) -> pool.submit(() -> {
+                    Source source = createSource(moduleFile, specifier);
+                    return new ParsedSource(source, context.getEvaluator().parseModuleAhead(context, source));
+                }));
+            }
+        }
+    }
+
+    private static ExecutorService getParserPool() {
+        ExecutorService pool = parserPool;
+        if (pool == null) {
+            int threads = Math.min(JSTruffleOptions.ModuleLoaderThreads, Runtime.getRuntime().availableProcessors());
+            if (threads <= 0) {
+                return null;
+            }
+            synchronized (DefaultModuleLoader.class) {
+                pool = parserPool;
+                if (pool == null) {
+                    ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), (runnable) -> {
+                        Thread thread = new Thread(runnable, "graaljs-module-parser");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    executor.allowCoreThreadTimeOut(true);
+                    parserPool = pool = executor;
+                }
+            }
+        }
+        return pool;
+    }
+
+    private static final class ParsedSource {
+        final Source source;
+        /** The parsed module, or {@code null} if it has to be parsed (again) when translated. */
+        final Object parsedModule;
+
+        ParsedSource(Source source, Object parsedModule) {
+            this.source = source;
+            this.parsedModule = parsedModule;
+        }
+    }
+}
@@ -40,6 +40,8 @@
  */
 package com.oracle.truffle.js.runtime.objects;
 
+import java.nio.charset.StandardCharsets;
+
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.interop.ForeignAccess;
@@ -129,6 +131,22 @@ public final class JSLazyString implements CharSequence, TruffleObject, JSLazySt
         return null;
     }
 
+    /**
+     * Creates a string from one-byte (ISO-8859-1) characters. The bytes are used as they are, i.e.,
+     * must not be modified afterwards. Long strings keep the bytes (one byte per character) until
+     * they are flattened.
+     */
+    @TruffleBoundary
+    public static CharSequence createOneByte(byte[] bytes) {
+        if (bytes.length > JSTruffleOptions.StringLengthLimit) {
+            throw Errors.createRangeErrorInvalidStringLength();
+        }
+        if (JSTruffleOptions.LazyStrings && JSTruffleOptions.OneByteStrings && bytes.length >= JSTruffleOptions.MinLazyStringLength) {
+            return new JSLazyString(new OneByteString(bytes));
+        }
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
     /**
      * Only use when invariants are checked already, e.g. from specializing nodes. Converts the
      * right int param lazily.
@@ -172,6 +190,12 @@ public final class JSLazyString implements CharSequence, TruffleObject, JSLazySt
         this(left, right, left.length() + right.length());
     }
 
+    private JSLazyString(OneByteString oneByte) {
+        this.left = oneByte;
+        this.right = null;
+        this.length = oneByte.length();
+    }
+
     @Override
     public int length() {
         return length;
@@ -193,11 +217,22 @@ public final class JSLazyString implements CharSequence, TruffleObject, JSLazySt
     }
 
     public boolean isFlat() {
-        return right == null;
+        return right == null && left instanceof String;
+    }
+
+    /**
+     * Whether this string consists of one-byte characters that are not flattened yet.
+     */
+    public boolean isOneByte() {
+        return right == null && left instanceof OneByteString;
     }
 
     @TruffleBoundary
     private void flatten() {
+        if (left instanceof OneByteString) {
+            left = left.toString();
+            return;
+        }
         char[] dst = new char[length];
         flatten(this, 0, length, dst, 0);
         left = new String(dst);
@@ -248,6 +283,9 @@ public final class JSLazyString implements CharSequence, TruffleObject, JSLazySt
             } else if (str instanceof String) {
                 ((String) str).getChars(from, to, dst, dstFrom);
                 return;
+            } else if (str instanceof OneByteString) {
+                ((OneByteString) str).getChars(from, to, dst, dstFrom);
+                return;
             } else {
                 assert JSRuntime.isString(str) || str instanceof JSLazyIntWrapper;
                 str.toString().getChars(from, to, dst, dstFrom);
@@ -258,6 +296,9 @@ public final class JSLazyString implements CharSequence, TruffleObject, JSLazySt
 
     @Override
     public char charAt(int index) {
+        if (isOneByte()) {
+            return ((OneByteString) left).charAt(index);
+        }
         return toString().charAt(index);
     }
 
@@ -330,6 +371,43 @@ public final class JSLazyString implements CharSequence, TruffleObject, JSLazySt
 
     }
 
+    /**
+     * ISO-8859-1 characters, one byte per character.
+     */
+    private static final class OneByteString implements CharSequence {
+        private final byte[] bytes;
+
+        OneByteString(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public int length() {
+            return bytes.length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) (bytes[index] & 0xff);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().subSequence(start, end);
+        }
+
+        void getChars(int srcBegin, int srcEnd, char[] dst, int dstBegin) {
+            for (int i = srcBegin; i < srcEnd; i++) {
+                dst[dstBegin + i - srcBegin] = (char) (bytes[i] & 0xff);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+    }
+
     public static boolean isInstance(TruffleObject object) {
         return object instanceof JSLazyString;
     }
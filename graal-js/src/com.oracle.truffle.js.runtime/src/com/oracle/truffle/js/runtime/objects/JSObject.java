@@ -473,6 +473,34 @@ public final class JSObject {
         return names;
     }
 
+    /**
+     * Returns {@code true} if the enumerable own properties of the object can be taken from the
+     * per-shape cache, see {@link JSShape#getEnumerableProperties}.
+     */
+    public static boolean hasCachedEnumerableProperties(DynamicObject obj, JSClassProfile classProfile) {
+        return JSTruffleOptions.FastOwnKeys && classProfile.getJSClass(obj).hasOnlyShapeProperties(obj);
+    }
+
+    /**
+     * Gets the value of an enumerable property taken from the cached property list of
+     * {@code cachedShape}. If the shape of the object has changed in the meantime (e.g. by an
+     * accessor), the property is looked up again; returns {@code null} if it has been deleted or
+     * made non-enumerable since.
+     */
+    @TruffleBoundary
+    public static Object getEnumerablePropertyValue(DynamicObject obj, Shape cachedShape, Property property) {
+        assert JSProperty.isEnumerable(property);
+        if (obj.getShape() == cachedShape) {
+            return JSProperty.getValue(property, obj, obj, false);
+        }
+        Object key = property.getKey();
+        PropertyDescriptor desc = getOwnProperty(obj, key);
+        if (desc != null && desc.getEnumerable()) {
+            return get(obj, key);
+        }
+        return null;
+    }
+
     @TruffleBoundary
     public static boolean defineOwnProperty(DynamicObject obj, Object key, PropertyDescriptor desc) {
         assert JSRuntime.isPropertyKey(key);
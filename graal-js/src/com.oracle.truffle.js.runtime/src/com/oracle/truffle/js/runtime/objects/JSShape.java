@@ -202,6 +202,11 @@ public final class JSShape {
         return JSShapeData.getEnumerablePropertyNames(shape);
     }
 
+    public static List<Property> getEnumerableProperties(Shape shape) {
+        assert JSTruffleOptions.FastOwnKeys;
+        return JSShapeData.getEnumerableProperties(shape);
+    }
+
     /**
      * Internal constructor for null shape et al.
      */
@@ -53,6 +53,7 @@ import com.oracle.truffle.api.object.Property;
 import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.Symbol;
 import com.oracle.truffle.js.runtime.util.DebugCounter;
 import com.oracle.truffle.js.runtime.util.IteratorUtil;
 
@@ -67,6 +68,7 @@ public final class JSShapeData {
 
     private Property[] propertyArray;
     private String[] enumerablePropertyNames;
+    private Property[] enumerableProperties;
 
     private JSShapeData() {
     }
@@ -92,6 +94,19 @@ public final class JSShapeData {
         return ownProperties.toArray(EMPTY_STRING_ARRAY);
     }
 
+    private static Property[] createEnumerablePropertiesArray(Shape shape) {
+        CompilerAsserts.neverPartOfCompilation();
+        enumerablePropertyArrayAllocCount.inc();
+        List<Property> ownProperties = new ArrayList<>();
+        shape.getPropertyList().forEach(property -> {
+            if (JSProperty.isEnumerable(property) && (property.getKey() instanceof String || property.getKey() instanceof Symbol)) {
+                ownProperties.add(property);
+            }
+        });
+        sortProperties(ownProperties);
+        return ownProperties.toArray(EMPTY_PROPERTY_ARRAY);
+    }
+
     private static void sortProperties(List<Property> ownProperties) {
         CompilerAsserts.neverPartOfCompilation();
         Collections.sort(ownProperties, (o1, o2) -> JSRuntime.comparePropertyKeys(o1.getKey(), o2.getKey()));
@@ -146,6 +161,28 @@ public final class JSShapeData {
         return asUnmodifiableList(getEnumerablePropertyNamesArray(shape));
     }
 
+    @TruffleBoundary
+    private static Property[] getEnumerablePropertiesArray(Shape shape) {
+        if (shape.getPropertyCount() == 0) {
+            return EMPTY_PROPERTY_ARRAY;
+        } else {
+            JSShapeData shapeData = getShapeData(shape);
+            if (shapeData.enumerableProperties == null) {
+                assert shape.getPropertyCount() != 0;
+                shapeData.enumerableProperties = createEnumerablePropertiesArray(shape);
+            }
+            return shapeData.enumerableProperties;
+        }
+    }
+
+    /**
+     * Enumerable own properties of the shape (both string and symbol keys), in property key order
+     * (integer indices, then strings, then symbols).
+     */
+    static List<Property> getEnumerableProperties(Shape shape) {
+        return asUnmodifiableList(getEnumerablePropertiesArray(shape));
+    }
+
     private static <T> List<T> asUnmodifiableList(T[] array) {
         return new AbstractList<T>() {
             @Override
@@ -166,5 +203,6 @@ public final class JSShapeData {
     }
 
     private static final DebugCounter enumerablePropertyListAllocCount = DebugCounter.create("Enumerable property lists allocated");
+    private static final DebugCounter enumerablePropertyArrayAllocCount = DebugCounter.create("Enumerable property arrays allocated");
     private static final DebugCounter propertyListAllocCount = DebugCounter.create("Property lists allocated");
 }
@@ -43,6 +43,8 @@ package com.oracle.truffle.js.runtime.util;
 import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicReference;
@@ -65,6 +67,12 @@ import com.oracle.truffle.js.runtime.objects.Null;
  */
 public class DebugJSAgent extends JSAgent {
 
+    /**
+     * Threads of the running agents by signifier, so that any agent can wake any other one. Shared
+     * by an agent and all the agents it spawned (transitively).
+     */
+    private Map<Integer, Thread> agentThreads;
+
     private final OptionValues optionValues;
 
     private final Deque<Object> reportValues;
@@ -78,11 +86,13 @@ public class DebugJSAgent extends JSAgent {
         this.optionValues = env.getOptions();
         this.reportValues = new ConcurrentLinkedDeque<>();
         this.spawnedAgent = new LinkedList<>();
+        this.agentThreads = new ConcurrentHashMap<>();
     }
 
     public Object startNewAgent(String source) {
         final AtomicReference<Object> result = new AtomicReference<>(null);
         final CountDownLatch barrier = new CountDownLatch(1);
+        agentThreads.putIfAbsent(getSignifier(), Thread.currentThread());
         Thread thread = new Thread(new Runnable() {
 
             @Override
@@ -104,9 +114,10 @@ public class DebugJSAgent extends JSAgent {
 
                 Context polyglotContext = contextBuilder.build();
                 polyglotContext.enter();
+                DebugJSAgent debugJSAgent = null;
                 try {
                     polyglotContext.eval(AbstractJavaScriptLanguage.ID, init);
-                    DebugJSAgent debugJSAgent = (DebugJSAgent) AbstractJavaScriptLanguage.getCurrentJSRealm().getContext().getJSAgent();
+                    debugJSAgent = (DebugJSAgent) AbstractJavaScriptLanguage.getCurrentJSRealm().getContext().getJSAgent();
                     AgentExecutor executor = registerChildAgent(Thread.currentThread(), debugJSAgent);
 
                     polyglotContext.eval(AbstractJavaScriptLanguage.ID, source);
@@ -124,6 +135,9 @@ public class DebugJSAgent extends JSAgent {
                         }
                     }
                 } finally {
+                    if (debugJSAgent != null) {
+                        agentThreads.remove(debugJSAgent.getSignifier(), Thread.currentThread());
+                    }
                     polyglotContext.leave();
                     polyglotContext.close();
                 }
@@ -147,6 +161,8 @@ public class DebugJSAgent extends JSAgent {
     public AgentExecutor registerChildAgent(Thread thread, DebugJSAgent jsAgent) {
         AgentExecutor spawned = new AgentExecutor(thread, jsAgent);
         spawnedAgent.add(spawned);
+        jsAgent.agentThreads = agentThreads;
+        agentThreads.put(jsAgent.getSignifier(), thread);
         return spawned;
     }
 
@@ -184,10 +200,9 @@ public class DebugJSAgent extends JSAgent {
     @Override
     @TruffleBoundary
     public void wakeAgent(int w) {
-        for (AgentExecutor e : spawnedAgent) {
-            if (e.jsAgent.getSignifier() == w) {
-                e.thread.interrupt();
-            }
+        Thread thread = agentThreads.get(w);
+        if (thread != null) {
+            thread.interrupt();
         }
     }
 
@@ -43,11 +43,21 @@ package com.oracle.truffle.js.runtime.util;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 
+import com.oracle.truffle.api.Assumption;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.js.runtime.Errors;
 
 public final class DirectByteBufferHelper {
     private static final Class<? extends ByteBuffer> DIRECT_BYTE_BUFFER_CLASS = ByteBuffer.allocateDirect(0).getClass();
+    private static final Class<? extends ByteBuffer> READ_ONLY_DIRECT_BYTE_BUFFER_CLASS = ByteBuffer.allocateDirect(0).asReadOnlyBuffer().getClass();
+
+    /**
+     * Valid as long as no read-only direct buffer backs an ArrayBuffer, so that all buffers can be
+     * cast to the (writable) direct buffer class.
+     */
+    private static final Assumption NO_READ_ONLY_BUFFER_ASSUMPTION = Truffle.getRuntime().createAssumption("no read-only direct buffer");
 
     private DirectByteBufferHelper() {
     }
@@ -61,7 +71,50 @@ public final class DirectByteBufferHelper {
         return cast(allocateDirectImpl(length));
     }
 
+    /**
+     * Returns whether the buffer is a writable direct buffer (which includes read-write and private
+     * {@link java.nio.MappedByteBuffer}s, but not read-only ones).
+     */
+    public static boolean isExactDirectByteBuffer(ByteBuffer buffer) {
+        return buffer.getClass() == DIRECT_BYTE_BUFFER_CLASS;
+    }
+
+    /**
+     * Returns whether the buffer can back an ArrayBuffer, i.e., whether it can be
+     * {@linkplain #cast(ByteBuffer) cast} to one of the direct buffer classes.
+     */
+    public static boolean isDirectByteBuffer(ByteBuffer buffer) {
+        return isExactDirectByteBuffer(buffer) || buffer.getClass() == READ_ONLY_DIRECT_BYTE_BUFFER_CLASS;
+    }
+
+    /**
+     * Has to be called before a buffer backs an ArrayBuffer. The first read-only buffer invalidates
+     * the assumption that all buffers are writable, after which stores into direct buffers are no
+     * longer devirtualized and have to {@linkplain #checkWritable check} the buffer.
+     */
+    public static void ensureCastable(ByteBuffer buffer) {
+        assert isDirectByteBuffer(buffer);
+        if (buffer.isReadOnly() && NO_READ_ONLY_BUFFER_ASSUMPTION.isValid()) {
+            NO_READ_ONLY_BUFFER_ASSUMPTION.invalidate();
+        }
+    }
+
+    /**
+     * Has to be called before storing into a buffer that backs an ArrayBuffer. Throws a TypeError
+     * if the buffer is read-only; folds away as long as no read-only buffer has been seen.
+     */
+    public static ByteBuffer checkWritable(ByteBuffer buffer) {
+        if (!NO_READ_ONLY_BUFFER_ASSUMPTION.isValid() && buffer.isReadOnly()) {
+            throw Errors.createTypeErrorReadOnlyBuffer(null);
+        }
+        return buffer;
+    }
+
     public static ByteBuffer cast(ByteBuffer buffer) {
-        return CompilerDirectives.castExact(buffer, DIRECT_BYTE_BUFFER_CLASS);
+        if (NO_READ_ONLY_BUFFER_ASSUMPTION.isValid() || buffer.getClass() == DIRECT_BYTE_BUFFER_CLASS) {
+            return CompilerDirectives.castExact(buffer, DIRECT_BYTE_BUFFER_CLASS);
+        } else {
+            return CompilerDirectives.castExact(buffer, READ_ONLY_DIRECT_BYTE_BUFFER_CLASS);
+        }
     }
 }
@@ -192,7 +192,8 @@ public class EnumerateIterator implements Iterator<Object> {
     private static Iterable<?> ownKeysOrProperties(DynamicObject current) {
         JSClass jsclass = JSObject.getJSClass(current);
         if (JSTruffleOptions.FastOwnKeys && jsclass.hasOnlyShapeProperties(current)) {
-            return JSShape.getProperties(current.getShape());
+            // only enumerable properties can be returned; shadowing is checked via ownPropertyKeys
+            return JSShape.getEnumerableProperties(current.getShape());
         }
         return jsclass.ownPropertyKeys(current);
     }
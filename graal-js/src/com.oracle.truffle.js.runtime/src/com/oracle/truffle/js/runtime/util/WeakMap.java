@@ -40,11 +40,10 @@
  */
 package com.oracle.truffle.js.runtime.util;
 
+import java.lang.ref.WeakReference;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
-import java.util.WeakHashMap;
 
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.object.HiddenKey;
@@ -53,11 +52,23 @@ import com.oracle.truffle.js.runtime.objects.JSShape;
 
 /**
  * JavaScript WeakMap.
+ *
+ * The JVM has no ephemerons, so the relation is inverted: the values are stored in the key objects,
+ * which keeps the value alive exactly as long as the key (even if the value refers back to the key).
+ * Every key object holds a compact array of {@code (map reference, value)} pairs in a hidden
+ * property. The map reference is a single weak reference shared by all entries of a map, so adding
+ * a key does not allocate a reference object, and entries of collected maps are reclaimed lazily
+ * when the key is accessed again.
  */
 public class WeakMap implements Map<DynamicObject, Object> {
     private static final HiddenKey INVERTED_WEAK_MAP_KEY = new HiddenKey("InvertedWeakMap");
+    private static final int INITIAL_ENTRIES_LENGTH = 2;
+
+    /** Identifies this map in the entries of its keys. */
+    private final WeakReference<WeakMap> self;
 
     public WeakMap() {
+        this.self = new WeakReference<>(this);
     }
 
     private static DynamicObject checkKey(Object key) {
@@ -67,54 +78,112 @@ public class WeakMap implements Map<DynamicObject, Object> {
         return (DynamicObject) key;
     }
 
-    @SuppressWarnings("unchecked")
-    private static Map<WeakMap, Object> getInvertedMap(DynamicObject k, boolean put) {
-        if (k.containsKey(INVERTED_WEAK_MAP_KEY)) {
-            return (WeakHashMap<WeakMap, Object>) k.get(INVERTED_WEAK_MAP_KEY);
-        } else {
-            if (put) {
-                return putInvertedMap(k);
-            } else {
-                return Collections.emptyMap();
-            }
-        }
+    /**
+     * Returns the {@code (map reference, value)} pairs of the key, or {@code null} if the key has
+     * never been added to any WeakMap.
+     */
+    private static Object[] getEntries(DynamicObject k) {
+        return (Object[]) k.get(INVERTED_WEAK_MAP_KEY);
     }
 
-    private static WeakHashMap<WeakMap, Object> putInvertedMap(DynamicObject k) {
-        WeakHashMap<WeakMap, Object> invertedMap = new WeakHashMap<>();
+    private static void putEntries(DynamicObject k, Object[] entries) {
+        if (k.containsKey(INVERTED_WEAK_MAP_KEY)) {
+            k.set(INVERTED_WEAK_MAP_KEY, entries);
+            return;
+        }
         boolean wasNotExtensible = !JSShape.isExtensible(k.getShape());
-        k.define(INVERTED_WEAK_MAP_KEY, invertedMap);
+        k.define(INVERTED_WEAK_MAP_KEY, entries);
         if (wasNotExtensible && JSObject.isExtensible(k)) {
             // not-extensible marker property is expected to be the last property; ensure it is.
             k.delete(JSShape.NOT_EXTENSIBLE_KEY);
             JSObject.preventExtensions(k);
             assert !JSObject.isExtensible(k);
         }
-        return invertedMap;
+    }
+
+    /**
+     * Returns the index of the entry of this map in the entries of a key, or -1. Clears entries of
+     * maps that have been collected on the way.
+     */
+    private int indexOf(Object[] entries) {
+        int found = -1;
+        for (int i = 0; i < entries.length; i += 2) {
+            Object ref = entries[i];
+            if (ref == self) {
+                found = i;
+            } else if (ref != null && ((WeakReference<?>) ref).get() == null) {
+                entries[i] = null;
+                entries[i + 1] = null;
+            }
+        }
+        return found;
     }
 
     @Override
     public boolean containsKey(Object key) {
         DynamicObject k = checkKey(key);
-        return getInvertedMap(k, false).containsKey(this);
+        Object[] entries = getEntries(k);
+        return entries != null && indexOf(entries) >= 0;
     }
 
     @Override
     public Object get(Object key) {
         DynamicObject k = checkKey(key);
-        return getInvertedMap(k, false).get(this);
+        Object[] entries = getEntries(k);
+        if (entries == null) {
+            return null;
+        }
+        int index = indexOf(entries);
+        return index >= 0 ? entries[index + 1] : null;
     }
 
     @Override
     public Object put(DynamicObject key, Object value) {
         DynamicObject k = checkKey(key);
-        return getInvertedMap(k, true).put(this, value);
+        Object[] entries = getEntries(k);
+        if (entries == null) {
+            entries = new Object[INITIAL_ENTRIES_LENGTH];
+            entries[0] = self;
+            entries[1] = value;
+            putEntries(k, entries);
+            return null;
+        }
+        int index = indexOf(entries);
+        if (index >= 0) {
+            Object oldValue = entries[index + 1];
+            entries[index + 1] = value;
+            return oldValue;
+        }
+        for (int i = 0; i < entries.length; i += 2) {
+            if (entries[i] == null) {
+                entries[i] = self;
+                entries[i + 1] = value;
+                return null;
+            }
+        }
+        Object[] newEntries = new Object[entries.length * 2];
+        System.arraycopy(entries, 0, newEntries, 0, entries.length);
+        newEntries[entries.length] = self;
+        newEntries[entries.length + 1] = value;
+        putEntries(k, newEntries);
+        return null;
     }
 
     @Override
     public Object remove(Object key) {
         DynamicObject k = checkKey(key);
-        return getInvertedMap(k, false).remove(this);
+        Object[] entries = getEntries(k);
+        if (entries == null) {
+            return null;
+        }
+        int index = indexOf(entries);
+        if (index < 0) {
+            return null;
+        }
+        Object oldValue = entries[index + 1];
+        entries[index] = null;
+        entries[index + 1] = null;
+        return oldValue;
     }
 
     @Override
@@ -40,12 +40,14 @@
  */
 package com.oracle.truffle.js.snapshot;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.file.Paths;
 import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -55,6 +57,7 @@ import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.js.nodes.NodeFactory;
 import com.oracle.truffle.js.nodes.ScriptNode;
 import com.oracle.truffle.js.parser.JavaScriptTranslator;
+import com.oracle.truffle.js.parser.StartupSnapshot;
 import com.oracle.truffle.js.runtime.AbstractJavaScriptLanguage;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRealm;
@@ -76,6 +79,7 @@ public class SnapshotTool {
         boolean binary = true;
         String outDir = null;
         String inDir = null;
+        String startupFile = null;
         List<String> srcFiles = new ArrayList<>();
         for (String arg : args) {
             if (arg.startsWith("--")) {
@@ -89,16 +93,21 @@ public class SnapshotTool {
                     outDir = requireDirectory(arg.substring(arg.indexOf('=') + 1));
                 } else if (arg.startsWith("--indir=")) {
                     inDir = requireDirectory(arg.substring(arg.indexOf('=') + 1));
+                } else if (arg.startsWith("--startup=")) {
+                    startupFile = arg.substring(arg.indexOf('=') + 1);
                 }
             }
         }
 
         SnapshotTool snapshotTool = new SnapshotTool();
-        if (!srcFiles.isEmpty() && outDir != null) {
+        if (!srcFiles.isEmpty() && (outDir != null || startupFile != null)) {
             try (Context polyglotContext = Context.newBuilder(AbstractJavaScriptLanguage.ID).allowIO(true).build()) {
                 polyglotContext.initialize(AbstractJavaScriptLanguage.ID);
                 polyglotContext.enter();
-                for (String srcFile : srcFiles) {
+                if (startupFile != null) {
+                    snapshotTool.snapshotStartupTo(srcFiles, inDir, new File(startupFile));
+                }
+                for (String srcFile : outDir == null ? Collections.<String> emptyList() : srcFiles) {
                     File sourceFile = inDir == null ? new File(srcFile) : Paths.get(inDir, srcFile).toFile();
                     File outputFile = Paths.get(outDir, srcFile + (binary ? ".bin" : ".java")).toFile();
                     if (!sourceFile.isFile()) {
@@ -111,6 +120,7 @@ public class SnapshotTool {
             }
         } else {
             System.out.println("Usage: [--java|--binary] --outdir=DIR [--indir=DIR] --file=FILE [--file=FILE ...]");
+            System.out.println("       --startup=SNAPSHOT [--indir=DIR] --file=FILE [--file=FILE ...]");
         }
     }
 
@@ -121,6 +131,41 @@ public class SnapshotTool {
         return dir;
     }
 
+    /**
+     * Records binary snapshots of the given warm-up scripts into a single startup snapshot file
+     * that can be used with the {@code js.startup-snapshot} option.
+     */
+    private void snapshotStartupTo(List<String> srcFiles, String inDir, File outputFile) throws IOException {
+        JSRealm realm = AbstractJavaScriptLanguage.getCurrentJSRealm();
+        JSContext context = realm.getContext();
+        Source[] sources = new Source[srcFiles.size()];
+        byte[][] binaries = new byte[srcFiles.size()][];
+        for (int i = 0; i < sources.length; i++) {
+            String fileName = srcFiles.get(i);
+            File sourceFile = inDir == null ? new File(fileName) : Paths.get(inDir, fileName).toFile();
+            if (!sourceFile.isFile()) {
+                throw new IllegalArgumentException("Not a file: " + sourceFile);
+            }
+            Recording.logv("recording startup snapshot of %s", fileName);
+            sources[i] = Source.newBuilder(AbstractJavaScriptLanguage.ID, realm.getEnv().getTruffleFile(sourceFile.getPath())).name(fileName).build();
+            try (TimerCloseable timer = timeStats.file(fileName)) {
+                Recording rec = new Recording();
+                ScriptNode program = JavaScriptTranslator.translateScript(RecordingProxy.createRecordingNodeFactory(rec, NodeFactory.getInstance(context)), context, sources[i], false);
+                rec.finish(program.getRootNode());
+                ByteArrayOutputStream outs = new ByteArrayOutputStream();
+                rec.saveToStream(fileName, outs, true);
+                binaries[i] = outs.toByteArray();
+            } catch (RuntimeException e) {
+                throw new RuntimeException(fileName, e);
+            }
+        }
+        File parent = outputFile.getAbsoluteFile().getParentFile();
+        parent.mkdirs();
+        try (FileOutputStream outs = new FileOutputStream(outputFile)) {
+            StartupSnapshot.write(outs, sources, binaries);
+        }
+    }
+
     private void snapshotScriptFileTo(String fileName, File sourceFile, File outputFile, boolean binary) throws IOException {
         JSRealm realm = AbstractJavaScriptLanguage.getCurrentJSRealm();
         JSContext context = realm.getContext();
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2018, 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.builtins;
+
+import static org.junit.Assert.assertEquals;
+
+import org.graalvm.polyglot.Context;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@code Array.prototype.join}, which joins dense arrays of primitives in a single pass and falls
+ * back to element-wise conversion for objects, symbols and holes.
+ */
+public class ArrayJoinTest {
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = Context.create("js");
+    }
+
+    @After
+    public void tearDown() {
+        context.close();
+    }
+
+    private String eval(String code) {
+        return context.eval("js", code).asString();
+    }
+
+    @Test
+    public void testNumbers() {
+        assertEquals("0,-1,2147483647,-2147483648,10,99", eval("[0, -1, 2147483647, -2147483648, 10, 99].join();"));
+        assertEquals("1.5;0;1e+21;9007199254740992;-9007199254740991;NaN;Infinity;0.1", eval("[1.5, -0, 1e21, 9007199254740992, -9007199254740991, NaN, Infinity, 0.1].join(';');"));
+        assertEquals("123", eval("[1, 2, 3].join('');"));
+        assertEquals("-9007199254740992|1e+300|-1.5", eval("[-9007199254740992, 1e300, -1.5].join('|');"));
+    }
+
+    @Test
+    public void testPrimitives() {
+        assertEquals("x, , aaaaaaaaaaaaaaaaaaaabbbbbbbbbbbbbbbbbbbb, true, , , 7", eval("['x', '', 'a'.repeat(20) + 'b'.repeat(20), true, null, undefined, 7].join(', ');"));
+        assertEquals("a,b", eval("['a', 'b'].toString();"));
+        // the array itself is not changed by the conversion
+        assertEquals("null,undefined,number", eval("var a = [null, undefined, 1.5];" +
+                        "a.join();" +
+                        "[String(a[0]), String(a[1]), typeof a[2]].join();"));
+    }
+
+    @Test
+    public void testObjectsAndHoles() {
+        assertEquals("a-o-1|1", eval("var calls = 0;" +
+                        "var o = {toString: function() { calls++; return 'o'; }};" +
+                        "['a', o, 1].join('-') + '|' + calls;"));
+        assertEquals("1,,3|1,proto,3", eval("var holes = [1, , 3];" +
+                        "var result = holes.join();" +
+                        "Array.prototype[1] = 'proto';" +
+                        "try { result += '|' + holes.join(); } finally { delete Array.prototype[1]; }" +
+                        "result;"));
+        assertEquals("TypeError", eval("try { ['a', Symbol()].join(); 'no error'; } catch (e) { e.name; }"));
+    }
+
+    /**
+     * Shifted arrays do not start at the beginning of their backing store.
+     */
+    @Test
+    public void testShiftedArrays() {
+        assertEquals("2,3,4|2.5,3,4.5|b,3,", eval("var ints = [1, 2, 3, 4]; ints.shift();" +
+                        "var doubles = [1.5, 2.5, 3, 4.5]; doubles.shift();" +
+                        "var objects = ['a', 'b', 3, null]; objects.shift();" +
+                        "[ints.join(), doubles.join(), objects.join()].join('|');"));
+    }
+
+    /**
+     * A call site that first sees arrays with objects must still join later arrays of primitives
+     * correctly, and keep calling toString exactly once per object.
+     */
+    @Test
+    public void testObjectArraysThenPrimitiveArrays() {
+        assertEquals("true", eval("function join(array, separator) { return array.join(separator); }" +
+                        "var calls = 0;" +
+                        "var o = {toString: function() { calls++; return 'o'; }};" +
+                        "var ok = true;" +
+                        "for (var i = 0; i < 1000; i++) {" +
+                        "  ok = ok && join([o, i, 'x'], '-') === 'o-' + i + '-x';" +
+                        "}" +
+                        "ok = ok && calls === 1000;" +
+                        "for (var i = 0; i < 1000; i++) {" +
+                        "  ok = ok && join([i, -i, i / 2, 'x', null], ',') === i + ',' + (-i) + ',' + (i / 2) + ',x,';" +
+                        "  ok = ok && join(i % 10 === 0 ? [1, o] : [1, 2], '') === (i % 10 === 0 ? '1o' : '12');" +
+                        "}" +
+                        "String(ok && calls === 1100);"));
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2018, 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.builtins;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.graalvm.polyglot.Context;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@code Graal.parseJSON} and {@code Graal.parseJSONElements}, which parse JSON incrementally from
+ * strings, buffers and host Readers.
+ */
+public class JSONStreamParserTest {
+
+    private static final String TEXT = "JSON.stringify({name: 'caf\\u00e9 \\ud83d\\ude00', list: [1, -2.5, 1e21, true, false, null, 'a\\\\\"b\\n'], nested: {a: {b: {c: []}}}})";
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = Context.newBuilder("js").allowHostAccess(true).build();
+        context.eval("js", "var text = " + TEXT + ";" +
+                        "function same(actual, expected) { return JSON.stringify(actual) === JSON.stringify(expected); }");
+    }
+
+    @After
+    public void tearDown() {
+        context.close();
+    }
+
+    private String eval(String code) {
+        return context.eval("js", code).asString();
+    }
+
+    @Test
+    public void testSources() {
+        assertEquals("true,true,true,true,true", eval("var bytes = new Uint8Array(text.length * 4 + 4);" +
+                        "var length = 2;" +
+                        "for (var c of unescape(encodeURIComponent(text))) { bytes[length++] = c.charCodeAt(0); }" +
+                        "var arrayBuffer = bytes.buffer.slice(2, length);" +
+                        "[Graal.parseJSON(text)," +
+                        " Graal.parseJSON(arrayBuffer)," +
+                        " Graal.parseJSON(new DataView(arrayBuffer))," +
+                        " Graal.parseJSON(new DataView(bytes.buffer, 2, length - 2))," +
+                        " Graal.parseJSON(bytes.subarray(2, length))" +
+                        "].map(function(value) { return same(value, JSON.parse(text)); }).join();"));
+    }
+
+    @Test
+    public void testHostSources() {
+        ByteBuffer utf8 = ByteBuffer.allocate(1024);
+        utf8.put((byte) 'x');
+        utf8.put(context.eval("js", "text").asString().getBytes(StandardCharsets.UTF_8));
+        utf8.flip();
+        utf8.position(1);
+        context.getBindings("js").putMember("byteBuffer", utf8);
+        context.getBindings("js").putMember("reader", new ChunkedReader(context.eval("js", "text").asString(), 1000));
+        assertEquals("true,true", eval("[same(Graal.parseJSON(byteBuffer), JSON.parse(text)), same(Graal.parseJSON(reader), JSON.parse(text))].join();"));
+        // the buffer itself is not consumed
+        assertEquals(1, utf8.position());
+    }
+
+    @Test
+    public void testReadWindow() {
+        assertEquals("true", eval("var value = [];" +
+                        "for (var i = 0; i < 5000; i++) { value.push({id: i, s: 'x'.repeat(i % 100), d: i / 8}); }" +
+                        "value.push('y'.repeat(100000));" +
+                        "String(same(Graal.parseJSON(JSON.stringify(value, null, 2)), value));"));
+    }
+
+    /**
+     * Readers may return fewer characters than requested, so that any token (including literals
+     * and surrogate pairs) can be split across reads.
+     */
+    @Test
+    public void testShortReads() {
+        String json = "[true, false, null, -0.5e-3, 12345678901234567890, \"café 😀\", \"\\u0041\\n\", {\"key\": [[], {}]}, 0, 1E2]";
+        for (int chunkSize = 1; chunkSize <= 4; chunkSize++) {
+            context.getBindings("js").putMember("json", json);
+            context.getBindings("js").putMember("reader", new ChunkedReader(json, chunkSize));
+            context.getBindings("js").putMember("elementReader", new ChunkedReader(json, chunkSize));
+            assertEquals("chunk size " + chunkSize, "true,true", eval("[same(Graal.parseJSON(reader), JSON.parse(json))," +
+                            " same(Array.from(Graal.parseJSONElements(elementReader)), JSON.parse(json))].join();"));
+        }
+    }
+
+    @Test
+    public void testSyntaxErrors() {
+        assertEquals("SyntaxError,SyntaxError,SyntaxError,SyntaxError,SyntaxError,SyntaxError,SyntaxError,TypeError", eval("var result = [];" +
+                        "['', '[1,]', '{\"a\" 1}', '01', '[1] x', '\"abc', new Uint8Array([91]), {}].forEach(function(input) {" +
+                        "  try { Graal.parseJSON(input); result.push('no error'); } catch (e) { result.push(e.name); }" +
+                        "});" +
+                        "result.join();"));
+    }
+
+    @Test
+    public void testElements() {
+        assertEquals("true,true", eval("var elements = [];" +
+                        "for (var element of Graal.parseJSONElements(' [ {\"a\": 1}, [2], \"3\", 4, null ] ')) { elements.push(element); }" +
+                        "[same(elements, [{a: 1}, [2], '3', 4, null]), same(Array.from(Graal.parseJSONElements('[]')), [])].join();"));
+    }
+
+    @Test
+    public void testElementsAreParsedLazily() {
+        assertEquals("1,false,2,false,SyntaxError,undefined,true", eval("var iterator = Graal.parseJSONElements('[1, 2, oops]');" +
+                        "var result = [];" +
+                        "for (var i = 0; i < 2; i++) { var next = iterator.next(); result.push(next.value, next.done); }" +
+                        "try { iterator.next(); result.push('no error'); } catch (e) { result.push(e.name); }" +
+                        "var next = iterator.next();" +
+                        "result.push(String(next.value), next.done);" +
+                        "result.join();"));
+        assertEquals("SyntaxError", eval("try { Graal.parseJSONElements('{\"a\": 1}'); 'no error'; } catch (e) { e.name; }"));
+    }
+
+    /**
+     * Host readers are closed when parsing ends or fails; the element iterators share a prototype.
+     */
+    @Test
+    public void testCloseAndPrototype() {
+        ChunkedReader parsed = new ChunkedReader("[1, 2]", 4);
+        ChunkedReader invalid = new ChunkedReader("[1, oops]", 4);
+        ChunkedReader elements = new ChunkedReader("[1, 2]", 4);
+        ChunkedReader invalidElements = new ChunkedReader("[1, oops]", 4);
+        context.getBindings("js").putMember("parsed", parsed);
+        context.getBindings("js").putMember("invalid", invalid);
+        context.getBindings("js").putMember("elements", elements);
+        context.getBindings("js").putMember("invalidElements", invalidElements);
+        assertEquals("SyntaxError,1,SyntaxError", eval("var result = [];" +
+                        "Graal.parseJSON(parsed);" +
+                        "try { Graal.parseJSON(invalid); } catch (e) { result.push(e.name); }" +
+                        "var iterator = Graal.parseJSONElements(elements);" +
+                        "iterator.next();" +
+                        "result.push(Array.from(iterator).length);" +
+                        "var invalidIterator = Graal.parseJSONElements(invalidElements);" +
+                        "invalidIterator.next();" +
+                        "try { invalidIterator.next(); } catch (e) { result.push(e.name); }" +
+                        "result.join();"));
+        assertTrue(parsed.closed);
+        assertTrue(invalid.closed);
+        assertTrue(elements.closed);
+        assertTrue(invalidElements.closed);
+        assertEquals("true,true,[object JSON Element Iterator]", eval("var first = Graal.parseJSONElements('[]');" +
+                        "var second = Graal.parseJSONElements('[]');" +
+                        "[Object.getPrototypeOf(first) === Object.getPrototypeOf(second), first.next === second.next, String(first)].join();"));
+    }
+
+    private static final class ChunkedReader extends Reader {
+        private final String input;
+        private final int chunkSize;
+        private int position;
+        private boolean closed;
+
+        ChunkedReader(String input, int chunkSize) {
+            this.input = input;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) {
+            if (position >= input.length()) {
+                return -1;
+            }
+            int count = Math.min(Math.min(len, chunkSize), input.length() - position);
+            input.getChars(position, position + count, cbuf, off);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
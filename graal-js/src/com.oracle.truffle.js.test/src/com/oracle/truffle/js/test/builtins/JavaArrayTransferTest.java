@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2018, 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.builtins;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Value;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.oracle.truffle.api.interop.ForeignAccess;
+import com.oracle.truffle.api.interop.InteropException;
+import com.oracle.truffle.api.interop.Message;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.js.runtime.AbstractJavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSRealm;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBuffer;
+import com.oracle.truffle.js.runtime.objects.JSObject;
+
+/**
+ * Bulk transfer of numeric arrays between JavaScript and Java: {@code Java.to} and
+ * {@code Java.from} copy, while typed arrays are shared with other languages without copying.
+ */
+public class JavaArrayTransferTest {
+
+    private static final String MESSAGES = "com.oracle.truffle.js.parser.foreign.JSForeignAccessExtraMessages$";
+
+    private Context context;
+    private JSRealm realm;
+
+    @Before
+    public void setUp() {
+        context = Context.newBuilder("js").allowHostAccess(true).build();
+        context.enter();
+        context.initialize("js");
+        realm = AbstractJavaScriptLanguage.getCurrentJSRealm();
+    }
+
+    @After
+    public void tearDown() {
+        context.leave();
+        context.close();
+    }
+
+    private Object evalInternal(String code) {
+        return realm.getContext().getEvaluator().evaluate(realm, null, Source.newBuilder(AbstractJavaScriptLanguage.ID, code, "test").build());
+    }
+
+    private static Object send(String message, Object receiver, Object... arguments) {
+        try {
+            return ForeignAccess.send(Message.valueOf(MESSAGES + message).createNode(), (TruffleObject) receiver, arguments);
+        } catch (InteropException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private ByteBuffer tryConvert(String typedArray) {
+        DynamicObject result = (DynamicObject) send("TryConvertMessage", evalInternal(typedArray));
+        return (ByteBuffer) JSObject.get(result, 0);
+    }
+
+    @Test
+    public void testJavaToCopies() {
+        Value result = context.eval("js", "var ints = [1, 2, 3];" +
+                        "var doubles = [0.5, 1.5, 2.5];" +
+                        "var javaInts = Java.to(ints, 'int[]');" +
+                        "var javaDoubles = Java.to(doubles, 'double[]');" +
+                        "ints[0] = 10; javaInts[1] = 20;" +
+                        "doubles[0] = 10.5; javaDoubles[1] = 20.5;" +
+                        "[javaInts[0], ints[1], javaDoubles[0], doubles[1], javaInts.length, javaDoubles.length].join();");
+        assertEquals("1,2,0.5,1.5,3,3", result.asString());
+        assertTrue(context.eval("js", "javaInts").as(Object.class) instanceof int[]);
+        assertTrue(context.eval("js", "javaDoubles").as(Object.class) instanceof double[]);
+    }
+
+    @Test
+    public void testJavaToTypedArrayOffset() {
+        Value result = context.eval("js", "var buffer = new ArrayBuffer(48);" +
+                        "var int32 = new Int32Array(buffer, 4, 3);" +
+                        "int32.set([-1, 2, 0x7fffffff]);" +
+                        "var float64 = new Float64Array([0.5, 1.5, 2.5, NaN]).subarray(1);" +
+                        "var javaInts = Java.to(int32, 'int[]');" +
+                        "var javaDoubles = Java.to(float64, 'double[]');" +
+                        "int32[0] = 42; float64[0] = 42;" +
+                        "function list(a) { var r = []; for (var i = 0; i < a.length; i++) { r.push(a[i]); } return r.join(); }" +
+                        "[list(javaInts), list(javaDoubles)].join(';');");
+        assertEquals("-1,2,2147483647;1.5,2.5,NaN", result.asString());
+    }
+
+    @Test
+    public void testJavaFromCopies() {
+        Value result = context.eval("js", "var javaInts = Java.to([1, 2, 3], 'int[]');" +
+                        "var javaDoubles = Java.to([0.5, NaN, -0], 'double[]');" +
+                        "var ints = Java.from(javaInts);" +
+                        "var doubles = Java.from(javaDoubles);" +
+                        "javaInts[0] = 7; ints[1] = 8; ints.push(4);" +
+                        "javaDoubles[0] = 7.5; doubles[2] = 9.5;" +
+                        "[Array.isArray(ints), ints.join(), javaInts[1], javaInts.length," +
+                        " doubles[0], isNaN(doubles[1]), doubles[2], 1 / javaDoubles[2]].join(';');");
+        assertEquals("true;1,8,3,4;2;3;0.5;true;9.5;-Infinity", result.asString());
+    }
+
+    /**
+     * A heap typed array is exposed as a native order view of its bytes, starting at its offset.
+     */
+    @Test
+    public void testTryConvertSharesHeapTypedArray() {
+        evalInternal("var buffer = new ArrayBuffer(16); var int32 = new Int32Array(buffer, 4, 2); int32[0] = 0x01020304; int32[1] = -2;");
+        ByteBuffer byteBuffer = tryConvert("int32");
+        assertEquals(ByteOrder.nativeOrder(), byteBuffer.order());
+        assertEquals(0, byteBuffer.position());
+        assertEquals(8, byteBuffer.limit());
+        assertEquals(0x01020304, byteBuffer.getInt(0));
+        assertEquals(-2, byteBuffer.getInt(4));
+
+        // writes on either side are visible to the other one
+        byteBuffer.putInt(4, 42);
+        assertEquals(42, ((Number) evalInternal("int32[1]")).intValue());
+        assertEquals(42, ((Number) evalInternal("new Int32Array(buffer)[2]")).intValue());
+        evalInternal("int32[0] = 7");
+        assertEquals(7, byteBuffer.getInt(0));
+    }
+
+    @Test
+    public void testTryConvertSubarray() {
+        evalInternal("var bytes = new Uint8Array(10).map((v, i) => i); var sub = bytes.subarray(3, 7);");
+        ByteBuffer byteBuffer = tryConvert("sub");
+        assertEquals(4, byteBuffer.remaining());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(3 + i, byteBuffer.get(i));
+        }
+        byteBuffer.put(0, (byte) 99);
+        assertEquals(99, ((Number) evalInternal("bytes[3]")).intValue());
+    }
+
+    @Test
+    public void testTryConvertDetached() {
+        // a detached typed array has no bytes to share
+        DynamicObject typedArray = (DynamicObject) evalInternal("var detached = new Int32Array(4); detached;");
+        JSArrayBuffer.detachArrayBuffer((DynamicObject) evalInternal("detached.buffer"));
+        DynamicObject result = (DynamicObject) send("TryConvertMessage", typedArray);
+        assertEquals(0L, ((Number) JSObject.get(result, "length")).longValue());
+    }
+
+    /**
+     * An allocated array buffer uses the given byte[] as its backing store, in native byte order.
+     */
+    @Test
+    public void testAllocateTypedArrayAliasesByteArray() {
+        byte[] bytes = new byte[16];
+        bytes[5] = 9;
+        Object arrayBuffer = send("AllocateTypedArrayMessage", realm.getGlobalObject(), bytes);
+        assertTrue(JSArrayBuffer.isJSHeapArrayBuffer(arrayBuffer));
+        JSObject.set(realm.getGlobalObject(), "allocated", arrayBuffer);
+
+        assertEquals(16, ((Number) evalInternal("allocated.byteLength")).intValue());
+        assertEquals(9, ((Number) evalInternal("new Uint8Array(allocated)[5]")).intValue());
+        evalInternal("new Uint8Array(allocated)[3] = 7; new Int32Array(allocated, 8)[0] = 0x01020304;");
+        assertEquals(7, bytes[3]);
+        assertEquals(0x01020304, ByteBuffer.wrap(bytes).order(ByteOrder.nativeOrder()).getInt(8));
+
+        // DataView accesses use the requested byte order
+        evalInternal("new DataView(allocated).setInt32(12, 0x01020304, false);");
+        assertEquals(1, bytes[12]);
+        assertEquals(4, bytes[15]);
+        bytes[0] = -1;
+        assertEquals(255, ((Number) evalInternal("new Uint8Array(allocated)[0]")).intValue());
+        assertFalse(JSArrayBuffer.isJSDirectArrayBuffer(arrayBuffer));
+    }
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright (c) 2018, 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.builtins;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.graalvm.polyglot.Context;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.js.builtins.helper.TruffleJSONLazyParser;
+import com.oracle.truffle.js.runtime.AbstractJavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.runtime.JSRealm;
+import com.oracle.truffle.js.runtime.array.dyn.LazyJSONArray;
+import com.oracle.truffle.js.runtime.builtins.JSAbstractArray;
+import com.oracle.truffle.js.runtime.objects.JSObject;
+
+/**
+ * Arrays created by {@code JSON.parse} with {@code js.lazy-json}, whose elements are parsed on
+ * first access and which turn into ordinary arrays when they are modified.
+ */
+public class LazyJSONArrayTest {
+
+    private Context context;
+    private JSRealm realm;
+
+    @Before
+    public void setUp() {
+        context = Context.newBuilder("js").option(JSContextOptions.LAZY_JSON_NAME, "true").build();
+        context.enter();
+        // only inputs of at least MIN_LENGTH characters are parsed lazily
+        context.eval("js", "function lazy(value) {" +
+                        "  return JSON.parse(JSON.stringify({padding: 'x'.repeat(" + TruffleJSONLazyParser.MIN_LENGTH + "), value: value})).value;" +
+                        "}");
+        realm = AbstractJavaScriptLanguage.getCurrentJSRealm();
+    }
+
+    @After
+    public void tearDown() {
+        context.leave();
+        context.close();
+    }
+
+    private String eval(String code) {
+        return context.eval("js", code).asString();
+    }
+
+    private Object evalInternal(String code) {
+        return realm.getContext().getEvaluator().evaluate(realm, null, Source.newBuilder(AbstractJavaScriptLanguage.ID, code, "test").build());
+    }
+
+    private static boolean isLazy(Object array) {
+        return JSAbstractArray.arrayGetArrayType((DynamicObject) array) instanceof LazyJSONArray;
+    }
+
+    @Test
+    public void testArraysAreLazy() {
+        assertTrue(isLazy(evalInternal("lazy([1, [2, 3], {a: [4]}])")));
+        assertTrue(isLazy(evalInternal("lazy([1, [2, 3], {a: [4]}])[1]")));
+        assertTrue(isLazy(evalInternal("lazy([1, [2, 3], {a: [4]}])[2].a")));
+        assertTrue(isLazy(evalInternal("var read = lazy([1, 2]); read[0] + read[1]; read")));
+        assertFalse(isLazy(evalInternal("var written = lazy([1, 2]); written[0] = 3; written")));
+        assertFalse(isLazy(evalInternal("JSON.parse('[1, 2]')")));
+    }
+
+    @Test
+    public void testWrite() {
+        assertEquals("[1,2,{\"three\":3},[4]]|4", eval("var a = lazy([1, 'two', {three: 3}, [4]]);" +
+                        "a[1] = 2;" +
+                        "JSON.stringify(a) + '|' + a.length;"));
+        // partially materialized
+        assertEquals("[1,2,\"x\",4]|2", eval("var a = lazy([1, 2, 3, 4]);" +
+                        "var read = a[1];" +
+                        "a[2] = 'x';" +
+                        "JSON.stringify(a) + '|' + read;"));
+        // fully materialized
+        assertEquals("[0,2,3,4]|6", eval("var a = lazy([1, 2, 3]);" +
+                        "var sum = a[0] + a[1] + a[2];" +
+                        "a[3] = 4;" +
+                        "a[0] = 0;" +
+                        "JSON.stringify(a) + '|' + sum;"));
+        assertEquals("[1,2,3]|[1,2]|[2]", eval("var a = lazy([1, 2]);" +
+                        "var b = lazy([1, 2]);" +
+                        "var c = lazy([1, 2]);" +
+                        "a.push(3);" +
+                        "b.unshift(b.pop());" +
+                        "b.reverse();" +
+                        "c.shift();" +
+                        "[a, b, c].map(function(array) { return JSON.stringify(array); }).join('|');"));
+    }
+
+    @Test
+    public void testFreezeAndSeal() {
+        assertEquals("true;true;false;[1,[2]];[42,2];2;TypeError;false;true", eval("var frozen = Object.freeze(lazy([1, [2]]));" +
+                        "var sealed = Object.seal(lazy([1, 2]));" +
+                        "var result = [Object.isFrozen(frozen), Object.isSealed(sealed), Object.isFrozen(sealed)];" +
+                        "frozen[0] = 42;" +
+                        "sealed[0] = 42;" +
+                        "sealed[2] = 3;" +
+                        "delete sealed[1];" +
+                        "result.push(JSON.stringify(frozen), JSON.stringify(sealed), sealed.length);" +
+                        "(function() { 'use strict'; try { frozen[0] = 1; result.push('no error'); } catch (e) { result.push(e.name); } })();" +
+                        "result.push(Object.isFrozen(frozen[1]), Object.isFrozen(frozen));" +
+                        "result.join(';');"));
+    }
+
+    @Test
+    public void testLength() {
+        assertEquals("[1,2];4;false;[1,2,null,null];[1,2];0", eval("var a = lazy([1, 2, 3, 4]);" +
+                        "a.length = 2;" +
+                        "var result = [JSON.stringify(a)];" +
+                        "var b = lazy([1, 2]);" +
+                        "b.length = 4;" +
+                        "result.push(b.length, 2 in b, JSON.stringify(b));" +
+                        "var c = lazy([1, 2]);" +
+                        "c.length = 2;" +
+                        "result.push(JSON.stringify(c));" +
+                        "var d = lazy([1, 2]);" +
+                        "d[0];" +
+                        "d.length = 0;" +
+                        "result.push(d.length);" +
+                        "result.join(';');"));
+    }
+
+    @Test
+    public void testSplice() {
+        assertEquals("[[1,2],[0,\"x\",3,4],[0],[[1],2],[1,2,3],[\"x\",3]]", eval("var a = lazy([0, 1, 2, 3, 4]);" +
+                        "var removed = a.splice(1, 2, 'x');" +
+                        "var b = lazy([0, [1], 2]);" +
+                        "b[1];" +
+                        "var removedB = b.splice(0, 1);" +
+                        "JSON.stringify([removed, a, removedB, b, lazy([3, 1, 2]).sort(), a.slice(1, 3)]);"));
+    }
+
+    @Test
+    public void testHoles() {
+        assertEquals("3;false;undefined;[1,null,3];0,2;5;false;[1,2,null,null,5]", eval("var a = lazy([1, 2, 3]);" +
+                        "delete a[1];" +
+                        "var result = [a.length, 1 in a, String(a[1]), JSON.stringify(a), Object.keys(a).join()];" +
+                        "var b = lazy([1, 2]);" +
+                        "b[4] = 5;" +
+                        "result.push(b.length, 3 in b, JSON.stringify(b));" +
+                        "result.join(';');"));
+    }
+
+    @Test
+    public void testNested() {
+        assertEquals("1;b;4;0;0;x;true;true", eval("var value = {" +
+                        "  items: [{id: 0, tags: ['a', 'b'], pos: [[1, 2], [3, [4, 5]]]}, {id: 1, tags: [], pos: []}]," +
+                        "  empty: []," +
+                        "  deep: [[[[['x']]]]]" +
+                        "};" +
+                        "var doc = lazy(value);" +
+                        "var result = [doc.items[1].id, doc.items[0].tags[1], doc.items[0].pos[1][1][0], doc.items[1].tags.length, doc.empty.length," +
+                        "  doc.deep[0][0][0][0][0], Array.isArray(doc.items[0].pos[0])];" +
+                        "result.push(JSON.stringify(doc) === JSON.stringify(value));" +
+                        "result.join(';');"));
+    }
+
+    @Test
+    public void testLargeArray() {
+        assertEquals("true;49995000;9998;true", eval("var value = [];" +
+                        "for (var i = 0; i < 10000; i++) { value.push(i % 3 === 0 ? {i: i, s: 'a\\n\"' + i} : i % 3 === 1 ? [i, [i]] : i); }" +
+                        "var a = lazy(value);" +
+                        "var last = a[9998];" +
+                        "var sum = 0;" +
+                        "for (var element of a) { sum += typeof element === 'number' ? element : Array.isArray(element) ? element[1][0] : element.i; }" +
+                        "[a.length === value.length, sum, last, JSON.stringify(a) === JSON.stringify(value)].join(';');"));
+    }
+
+    /**
+     * Only the elements that are accessed are materialized, also in nested arrays.
+     */
+    @Test
+    public void testUntouchedElementsAreNotMaterialized() {
+        Object array = evalInternal("var a = lazy([[1, 2], [3, 4], {b: [5, 6]}, 7, 'eight']);" +
+                        "a[1][0] + a[2].b[1] + a.length + a[1].length; a");
+        assertEquals(2, materializedCount(array));
+        Object row = evalInternal("a[1]");
+        assertTrue(isLazy(row));
+        assertEquals(1, materializedCount(row));
+        assertEquals(0, materializedCount(evalInternal("a[0]")));
+        assertEquals(1, materializedCount(evalInternal("a[2].b")));
+        assertEquals(3, materializedCount(array));
+
+        // iteration that stops early does not materialize the rest
+        Object large = evalInternal("var large = lazy(Array.from({length: 10000}, function(v, i) { return {i: i}; }));" +
+                        "for (var element of large) { if (element.i === 9) { break; } } large");
+        assertEquals(10, materializedCount(large));
+    }
+
+    private static int materializedCount(Object array) {
+        assertTrue(isLazy(array));
+        return ((LazyJSONArray.Elements) JSAbstractArray.arrayGetArray((DynamicObject) array)).materializedCount();
+    }
+
+    /**
+     * A lazy array retains the JSON source until all of its elements have been materialized.
+     */
+    @Test
+    public void testSourceRetention() {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 1000; i++) {
+            json.append(i == 0 ? "" : ",").append('[').append(i).append(',').append(i).append(']');
+        }
+        String text = json.append(']').toString();
+        WeakReference<String> textRef = new WeakReference<>(text);
+        DynamicObject array = (DynamicObject) TruffleJSONLazyParser.parse(realm.getContext(), text);
+        text = null;
+
+        List<DynamicObject> rows = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            rows.add((DynamicObject) JSObject.get(array, i));
+        }
+        // the rows are still lazy
+        System.gc();
+        assertNotNull(textRef.get());
+
+        for (int i = 0; i < 999; i++) {
+            assertEquals(i, JSObject.get(rows.get(i), 0));
+            assertEquals(i, JSObject.get(rows.get(i), 1));
+        }
+        assertEquals(999, JSObject.get(rows.get(999), 1));
+        System.gc();
+        assertNotNull(textRef.get());
+
+        assertEquals(999, JSObject.get(rows.get(999), 0));
+        gcUntilCleared(textRef);
+        assertEquals(rows.get(0), JSObject.get(array, 0));
+    }
+
+    private static void gcUntilCleared(WeakReference<?> ref) {
+        for (int i = 0; i < 100 && ref.get() != null; i++) {
+            System.gc();
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            }
+        }
+        assertNull("JSON source has not been collected", ref.get());
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2018, 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.builtins;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Memory-mapped ArrayBuffers ({@code Graal.mapFile}) and ArrayBuffers wrapping host ByteBuffers,
+ * which are only available with the {@code js.map-file} option.
+ */
+public class MapFileTest {
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    private File writeFile(int length) throws IOException {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) i;
+        }
+        File file = folder.newFile();
+        Files.write(file.toPath(), bytes);
+        return file;
+    }
+
+    private static Context createContext(boolean mapFile) {
+        return Context.newBuilder("js").allowIO(true).allowHostAccess(true).option("js.map-file", String.valueOf(mapFile)).build();
+    }
+
+    private static String eval(Context context, String code) {
+        return context.eval("js", code).asString();
+    }
+
+    /**
+     * Non-writable mappings only need read access to the file, and cannot be written to.
+     */
+    @Test
+    public void testReadOnlyMapping() throws IOException {
+        File file = writeFile(8192);
+        byte[] contents = Files.readAllBytes(file.toPath());
+        file.setReadOnly();
+        try (Context context = createContext(true)) {
+            context.getBindings("js").putMember("path", file.getPath());
+            assertEquals("8192,1,255,0,true,true,true,true,true,0,1", eval(context, "var buffer = Graal.mapFile(path);" +
+                            "var bytes = new Uint8Array(buffer);" +
+                            "var result = [buffer.byteLength, bytes[1], bytes[255], bytes[256]];" +
+                            "try { bytes[0] = 42; result.push('no error'); } catch (e) { result.push(e instanceof TypeError); }" +
+                            "try { new DataView(buffer).setInt8(1, 42); result.push('no error'); } catch (e) { result.push(e instanceof TypeError); }" +
+                            "try { bytes.fill(42); result.push('no error'); } catch (e) { result.push(e instanceof TypeError); }" +
+                            "try { bytes.copyWithin(0, 1, 2); result.push('no error'); } catch (e) { result.push(e instanceof TypeError); }" +
+                            "try { bytes.set(new Uint8Array([42])); result.push('no error'); } catch (e) { result.push(e instanceof TypeError); }" +
+                            "result.push(bytes[0], bytes[1]);" +
+                            "result.join();"));
+            // a store that is not caught in the function is a TypeError, too
+            assertEquals("true", eval(context, "function store(view) { view[2] = 42; }" +
+                            "try { store(bytes); 'no error'; } catch (e) { String(e instanceof TypeError); }"));
+            assertEquals("0", eval(context, "Graal.unmapFile(buffer); String(bytes.length);"));
+        }
+        assertArrayEquals(contents, Files.readAllBytes(file.toPath()));
+    }
+
+    @Test
+    public void testWritableMapping() throws IOException {
+        File file = writeFile(8192);
+        try (Context context = createContext(true)) {
+            context.getBindings("js").putMember("path", file.getPath());
+            assertEquals("16,4,0", eval(context, "var buffer = Graal.mapFile(path, {writable: true, offset: 4096, length: 16});" +
+                            "var view = new Int32Array(buffer);" +
+                            "var result = [buffer.byteLength, view.length];" +
+                            "view[1] = 0x01020304;" +
+                            "Graal.unmapFile(buffer);" +
+                            "result.push(view.length);" +
+                            "result.join();"));
+        }
+        ByteBuffer contents = ByteBuffer.wrap(Files.readAllBytes(file.toPath())).order(ByteOrder.nativeOrder());
+        assertEquals(0x01020304, contents.getInt(4096 + 4));
+        assertEquals(0, contents.get(4096));
+        assertEquals((byte) 4104, contents.get(4104));
+    }
+
+    @Test
+    public void testSegments() throws IOException {
+        File file = writeFile(10000);
+        try (Context context = createContext(true)) {
+            context.getBindings("js").putMember("path", file.getPath());
+            assertEquals("3,4096,4096,1708,100,100,100,15", eval(context, "var segments = Graal.mapFileSegments(path, {offset: 100, segmentSize: 4096});" +
+                            "var result = [segments.length];" +
+                            "segments.forEach(function(segment) { result.push(segment.byteLength); });" +
+                            "segments.forEach(function(segment) { result.push(new Uint8Array(segment)[0]); });" +
+                            "result.push(new Uint8Array(segments[2])[1707]);" +
+                            "result.join();"));
+        }
+    }
+
+    @Test
+    public void testInvalidRegions() throws IOException {
+        File file = writeFile(100);
+        try (Context context = createContext(true)) {
+            context.getBindings("js").putMember("path", file.getPath());
+            assertEquals("RangeError,RangeError,RangeError,RangeError,0", eval(context, "var result = [];" +
+                            "[{offset: 101}, {offset: -1}, {offset: 50, length: 51}, {segmentSize: 0}].forEach(function(options) {" +
+                            "  try { Graal.mapFileSegments(path, options); result.push('no error'); } catch (e) { result.push(e.name); }" +
+                            "});" +
+                            "result.push(Graal.mapFile(path, {offset: 100}).byteLength);" +
+                            "result.join();"));
+        }
+    }
+
+    /**
+     * A host ByteBuffer is wrapped from its position to its limit; read-only buffers are rejected.
+     */
+    @Test
+    public void testHostByteBuffer() {
+        byte[] whole = new byte[16];
+        byte[] partial = new byte[16];
+        for (int i = 0; i < 16; i++) {
+            partial[i] = (byte) i;
+        }
+        ByteBuffer slice = ByteBuffer.wrap(partial);
+        slice.position(4).limit(12);
+        ByteBuffer direct = ByteBuffer.allocateDirect(16);
+        direct.position(4);
+        try (Context context = createContext(true)) {
+            context.getBindings("js").putMember("whole", ByteBuffer.wrap(whole));
+            context.getBindings("js").putMember("slice", slice);
+            context.getBindings("js").putMember("direct", direct);
+            context.getBindings("js").putMember("readOnly", ByteBuffer.allocate(16).asReadOnlyBuffer());
+            context.getBindings("js").putMember("readOnlyDirect", ByteBuffer.allocateDirect(16).asReadOnlyBuffer());
+            assertEquals("16,8,4,11,12,TypeError,TypeError", eval(context, "var result = [];" +
+                            "new Uint8Array(new ArrayBuffer(whole))[1] = 1;" +
+                            "var sliceBytes = new Uint8Array(new ArrayBuffer(slice));" +
+                            "sliceBytes[0] = 42;" +
+                            "new Uint8Array(new ArrayBuffer(direct))[2] = 2;" +
+                            "result.push(new ArrayBuffer(whole).byteLength, sliceBytes.length, sliceBytes[1] - 1, sliceBytes[7], new ArrayBuffer(direct).byteLength);" +
+                            "[readOnly, readOnlyDirect].forEach(function(buffer) {" +
+                            "  try { new ArrayBuffer(buffer); result.push('no error'); } catch (e) { result.push(e.name); }" +
+                            "});" +
+                            "result.join();"));
+        }
+        // heap buffers spanning their whole array are shared, others are copied
+        assertEquals(1, whole[1]);
+        assertEquals(4, partial[4]);
+        // direct buffers are shared from their position
+        assertEquals(2, direct.get(4 + 2));
+    }
+
+    @Test
+    public void testDisabled() {
+        try (Context context = createContext(false)) {
+            context.getBindings("js").putMember("buffer", ByteBuffer.allocate(16));
+            assertEquals("undefined,undefined", eval(context, "[typeof Graal.mapFile, typeof Graal.mapFileSegments].join();"));
+            assertNotEquals("16", eval(context, "try { String(new ArrayBuffer(buffer).byteLength); } catch (e) { e.name; }"));
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2018, 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.builtins;
+
+import static org.junit.Assert.assertEquals;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Test;
+
+/**
+ * Object.assign from sources whose enumerable properties are taken from the per-shape cache.
+ */
+public class ObjectAssignTest {
+
+    private static String eval(String source) {
+        try (Context context = Context.create("js")) {
+            return context.eval("js", source).asString();
+        }
+    }
+
+    /**
+     * Integer keys first in ascending order, then string keys and symbols in creation order.
+     */
+    @Test
+    public void testOrder() {
+        String source = "var s1 = Symbol('s1'), s2 = Symbol('s2');" +
+                        "var src = {b: 1}; src[s2] = 2; src[2] = 3; src.a = 4; src[s1] = 5; src[1] = 6;" +
+                        "var log = [];" +
+                        "var target = new Proxy({}, {defineProperty(t, k, d) { log.push(String(k)); return Reflect.defineProperty(t, k, d); }});" +
+                        "var r = '';" +
+                        "for (var i = 0; i < 1000; i++) { log = []; Object.assign(target, src); r = log.join(); }" +
+                        "r;";
+        assertEquals("1,2,b,a,Symbol(s2),Symbol(s1)", eval(source));
+    }
+
+    @Test
+    public void testSymbolsAndNonEnumerable() {
+        String source = "var s = Symbol('s'), h = Symbol('h');" +
+                        "function make(i) {" +
+                        "  var o = {a: i}; o[s] = i + 1;" +
+                        "  Object.defineProperty(o, 'hidden', {value: i, enumerable: false});" +
+                        "  Object.defineProperty(o, h, {value: i, enumerable: false});" +
+                        "  return o;" +
+                        "}" +
+                        "var r = '';" +
+                        "for (var i = 0; i < 1000; i++) {" +
+                        "  var t = Object.assign({}, make(i));" +
+                        "  r = [t.a, t[s], 'hidden' in t, h in t, Object.getOwnPropertySymbols(t).length].join();" +
+                        "}" +
+                        "r;";
+        assertEquals("999,1000,false,false,1", eval(source));
+    }
+
+    /**
+     * Getters are called with the source as receiver, once per assign, and their results are
+     * copied as data properties.
+     */
+    @Test
+    public void testGetters() {
+        String source = "var calls = 0;" +
+                        "var src = {x: 1, get y() { calls++; return this.x + 1; }, z: 3};" +
+                        "var t;" +
+                        "for (var i = 0; i < 1000; i++) { src.x = i; t = Object.assign({}, src); }" +
+                        "var d = Object.getOwnPropertyDescriptor(t, 'y');" +
+                        "[calls, t.x, t.y, t.z, 'value' in d, d.writable].join();";
+        assertEquals("1000,999,1000,3,true,true", eval(source));
+    }
+
+    /**
+     * A getter that changes the source affects only the properties that are not copied yet.
+     */
+    @Test
+    public void testGetterChangesSource() {
+        String source = "function make() {" +
+                        "  return {" +
+                        "    a: 1," +
+                        "    get b() { this.a = 10; delete this.c; Object.defineProperty(this, 'd', {enumerable: false}); this.e = 50; this.f = 6; return 2; }," +
+                        "    c: 3, d: 4, e: 5" +
+                        "  };" +
+                        "}" +
+                        "var r = '';" +
+                        "for (var i = 0; i < 1000; i++) { r = JSON.stringify(Object.assign({}, make())); }" +
+                        "r;";
+        assertEquals("{\"a\":1,\"b\":2,\"e\":50}", eval(source));
+    }
+
+    /**
+     * Setters of the target are called, also if the target is the source itself.
+     */
+    @Test
+    public void testTargetSetters() {
+        String source = "var log = [];" +
+                        "var target = {set a(v) { log.push('a=' + v); }, set b(v) { log.push('b=' + v); }};" +
+                        "Object.assign(target, {a: 1, b: 2});" +
+                        "var self = {x: 1, y: 2};" +
+                        "Object.assign(self, self);" +
+                        "log.join() + ';' + JSON.stringify(self);";
+        assertEquals("a=1,b=2;{\"x\":1,\"y\":2}", eval(source));
+    }
+
+    /**
+     * Sources with changing shapes and with many properties.
+     */
+    @Test
+    public void testPolymorphicAndLargeSources() {
+        String source = "var sources = [];" +
+                        "for (var i = 0; i < 20; i++) {" +
+                        "  var o = {};" +
+                        "  for (var j = 0; j <= i * 5; j++) { o['p' + j] = j; }" +
+                        "  sources.push(o);" +
+                        "}" +
+                        "var sum = 0;" +
+                        "for (var k = 0; k < 100; k++) {" +
+                        "  for (var i = 0; i < sources.length; i++) {" +
+                        "    var t = Object.assign({}, sources[i]);" +
+                        "    for (var key in t) { sum += t[key]; }" +
+                        "  }" +
+                        "}" +
+                        "String(sum);";
+        assertEquals("3135000", eval(source));
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2018, 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.builtins;
+
+import static org.junit.Assert.assertEquals;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Test;
+
+/**
+ * Proxy traps must still be checked against non-configurable properties and non-extensible
+ * targets when the invariant checks are skipped for targets that cannot violate them.
+ */
+public class ProxyInvariantsTest {
+
+    private static final String PRELUDE = "function check(name, makeTarget, handler, op, expectTypeError) {" +
+                    "  for (var i = 0; i < 200; i++) {" +
+                    "    var p = new Proxy(makeTarget(), handler);" +
+                    "    var threw = false;" +
+                    "    try { op(p); } catch (e) { if (!(e instanceof TypeError)) throw e; threw = true; }" +
+                    "    if (threw !== expectTypeError) return name + (expectTypeError ? ': no TypeError' : ': unexpected TypeError') + ' in iteration ' + i;" +
+                    "  }" +
+                    "  return '';" +
+                    "}" +
+                    "function nonConfigurable(value) { var o = {other: 1}; Object.defineProperty(o, 'x', {value: value, writable: false, configurable: false}); return o; }" +
+                    "function nonConfigurableAccessor() { var o = {}; Object.defineProperty(o, 'x', {set: function(v) {}, configurable: false}); return o; }" +
+                    "function writableNonConfigurable() { var o = {}; Object.defineProperty(o, 'x', {value: 1, writable: true, configurable: false}); return o; }" +
+                    "function nonExtensible() { return Object.preventExtensions({x: 1}); }" +
+                    "function plain() { return {x: 1}; }";
+
+    @Test
+    public void testGet() {
+        assertInvariants("check('get: different value of non-writable, non-configurable', function() { return nonConfigurable(1); }, {get: function() { return 2; }}, function(p) { return p.x; }, true)",
+                        "check('get: same value of non-writable, non-configurable', function() { return nonConfigurable(1); }, {get: function() { return 1; }}, function(p) { return p.x; }, false)",
+                        "check('get: value of accessor without getter', nonConfigurableAccessor, {get: function() { return 2; }}, function(p) { return p.x; }, true)",
+                        "check('get: any value of configurable', plain, {get: function() { return 2; }}, function(p) { return p.x; }, false)",
+                        "check('get: computed key', function() { return nonConfigurable(1); }, {get: function() { return 2; }}, function(p) { var k = 'x'; return p[k]; }, true)");
+    }
+
+    @Test
+    public void testSet() {
+        assertInvariants("check('set: different value of non-writable, non-configurable', function() { return nonConfigurable(1); }, {set: function() { return true; }}, function(p) { 'use strict'; p.x = 2; }, true)",
+                        "check('set: accessor without setter', function() { var o = {}; Object.defineProperty(o, 'x', {get: function() {}, configurable: false}); return o; }, {set: function() { return true; }}, function(p) { 'use strict'; p.x = 2; }, true)",
+                        "check('set: writable, non-configurable', writableNonConfigurable, {set: function() { return true; }}, function(p) { 'use strict'; p.x = 2; }, false)");
+    }
+
+    @Test
+    public void testHas() {
+        assertInvariants("check('has: hides non-configurable', function() { return nonConfigurable(1); }, {has: function() { return false; }}, function(p) { return 'x' in p; }, true)",
+                        "check('has: hides property of non-extensible', nonExtensible, {has: function() { return false; }}, function(p) { return 'x' in p; }, true)",
+                        "check('has: hides configurable property of extensible', plain, {has: function() { return false; }}, function(p) { return 'x' in p; }, false)");
+    }
+
+    @Test
+    public void testDeleteProperty() {
+        assertInvariants("check('deleteProperty: non-configurable', function() { return nonConfigurable(1); }, {deleteProperty: function() { return true; }}, function(p) { return delete p.x; }, true)",
+                        "check('deleteProperty: property of non-extensible', nonExtensible, {deleteProperty: function() { return true; }}, function(p) { return delete p.x; }, true)",
+                        "check('deleteProperty: configurable property of extensible', plain, {deleteProperty: function() { return true; }}, function(p) { return delete p.x; }, false)");
+    }
+
+    @Test
+    public void testGetOwnPropertyDescriptor() {
+        assertInvariants("check('getOwnPropertyDescriptor: hides non-configurable', function() { return nonConfigurable(1); }, {getOwnPropertyDescriptor: function() { return undefined; }}, function(p) { return Object.getOwnPropertyDescriptor(p, 'x'); }, true)",
+                        "check('getOwnPropertyDescriptor: hides property of non-extensible', nonExtensible, {getOwnPropertyDescriptor: function() { return undefined; }}, function(p) { return Object.getOwnPropertyDescriptor(p, 'x'); }, true)",
+                        "check('getOwnPropertyDescriptor: reports configurable as non-configurable', plain, {getOwnPropertyDescriptor: function() { return {value: 1, configurable: false}; }}, function(p) { return Object.getOwnPropertyDescriptor(p, 'x'); }, true)");
+    }
+
+    @Test
+    public void testDefineProperty() {
+        assertInvariants("check('defineProperty: non-configurable missing on target', plain, {defineProperty: function() { return true; }}, function(p) { Object.defineProperty(p, 'y', {value: 1, configurable: false}); }, true)",
+                        "check('defineProperty: new property on non-extensible', nonExtensible, {defineProperty: function() { return true; }}, function(p) { Object.defineProperty(p, 'y', {value: 1}); }, true)");
+    }
+
+    @Test
+    public void testOwnKeys() {
+        assertInvariants("check('ownKeys: omits non-configurable', function() { return nonConfigurable(1); }, {ownKeys: function() { return ['other']; }}, function(p) { return Object.keys(p); }, true)",
+                        "check('ownKeys: adds key to non-extensible', nonExtensible, {ownKeys: function() { return ['x', 'y']; }}, function(p) { return Object.keys(p); }, true)",
+                        "check('ownKeys: omits key of non-extensible', nonExtensible, {ownKeys: function() { return []; }}, function(p) { return Object.keys(p); }, true)",
+                        "check('ownKeys: omits configurable key of extensible', plain, {ownKeys: function() { return []; }}, function(p) { return Object.keys(p); }, false)");
+    }
+
+    @Test
+    public void testGetPrototypeOf() {
+        assertInvariants("check('getPrototypeOf: different prototype of non-extensible', nonExtensible, {getPrototypeOf: function() { return Array.prototype; }}, function(p) { return Object.getPrototypeOf(p); }, true)");
+    }
+
+    @Test
+    public void testSetPrototypeOf() {
+        assertInvariants("check('setPrototypeOf: different prototype of non-extensible', nonExtensible, {setPrototypeOf: function() { return true; }}, function(p) { Object.setPrototypeOf(p, Array.prototype); }, true)");
+    }
+
+    @Test
+    public void testIsExtensible() {
+        assertInvariants("check('isExtensible: result differs from target', plain, {isExtensible: function() { return false; }}, function(p) { return Object.isExtensible(p); }, true)");
+    }
+
+    @Test
+    public void testPreventExtensions() {
+        assertInvariants("check('preventExtensions: target stays extensible', plain, {preventExtensions: function() { return true; }}, function(p) { Object.preventExtensions(p); }, true)");
+    }
+
+    /**
+     * The skipped checks are cached per target shape; freezing the target must enable them.
+     */
+    @Test
+    public void testTargetFrozenLater() {
+        String source = "var target = {x: 1};" +
+                        "var p = new Proxy(target, {get: function() { return 2; }, has: function() { return false; }});" +
+                        "var result = [];" +
+                        "for (var i = 0; i < 200; i++) {" +
+                        "  if (i === 100) { Object.freeze(target); }" +
+                        "  try { p.x; result.push(i < 100 ? 'ok' : 'no TypeError from get in iteration ' + i); } catch (e) { result.push(i >= 100 && e instanceof TypeError ? 'ok' : String(e)); }" +
+                        "  try { 'x' in p; result.push(i < 100 ? 'ok' : 'no TypeError from has in iteration ' + i); } catch (e) { result.push(i >= 100 && e instanceof TypeError ? 'ok' : String(e)); }" +
+                        "}" +
+                        "result.filter(function(r) { return r !== 'ok'; }).join();";
+        try (Context context = Context.create("js")) {
+            assertEquals("", context.eval("js", source).asString());
+        }
+    }
+
+    private static void assertInvariants(String... checks) {
+        StringBuilder source = new StringBuilder(PRELUDE);
+        source.append("[");
+        for (String check : checks) {
+            source.append(check).append(",");
+        }
+        source.append("].filter(function(e) { return e !== ''; }).join('\\n');");
+        try (Context context = Context.create("js")) {
+            assertEquals("", context.eval("js", source.toString()).asString());
+        }
+    }
+}
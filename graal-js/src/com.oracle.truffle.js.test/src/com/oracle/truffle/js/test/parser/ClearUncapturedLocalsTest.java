@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2018, 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.lang.ref.WeakReference;
+
+import org.graalvm.polyglot.Context;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Locals of a function that no closure captures are cleared when the function returns, so that a
+ * closure retaining the frame does not retain them.
+ */
+public class ClearUncapturedLocalsTest {
+
+    private Context context;
+    private Tracker tracker;
+
+    public static final class Tracker {
+        private WeakReference<Object> last;
+
+        public Object create() {
+            Object value = new byte[1024 * 1024];
+            last = new WeakReference<>(value);
+            return value;
+        }
+    }
+
+    @Before
+    public void setUp() {
+        context = Context.newBuilder("js").allowHostAccess(true).build();
+        tracker = new Tracker();
+        context.getBindings("js").putMember("tracker", tracker);
+    }
+
+    @After
+    public void tearDown() {
+        context.close();
+    }
+
+    private static void gcUntilCleared(WeakReference<?> ref) {
+        for (int i = 0; i < 100 && ref.get() != null; i++) {
+            System.gc();
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            }
+        }
+        assertNull("uncaptured local has been retained", ref.get());
+    }
+
+    @Test
+    public void testUncapturedLocalReleased() {
+        context.eval("js", "var closure = (function() {" +
+                        "  var big = tracker.create();" +
+                        "  var small = 42;" +
+                        "  return function() { return small; };" +
+                        "})();");
+        gcUntilCleared(tracker.last);
+        assertEquals(42, context.eval("js", "closure()").asInt());
+    }
+
+    @Test
+    public void testUncapturedBlockScopedLocalReleased() {
+        context.eval("js", "var closure = (function() {" +
+                        "  const big = tracker.create();" +
+                        "  let first = 42;" +
+                        "  return () => first;" +
+                        "})();");
+        gcUntilCleared(tracker.last);
+        assertEquals(42, context.eval("js", "closure()").asInt());
+    }
+
+    @Test
+    public void testCapturedLocalRetained() {
+        context.eval("js", "var closure = (function() {" +
+                        "  var big = tracker.create();" +
+                        "  return function() { return function() { return big; }; };" +
+                        "})();");
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        assertNotNull(tracker.last.get());
+        assertEquals(1024 * 1024, context.eval("js", "closure()().length").asInt());
+    }
+
+    @Test
+    public void testLocalAccessibleByEvalRetained() {
+        context.eval("js", "var closure = (function() {" +
+                        "  var big = tracker.create();" +
+                        "  return function(name) { return eval(name); };" +
+                        "})();");
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        assertNotNull(tracker.last.get());
+        assertEquals(1024 * 1024, context.eval("js", "closure('big').length").asInt());
+    }
+}
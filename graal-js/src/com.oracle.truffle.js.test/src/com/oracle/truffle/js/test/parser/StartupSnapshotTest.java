@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2018, 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.js.nodes.NodeFactory;
+import com.oracle.truffle.js.nodes.ScriptNode;
+import com.oracle.truffle.js.parser.JavaScriptTranslator;
+import com.oracle.truffle.js.parser.StartupSnapshot;
+import com.oracle.truffle.js.runtime.AbstractJavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.snapshot.Recording;
+import com.oracle.truffle.js.snapshot.RecordingProxy;
+
+/**
+ * Startup snapshots run in new contexts, whose decoded scripts are cached in the
+ * {@link JSContext}.
+ */
+public class StartupSnapshotTest {
+
+    private static final String[] SCRIPTS = {
+                    "var greeting = 'hello'; function greet(name) { return greeting + ', ' + name; }",
+                    "var counter = {count: 0, next() { return ++this.count; }};"
+    };
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    private File writeSnapshot() throws IOException {
+        File file = folder.newFile("startup.bin");
+        try (Context context = Context.create("js")) {
+            context.enter();
+            try {
+                JSContext jsContext = AbstractJavaScriptLanguage.getCurrentJSRealm().getContext();
+                Source[] sources = new Source[SCRIPTS.length];
+                byte[][] binaries = new byte[SCRIPTS.length][];
+                for (int i = 0; i < SCRIPTS.length; i++) {
+                    String name = "startup" + i + ".js";
+                    sources[i] = Source.newBuilder(AbstractJavaScriptLanguage.ID, SCRIPTS[i], name).build();
+                    Recording rec = new Recording();
+                    ScriptNode program = JavaScriptTranslator.translateScript(RecordingProxy.createRecordingNodeFactory(rec, NodeFactory.getInstance(jsContext)), jsContext, sources[i], false);
+                    rec.finish(program.getRootNode());
+                    ByteArrayOutputStream outs = new ByteArrayOutputStream();
+                    rec.saveToStream(name, outs, true);
+                    binaries[i] = outs.toByteArray();
+                }
+                try (FileOutputStream outs = new FileOutputStream(file)) {
+                    StartupSnapshot.write(outs, sources, binaries);
+                }
+            } finally {
+                context.leave();
+            }
+        }
+        return file;
+    }
+
+    private static Context createContext(Engine engine, File snapshot) {
+        Context.Builder builder = Context.newBuilder("js").option("js.startup-snapshot", snapshot.getPath());
+        if (engine != null) {
+            builder.engine(engine);
+        }
+        return builder.build();
+    }
+
+    private static JSContext getJSContext(Context context) {
+        context.initialize("js");
+        context.enter();
+        try {
+            return AbstractJavaScriptLanguage.getCurrentJSRealm().getContext();
+        } finally {
+            context.leave();
+        }
+    }
+
+    @Test
+    public void testScriptsRunInEveryContext() throws IOException {
+        File snapshot = writeSnapshot();
+        try (Context context1 = createContext(null, snapshot); Context context2 = createContext(null, snapshot)) {
+            assertEquals("hello, world", context1.eval("js", "greet('world')").asString());
+            context1.eval("js", "greeting = 'bye'; counter.next(); counter.next();");
+            assertEquals("bye, world", context1.eval("js", "greet('world')").asString());
+            // the globals of the scripts are created anew in every context
+            assertEquals("hello, world", context2.eval("js", "greet('world')").asString());
+            assertEquals(3, context1.eval("js", "counter.next()").asInt());
+            assertEquals(1, context2.eval("js", "counter.next()").asInt());
+        }
+    }
+
+    @Test
+    public void testScriptsDecodedOncePerJSContext() throws IOException {
+        File snapshot = writeSnapshot();
+        StartupSnapshot startupSnapshot = StartupSnapshot.get(snapshot.getPath());
+        try (Engine engine = Engine.create()) {
+            JSContext jsContext;
+            Object[] scripts;
+            try (Context context = createContext(engine, snapshot)) {
+                jsContext = getJSContext(context);
+                scripts = jsContext.getStartupScripts().get(startupSnapshot);
+                assertNotNull(scripts);
+                assertEquals(SCRIPTS.length, scripts.length);
+            }
+            // a later context of the same engine reuses the JSContext and its decoded scripts
+            try (Context context = createContext(engine, snapshot)) {
+                assertSame(jsContext, getJSContext(context));
+                assertSame(scripts, jsContext.getStartupScripts().get(startupSnapshot));
+                assertEquals("hello, again", context.eval("js", "greet('again')").asString());
+            }
+            // the scripts are decoded for the JSContext of another engine, too
+            try (Context context = createContext(null, snapshot)) {
+                JSContext otherContext = getJSContext(context);
+                assertNotSame(jsContext, otherContext);
+                Object[] otherScripts = otherContext.getStartupScripts().get(startupSnapshot);
+                assertNotNull(otherScripts);
+                assertNotSame(scripts, otherScripts);
+            }
+        }
+    }
+
+    private static WeakReference<JSContext> runInTemporaryEngine(File snapshot) {
+        try (Engine engine = Engine.create(); Context context = createContext(engine, snapshot)) {
+            assertEquals(1, context.eval("js", "counter.next()").asInt());
+            return new WeakReference<>(getJSContext(context));
+        }
+    }
+
+    /**
+     * The snapshot stays mapped after its contexts are closed, but it does not keep them alive.
+     */
+    @Test
+    public void testContextCollected() throws IOException {
+        File snapshot = writeSnapshot();
+        WeakReference<JSContext> ref = runInTemporaryEngine(snapshot);
+        for (int i = 0; i < 100 && ref.get() != null; i++) {
+            System.gc();
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            }
+        }
+        assertNull("context has not been collected", ref.get());
+        try (Context context = createContext(null, snapshot)) {
+            assertEquals("hello, world", context.eval("js", "greet('world')").asString());
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2018, 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Test;
+
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.js.runtime.AbstractJavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSRealm;
+import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.util.AtomTable;
+
+public class AtomTableTest {
+
+    @Test
+    public void testIntern() {
+        AtomTable table = new AtomTable();
+        String atom = table.intern(new String("propertyName"));
+        assertSame(atom, table.intern(new String("propertyName")));
+        assertEquals("otherName", table.intern(new String("otherName")));
+        assertSame(atom, table.intern(atom));
+    }
+
+    /**
+     * The table is bounded: every string is still interned to an equal string.
+     */
+    @Test
+    public void testManyStrings() {
+        AtomTable table = new AtomTable();
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < 100000; i++) {
+                String key = "key" + i;
+                assertEquals(key, table.intern(key));
+            }
+        }
+    }
+
+    @Test
+    public void testConcurrentIntern() throws Exception {
+        AtomTable table = new AtomTable();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 100000; i++) {
+                        String key = "key" + (i % 5000);
+                        assertEquals(key, table.intern(key));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Property keys from scripts and JSON.parse are interned in the table of their context.
+     */
+    @Test
+    public void testPropertyKeysOfContext() {
+        AtomTable firstTable = checkPropertyKeys();
+        AtomTable secondTable = checkPropertyKeys();
+        assertNotSame(firstTable, secondTable);
+    }
+
+    private static AtomTable checkPropertyKeys() {
+        try (Context context = Context.create("js")) {
+            context.eval("js", "var literal = {someLongPropertyName: 1}; var parsed = JSON.parse('{\"someLongPropertyName\": 2}');");
+            context.enter();
+            try {
+                JSRealm realm = AbstractJavaScriptLanguage.getCurrentJSRealm();
+                JSContext jsContext = realm.getContext();
+                AtomTable table = jsContext.getAtomTable();
+                assertNotNull(table);
+                String atom = table.intern(new String("someLongPropertyName"));
+                DynamicObject literal = (DynamicObject) JSObject.get(realm.getGlobalObject(), "literal");
+                DynamicObject parsed = (DynamicObject) JSObject.get(realm.getGlobalObject(), "parsed");
+                assertSame(atom, findKey(literal, atom));
+                assertSame(atom, findKey(parsed, atom));
+                return table;
+            } finally {
+                context.leave();
+            }
+        }
+    }
+
+    /**
+     * Property keys computed at run time are interned in the table of their context, too.
+     */
+    @Test
+    public void testComputedPropertyKeys() {
+        try (Context context = Context.create("js")) {
+            context.eval("js", "var prefix = 'someComputed';" +
+                            "var computed = {};" +
+                            "computed[prefix + 'Name'] = 1;" +
+                            "computed[{toString: function() { return prefix + 'Other'; }}] = 2;" +
+                            "Object.defineProperty(computed, prefix + 'Defined', {value: 3});");
+            context.enter();
+            try {
+                JSRealm realm = AbstractJavaScriptLanguage.getCurrentJSRealm();
+                AtomTable table = realm.getContext().getAtomTable();
+                DynamicObject computed = (DynamicObject) JSObject.get(realm.getGlobalObject(), "computed");
+                for (String name : new String[]{"someComputedName", "someComputedOther", "someComputedDefined"}) {
+                    String atom = table.intern(new String(name));
+                    assertSame(name, atom, findKey(computed, atom));
+                }
+            } finally {
+                context.leave();
+            }
+        }
+    }
+
+    private static Object findKey(DynamicObject object, String name) {
+        for (Object key : object.getShape().getKeyList()) {
+            if (name.equals(key)) {
+                return key;
+            }
+        }
+        return null;
+    }
+}
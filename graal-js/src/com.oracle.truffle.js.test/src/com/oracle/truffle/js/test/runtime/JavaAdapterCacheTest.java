@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2018, 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Test;
+
+import com.oracle.truffle.js.runtime.java.adapter.JavaAdapterFactory;
+
+/**
+ * Java adapter classes ({@code Java.extend}) are generated once and shared by all contexts, unless
+ * they have class-level overrides or are defined for an explicit class loader.
+ */
+public class JavaAdapterCacheTest {
+
+    private static Context createContext() {
+        return Context.newBuilder("js").allowHostAccess(true).build();
+    }
+
+    private static Class<?> extend(Context context, String arguments) {
+        return context.eval("js", "Java.extend(" + arguments + ").class").asHostObject();
+    }
+
+    @Test
+    public void testSameAdapterInContext() {
+        try (Context context = createContext()) {
+            assertEquals("true,true,true,ran", context.eval("js", "var Runnable = Java.type('java.lang.Runnable');" +
+                            "var Callable = Java.type('java.util.concurrent.Callable');" +
+                            "var AbstractList = Java.type('java.util.AbstractList');" +
+                            "var ran = [];" +
+                            "new (Java.extend(Runnable))({run: function() { ran.push('ran'); }}).run();" +
+                            "[Java.extend(Runnable) === Java.extend(Runnable)," +
+                            " Java.extend(Runnable, Callable) === Java.extend(Runnable, Callable)," +
+                            " Java.extend(AbstractList) === Java.extend(AbstractList)," +
+                            " ran].join();").asString());
+        }
+    }
+
+    @Test
+    public void testSharedAcrossContexts() {
+        String[] types = {"Java.type('java.lang.Runnable')", "Java.type('java.util.AbstractList')",
+                        "Java.type('java.lang.Runnable'), Java.type('java.util.concurrent.Callable')"};
+        try (Context context1 = createContext(); Context context2 = createContext()) {
+            for (String type : types) {
+                Class<?> adapter = extend(context1, type);
+                assertSame(type, adapter, extend(context2, type));
+                try (Context context3 = createContext()) {
+                    assertSame(type, adapter, extend(context3, type));
+                }
+            }
+        }
+    }
+
+    /**
+     * Class-level overrides are bound to the adapter class, so every call creates a new class.
+     */
+    @Test
+    public void testClassOverridesNotShared() {
+        try (Context context = createContext()) {
+            assertEquals("false,false,a,b", context.eval("js", "var Runnable = Java.type('java.lang.Runnable');" +
+                            "var log = [];" +
+                            "var A = Java.extend(Runnable, {run: function() { log.push('a'); }});" +
+                            "var B = Java.extend(Runnable, {run: function() { log.push('b'); }});" +
+                            "new A().run();" +
+                            "new B().run();" +
+                            "[A === B, A === Java.extend(Runnable)].concat(log).join();").asString());
+        }
+        try (Context context1 = createContext(); Context context2 = createContext()) {
+            String type = "Java.type('java.lang.Runnable'), {run: function() {}}";
+            assertNotSame(extend(context1, type), extend(context2, type));
+        }
+    }
+
+    /**
+     * Adapters for a class loader other than the one of the adapted types share only their
+     * bytecode, never the class.
+     */
+    @Test
+    public void testExplicitClassLoaderNotShared() throws Exception {
+        try (Context context = createContext();
+                        URLClassLoader loader1 = new URLClassLoader(new URL[0], getClass().getClassLoader());
+                        URLClassLoader loader2 = new URLClassLoader(new URL[0], getClass().getClassLoader())) {
+            context.enter();
+            try {
+                Class<?>[] types = {Runnable.class};
+                Class<?> shared = JavaAdapterFactory.getAdapterClassFor(Runnable.class);
+                Class<?> adapter1 = JavaAdapterFactory.getAdapterClassFor(types, null, loader1);
+                Class<?> adapter2 = JavaAdapterFactory.getAdapterClassFor(types, null, loader2);
+                assertNotSame(shared, adapter1);
+                assertNotSame(adapter1, adapter2);
+                assertNotSame(adapter1, JavaAdapterFactory.getAdapterClassFor(types, null, loader1));
+                assertTrue(Runnable.class.isAssignableFrom(adapter1));
+                assertTrue(Runnable.class.isAssignableFrom(adapter2));
+            } finally {
+                context.leave();
+            }
+        }
+    }
+
+    /**
+     * Threads racing to create the same adapter all get the same class.
+     */
+    @Test
+    public void testConcurrentCreation() throws Exception {
+        int threads = 8;
+        Class<?>[] types = {Runnable.class, Callable.class, AutoCloseable.class};
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Class<?>>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return JavaAdapterFactory.getAdapterClassFor(types, null);
+                }));
+            }
+            start.countDown();
+            Class<?> adapter = results.get(0).get();
+            for (Future<Class<?>> result : results) {
+                assertSame(adapter, result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2018, 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Import graphs loaded by the default module loader, which reads the sources of requested modules
+ * ahead of time.
+ */
+public class ModuleLoaderTest {
+
+    private static final String GLOBAL = "new Function('return this')()";
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    private File writeModule(String name, String code) throws IOException {
+        File file = new File(folder.getRoot(), name);
+        Files.write(file.toPath(), code.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static void evalModule(Context context, File file) throws IOException {
+        context.eval(Source.newBuilder("js", file).build());
+    }
+
+    private static Context createContext() {
+        return Context.newBuilder("js").allowIO(true).build();
+    }
+
+    /**
+     * Modules shared by several importers are loaded and evaluated once, in dependency order.
+     */
+    @Test
+    public void testDiamond() throws IOException {
+        writeModule("c.mjs", GLOBAL + ".log.push('c'); export const c = 'c';");
+        writeModule("a.mjs", "import {c} from './c.mjs'; " + GLOBAL + ".log.push('a'); export const a = 'a' + c;");
+        writeModule("b.mjs", "import {c} from './c.mjs'; " + GLOBAL + ".log.push('b'); export const b = 'b' + c;");
+        File main = writeModule("main.mjs", "import {a} from './a.mjs'; import {b} from './b.mjs'; " + GLOBAL + ".result = a + b;");
+        try (Context context = createContext()) {
+            context.eval("js", "var log = [];");
+            evalModule(context, main);
+            assertEquals("acbc", context.eval("js", "result").asString());
+            assertEquals("c,a,b", context.eval("js", "log.join()").asString());
+        }
+    }
+
+    @Test
+    public void testWideAndDeepGraph() throws IOException {
+        int count = 50;
+        StringBuilder main = new StringBuilder();
+        StringBuilder sum = new StringBuilder("0");
+        for (int i = 0; i < count; i++) {
+            // leaf i of the fan-out imports a chain of depth i
+            String next = i == 0 ? "" : "import {value as previous} from './leaf" + (i - 1) + ".mjs'; ";
+            writeModule("leaf" + i + ".mjs", next + "export const value = " + (i == 0 ? "1" : "previous + 1") + ";");
+            main.append("import {value as v").append(i).append("} from './leaf").append(i).append(".mjs';\n");
+            sum.append(" + v").append(i);
+        }
+        main.append(GLOBAL).append(".result = ").append(sum).append(";");
+        File mainFile = writeModule("main.mjs", main.toString());
+        try (Context context = createContext()) {
+            evalModule(context, mainFile);
+            assertEquals(count * (count + 1) / 2, context.eval("js", "result").asInt());
+        }
+    }
+
+    /**
+     * Errors of modules deep in the graph are reported, and do not affect later imports.
+     */
+    @Test
+    public void testFailingImports() throws IOException {
+        writeModule("ok.mjs", "export const ok = 42;");
+        writeModule("broken.mjs", "export const broken = ;");
+        writeModule("importsBroken.mjs", "import {broken} from './broken.mjs'; export const x = broken;");
+        File syntaxError = writeModule("syntaxError.mjs", "import {ok} from './ok.mjs'; import {x} from './importsBroken.mjs';");
+        File missing = writeModule("missing.mjs", "import {ok} from './ok.mjs'; import {y} from './doesNotExist.mjs';");
+        File main = writeModule("main.mjs", "import {ok} from './ok.mjs'; " + GLOBAL + ".result = ok;");
+        try (Context context = createContext()) {
+            assertEvalFails(context, syntaxError, "SyntaxError");
+            assertEvalFails(context, missing, "doesNotExist.mjs");
+            evalModule(context, main);
+            assertEquals(42, context.eval("js", "result").asInt());
+        }
+    }
+
+    private static void assertEvalFails(Context context, File file, String expectedMessagePart) throws IOException {
+        try {
+            evalModule(context, file);
+            fail("expected an error loading " + file.getName());
+        } catch (PolyglotException e) {
+            assertTrue(e.getMessage(), e.isGuestException());
+            assertTrue(e.getMessage(), e.getMessage().contains(expectedMessagePart));
+        }
+    }
+}
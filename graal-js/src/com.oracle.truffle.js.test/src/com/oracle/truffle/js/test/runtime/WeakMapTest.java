@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2018, 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.graalvm.polyglot.Context;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.js.runtime.AbstractJavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.builtins.JSUserObject;
+import com.oracle.truffle.js.runtime.util.WeakMap;
+
+/**
+ * Reachability of the keys and values of {@link WeakMap}, which stores its entries in the keys.
+ */
+public class WeakMapTest {
+
+    private Context context;
+    private JSContext jsContext;
+
+    @Before
+    public void setUp() {
+        context = Context.create("js");
+        context.enter();
+        context.initialize("js");
+        jsContext = AbstractJavaScriptLanguage.getCurrentJSRealm().getContext();
+    }
+
+    @After
+    public void tearDown() {
+        context.leave();
+        context.close();
+    }
+
+    private DynamicObject newObject() {
+        return JSUserObject.create(jsContext);
+    }
+
+    private static void gcUntilCleared(WeakReference<?> ref) {
+        for (int i = 0; i < 100 && ref.get() != null; i++) {
+            System.gc();
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            }
+        }
+        assertNull("object has not been collected", ref.get());
+    }
+
+    private List<WeakReference<DynamicObject>> putUnreachableKeyWithCyclicValue(WeakMap map) {
+        DynamicObject key = newObject();
+        DynamicObject value = newObject();
+        value.define("key", key);
+        map.put(key, value);
+        assertSame(value, map.get(key));
+        List<WeakReference<DynamicObject>> refs = new ArrayList<>();
+        refs.add(new WeakReference<>(key));
+        refs.add(new WeakReference<>(value));
+        return refs;
+    }
+
+    /**
+     * A key that is not reachable otherwise is collected together with its value, even if the
+     * value refers back to the key.
+     */
+    @Test
+    public void testKeyCollected() {
+        WeakMap map = new WeakMap();
+        List<WeakReference<DynamicObject>> refs = putUnreachableKeyWithCyclicValue(map);
+        gcUntilCleared(refs.get(0));
+        gcUntilCleared(refs.get(1));
+        assertNotNull(map);
+    }
+
+    private WeakReference<DynamicObject> putValueInTemporaryMap(DynamicObject key) {
+        WeakMap map = new WeakMap();
+        DynamicObject value = newObject();
+        map.put(key, value);
+        assertTrue(map.containsKey(key));
+        return new WeakReference<>(value);
+    }
+
+    /**
+     * The entry of a collected map is cleared when the key is accessed again, so that its value
+     * can be collected.
+     */
+    @Test
+    public void testMapCollected() {
+        DynamicObject key = newObject();
+        WeakMap other = new WeakMap();
+        other.put(key, "other");
+        WeakReference<DynamicObject> valueRef = putValueInTemporaryMap(key);
+        // the value of the collected map stays in the key until the key is accessed again
+        for (int i = 0; i < 100 && valueRef.get() != null; i++) {
+            System.gc();
+            assertEquals("other", other.get(key));
+        }
+        gcUntilCleared(valueRef);
+        assertEquals("other", other.get(key));
+    }
+
+    private List<DynamicObject> putKeys(WeakMap map, int count, List<WeakReference<DynamicObject>> droppedRefs) {
+        List<DynamicObject> kept = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            DynamicObject key = newObject();
+            map.put(key, i);
+            if (i % 2 == 0) {
+                kept.add(key);
+            } else {
+                droppedRefs.add(new WeakReference<>(key));
+            }
+        }
+        return kept;
+    }
+
+    @Test
+    public void testHasAndDeleteAfterGC() {
+        WeakMap map = new WeakMap();
+        List<WeakReference<DynamicObject>> droppedRefs = new ArrayList<>();
+        List<DynamicObject> kept = putKeys(map, 100, droppedRefs);
+        for (WeakReference<DynamicObject> ref : droppedRefs) {
+            gcUntilCleared(ref);
+        }
+        for (int i = 0; i < kept.size(); i++) {
+            DynamicObject key = kept.get(i);
+            assertTrue(map.containsKey(key));
+            assertEquals(i * 2, map.get(key));
+        }
+        for (int i = 0; i < kept.size(); i += 2) {
+            DynamicObject key = kept.get(i);
+            assertEquals(i * 2, map.remove(key));
+            assertFalse(map.containsKey(key));
+            assertNull(map.get(key));
+            assertNull(map.remove(key));
+        }
+        for (int i = 1; i < kept.size(); i += 2) {
+            assertEquals(i * 2, map.get(kept.get(i)));
+        }
+        assertFalse(map.containsKey(newObject()));
+    }
+
+    @Test
+    public void testKeyInSeveralMaps() {
+        DynamicObject key = newObject();
+        WeakMap[] maps = new WeakMap[5];
+        for (int i = 0; i < maps.length; i++) {
+            maps[i] = new WeakMap();
+            assertNull(maps[i].put(key, i));
+        }
+        assertEquals(2, maps[2].remove(key));
+        for (int i = 0; i < maps.length; i++) {
+            assertEquals(i == 2 ? null : i, maps[i].get(key));
+        }
+        assertNull(maps[2].put(key, 42));
+        assertEquals(42, maps[2].put(key, 43));
+        for (int i = 0; i < maps.length; i++) {
+            assertEquals(i == 2 ? 43 : i, maps[i].get(key));
+        }
+    }
+
+    /**
+     * Frozen, sealed and non-extensible objects and proxies can be keys; adding them does not change
+     * their observable properties or integrity level.
+     */
+    @Test
+    public void testFrozenAndProxyKeys() {
+        String source = "var results = [];" +
+                        "function check(name, key, before) {" +
+                        "  var maps = [new WeakMap(), new WeakMap(), new WeakMap()];" +
+                        "  var state = [Object.isExtensible(key), Object.isSealed(key), Object.isFrozen(key), Reflect.ownKeys(key).length].join();" +
+                        "  maps.forEach(function(m, i) { m.set(key, i); });" +
+                        "  if (before) { before(key); state = [Object.isExtensible(key), Object.isSealed(key), Object.isFrozen(key), Reflect.ownKeys(key).length].join(); }" +
+                        "  var ok = maps.every(function(m, i) { return m.has(key) && m.get(key) === i; });" +
+                        "  ok = ok && maps[1].delete(key) && !maps[1].has(key) && maps[0].get(key) === 0 && maps[2].get(key) === 2;" +
+                        "  ok = ok && state === [Object.isExtensible(key), Object.isSealed(key), Object.isFrozen(key), Reflect.ownKeys(key).length].join();" +
+                        "  if (!ok) { results.push(name); }" +
+                        "}" +
+                        "check('frozen', Object.freeze({a: 1}));" +
+                        "check('sealed', Object.seal({a: 1}));" +
+                        "check('non-extensible', Object.preventExtensions({a: 1}));" +
+                        "check('frozen after set', {a: 1}, Object.freeze);" +
+                        "check('frozen array', Object.freeze([1, 2]));" +
+                        "check('frozen function', Object.freeze(function() {}));" +
+                        "var target = {};" +
+                        "var proxy = new Proxy(target, {});" +
+                        "check('proxy', proxy);" +
+                        "check('proxy of frozen', new Proxy(Object.freeze({}), {}));" +
+                        "var wm = new WeakMap();" +
+                        "wm.set(proxy, 1);" +
+                        "if (wm.has(target)) { results.push('proxy target'); }" +
+                        "var revocable = Proxy.revocable({}, {});" +
+                        "wm.set(revocable.proxy, 2);" +
+                        "revocable.revoke();" +
+                        "if (wm.get(revocable.proxy) !== 2) { results.push('revoked proxy'); }" +
+                        "results.join();";
+        assertEquals("", context.eval("js", source).asString());
+    }
+}
@@ -0,0 +1,37 @@
+'use strict';
+
+// Encodes a string into a buffer and decodes it again with each encoding.
+// Run with --jvm.Dnode.buffer.nio=false to compare with the native codecs.
+
+const common = require('../common.js');
+
+const bench = common.createBenchmark(main, {
+  encoding: ['utf8', 'ucs2', 'latin1', 'ascii', 'hex', 'base64'],
+  op: ['write', 'toString'],
+  len: [64, 4096],
+  n: [1e5]
+});
+
+function main({ encoding, op, len, n }) {
+  const source = Buffer.alloc(len);
+  for (var i = 0; i < len; i++)
+    source[i] = (encoding === 'utf8' || encoding === 'ascii') ? 32 + (i % 95) : i & 0xff;
+  const str = source.toString(encoding);
+  const buf = Buffer.alloc(Buffer.byteLength(str, encoding));
+  var total = 0;
+
+  if (op === 'write') {
+    bench.start();
+    for (i = 0; i < n; i++)
+      total += buf.write(str, 0, encoding);
+    bench.end(n);
+  } else {
+    bench.start();
+    for (i = 0; i < n; i++)
+      total += source.toString(encoding).length;
+    bench.end(n);
+  }
+
+  if (total !== n * (op === 'write' ? buf.length : str.length))
+    throw new Error('unexpected length');
+}
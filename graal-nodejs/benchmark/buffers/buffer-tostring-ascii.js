@@ -0,0 +1,40 @@
+'use strict';
+
+// Decodes ASCII data (like HTTP headers or JSON) to strings. With retain=1,
+// the strings are kept alive and the retained heap per character is reported
+// on stderr.
+
+const common = require('../common.js');
+
+const bench = common.createBenchmark(main, {
+  encoding: ['utf8', 'ascii', 'latin1'],
+  len: [64, 1024, 65536],
+  retain: [0, 1],
+  n: [1e4]
+});
+
+function main({ encoding, len, retain, n }) {
+  const buf = Buffer.alloc(len);
+  for (var i = 0; i < len; i++)
+    buf[i] = 32 + (i % 95);
+
+  const strings = retain ? new Array(n) : null;
+  const before = process.memoryUsage().heapUsed;
+  var length = 0;
+
+  bench.start();
+  for (i = 0; i < n; i += 1) {
+    const str = buf.toString(encoding);
+    length += str.length;
+    if (retain)
+      strings[i] = str;
+  }
+  bench.end(n);
+
+  if (length !== n * len)
+    throw new Error('unexpected length');
+  if (retain) {
+    const retained = process.memoryUsage().heapUsed - before;
+    console.error(`retained ${(retained / (n * len)).toFixed(2)} bytes/char`);
+  }
+}
@@ -0,0 +1,47 @@
+'use strict';
+
+// Joins rows of different element kinds into CSV lines: int, double,
+// integral double, string and mixed primitive arrays, plus an array of
+// objects that takes the generic path.
+
+const common = require('../common.js');
+
+const bench = common.createBenchmark(main, {
+  kind: ['int', 'double', 'integral-double', 'string', 'mixed', 'object'],
+  n: [2e5]
+});
+
+function row(kind, i) {
+  const result = [];
+  for (var j = 0; j < 16; j++) {
+    switch (kind) {
+      case 'int': result.push(i * 31 + j); break;
+      case 'double': result.push((i + j) / 7); break;
+      case 'integral-double': result.push(j === 0 ? 0.5 : i * 1e6 + j); break;
+      case 'string': result.push('field' + j); break;
+      case 'mixed': result.push(j % 3 === 0 ? 'name' + i : j % 3 === 1 ? i + j : null); break;
+      case 'object': result.push({ toString() { return 'o' + j; } }); break;
+      default: throw new Error(`Unexpected kind "${kind}"`);
+    }
+  }
+  if (kind === 'integral-double') {
+    // a double array that happens to hold only integral values
+    result[0] = i * 1e6;
+  }
+  return result;
+}
+
+function main({ kind, n }) {
+  const rows = [];
+  for (var i = 0; i < 64; i++)
+    rows.push(row(kind, i));
+
+  var length = 0;
+  bench.start();
+  for (i = 0; i < n; i++)
+    length += rows[i & 63].join(',').length;
+  bench.end(n);
+
+  if (length === 0)
+    throw new Error('Unexpected empty result');
+}
@@ -0,0 +1,55 @@
+'use strict';
+
+const common = require('../common.js');
+const v8 = require('v8');
+
+const messages = {
+  small: { id: 42, type: 'update', ok: true },
+  record: {
+    id: 1234567,
+    name: 'John Doe',
+    email: 'john.doe@example.com',
+    tags: ['a', 'b', 'c'],
+    created: new Date(0),
+    score: 3.14
+  },
+  array: Array.from({ length: 1000 }, (_, i) => ({ index: i, value: `v${i}` })),
+  string: 'x'.repeat(64 * 1024),
+  twobyte: 'č'.repeat(64 * 1024),
+  typedarray: new Float64Array(128 * 1024),
+  buffer: Buffer.alloc(1024 * 1024)
+};
+
+const bench = common.createBenchmark(main, {
+  type: Object.keys(messages),
+  operation: ['serialize', 'deserialize', 'roundtrip'],
+  n: [1e4]
+});
+
+function main({ type, operation, n }) {
+  const message = messages[type];
+  const serialized = v8.serialize(message);
+  var i;
+  switch (operation) {
+    case 'serialize':
+      bench.start();
+      for (i = 0; i < n; i++)
+        v8.serialize(message);
+      bench.end(n);
+      break;
+    case 'deserialize':
+      bench.start();
+      for (i = 0; i < n; i++)
+        v8.deserialize(serialized);
+      bench.end(n);
+      break;
+    case 'roundtrip':
+      bench.start();
+      for (i = 0; i < n; i++)
+        v8.deserialize(v8.serialize(message));
+      bench.end(n);
+      break;
+    default:
+      throw new Error(`Unsupported operation "${operation}"`);
+  }
+}
@@ -0,0 +1,70 @@
+'use strict';
+
+const common = require('../common.js');
+const bench = common.createBenchmark(main, {
+  channel: ['postMessage', 'postJavaMessage'],
+  payload: ['string', 'number'],
+  sendsPerBroadcast: [1, 100],
+  n: [1e5]
+}, { flags: ['--experimental-worker'] });
+
+// sendsPerBroadcast=1 measures the round-trip latency of a single message,
+// larger values measure the throughput of bursts of messages.
+const workerSource = `
+const { parentPort, workerData } = require('worker_threads');
+if (workerData === 'postJavaMessage') {
+  parentPort.on('message', (msg) => parentPort.postJavaMessage(msg));
+} else {
+  parentPort.on('message', (msg) => parentPort.postMessage(msg));
+}
+`;
+
+function main(conf) {
+  const { Worker } = require('worker_threads');
+
+  const n = +conf.n;
+  const sends = +conf.sendsPerBroadcast;
+  var payload;
+  var broadcasts = 0;
+  var msgCount = 0;
+
+  switch (conf.payload) {
+    case 'string':
+      payload = 'hello world!';
+      break;
+    case 'number':
+      payload = 9001;
+      break;
+    default:
+      throw new Error('Unsupported payload type');
+  }
+
+  const worker = new Worker(workerSource, {
+    eval: true,
+    workerData: conf.channel
+  });
+  const send = conf.channel === 'postJavaMessage' ?
+    (msg) => worker.postJavaMessage(msg) :
+    (msg) => worker.postMessage(msg);
+
+  worker.on('online', () => {
+    bench.start();
+    broadcast();
+  });
+  worker.on('message', () => {
+    if (++msgCount === sends) {
+      msgCount = 0;
+      broadcast();
+    }
+  });
+
+  function broadcast() {
+    if (broadcasts++ === n) {
+      bench.end(n * sends);
+      worker.unref();
+      return;
+    }
+    for (var i = 0; i < sends; ++i)
+      send(payload);
+  }
+}
@@ -81,6 +81,7 @@ static const JNINativeMethod callbacks[] = {
     CALLBACK("executePropertyHandlerDefiner", "(JLjava/lang/Object;Ljava/lang/Object;Ljava/lang/Object;Ljava/lang/Object;I[Ljava/lang/Object;Ljava/lang/Object;Z)V", &GraalExecutePropertyHandlerDefiner),
     CALLBACK("executePropertyHandlerDescriptor", "(JLjava/lang/Object;[Ljava/lang/Object;Ljava/lang/Object;Z)Ljava/lang/Object;", &GraalExecutePropertyHandlerDescriptor),
     CALLBACK("deallocate", "(J)V", &GraalDeallocate),
+    CALLBACK("deallocateAll", "([JI)V", &GraalDeallocateAll),
     CALLBACK("weakCallback", "(JJI)V", &GraalWeakCallback),
     CALLBACK("notifyGCCallbacks", "(Z)V", &GraalNotifyGCCallbacks),
     CALLBACK("polyglotEngineEntered", "(JJJJIJIJ)V", &GraalPolyglotEngineEntered),
@@ -539,6 +540,14 @@ void GraalDeallocate(JNIEnv* env, jclass nativeAccess, jlong pointer) {
     free((void*) pointer);
 }
 
+void GraalDeallocateAll(JNIEnv* env, jclass nativeAccess, jlongArray pointers, jint count) {
+    jlong* elements = (jlong*) env->GetPrimitiveArrayCritical(pointers, nullptr);
+    for (int i = 0; i < count; i++) {
+        free((void*) elements[i]);
+    }
+    env->ReleasePrimitiveArrayCritical(pointers, elements, JNI_ABORT);
+}
+
 void GraalWeakCallback(JNIEnv* env, jclass nativeAccess, jlong callback, jlong data, jint type) {
     if (type == 0) {
         fprintf(stderr, "GraalWeakCallback (type == 0) not supported anymore!\n");
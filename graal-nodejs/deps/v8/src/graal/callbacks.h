@@ -118,6 +118,8 @@ jobject GraalExecutePropertyHandlerDescriptor(JNIEnv* env, jclass nativeAccess,
 
 void GraalDeallocate(JNIEnv* env, jclass nativeAccess, jlong pointer);
 
+void GraalDeallocateAll(JNIEnv* env, jclass nativeAccess, jlongArray pointers, jint count);
+
 void GraalWeakCallback(JNIEnv* env, jclass nativeAccess, jlong callback, jlong data, jint type);
 
 void GraalNotifyGCCallbacks(JNIEnv* env, jclass nativeAccess, jboolean prolog);
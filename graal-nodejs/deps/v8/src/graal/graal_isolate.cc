@@ -455,7 +455,7 @@ v8::Isolate* GraalIsolate::New(v8::Isolate::CreateParams const& params) {
     return reinterpret_cast<v8::Isolate*> (isolate);
 }
 
-GraalIsolate::GraalIsolate(JavaVM* jvm, JNIEnv* env) : function_template_data(), function_template_callbacks(), jvm_(jvm), jni_env_(env), jni_methods_(), jni_fields_(), message_listener_(nullptr), function_template_count_(0), lock_(PTHREAD_MUTEX_INITIALIZER), promise_hook_(nullptr), promise_reject_callback_(nullptr) {
+GraalIsolate::GraalIsolate(JavaVM* jvm, JNIEnv* env) : function_template_data(), function_template_callbacks(), jvm_(jvm), jni_env_(env), jni_methods_(), jni_fields_(), java_external_memory_(0), message_listener_(nullptr), function_template_count_(0), lock_(PTHREAD_MUTEX_INITIALIZER), promise_hook_(nullptr), promise_reject_callback_(nullptr) {
     // Object.class
     jclass object_class = env->FindClass("java/lang/Object");
     object_class_ = (jclass) env->NewGlobalRef(object_class);
@@ -544,6 +544,7 @@ GraalIsolate::GraalIsolate(JavaVM* jvm, JNIEnv* env) : function_template_data(),
     ACCESS_METHOD(GraalAccessMethod::value_strict_equals, "valueStrictEquals", "(Ljava/lang/Object;Ljava/lang/Object;)Z")
     ACCESS_METHOD(GraalAccessMethod::value_instance_of, "valueInstanceOf", "(Ljava/lang/Object;Ljava/lang/Object;)Z")
     ACCESS_METHOD(GraalAccessMethod::object_new, "objectNew", "(Ljava/lang/Object;)Ljava/lang/Object;")
+    ACCESS_METHOD(GraalAccessMethod::object_new_from_properties, "objectNewFromProperties", "(Ljava/lang/Object;Ljava/lang/Object;[Ljava/lang/Object;[Ljava/lang/Object;)Ljava/lang/Object;")
     ACCESS_METHOD(GraalAccessMethod::object_set, "objectSet", "(Ljava/lang/Object;Ljava/lang/Object;Ljava/lang/Object;)Z")
     ACCESS_METHOD(GraalAccessMethod::object_set_index, "objectSetIndex", "(Ljava/lang/Object;ILjava/lang/Object;)Z")
     ACCESS_METHOD(GraalAccessMethod::object_set_private, "objectSetPrivate", "(Ljava/lang/Object;Ljava/lang/Object;Ljava/lang/Object;Ljava/lang/Object;)Z")
@@ -571,6 +572,7 @@ GraalIsolate::GraalIsolate(JavaVM* jvm, JNIEnv* env) : function_template_data(),
     ACCESS_METHOD(GraalAccessMethod::object_define_property, "objectDefineProperty", "(Ljava/lang/Object;Ljava/lang/Object;Ljava/lang/Object;Ljava/lang/Object;Ljava/lang/Object;ZZZZZZ)Z")
     ACCESS_METHOD(GraalAccessMethod::object_preview_entries, "objectPreviewEntries", "(Ljava/lang/Object;)Ljava/lang/Object;")
     ACCESS_METHOD(GraalAccessMethod::array_new, "arrayNew", "(Ljava/lang/Object;I)Ljava/lang/Object;")
+    ACCESS_METHOD(GraalAccessMethod::array_new_from_elements, "arrayNewFromElements", "(Ljava/lang/Object;[Ljava/lang/Object;)Ljava/lang/Object;")
     ACCESS_METHOD(GraalAccessMethod::array_length, "arrayLength", "(Ljava/lang/Object;)J")
     ACCESS_METHOD(GraalAccessMethod::array_buffer_new, "arrayBufferNew", "(Ljava/lang/Object;I)Ljava/lang/Object;")
     ACCESS_METHOD(GraalAccessMethod::array_buffer_new_buffer, "arrayBufferNew", "(Ljava/lang/Object;Ljava/lang/Object;J)Ljava/lang/Object;")
@@ -612,6 +614,8 @@ GraalIsolate::GraalIsolate(JavaVM* jvm, JNIEnv* env) : function_template_data(),
     ACCESS_METHOD(GraalAccessMethod::isolate_internal_error_check, "isolateInternalErrorCheck", "(Ljava/lang/Object;)V")
     ACCESS_METHOD(GraalAccessMethod::isolate_throw_stack_overflow_error, "isolateThrowStackOverflowError", "()V")
     ACCESS_METHOD(GraalAccessMethod::isolate_get_heap_statistics, "isolateGetHeapStatistics", "()V")
+    ACCESS_METHOD(GraalAccessMethod::isolate_number_of_heap_spaces, "isolateNumberOfHeapSpaces", "()I")
+    ACCESS_METHOD(GraalAccessMethod::isolate_get_heap_space_statistics, "isolateGetHeapSpaceStatistics", "(I)Ljava/lang/String;")
     ACCESS_METHOD(GraalAccessMethod::isolate_terminate_execution, "isolateTerminateExecution", "()V")
     ACCESS_METHOD(GraalAccessMethod::isolate_cancel_terminate_execution, "isolateCancelTerminateExecution", "()V")
     ACCESS_METHOD(GraalAccessMethod::isolate_get_int_placeholder, "isolateGetIntPlaceholder", "()Ljava/lang/Object;")
@@ -665,6 +669,10 @@ GraalIsolate::GraalIsolate(JavaVM* jvm, JNIEnv* env) : function_template_data(),
     ACCESS_METHOD(GraalAccessMethod::unbound_script_bind_to_context, "unboundScriptBindToContext", "(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;")
     ACCESS_METHOD(GraalAccessMethod::unbound_script_get_id, "unboundScriptGetId", "(Ljava/lang/Object;)I")
     ACCESS_METHOD(GraalAccessMethod::unbound_script_get_content, "unboundScriptGetContent", "(Ljava/lang/Object;)Ljava/lang/String;")
+    ACCESS_METHOD(GraalAccessMethod::script_streaming_start, "scriptStreamingStart", "()Ljava/lang/Object;")
+    ACCESS_METHOD(GraalAccessMethod::script_streaming_add_chunk, "scriptStreamingAddChunk", "(Ljava/lang/Object;Ljava/lang/Object;)V")
+    ACCESS_METHOD(GraalAccessMethod::script_streaming_end_of_source, "scriptStreamingEndOfSource", "(Ljava/lang/Object;)V")
+    ACCESS_METHOD(GraalAccessMethod::script_streaming_finish, "scriptStreamingFinish", "(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;")
     ACCESS_METHOD(GraalAccessMethod::context_global, "contextGlobal", "(Ljava/lang/Object;)Ljava/lang/Object;")
     ACCESS_METHOD(GraalAccessMethod::context_set_pointer_in_embedder_data, "contextSetPointerInEmbedderData", "(Ljava/lang/Object;IJ)V")
     ACCESS_METHOD(GraalAccessMethod::context_get_pointer_in_embedder_data, "contextGetPointerInEmbedderData", "(Ljava/lang/Object;I)J")
@@ -1162,6 +1170,32 @@ void GraalIsolate::CancelTerminateExecution() {
     }
 }
 
+void GraalIsolate::UpdateJavaExternalMemory(int64_t java_external_memory) {
+    // The external memory known to Java is not reported through
+    // AdjustAmountOfExternalAllocatedMemory(). Replace its previous
+    // contribution to the external memory slot by the current one.
+    int64_t* external_memory = reinterpret_cast<int64_t*> (&slot[v8::internal::Internals::kExternalMemoryOffset / v8::internal::kApiPointerSize]);
+    *external_memory += java_external_memory - java_external_memory_;
+    java_external_memory_ = java_external_memory;
+}
+
+size_t GraalIsolate::NumberOfHeapSpaces() {
+    if (heap_space_names_.empty()) {
+        // Names are cached to ensure that the pointers returned
+        // by HeapSpaceName() remain valid
+        JNI_CALL(jint, count, this, GraalAccessMethod::isolate_number_of_heap_spaces, Int);
+        JNIEnv* env = GetJNIEnv();
+        for (int i = 0; i < count; i++) {
+            JNI_CALL(jobject, java_name, this, GraalAccessMethod::isolate_get_heap_space_statistics, Object, (jint) i);
+            const char* name = env->GetStringUTFChars((jstring) java_name, nullptr);
+            heap_space_names_.push_back(name);
+            env->ReleaseStringUTFChars((jstring) java_name, name);
+            env->DeleteLocalRef(java_name);
+        }
+    }
+    return heap_space_names_.size();
+}
+
 void GraalIsolate::SetFunctionTemplateData(unsigned id, GraalValue* data) {
     while (function_template_data.size() <= id) function_template_data.push_back(nullptr);
     data->ReferenceAdded();
@@ -48,6 +48,7 @@
 #include "jni.h"
 #include <pthread.h>
 #include <string.h>
+#include <string>
 #include <vector>
 
 #define JNI_CALL_HELPER(semicolon, equals, return_type, variable, isolate, id, type, ...) \
@@ -115,6 +116,7 @@ enum GraalAccessMethod {
     value_strict_equals,
     value_instance_of,
     object_new,
+    object_new_from_properties,
     object_set,
     object_set_index,
     object_set_private,
@@ -142,6 +144,7 @@ enum GraalAccessMethod {
     object_define_property,
     object_preview_entries,
     array_new,
+    array_new_from_elements,
     array_length,
     array_buffer_new,
     array_buffer_new_buffer,
@@ -183,6 +186,8 @@ enum GraalAccessMethod {
     isolate_internal_error_check,
     isolate_throw_stack_overflow_error,
     isolate_get_heap_statistics,
+    isolate_number_of_heap_spaces,
+    isolate_get_heap_space_statistics,
     isolate_terminate_execution,
     isolate_cancel_terminate_execution,
     isolate_get_int_placeholder,
@@ -236,6 +241,10 @@ enum GraalAccessMethod {
     unbound_script_bind_to_context,
     unbound_script_get_id,
     unbound_script_get_content,
+    script_streaming_start,
+    script_streaming_add_chunk,
+    script_streaming_end_of_source,
+    script_streaming_finish,
     context_global,
     context_set_pointer_in_embedder_data,
     context_get_pointer_in_embedder_data,
@@ -384,10 +393,21 @@ public:
     void TerminateExecution();
     void CancelTerminateExecution();
 
+    void UpdateJavaExternalMemory(int64_t java_external_memory);
+    size_t NumberOfHeapSpaces();
+
+    inline const char* HeapSpaceName(size_t index) {
+        return heap_space_names_[index].c_str();
+    }
+
     inline JNIEnv* GetJNIEnv() {
         return jni_env_;
     }
 
+    inline JavaVM* GetJVM() {
+        return jvm_;
+    }
+
     inline jobject GetGraalAccess() {
         return access_;
     }
@@ -601,6 +621,10 @@ private:
     GraalNumber* number_cache_[number_cache_high_ - number_cache_low_ + 1] = {};
     void* shared_buffer_;
     int shared_buffer_pos_;
+    // External memory reported by Java that is included in the external
+    // memory slot (i.e. in AdjustAmountOfExternalAllocatedMemory(0))
+    int64_t java_external_memory_;
+    std::vector<std::string> heap_space_names_;
     v8::MessageCallback message_listener_;
     bool sending_message_;
     v8::Isolate::AbortOnUncaughtExceptionCallback abort_on_uncaught_exception_callback_;
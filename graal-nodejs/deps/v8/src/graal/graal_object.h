@@ -49,6 +49,7 @@ public:
     GraalObject(GraalIsolate* isolate, jobject java_object);
     bool IsObject() const;
     static v8::Local<v8::Object> New(v8::Isolate* isolate);
+    static v8::Local<v8::Object> New(v8::Isolate* isolate, v8::Local<v8::Value> prototype_or_null, v8::Local<v8::Name>* names, v8::Local<v8::Value>* values, size_t length);
     bool Set(v8::Local<v8::Value> key, v8::Local<v8::Value> value);
     bool Set(uint32_t index, v8::Local<v8::Value> value);
     bool ForceSet(v8::Local<v8::Value> key, v8::Local<v8::Value> value, v8::PropertyAttribute attribs);
@@ -91,3 +91,141 @@ v8::Local<v8::String> GraalUnboundScript::GetContent() {
     GraalString* graal_content = new GraalString(graal_isolate, (jstring) java_content);
     return reinterpret_cast<v8::String*> (graal_content);
 }
+
+v8::internal::ScriptStreamingData::ScriptStreamingData(v8::ScriptCompiler::ExternalSourceStream* source_stream, v8::ScriptCompiler::StreamedSource::Encoding encoding) :
+source_stream(source_stream), encoding(encoding), isolate(nullptr), java_parser(nullptr) {
+}
+
+v8::internal::ScriptStreamingData::~ScriptStreamingData() {
+    if (java_parser != nullptr) {
+        isolate->GetJNIEnv()->DeleteGlobalRef(java_parser);
+    }
+}
+
+v8::ScriptCompiler::ScriptStreamingTask* GraalUnboundScript::StartStreaming(GraalIsolate* isolate, v8::internal::ScriptStreamingData* data) {
+    JNI_CALL(jobject, java_parser, isolate, GraalAccessMethod::script_streaming_start, Object);
+    if (java_parser == NULL) {
+        return nullptr;
+    }
+    JNIEnv* env = isolate->GetJNIEnv();
+    data->isolate = isolate;
+    data->java_parser = env->NewGlobalRef(java_parser);
+    env->DeleteLocalRef(java_parser);
+    return new GraalScriptStreamingTask(data);
+}
+
+v8::Local<v8::UnboundScript> GraalUnboundScript::CompileStreamed(v8::internal::ScriptStreamingData* data, v8::Local<v8::String> file_name) {
+    GraalIsolate* graal_isolate = data->isolate;
+    jobject java_file_name = file_name.IsEmpty() ? NULL : reinterpret_cast<GraalString*> (*file_name)->GetJavaObject();
+    JNI_CALL(jobject, java_script, graal_isolate, GraalAccessMethod::script_streaming_finish, Object, data->java_parser, java_file_name);
+    if (java_script == NULL) {
+        return v8::Local<v8::UnboundScript>();
+    } else {
+        GraalUnboundScript* graal_script = new GraalUnboundScript(graal_isolate, java_script);
+        return reinterpret_cast<v8::UnboundScript*> (graal_script);
+    }
+}
+
+GraalScriptStreamingTask::GraalScriptStreamingTask(v8::internal::ScriptStreamingData* data) : data_(data) {
+}
+
+void GraalScriptStreamingTask::Run() {
+    GraalIsolate* isolate = data_->isolate;
+    JavaVM* jvm = isolate->GetJVM();
+    JNIEnv* env;
+    bool attached = false;
+    if (jvm->GetEnv(reinterpret_cast<void**> (&env), JNI_VERSION_1_8) == JNI_EDETACHED) {
+        jvm->AttachCurrentThread(reinterpret_cast<void**> (&env), nullptr);
+        attached = true;
+    }
+    jobject access = isolate->GetGraalAccess();
+    jmethodID add_chunk = isolate->GetJNIMethod(GraalAccessMethod::script_streaming_add_chunk);
+    jmethodID end_of_source = isolate->GetJNIMethod(GraalAccessMethod::script_streaming_end_of_source);
+    const uint8_t* chunk = nullptr;
+    size_t length;
+    do {
+        length = data_->source_stream->GetMoreData(&chunk);
+        jstring java_chunk = DecodeChunk(env, chunk, length, length == 0);
+        if (length != 0) {
+            delete[] chunk;
+        }
+        if (java_chunk != nullptr) {
+            env->CallVoidMethod(access, add_chunk, data_->java_parser, java_chunk);
+            if (env->ExceptionCheck()) {
+                env->ExceptionDescribe();
+            }
+            env->DeleteLocalRef(java_chunk);
+        }
+    } while (length != 0);
+    // Parses the script, errors are reported when the script is compiled
+    env->CallVoidMethod(access, end_of_source, data_->java_parser);
+    if (env->ExceptionCheck()) {
+        env->ExceptionDescribe();
+    }
+    if (attached) {
+        jvm->DetachCurrentThread();
+    }
+}
+
+// Converts the chunk (and the pending bytes of the previous one) to a Java
+// string. A character that is split between chunks is kept in pending_.
+jstring GraalScriptStreamingTask::DecodeChunk(JNIEnv* env, const uint8_t* chunk, size_t length, bool last) {
+    pending_.insert(pending_.end(), chunk, chunk + length);
+    size_t size = pending_.size();
+    size_t complete;
+    switch (data_->encoding) {
+        case v8::ScriptCompiler::StreamedSource::ONE_BYTE:
+            complete = size;
+            break;
+        case v8::ScriptCompiler::StreamedSource::TWO_BYTE:
+            complete = last ? size : (size & ~static_cast<size_t> (1));
+            break;
+        default: // UTF8
+            complete = size;
+            if (!last) {
+                // look for the lead byte of the last (possibly incomplete) sequence
+                size_t lead = size;
+                while (lead > 0 && size - lead < 3 && (pending_[lead - 1] & 0xC0) == 0x80) {
+                    lead--;
+                }
+                if (lead > 0) {
+                    uint8_t c = pending_[lead - 1];
+                    size_t sequence_length = (c < 0xC0) ? 1 : (c < 0xE0) ? 2 : (c < 0xF0) ? 3 : 4;
+                    if (size - lead + 1 < sequence_length) {
+                        complete = lead - 1;
+                    }
+                }
+            }
+            break;
+    }
+    if (complete == 0) {
+        return nullptr;
+    }
+    jstring result;
+    if (data_->encoding == v8::ScriptCompiler::StreamedSource::UTF8) {
+        int utf16_length = GraalString::Utf16Length(pending_.data(), complete);
+        jchar* utf16 = new jchar[utf16_length];
+        GraalString::Utf16Write(pending_.data(), utf16, complete);
+        result = env->NewString(utf16, utf16_length);
+        delete[] utf16;
+    } else if (data_->encoding == v8::ScriptCompiler::StreamedSource::TWO_BYTE) {
+        size_t utf16_length = complete / 2;
+        jchar* utf16 = new jchar[utf16_length + (complete & 1)];
+        memcpy(utf16, pending_.data(), utf16_length * 2);
+        if (complete & 1) {
+            // odd trailing byte at the end of the source
+            utf16[utf16_length++] = pending_[complete - 1];
+        }
+        result = env->NewString(utf16, utf16_length);
+        delete[] utf16;
+    } else {
+        jchar* utf16 = new jchar[complete];
+        for (size_t i = 0; i < complete; i++) {
+            utf16[i] = pending_[i];
+        }
+        result = env->NewString(utf16, complete);
+        delete[] utf16;
+    }
+    pending_.erase(pending_.begin(), pending_.begin() + complete);
+    return result;
+}
@@ -44,11 +44,41 @@
 
 #include "graal_handle_content.h"
 #include "include/v8.h"
+#include <memory>
+#include <vector>
+
+namespace v8 {
+namespace internal {
+
+// State of a streamed script (see v8::ScriptCompiler::StreamedSource)
+struct ScriptStreamingData {
+    ScriptStreamingData(v8::ScriptCompiler::ExternalSourceStream* source_stream, v8::ScriptCompiler::StreamedSource::Encoding encoding);
+    ~ScriptStreamingData();
+    std::unique_ptr<v8::ScriptCompiler::ExternalSourceStream> source_stream;
+    v8::ScriptCompiler::StreamedSource::Encoding encoding;
+    GraalIsolate* isolate;
+    jobject java_parser; // global reference to StreamingScriptParser
+};
+
+}
+}
+
+class GraalScriptStreamingTask : public v8::ScriptCompiler::ScriptStreamingTask {
+public:
+    GraalScriptStreamingTask(v8::internal::ScriptStreamingData* data);
+    void Run() override;
+private:
+    jstring DecodeChunk(JNIEnv* env, const uint8_t* chunk, size_t length, bool last);
+    v8::internal::ScriptStreamingData* data_;
+    std::vector<uint8_t> pending_; // bytes of an incomplete character from the previous chunk
+};
 
 class GraalUnboundScript : GraalHandleContent {
 public:
     GraalUnboundScript(GraalIsolate* isolate, jobject java_script);
     static v8::Local<v8::UnboundScript> Compile(v8::Local<v8::String> source, v8::Local<v8::String> file_name);
+    static v8::ScriptCompiler::ScriptStreamingTask* StartStreaming(GraalIsolate* isolate, v8::internal::ScriptStreamingData* data);
+    static v8::Local<v8::UnboundScript> CompileStreamed(v8::internal::ScriptStreamingData* data, v8::Local<v8::String> file_name);
     v8::Local<v8::Script> BindToCurrentContext();
     int GetId();
     v8::Local<v8::String> GetContent();
@@ -133,6 +133,10 @@ namespace v8 {
         return GraalArray::New(isolate, length);
     }
 
+    Local<Array> Array::New(Isolate* isolate, Local<Value>* elements, size_t length) {
+        return GraalArray::New(isolate, elements, length);
+    }
+
     void Context::Enter() {
         reinterpret_cast<GraalContext*> (this)->Enter();
     }
@@ -454,11 +458,14 @@ namespace v8 {
         JNI_CALL_VOID(this, GraalAccessMethod::isolate_get_heap_statistics);
         heap_statistics->total_heap_size_ = graal_isolate->ReadInt64FromSharedBuffer();
         heap_statistics->total_heap_size_executable_ = 0;
-        heap_statistics->total_physical_size_ = 0;
+        heap_statistics->total_physical_size_ = heap_statistics->total_heap_size_;
         heap_statistics->total_available_size_ = graal_isolate->ReadInt64FromSharedBuffer();
         heap_statistics->used_heap_size_ = graal_isolate->ReadInt64FromSharedBuffer();
-        heap_statistics->heap_size_limit_ = 0;
+        heap_statistics->heap_size_limit_ = graal_isolate->ReadInt64FromSharedBuffer();
+        heap_statistics->malloced_memory_ = graal_isolate->ReadInt64FromSharedBuffer();
+        heap_statistics->peak_malloced_memory_ = graal_isolate->ReadInt64FromSharedBuffer();
         heap_statistics->does_zap_garbage_ = false;
+        graal_isolate->UpdateJavaExternalMemory(graal_isolate->ReadInt64FromSharedBuffer());
     }
 
     Isolate* Isolate::New(Isolate::CreateParams const& params) {
@@ -644,6 +651,10 @@ namespace v8 {
         return GraalObject::New(isolate);
     }
 
+    Local<Object> Object::New(Isolate* isolate, Local<Value> prototype_or_null, Local<Name>* names, Local<Value>* values, size_t length) {
+        return GraalObject::New(isolate, prototype_or_null, names, values, length);
+    }
+
     Maybe<bool> Object::SetAccessor(
             Local<Context> context,
             Local<Name> name,
@@ -1970,6 +1981,36 @@ namespace v8 {
         return GraalUnboundScript::Compile(source->source_string, file_name);
     }
 
+    ScriptCompiler::StreamedSource::StreamedSource(ExternalSourceStream* source_stream, Encoding encoding) : impl_(new internal::ScriptStreamingData(source_stream, encoding)) {
+    }
+
+    ScriptCompiler::StreamedSource::~StreamedSource() {
+        delete impl_;
+    }
+
+    const ScriptCompiler::CachedData* ScriptCompiler::StreamedSource::GetCachedData() const {
+        return nullptr;
+    }
+
+    ScriptCompiler::ScriptStreamingTask* ScriptCompiler::StartStreamingScript(Isolate* isolate, StreamedSource* source, CompileOptions options) {
+        return GraalUnboundScript::StartStreaming(reinterpret_cast<GraalIsolate*> (isolate), source->impl());
+    }
+
+    MaybeLocal<Script> ScriptCompiler::Compile(
+            Local<Context> context,
+            StreamedSource* source,
+            Local<String> full_source_string,
+            const ScriptOrigin& origin) {
+        // The source has been collected by the streaming task already
+        Local<Value> resource_name = origin.ResourceName();
+        Local<String> file_name = resource_name.IsEmpty() ? resource_name.As<String>() : resource_name->ToString(context->GetIsolate());
+        Local<UnboundScript> unbound_script = GraalUnboundScript::CompileStreamed(source->impl(), file_name);
+        if (unbound_script.IsEmpty()) {
+            return MaybeLocal<Script>();
+        }
+        return reinterpret_cast<GraalUnboundScript*> (*unbound_script)->BindToCurrentContext();
+    }
+
     bool Value::IsDataView() const {
         return reinterpret_cast<const GraalValue*> (this)->IsDataView();
     }
@@ -2012,27 +2053,23 @@ namespace v8 {
     }
 
     bool Isolate::GetHeapSpaceStatistics(HeapSpaceStatistics* space_statistics, size_t index) {
-        if (index >= NumberOfHeapSpaces()) {
+        GraalIsolate* graal_isolate = reinterpret_cast<GraalIsolate*> (this);
+        if (index >= graal_isolate->NumberOfHeapSpaces()) {
             return false;
         }
-        const char* names[] = {
-            "new_space",
-            "old_space",
-            "code_space",
-            "map_space",
-            "large_object_space",
-            "read_only_space"
-        };
-        space_statistics->space_name_ = names[index];
-        space_statistics->space_size_ = 0;
-        space_statistics->space_used_size_ = 0;
-        space_statistics->space_available_size_ = 0;
-        space_statistics->physical_space_size_ = 0;
+        graal_isolate->ResetSharedBuffer();
+        JNI_CALL(jobject, java_name, this, GraalAccessMethod::isolate_get_heap_space_statistics, Object, (jint) index);
+        graal_isolate->GetJNIEnv()->DeleteLocalRef(java_name);
+        space_statistics->space_name_ = graal_isolate->HeapSpaceName(index);
+        space_statistics->space_size_ = graal_isolate->ReadInt64FromSharedBuffer();
+        space_statistics->space_used_size_ = graal_isolate->ReadInt64FromSharedBuffer();
+        space_statistics->space_available_size_ = graal_isolate->ReadInt64FromSharedBuffer();
+        space_statistics->physical_space_size_ = graal_isolate->ReadInt64FromSharedBuffer();
         return true;
     }
 
     size_t Isolate::NumberOfHeapSpaces() {
-        return 6;
+        return reinterpret_cast<GraalIsolate*> (this)->NumberOfHeapSpaces();
     }
 
     Local<AccessorSignature> AccessorSignature::New(Isolate* isolate, Local<FunctionTemplate> receiver) {
@@ -37,7 +37,7 @@ const {
   swap64: _swap64,
   kMaxLength,
   kStringMaxLength
-} = process.binding('buffer');
+} = graalBuffer.binding(process.binding('buffer'));
 // We cannot use internalBinding unconditionally here because of the way
 // that test/parallel/test-buffer-bindingobj-no-zerofill.js is written.
 let isAnyArrayBuffer;
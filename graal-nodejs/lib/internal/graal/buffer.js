@@ -42,14 +42,36 @@
 // When NIO buffers are enabled, GraalJSAccess ensures that this module is loaded with the builtins constructor as extra argument.
 const NIOBufferPrototypeAllocator = arguments[arguments.length - 1];
 
-function patchBufferPrototype(proto) {
+const prototypeNames = ['utf8Write', 'latin1Write', 'asciiWrite', 'hexWrite', 'base64Write', 'ucs2Write',
+	'utf8Slice', 'latin1Slice', 'asciiSlice', 'hexSlice', 'base64Slice', 'ucs2Slice'];
+
+const bindingNames = ['byteLengthUtf8', 'compare', 'compareOffset', 'fill', 'indexOfString', 'indexOfBuffer', 'indexOfNumber'];
+
+// Replaces the native functions of the target by the NIO builtins. The native functions are passed to the allocator
+// so that the builtins can fall back to them.
+function patch(target, names) {
 	if (NIOBufferPrototypeAllocator) {
-		const bufferBuiltin = NIOBufferPrototypeAllocator(proto.utf8Write, proto.utf8Slice);
-		proto.utf8Write = bufferBuiltin.utf8Write;
-		proto.utf8Slice = bufferBuiltin.utf8Slice;
+		const natives = {};
+		for (const name of names) {
+			natives[name] = target[name];
+		}
+		const bufferBuiltin = NIOBufferPrototypeAllocator(natives);
+		for (const name of names) {
+			target[name] = bufferBuiltin[name];
+		}
 	}
+	return target;
+}
+
+function patchBufferPrototype(proto) {
+	patch(proto, prototypeNames);
+}
+
+function patchBufferBinding(binding) {
+	return patch(Object.assign({}, binding), bindingNames);
 }
 
 module.exports = {
-	install: patchBufferPrototype
-}
\ No newline at end of file
+	install: patchBufferPrototype,
+	binding: patchBufferBinding
+}
@@ -15,7 +15,8 @@ const {
 const { MessagePort, MessageChannel } = internalBinding('messaging');
 const {
   handle_onclose: handleOnCloseSymbol,
-  oninit: onInitSymbol
+  oninit: onInitSymbol,
+  onjavamessages: onJavaMessagesSymbol
 } = internalBinding('symbols');
 const { clearAsyncIdStack } = require('internal/async_hooks');
 const { serializeError, deserializeError } = require('internal/error-serdes');
@@ -45,6 +46,8 @@ const kStdioWantsMoreDataCallback = Symbol('kStdioWantsMoreDataCallback');
 const kStartedReading = Symbol('kStartedReading');
 const kWaitingStreams = Symbol('kWaitingStreams');
 const kIncrementsPortRef = Symbol('kIncrementsPortRef');
+const kJavaChannelId = Symbol('kJavaChannelId');
+const kPendingJavaMessages = Symbol('kPendingJavaMessages');
 
 const debug = util.debuglog('worker');
 
@@ -109,6 +112,7 @@ Object.defineProperty(MessagePort.prototype, 'onmessage', {
 function oninit() {
   // Graal.js: initialize support for Java objects in messages
   this.sharedMemMessaging = SharedMemMessagingInit();
+  openJavaChannel(this);
   setupPortReferencing(this, this, 'message');
 }
 
@@ -134,6 +138,10 @@ function onclose() {
   if (messagePortData !== undefined) {
     this.sharedMemMessaging.dispose(messagePortData);
   }
+  if (this[kJavaChannelId] !== undefined) {
+    this.sharedMemMessaging.closeChannel(this[kJavaChannelId]);
+    this[kJavaChannelId] = undefined;
+  }
   this.emit('close');
 }
 
@@ -388,6 +396,11 @@ class Worker extends EventEmitter {
     this[kPublicPort].postMessage(...args);
   }
 
+  // Graal.js: see MessagePort.prototype.postJavaMessage
+  postJavaMessage(value) {
+    return this[kPublicPort].postJavaMessage(value);
+  }
+
   terminate(callback) {
     if (this[kHandle] === null) return;
 
@@ -450,6 +463,7 @@ function setupChild(evalScript) {
   // Graal.js: explicitly initialize support for Java objects in messages, 
   // since env message port does not call oninit()
   port.sharedMemMessaging = SharedMemMessagingInit();
+  openJavaChannel(port);
 
   const publicWorker = require('worker_threads');
 
@@ -553,6 +567,12 @@ if (!SharedMemMessagingInit) {
 
 const getMessagePortDataNative = MessagePort.prototype.messageData;
 delete MessagePort.prototype.messageData;
+const getJavaChannelIdNative = MessagePort.prototype.javaChannelId;
+delete MessagePort.prototype.javaChannelId;
+const getSiblingJavaChannelIdNative = MessagePort.prototype.siblingJavaChannelId;
+delete MessagePort.prototype.siblingJavaChannelId;
+const wakeSiblingNative = MessagePort.prototype.wakeSibling;
+delete MessagePort.prototype.wakeSibling;
 
 const originalPostMessage = MessagePort.prototype.postMessage;
 MessagePort.prototype.postMessage = function(...args) {
@@ -580,3 +600,73 @@ MessagePort.prototype.postMessage = function(...args) {
     }
   }
 }
+
+// ##### Graal.js Java message channel
+
+// Results of `sharedMemMessaging.post()`, see JavaMessageChannel.offer().
+const kJavaMessageRejected = 0;
+const kJavaMessageEnqueuedWakeup = 2;
+
+// Every receiving port owns a bounded channel in Java that other threads can
+// post primitives, strings and Java objects to without V8 serialization.
+// Channels are identified by an id of the native MessagePortData that, unlike
+// its address, is never reused.
+function openJavaChannel(port) {
+  const channelId = getJavaChannelIdNative.call(port);
+  if (channelId !== undefined) {
+    port.sharedMemMessaging.openChannel(channelId);
+    port[kJavaChannelId] = channelId;
+  }
+}
+
+// Posts `value` to the Java message channel of the sibling port. Messages
+// posted this way keep their order among themselves, but not with respect
+// to messages sent by `postMessage()`. Returns false when the message was not
+// enqueued, i.e., when the channel is full or closed.
+MessagePort.prototype.postJavaMessage = function(value) {
+  const siblingChannelId = getSiblingJavaChannelIdNative.call(this);
+  if (siblingChannelId === undefined) {
+    return false;
+  }
+  const result = this.sharedMemMessaging.post(siblingChannelId, value);
+  if (result === kJavaMessageEnqueuedWakeup) {
+    wakeSiblingNative.call(this);
+  }
+  return result !== kJavaMessageRejected;
+};
+
+// Called by MessagePort::OnMessage() to deliver the messages of the Java
+// channel. When a listener throws, the remaining messages stay on the port and
+// are delivered first once OnMessage() is rescheduled.
+function onjavamessages() {
+  const channelId = getJavaChannelIdNative.call(this);
+  if (channelId === undefined) {
+    return;
+  }
+  let messages = this[kPendingJavaMessages];
+  if (messages === undefined) {
+    // The MessagePortData (and its channel) moves with a transferred port,
+    // receive() closes the channel opened for the port's initial data.
+    messages = this.sharedMemMessaging.receive(channelId,
+                                               this[kJavaChannelId]);
+    this[kJavaChannelId] = channelId;
+    if (messages === undefined) {
+      return;
+    }
+  }
+  let i = 0;
+  try {
+    while (i < messages.length) {
+      this.onmessage(messages[i++]);
+    }
+  } finally {
+    this[kPendingJavaMessages] =
+      i < messages.length ? messages.slice(i) : undefined;
+  }
+}
+
+Object.defineProperty(MessagePort.prototype, onJavaMessagesSymbol, {
+  enumerable: false,
+  writable: false,
+  value: onjavamessages
+});
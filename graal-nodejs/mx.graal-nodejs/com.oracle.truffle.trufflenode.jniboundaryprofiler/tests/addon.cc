@@ -1,4 +1,5 @@
 #include <node.h>
+#include <vector>
 
 namespace jniprofilingtest {
 
@@ -10,6 +11,9 @@ using v8::String;
 using v8::Value;
 using v8::Array;
 using v8::Number;
+using v8::Name;
+using v8::Null;
+using v8::Boolean;
 
 void Method(const FunctionCallbackInfo<Value>& args) {
 
@@ -34,8 +38,69 @@ void Method(const FunctionCallbackInfo<Value>& args) {
 	args.GetReturnValue().Set(obj);
 }
 
+// Builds an array of rows (objects) one property at a time
+
+void BuildRows(const FunctionCallbackInfo<Value>& args) {
+
+	Isolate* isolate = args.GetIsolate();
+
+	int count = args[0]->Int32Value(isolate->GetCurrentContext()).FromJust();
+	Local<String> id = String::NewFromUtf8(isolate, "id");
+	Local<String> name = String::NewFromUtf8(isolate, "name");
+	Local<String> score = String::NewFromUtf8(isolate, "score");
+	Local<String> active = String::NewFromUtf8(isolate, "active");
+	Local<String> rowName = String::NewFromUtf8(isolate, "row");
+	// Same prototype as the rows built by BuildRows
+	Local<Value> prototype = Object::New(isolate)->GetPrototype();
+
+	Local<Array> rows = Array::New(isolate, count);
+	for (int i = 0; i < count; i++) {
+		Local<Object> row = Object::New(isolate);
+		row->Set(id, Number::New(isolate, i));
+		row->Set(name, rowName);
+		row->Set(score, Number::New(isolate, i * 0.5));
+		row->Set(active, Boolean::New(isolate, i % 2 == 0));
+		rows->Set(i, row);
+	}
+
+	args.GetReturnValue().Set(rows);
+}
+
+// Builds the same array of rows using the bulk constructors
+
+void BuildRowsBulk(const FunctionCallbackInfo<Value>& args) {
+
+	Isolate* isolate = args.GetIsolate();
+
+	int count = args[0]->Int32Value(isolate->GetCurrentContext()).FromJust();
+	Local<Name> names[] = {
+		String::NewFromUtf8(isolate, "id"),
+		String::NewFromUtf8(isolate, "name"),
+		String::NewFromUtf8(isolate, "score"),
+		String::NewFromUtf8(isolate, "active")
+	};
+	Local<String> rowName = String::NewFromUtf8(isolate, "row");
+	// Same prototype as the rows built by BuildRows
+	Local<Value> prototype = Object::New(isolate)->GetPrototype();
+
+	std::vector<Local<Value>> rows(count);
+	for (int i = 0; i < count; i++) {
+		Local<Value> values[] = {
+			Number::New(isolate, i),
+			rowName,
+			Number::New(isolate, i * 0.5),
+			Boolean::New(isolate, i % 2 == 0)
+		};
+		rows[i] = Object::New(isolate, prototype, names, values, 4);
+	}
+
+	args.GetReturnValue().Set(Array::New(isolate, rows.data(), count));
+}
+
 void init(Local<Object> exports) {
   NODE_SET_METHOD(exports, "execute", Method);
+  NODE_SET_METHOD(exports, "buildRows", BuildRows);
+  NODE_SET_METHOD(exports, "buildRowsBulk", BuildRowsBulk);
 }
 
 NODE_MODULE(addon, init)
@@ -54,4 +54,32 @@ assert.equal(CALLS * ITERATIONS, +profiler.getJniCalls(nativeLabel, "[com/oracle
 assert.equal(CALLS * ITERATIONS, +profiler.getJniCalls(nativeLabel, "[com/oracle/truffle/trufflenode/GraalJSAccess] objectGet"));
 assert.equal((CALLS * ITERATIONS) + CALLS, +profiler.getJniCalls(nativeLabel, "[com/oracle/truffle/trufflenode/GraalJSAccess] objectSet"));
 
+// Construction of a result set: property-wise vs. bulk
+var ROWS = 10000;
+var rows;
+for (var i = 0; i < CALLS; i++) {
+	console.time('rows');
+	rows = addon.buildRows(ROWS);
+	console.timeEnd('rows');
+}
+var bulkRows;
+for (var i = 0; i < CALLS; i++) {
+	console.time('rows (bulk)');
+	bulkRows = addon.buildRowsBulk(ROWS);
+	console.timeEnd('rows (bulk)');
+}
+assert.equal(ROWS, bulkRows.length);
+for (var i = 0; i < ROWS; i++) {
+	assert.deepStrictEqual(bulkRows[i], rows[i]);
+}
+
+const rowsLabel = "executeFunction1: buildRows";
+assert.equal(CALLS * ROWS, +profiler.getJniCalls(rowsLabel, "[com/oracle/truffle/trufflenode/GraalJSAccess] objectNew"));
+assert.equal(CALLS * ROWS * 4, +profiler.getJniCalls(rowsLabel, "[com/oracle/truffle/trufflenode/GraalJSAccess] objectSet"));
+assert.equal(CALLS * ROWS, +profiler.getJniCalls(rowsLabel, "[com/oracle/truffle/trufflenode/GraalJSAccess] objectSetIndex"));
+
+const bulkRowsLabel = "executeFunction1: buildRowsBulk";
+assert.equal(CALLS * ROWS, +profiler.getJniCalls(bulkRowsLabel, "[com/oracle/truffle/trufflenode/GraalJSAccess] objectNewFromProperties"));
+assert.equal(CALLS, +profiler.getJniCalls(bulkRowsLabel, "[com/oracle/truffle/trufflenode/GraalJSAccess] arrayNewFromElements"));
+
 console.log("Test OK");
@@ -41,11 +41,13 @@
 package com.oracle.truffle.trufflenode;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.WeakHashMap;
 
 import com.oracle.js.parser.ir.FunctionNode;
+import com.oracle.truffle.api.CallTarget;
 import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.js.nodes.ScriptNode;
@@ -60,6 +62,11 @@ public final class ContextData {
     private final Map<String, FunctionNode> functionNodeCache = new WeakHashMap<>();
     private final Map<Source, ScriptNode> scriptNodeCache = new WeakHashMap<>();
     private final List<Pair<JSFunctionData, JSFunctionData>> accessorPairs = new ArrayList<>();
+    private final Map<Object, CallTarget> propertyGetCache = new HashMap<>();
+    private final Map<Object, CallTarget> propertySetCache = new HashMap<>();
+    private final Map<Object, CallTarget> propertyHasCache = new HashMap<>();
+    private CallTarget indexGetTarget;
+    private CallTarget indexSetTarget;
     private final Shape externalObjectShape;
 
     public ContextData(JSContext context) {
@@ -92,4 +99,32 @@ public final class ContextData {
     public Map<String, FunctionNode> getFunctionNodeCache() {
         return functionNodeCache;
     }
+
+    public Map<Object, CallTarget> getPropertyGetCache() {
+        return propertyGetCache;
+    }
+
+    public Map<Object, CallTarget> getPropertySetCache() {
+        return propertySetCache;
+    }
+
+    public Map<Object, CallTarget> getPropertyHasCache() {
+        return propertyHasCache;
+    }
+
+    public CallTarget getIndexGetTarget() {
+        return indexGetTarget;
+    }
+
+    public void setIndexGetTarget(CallTarget indexGetTarget) {
+        this.indexGetTarget = indexGetTarget;
+    }
+
+    public CallTarget getIndexSetTarget() {
+        return indexSetTarget;
+    }
+
+    public void setIndexSetTarget(CallTarget indexSetTarget) {
+        this.indexSetTarget = indexSetTarget;
+    }
 }
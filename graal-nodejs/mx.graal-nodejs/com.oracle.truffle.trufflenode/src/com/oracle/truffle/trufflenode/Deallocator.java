@@ -42,18 +42,23 @@ package com.oracle.truffle.trufflenode;
 
 import com.oracle.truffle.js.runtime.JSTruffleOptions;
 
+import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Field;
 import java.nio.ByteBuffer;
-import java.util.Collections;
-import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * A class responsible for the deallocation of the external memory segments associated with Java
  * objects.A direct {@code ByteBuffer} created by a JNI call is built on top of an existing memory
  * segment whose life-cycle may be associated with the created buffer.
+ *
+ * The memory is not released one segment at a time. Instead, a cleanup thread collects pointers of
+ * the segments that are no longer used and passes them to the native code in batches.
  */
 final class Deallocator {
 
@@ -61,6 +66,14 @@ final class Deallocator {
      * Determines whether {@code sun.misc.Cleaner} can be used for deallocation.
      */
     private static final boolean USE_CLEANER = Boolean.parseBoolean(System.getProperty("truffle.node.js.deallocateUsingCleaner", "true"));
+    /**
+     * Maximum number of pointers passed to the native code at once.
+     */
+    private static final int BATCH_SIZE = Integer.getInteger("truffle.node.js.deallocationBatchSize", 1024);
+    /**
+     * Maximum time (in milliseconds) between two checks of the pointers released by cleaners.
+     */
+    private static final long CLEANUP_INTERVAL = 100;
     /**
      * {@code java.nio.DirectByteBuffer} {@code Class} object.
      */
@@ -99,11 +112,24 @@ final class Deallocator {
      * Collection holding all the weak references to the buffers whose memory has not been
      * deallocated yet.
      */
-    private final Set<ReferenceWithPointer> enqueued = Collections.synchronizedSet(new HashSet<>());
+    private final Set<ReferenceWithPointer> enqueued = ConcurrentHashMap.newKeySet();
+    /**
+     * Lock-free stack of the memory segments released by cleaners that have not been deallocated
+     * yet.
+     */
+    private final AtomicReference<CleanerThunk> released = new AtomicReference<>();
     /**
      * Determines whether the cleanup thread has been started.
      */
-    private boolean cleanupThreadStarted = false;
+    private volatile boolean cleanupThreadStarted = false;
+    /**
+     * Number of bytes of the registered memory that has not been deallocated yet.
+     */
+    private final AtomicLong nativeMemory = new AtomicLong();
+    /**
+     * The highest value of {@link #nativeMemory} observed so far.
+     */
+    private final AtomicLong peakNativeMemory = new AtomicLong();
 
     Deallocator() {
         this.queue = new ReferenceQueue<>();
@@ -116,20 +142,44 @@ final class Deallocator {
      * @param pointer pointer to the memory that should be deallocated.
      */
     void register(ByteBuffer buffer, long pointer) {
+        int size = buffer.capacity();
+        allocated(size);
+        if (!cleanupThreadStarted) {
+            startCleanupThread();
+        }
         if (buffer.getClass() == DIRECT_BYTE_BUFFER_CLASS) {
             try {
-                CLEANER_FIELD.set(buffer, sun.misc.Cleaner.create(buffer, () -> {
-                    NativeAccess.deallocate(pointer);
-                }));
+                CLEANER_FIELD.set(buffer, sun.misc.Cleaner.create(buffer, new CleanerThunk(pointer, size)));
+                return;
             } catch (IllegalAccessException | IllegalArgumentException ex) {
                 ex.printStackTrace();
             }
-        } else {
-            if (!cleanupThreadStarted) {
-                startCleanupThread();
-            }
-            enqueued.add(new ReferenceWithPointer(buffer, pointer));
         }
+        enqueued.add(new ReferenceWithPointer(buffer, pointer, size));
+    }
+
+    private void allocated(long size) {
+        long current = nativeMemory.addAndGet(size);
+        peakNativeMemory.accumulateAndGet(current, Math::max);
+    }
+
+    private void deallocated(long size) {
+        nativeMemory.addAndGet(-size);
+    }
+
+    /**
+     * Returns the number of bytes of the registered memory that has not been deallocated yet.
+     */
+    long getNativeMemory() {
+        return nativeMemory.get();
+    }
+
+    /**
+     * Returns the highest number of bytes of the registered memory that was not deallocated at the
+     * same time.
+     */
+    long getPeakNativeMemory() {
+        return peakNativeMemory.get();
     }
 
     /**
@@ -139,25 +189,63 @@ final class Deallocator {
         if (cleanupThreadStarted) {
             return;
         }
-        Thread thread = new Thread() {
-            @Override
-            public void run() {
-                try {
-                    while (true) {
-                        ReferenceWithPointer reference = (ReferenceWithPointer) queue.remove();
-                        enqueued.remove(reference);
-                        reference.deallocate();
-                    }
-                } catch (InterruptedException iex) {
-                    iex.printStackTrace();
-                }
-            }
-        };
+        Thread thread = new Thread(new Cleanup(), "Native Memory Deallocator");
         thread.setDaemon(true);
         thread.start();
         cleanupThreadStarted = true;
     }
 
+    /**
+     * Body of the cleanup thread. Collects the pointers of the memory segments that are no longer
+     * used and deallocates them in batches.
+     */
+    private final class Cleanup implements Runnable {
+
+        private final long[] batch = new long[BATCH_SIZE];
+        private int batchCount;
+        private long batchBytes;
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    Reference<? extends ByteBuffer> reference = queue.remove(CLEANUP_INTERVAL);
+                    while (reference != null) {
+                        ReferenceWithPointer referenceWithPointer = (ReferenceWithPointer) reference;
+                        enqueued.remove(referenceWithPointer);
+                        add(referenceWithPointer.pointer, referenceWithPointer.size);
+                        reference = queue.poll();
+                    }
+                    CleanerThunk thunk = released.getAndSet(null);
+                    while (thunk != null) {
+                        add(thunk.pointer, thunk.size);
+                        thunk = thunk.next;
+                    }
+                    flush();
+                }
+            } catch (InterruptedException iex) {
+                iex.printStackTrace();
+            }
+        }
+
+        private void add(long pointer, int size) {
+            batch[batchCount++] = pointer;
+            batchBytes += size;
+            if (batchCount == batch.length) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (batchCount != 0) {
+                NativeAccess.deallocateAll(batch, batchCount);
+                deallocated(batchBytes);
+                batchCount = 0;
+                batchBytes = 0;
+            }
+        }
+    }
+
     /**
      * Weak reference to {@code ByteBuffer} that keeps track of the memory that should be
      * deallocated once this reference is cleared.
@@ -168,15 +256,52 @@ final class Deallocator {
          * Pointer to the memory that should be deallocated.
          */
         private final long pointer;
+        /**
+         * Size of the memory that should be deallocated.
+         */
+        private final int size;
 
-        ReferenceWithPointer(ByteBuffer object, long pointer) {
+        ReferenceWithPointer(ByteBuffer object, long pointer, int size) {
             super(object, queue);
             this.pointer = pointer;
+            this.size = size;
         }
 
-        void deallocate() {
-            NativeAccess.deallocate(pointer);
+    }
+
+    /**
+     * Cleaner action that hands the memory of a {@code DirectByteBuffer} over to the cleanup
+     * thread. The thunks themselves form the nodes of the {@link #released} stack.
+     */
+    final class CleanerThunk implements Runnable {
+
+        /**
+         * Pointer to the memory that should be deallocated.
+         */
+        private final long pointer;
+        /**
+         * Size of the memory that should be deallocated.
+         */
+        private final int size;
+        /**
+         * Next released thunk.
+         */
+        private CleanerThunk next;
+
+        CleanerThunk(long pointer, int size) {
+            this.pointer = pointer;
+            this.size = size;
+        }
+
+        @Override
+        public void run() {
+            CleanerThunk head;
+            do {
+                head = released.get();
+                next = head;
+            } while (!released.compareAndSet(head, this));
         }
+
     }
 
 }
@@ -76,6 +76,7 @@ import static com.oracle.truffle.trufflenode.ValueType.UNDEFINED_VALUE;
 import static com.oracle.truffle.trufflenode.ValueType.UNKNOWN_TYPE;
 import static com.oracle.truffle.trufflenode.buffer.NIOBufferObject.NIO_BUFFER_MODULE_NAME;
 
+import java.lang.management.MemoryUsage;
 import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
@@ -133,6 +134,7 @@ import com.oracle.truffle.js.parser.GraalJSParserOptions;
 import com.oracle.truffle.js.parser.JSParser;
 import com.oracle.truffle.js.parser.JavaScriptLanguage;
 import com.oracle.truffle.js.parser.JavaScriptTranslator;
+import com.oracle.truffle.js.parser.StreamingScriptParser;
 import com.oracle.truffle.js.runtime.AbstractJavaScriptLanguage;
 import com.oracle.truffle.js.runtime.BigInt;
 import com.oracle.truffle.js.runtime.Errors;
@@ -209,6 +211,7 @@ import com.oracle.truffle.trufflenode.info.Value;
 import com.oracle.truffle.trufflenode.interop.GraalJSJavaInteropMainWorker;
 import com.oracle.truffle.trufflenode.node.ExecuteNativeFunctionNode;
 import com.oracle.truffle.trufflenode.node.ExecuteNativePropertyHandlerNode;
+import com.oracle.truffle.trufflenode.node.PropertyAccessRootNode;
 import com.oracle.truffle.trufflenode.node.debug.SetBreakPointNode;
 import com.oracle.truffle.trufflenode.serialization.Deserializer;
 import com.oracle.truffle.trufflenode.serialization.Serializer;
@@ -226,6 +229,11 @@ public final class GraalJSAccess {
     private static final boolean USE_NIO_BUFFER = !"false".equals(System.getProperty("node.buffer.nio"));
     private static final boolean USE_SNAPSHOTS = !"false".equalsIgnoreCase(System.getProperty("truffle.node.js.snapshots"));
 
+    private static final int PROPERTY_GET = 0;
+    private static final int PROPERTY_SET = 1;
+    private static final int PROPERTY_HAS = 2;
+    private static final int PROPERTY_ACCESS_CACHE_LIMIT = Integer.getInteger("truffle.node.js.propertyAccessCacheLimit", 1024);
+
     private static final HiddenKey PRIVATE_VALUES_KEY = new HiddenKey("PrivateValues");
     private static final HiddenKey FUNCTION_TEMPLATE_DATA_KEY = new HiddenKey("FunctionTemplateData");
     private static final HiddenKey INTERNAL_FIELD_COUNT_KEY = new HiddenKey("InternalFieldCount");
@@ -647,21 +655,114 @@ public final class GraalJSAccess {
         return JSUserObject.create(jsRealm.getContext(), jsRealm);
     }
 
+    public Object objectNewFromProperties(Object context, Object prototype, Object[] names, Object[] values) {
+        JSRealm jsRealm = (JSRealm) context;
+        JSContext jsContext = jsRealm.getContext();
+        DynamicObject object;
+        if (prototype == Null.instance) {
+            object = JSUserObject.createWithNullPrototype(jsContext);
+        } else if (prototype == jsRealm.getObjectPrototype()) {
+            object = JSUserObject.create(jsContext, jsRealm);
+        } else if (JSObject.isJSObject(prototype)) {
+            object = JSUserObject.createWithPrototype((DynamicObject) prototype, jsContext);
+        } else {
+            throw Errors.createTypeErrorInvalidPrototype(prototype);
+        }
+        for (int i = 0; i < names.length; i++) {
+            Object key = JSRuntime.toPropertyKey(names[i]);
+            if (JSRuntime.isArrayIndex(key)) {
+                JSRuntime.createDataProperty(object, key, values[i]);
+            } else {
+                // Objects created from the same list of names share the shape transitions
+                JSObjectUtil.defineDataProperty(jsContext, object, key, values[i], JSAttributes.getDefault());
+            }
+        }
+        return object;
+    }
+
     public boolean objectSet(Object object, Object key, Object value) {
         DynamicObject dynamicObject = (DynamicObject) object;
         if (key instanceof HiddenKey) {
             dynamicObject.define(key, value);
         } else {
-            JSObject.set((DynamicObject) object, JSRuntime.toPropertyKey(key), value);
+            Object propertyKey = JSRuntime.toPropertyKey(key);
+            CallTarget setTarget = propertyAccessTarget(dynamicObject, propertyKey, PROPERTY_SET);
+            if (setTarget == null) {
+                JSObject.set(dynamicObject, propertyKey, value);
+            } else {
+                setTarget.call(dynamicObject, value);
+            }
         }
         return true;
     }
 
     public boolean objectSetIndex(Object object, int index, Object value) {
-        JSObject.set((DynamicObject) object, index, value);
+        DynamicObject dynamicObject = (DynamicObject) object;
+        if (JSObject.isJSObject(dynamicObject)) {
+            indexAccessTarget(JSObject.getJSContext(dynamicObject), PROPERTY_SET).call(dynamicObject, index, value);
+        } else {
+            JSObject.set(dynamicObject, index, value);
+        }
         return true;
     }
 
+    /**
+     * Returns the call target of a cached property access for the given key or {@code null} when
+     * the property should be accessed using the uncached (generic) lookup.
+     */
+    private static CallTarget propertyAccessTarget(Object object, Object key, int kind) {
+        if (!JSObject.isJSObject(object) || !(key instanceof String || key instanceof Symbol) || JSRuntime.isArrayIndex(key)) {
+            return null;
+        }
+        JSContext context = JSObject.getJSContext((DynamicObject) object);
+        ContextData contextData = (ContextData) context.getEmbedderData();
+        Map<Object, CallTarget> cache;
+        if (kind == PROPERTY_GET) {
+            cache = contextData.getPropertyGetCache();
+        } else if (kind == PROPERTY_SET) {
+            cache = contextData.getPropertySetCache();
+        } else {
+            cache = contextData.getPropertyHasCache();
+        }
+        CallTarget target = cache.get(key);
+        if (target == null) {
+            if (cache.size() >= PROPERTY_ACCESS_CACHE_LIMIT) {
+                // do not create call targets for keys that are (most likely) not reused
+                return null;
+            }
+            PropertyAccessRootNode rootNode;
+            if (kind == PROPERTY_GET) {
+                rootNode = PropertyAccessRootNode.createGet(context, key);
+            } else if (kind == PROPERTY_SET) {
+                rootNode = PropertyAccessRootNode.createSet(context, key);
+            } else {
+                rootNode = PropertyAccessRootNode.createHas(context, key);
+            }
+            target = Truffle.getRuntime().createCallTarget(rootNode);
+            cache.put(key, target);
+        }
+        return target;
+    }
+
+    private static CallTarget indexAccessTarget(JSContext context, int kind) {
+        ContextData contextData = (ContextData) context.getEmbedderData();
+        if (kind == PROPERTY_GET) {
+            CallTarget target = contextData.getIndexGetTarget();
+            if (target == null) {
+                target = Truffle.getRuntime().createCallTarget(PropertyAccessRootNode.createGetIndex(context));
+                contextData.setIndexGetTarget(target);
+            }
+            return target;
+        } else {
+            CallTarget target = contextData.getIndexSetTarget();
+            if (target == null) {
+                target = Truffle.getRuntime().createCallTarget(PropertyAccessRootNode.createSetIndex(context));
+                contextData.setIndexSetTarget(target);
+            }
+            return target;
+        }
+    }
+
     public boolean objectForceSet(Object object, Object key, Object value, int attributes) {
         Object propertyKey = JSRuntime.toPropertyKey(key);
         JSObject.delete((DynamicObject) object, propertyKey);
@@ -730,7 +831,13 @@ public final class GraalJSAccess {
                 value = hiddenValue;
             }
         } else {
-            value = JSObject.get(truffleObject, JSRuntime.toPropertyKey(key));
+            Object propertyKey = JSRuntime.toPropertyKey(key);
+            CallTarget getTarget = propertyAccessTarget(truffleObject, propertyKey, PROPERTY_GET);
+            if (getTarget == null) {
+                value = JSObject.get(truffleObject, propertyKey);
+            } else {
+                value = getTarget.call(truffleObject);
+            }
         }
         Object flatten = valueFlatten(value);
         resetSharedBuffer();
@@ -740,7 +847,14 @@ public final class GraalJSAccess {
     }
 
     public Object objectGetIndex(Object object, int index) {
-        Object value = valueFlatten(JSObject.get((DynamicObject) object, index));
+        DynamicObject dynamicObject = (DynamicObject) object;
+        Object element;
+        if (JSObject.isJSObject(dynamicObject)) {
+            element = indexAccessTarget(JSObject.getJSContext(dynamicObject), PROPERTY_GET).call(dynamicObject, index);
+        } else {
+            element = JSObject.get(dynamicObject, index);
+        }
+        Object value = valueFlatten(element);
         resetSharedBuffer();
         sharedBuffer.position(4);
         sharedBuffer.putInt(0, valueType(value, true));
@@ -804,7 +918,13 @@ public final class GraalJSAccess {
     }
 
     public boolean objectHas(Object object, Object key) {
-        return JSObject.hasProperty((DynamicObject) object, JSRuntime.toPropertyKey(key));
+        Object propertyKey = JSRuntime.toPropertyKey(key);
+        CallTarget hasTarget = propertyAccessTarget(object, propertyKey, PROPERTY_HAS);
+        if (hasTarget == null) {
+            return JSObject.hasProperty((DynamicObject) object, propertyKey);
+        } else {
+            return (boolean) hasTarget.call(object);
+        }
     }
 
     public boolean objectHasOwnProperty(Object object, Object key) {
@@ -998,6 +1118,10 @@ public final class GraalJSAccess {
         return JSArray.createConstantEmptyArray(((JSRealm) context).getContext(), length);
     }
 
+    public Object arrayNewFromElements(Object context, Object[] elements) {
+        return JSArray.createConstant(((JSRealm) context).getContext(), elements);
+    }
+
     public long arrayLength(Object object) {
         return JSArray.arrayGetLength((DynamicObject) object);
     }
@@ -1847,6 +1971,34 @@ public final class GraalJSAccess {
         return new UnboundScript(source, functionNode);
     }
 
+    public Object scriptStreamingStart() {
+        return new StreamingScriptParser((GraalJSParserOptions) mainJSContext.getParserOptions());
+    }
+
+    // Called on the background thread of the streaming task
+    public void scriptStreamingAddChunk(Object parser, Object chunk) {
+        ((StreamingScriptParser) parser).addChunk((String) chunk);
+    }
+
+    // Called on the background thread of the streaming task
+    public void scriptStreamingEndOfSource(Object parser) {
+        ((StreamingScriptParser) parser).endOfSource();
+    }
+
+    public Object scriptStreamingFinish(Object parser, Object fileName) {
+        StreamingScriptParser streamingParser = (StreamingScriptParser) parser;
+        FunctionNode functionNode = streamingParser.finish();
+        Source source = UnboundScript.createSource(internSourceCode(streamingParser.getContent()), (String) fileName);
+        if (functionNode == null) {
+            // Parse again on this thread to report the syntax error
+            functionNode = parseSource(source, mainJSContext);
+        } else {
+            ContextData contextData = (ContextData) mainJSContext.getEmbedderData();
+            contextData.getFunctionNodeCache().put(source.getCharacters().toString(), functionNode);
+        }
+        return new UnboundScript(source, functionNode);
+    }
+
     public Object unboundScriptBindToContext(Object context, Object script) {
         JSRealm jsRealm = (JSRealm) context;
         JSContext jsContext = jsRealm.getContext();
@@ -2463,10 +2615,34 @@ public final class GraalJSAccess {
         long total = runtime.totalMemory();
         long free = runtime.freeMemory();
         long max = runtime.maxMemory();
+        long used = total - free;
+        long nativeMemory = deallocator.getNativeMemory();
+        long external = MemoryStatistics.getBufferPoolMemory() + nativeMemory;
         resetSharedBuffer();
         sharedBuffer.putLong(total);
+        sharedBuffer.putLong(max - used);
+        sharedBuffer.putLong(used);
         sharedBuffer.putLong(max);
-        sharedBuffer.putLong(total - free);
+        sharedBuffer.putLong(nativeMemory);
+        sharedBuffer.putLong(deallocator.getPeakNativeMemory());
+        sharedBuffer.putLong(external);
+    }
+
+    public int isolateNumberOfHeapSpaces() {
+        return MemoryStatistics.getNumberOfHeapSpaces();
+    }
+
+    public String isolateGetHeapSpaceStatistics(int index) {
+        MemoryUsage usage = MemoryStatistics.getHeapSpaceUsage(index);
+        long committed = usage.getCommitted();
+        long used = usage.getUsed();
+        long max = usage.getMax();
+        resetSharedBuffer();
+        sharedBuffer.putLong(committed);
+        sharedBuffer.putLong(used);
+        sharedBuffer.putLong(Math.max(0, (max < 0 ? committed : max) - used));
+        sharedBuffer.putLong(committed);
+        return MemoryStatistics.getHeapSpaceName(index);
     }
 
     private boolean terminateExecution;
@@ -3029,16 +3205,17 @@ public final class GraalJSAccess {
     }
 
     public long bigIntInt64Value(Object value) {
-        BigInteger bigInt = ((BigInt) value).bigIntegerValue();
+        BigInt bigInt = (BigInt) value;
         resetSharedBuffer();
-        sharedBuffer.putInt(bigInt.bitLength() <= 63 ? 1 : 0); // lossless
+        sharedBuffer.putInt(bigInt.fitsInLong() ? 1 : 0); // lossless
         return bigInt.longValue();
     }
 
     public long bigIntUint64Value(Object value) {
-        BigInteger bigInt = ((BigInt) value).bigIntegerValue();
+        BigInt bigInt = (BigInt) value;
         resetSharedBuffer();
-        sharedBuffer.putInt((bigInt.signum() != -1 && bigInt.bitLength() <= 64) ? 1 : 0); // lossless
+        boolean lossless = bigInt.signum() != -1 && (bigInt.fitsInLong() || bigInt.bigIntegerValue().bitLength() <= 64);
+        sharedBuffer.putInt(lossless ? 1 : 0);
         return bigInt.longValue();
     }
 
@@ -3047,11 +3224,7 @@ public final class GraalJSAccess {
     }
 
     public Object bigIntNewFromUnsigned(long value) {
-        BigInteger bigInt = BigInteger.valueOf(value & 0x7FFFFFFFFFFFFFFFL);
-        if (value < 0) {
-            bigInt = bigInt.setBit(63);
-        }
-        return new BigInt(bigInt);
+        return BigInt.valueOfUnsigned(value);
     }
 
     public Object bigIntNewFromWords() { // all arguments are in sharedBuffer
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2018, 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.trufflenode;
+
+import com.oracle.truffle.js.runtime.JSTruffleOptions;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Heap and external memory statistics reported through {@code v8::Isolate::GetHeapStatistics()}
+ * and {@code v8::Isolate::GetHeapSpaceStatistics()}. Heap spaces correspond to the heap memory
+ * pools of the JVM. External memory covers the direct and mapped NIO buffers (i.e. the backing
+ * stores of {@code ArrayBuffer}s) together with the native memory owned by the {@link Deallocator}.
+ */
+final class MemoryStatistics {
+
+    /**
+     * Name of the (only) heap space reported when the memory pools of the JVM are not available.
+     */
+    private static final String DEFAULT_HEAP_SPACE_NAME = "heap";
+
+    private static final List<MemoryPoolMXBean> HEAP_POOLS;
+    private static final List<BufferPoolMXBean> BUFFER_POOLS;
+
+    static {
+        List<MemoryPoolMXBean> heapPools = Collections.emptyList();
+        List<BufferPoolMXBean> bufferPools = Collections.emptyList();
+        if (!JSTruffleOptions.SubstrateVM) {
+            try {
+                heapPools = new ArrayList<>();
+                for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                    if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                        heapPools.add(pool);
+                    }
+                }
+                bufferPools = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class);
+            } catch (LinkageError | SecurityException ex) {
+                heapPools = Collections.emptyList();
+                bufferPools = Collections.emptyList();
+            }
+        }
+        HEAP_POOLS = heapPools;
+        BUFFER_POOLS = bufferPools;
+    }
+
+    private MemoryStatistics() {
+    }
+
+    static int getNumberOfHeapSpaces() {
+        return HEAP_POOLS.isEmpty() ? 1 : HEAP_POOLS.size();
+    }
+
+    /**
+     * Returns the name of the heap space with the given index, i.e., the name of the corresponding
+     * memory pool converted to the style of V8 space names (for example {@code g1_eden_space}).
+     */
+    static String getHeapSpaceName(int index) {
+        if (HEAP_POOLS.isEmpty()) {
+            return DEFAULT_HEAP_SPACE_NAME;
+        }
+        return HEAP_POOLS.get(index).getName().trim().toLowerCase(Locale.ROOT).replace(' ', '_').replace('\'', '_');
+    }
+
+    /**
+     * Returns the usage of the heap space with the given index.
+     */
+    static MemoryUsage getHeapSpaceUsage(int index) {
+        if (HEAP_POOLS.isEmpty()) {
+            Runtime runtime = Runtime.getRuntime();
+            long total = runtime.totalMemory();
+            return new MemoryUsage(-1, total - runtime.freeMemory(), total, runtime.maxMemory());
+        }
+        return HEAP_POOLS.get(index).getUsage();
+    }
+
+    /**
+     * Returns the number of bytes used by the direct and mapped buffers allocated by Java.
+     */
+    static long getBufferPoolMemory() {
+        long used = 0;
+        for (BufferPoolMXBean pool : BUFFER_POOLS) {
+            long poolUsed = pool.getMemoryUsed();
+            if (poolUsed > 0) {
+                used += poolUsed;
+            }
+        }
+        return used;
+    }
+
+}
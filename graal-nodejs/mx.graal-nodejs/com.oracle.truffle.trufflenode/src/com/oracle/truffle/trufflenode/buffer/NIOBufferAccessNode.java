@@ -41,8 +41,6 @@
 package com.oracle.truffle.trufflenode.buffer;
 
 import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
-import java.nio.charset.Charset;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.object.DynamicObject;
@@ -53,15 +51,18 @@ import com.oracle.truffle.js.nodes.function.JSBuiltinNode;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSException;
+import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.builtins.JSArrayBuffer;
 import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
+import com.oracle.truffle.js.runtime.builtins.JSFunction;
 import com.oracle.truffle.js.runtime.builtins.JSSharedArrayBuffer;
 import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.DirectByteBufferHelper;
+import com.oracle.truffle.trufflenode.GraalJSAccess;
 
 public abstract class NIOBufferAccessNode extends JSBuiltinNode {
 
-    protected static final Charset utf8 = Charset.forName("UTF-8");
-
     @Child protected ArrayBufferViewGetByteLengthNode getLenNode;
 
     public NIOBufferAccessNode(JSContext context, JSBuiltin builtin) {
@@ -69,6 +70,20 @@ public abstract class NIOBufferAccessNode extends JSBuiltinNode {
         this.getLenNode = ArrayBufferViewGetByteLengthNodeGen.create(context);
     }
 
+    /**
+     * The native implementation of a builtin, used when the arguments cannot be handled here.
+     */
+    protected final DynamicObject getNativeBuiltin(NIOBufferBuiltins.Buffer builtin) {
+        return GraalJSAccess.getRealmEmbedderData(getContext().getRealm()).getNativeBufferBuiltin(builtin);
+    }
+
+    /**
+     * Calls the native implementation of a function of the buffer binding.
+     */
+    protected final Object callNativeBuiltin(NIOBufferBuiltins.Buffer builtin, Object... args) {
+        return JSFunction.call(getNativeBuiltin(builtin), Undefined.instance, args);
+    }
+
     protected static DynamicObject getArrayBuffer(DynamicObject target) {
         assert JSArrayBufferView.isJSArrayBufferView(target) : "Target object must be a JSArrayBufferView";
         DynamicObject arrayBuffer = JSArrayBufferView.getArrayBuffer(target);
@@ -85,6 +100,32 @@ public abstract class NIOBufferAccessNode extends JSBuiltinNode {
         }
     }
 
+    /**
+     * The direct byte buffer backing the view; the data of the view starts at
+     * {@link #getOffset(DynamicObject)}.
+     */
+    protected static ByteBuffer getViewByteBuffer(DynamicObject target) {
+        return getDirectByteBuffer(getArrayBuffer(target));
+    }
+
+    /**
+     * Like {@link #getViewByteBuffer(DynamicObject)}, but throws a TypeError if the buffer is
+     * read-only. Has to be used by builtins that write into the view.
+     */
+    protected static ByteBuffer getWritableViewByteBuffer(DynamicObject target) {
+        return DirectByteBufferHelper.checkWritable(getViewByteBuffer(target));
+    }
+
+    /**
+     * Converts a number argument to an integer by truncation (like {@code Integer::Value()}).
+     */
+    protected static long toInteger(Object number) {
+        if (number instanceof Integer) {
+            return (int) number;
+        }
+        return (long) JSRuntime.doubleValue((Number) number);
+    }
+
     protected int getOffset(DynamicObject target) {
         int byteOffset = JSArrayBufferView.getByteOffset(target, JSArrayBufferView.isJSArrayBufferView(target), getContext());
         return byteOffset;
@@ -94,11 +135,6 @@ public abstract class NIOBufferAccessNode extends JSBuiltinNode {
         return getLenNode.executeInt(target);
     }
 
-    protected static ByteBuffer sliceBuffer(ByteBuffer rawBuffer, int byteOffset) {
-        ByteBuffer data = ((ByteBuffer) rawBuffer.duplicate().position(byteOffset)).slice().order(ByteOrder.nativeOrder());
-        return data;
-    }
-
     @TruffleBoundary
     protected void outOfBoundsFail() {
         JSException exception = Errors.createRangeError("out of range index");
@@ -52,7 +52,26 @@ public final class NIOBufferBuiltins extends JSBuiltinsContainer.SwitchEnum<NIOB
 
     public enum Buffer implements BuiltinEnum<Buffer> {
         utf8Write(0),
-        utf8Slice(0);
+        latin1Write(0),
+        asciiWrite(0),
+        hexWrite(0),
+        base64Write(0),
+        ucs2Write(0),
+        utf8Slice(0),
+        latin1Slice(0),
+        asciiSlice(0),
+        hexSlice(0),
+        base64Slice(0),
+        ucs2Slice(0),
+
+        // functions of the buffer binding
+        byteLengthUtf8(0),
+        compare(0),
+        compareOffset(0),
+        fill(0),
+        indexOfString(0),
+        indexOfBuffer(0),
+        indexOfNumber(0);
 
         private final int length;
 
@@ -71,8 +90,42 @@ public final class NIOBufferBuiltins extends JSBuiltinsContainer.SwitchEnum<NIOB
         switch (builtinEnum) {
             case utf8Write:
                 return NIOBufferUTF8WriteNodeGen.create(context, builtin, args().withThis().fixedArgs(3).createArgumentNodes(context));
+            case latin1Write:
+                return NIOBufferLatin1WriteNodeGen.create(context, builtin, false, args().withThis().fixedArgs(3).createArgumentNodes(context));
+            case asciiWrite:
+                return NIOBufferLatin1WriteNodeGen.create(context, builtin, true, args().withThis().fixedArgs(3).createArgumentNodes(context));
+            case hexWrite:
+                return NIOBufferHexWriteNodeGen.create(context, builtin, args().withThis().fixedArgs(3).createArgumentNodes(context));
+            case base64Write:
+                return NIOBufferBase64WriteNodeGen.create(context, builtin, args().withThis().fixedArgs(3).createArgumentNodes(context));
+            case ucs2Write:
+                return NIOBufferUCS2WriteNodeGen.create(context, builtin, args().withThis().fixedArgs(3).createArgumentNodes(context));
             case utf8Slice:
                 return NIOBufferUTF8SliceNodeGen.create(context, builtin, args().withThis().fixedArgs(2).createArgumentNodes(context));
+            case latin1Slice:
+                return NIOBufferLatin1SliceNodeGen.create(context, builtin, false, args().withThis().fixedArgs(2).createArgumentNodes(context));
+            case asciiSlice:
+                return NIOBufferLatin1SliceNodeGen.create(context, builtin, true, args().withThis().fixedArgs(2).createArgumentNodes(context));
+            case hexSlice:
+                return NIOBufferHexSliceNodeGen.create(context, builtin, args().withThis().fixedArgs(2).createArgumentNodes(context));
+            case base64Slice:
+                return NIOBufferBase64SliceNodeGen.create(context, builtin, args().withThis().fixedArgs(2).createArgumentNodes(context));
+            case ucs2Slice:
+                return NIOBufferUCS2SliceNodeGen.create(context, builtin, args().withThis().fixedArgs(2).createArgumentNodes(context));
+            case byteLengthUtf8:
+                return NIOBufferByteLengthNodeGen.create(context, builtin, args().fixedArgs(1).createArgumentNodes(context));
+            case compare:
+                return NIOBufferCompareNodeGen.create(context, builtin, args().fixedArgs(2).createArgumentNodes(context));
+            case compareOffset:
+                return NIOBufferCompareOffsetNodeGen.create(context, builtin, args().fixedArgs(6).createArgumentNodes(context));
+            case fill:
+                return NIOBufferFillNodeGen.create(context, builtin, args().fixedArgs(5).createArgumentNodes(context));
+            case indexOfString:
+                return NIOBufferIndexOfStringNodeGen.create(context, builtin, args().fixedArgs(5).createArgumentNodes(context));
+            case indexOfBuffer:
+                return NIOBufferIndexOfBufferNodeGen.create(context, builtin, args().fixedArgs(5).createArgumentNodes(context));
+            case indexOfNumber:
+                return NIOBufferIndexOfNumberNodeGen.create(context, builtin, args().fixedArgs(4).createArgumentNodes(context));
         }
         return null;
     }
@@ -0,0 +1,670 @@
+/*
+ * Copyright (c) 2018, 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.trufflenode.buffer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.util.Arrays;
+import java.util.Locale;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.objects.JSLazyString;
+import com.oracle.truffle.js.runtime.objects.Undefined;
+
+/**
+ * Encoders and decoders of the Node.js Buffer encodings. They access the buffer with absolute
+ * indices, so they allocate neither buffer views nor intermediate byte or char arrays. The results
+ * match the native implementations in {@code string_bytes.cc}, {@code base64.h} and
+ * {@code graal_string.cc}.
+ */
+final class NIOBufferCodecs {
+
+    enum Encoding {
+        UTF8,
+        UCS2,
+        LATIN1,
+        ASCII,
+        HEX,
+        BASE64
+    }
+
+    private static final char REPLACEMENT_CHARACTER = '\uFFFD';
+
+    private static final byte[] HEX_DIGITS = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'};
+
+    private static final byte[] BASE64_DIGITS = {'A', 'B', 'C', 'D', 'E', 'F', 'G', 'H', 'I', 'J', 'K', 'L', 'M', 'N', 'O', 'P', 'Q', 'R', 'S', 'T', 'U', 'V', 'W', 'X', 'Y',
+                    'Z', 'a', 'b', 'c', 'd', 'e', 'f', 'g', 'h', 'i', 'j', 'k', 'l', 'm', 'n', 'o', 'p', 'q', 'r', 's', 't', 'u', 'v', 'w', 'x', 'y', 'z', '0', '1', '2', '3',
+                    '4', '5', '6', '7', '8', '9', '+', '/'};
+
+    /** Value of a hex digit, or -1. */
+    private static final byte[] UNHEX = new byte[256];
+
+    /** Value of a base64 digit (both the standard and the URL-safe alphabet), or -1. */
+    private static final byte[] UNBASE64 = new byte[256];
+
+    static {
+        Arrays.fill(UNHEX, (byte) -1);
+        Arrays.fill(UNBASE64, (byte) -1);
+        for (int i = 0; i < 16; i++) {
+            UNHEX[HEX_DIGITS[i]] = (byte) i;
+            UNHEX[Character.toUpperCase(HEX_DIGITS[i])] = (byte) i;
+        }
+        for (int i = 0; i < 64; i++) {
+            UNBASE64[BASE64_DIGITS[i]] = (byte) i;
+        }
+        UNBASE64['-'] = 62;
+        UNBASE64['_'] = 63;
+    }
+
+    private NIOBufferCodecs() {
+    }
+
+    /**
+     * Parses the encoding argument of the buffer bindings like {@code ParseEncoding()}: undefined
+     * means UTF-8 and names are case-insensitive. Returns {@code null} for encodings and values
+     * that are not handled here.
+     */
+    @TruffleBoundary
+    static Encoding parseEncoding(Object encoding) {
+        if (encoding == Undefined.instance) {
+            return Encoding.UTF8;
+        } else if (!JSRuntime.isString(encoding)) {
+            return null;
+        }
+        switch (encoding.toString().toLowerCase(Locale.ROOT)) {
+            case "utf8":
+            case "utf-8":
+                return Encoding.UTF8;
+            case "ucs2":
+            case "ucs-2":
+            case "utf16le":
+            case "utf-16le":
+                return Encoding.UCS2;
+            case "latin1":
+            case "binary":
+                return Encoding.LATIN1;
+            case "ascii":
+                return Encoding.ASCII;
+            case "hex":
+                return Encoding.HEX;
+            case "base64":
+                return Encoding.BASE64;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Writes the string in the given encoding to {@code [index, end)}.
+     *
+     * @return the number of bytes written
+     */
+    static int write(Encoding encoding, String str, ByteBuffer buffer, int index, int end) {
+        switch (encoding) {
+            case UTF8:
+                return utf8Write(str, buffer, index, end);
+            case UCS2:
+                return ucs2Write(str, buffer, index, end);
+            case HEX:
+                return hexWrite(str, buffer, index, end);
+            case BASE64:
+                return base64Write(str, buffer, index, end);
+            default:
+                return latin1Write(str, buffer, index, end);
+        }
+    }
+
+    // UTF-8
+
+    /**
+     * Length of the UTF-8 encoding of the string, with unpaired surrogates encoded as U+FFFD.
+     */
+    @TruffleBoundary
+    static int utf8Length(String str) {
+        int strLength = str.length();
+        int length = 0;
+        for (int i = 0; i < strLength; i++) {
+            char c = str.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < strLength && Character.isLowSurrogate(str.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Writes the UTF-8 encoding of the string to {@code [index, end)}. Only complete characters are
+     * written; unpaired surrogates are replaced by U+FFFD.
+     *
+     * @return the number of bytes written
+     */
+    @TruffleBoundary
+    static int utf8Write(String str, ByteBuffer buffer, int index, int end) {
+        int strLength = str.length();
+        int position = index;
+        for (int i = 0; i < strLength; i++) {
+            char c = str.charAt(i);
+            if (c < 0x80) {
+                if (position == end) {
+                    break;
+                }
+                buffer.put(position++, (byte) c);
+                continue;
+            } else if (c < 0x800) {
+                if (end - position < 2) {
+                    break;
+                }
+                buffer.put(position++, (byte) (0xC0 | (c >> 6)));
+                buffer.put(position++, (byte) (0x80 | (c & 0x3F)));
+                continue;
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < strLength && Character.isLowSurrogate(str.charAt(i + 1))) {
+                    if (end - position < 4) {
+                        break;
+                    }
+                    int codePoint = Character.toCodePoint(c, str.charAt(++i));
+                    buffer.put(position++, (byte) (0xF0 | (codePoint >> 18)));
+                    buffer.put(position++, (byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                    buffer.put(position++, (byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                    buffer.put(position++, (byte) (0x80 | (codePoint & 0x3F)));
+                    continue;
+                }
+                c = REPLACEMENT_CHARACTER;
+            }
+            if (end - position < 3) {
+                break;
+            }
+            buffer.put(position++, (byte) (0xE0 | (c >> 12)));
+            buffer.put(position++, (byte) (0x80 | ((c >> 6) & 0x3F)));
+            buffer.put(position++, (byte) (0x80 | (c & 0x3F)));
+        }
+        return position - index;
+    }
+
+    /**
+     * Decodes well-formed UTF-8 data from {@code [start, end)}. ASCII data becomes a one-byte
+     * string.
+     *
+     * @throws CharacterCodingException if the data is not well-formed, so that the native decoder
+     *             can apply its replacement rules
+     */
+    @TruffleBoundary
+    static CharSequence utf8Slice(ByteBuffer buffer, int start, int end) throws CharacterCodingException {
+        int asciiEnd = start;
+        while (asciiEnd < end && buffer.get(asciiEnd) >= 0) {
+            asciiEnd++;
+        }
+        if (asciiEnd == end) {
+            // ASCII is a subset of UTF-8 and of ISO-8859-1
+            return latin1Slice(buffer, start, end, false);
+        }
+        char[] chars = new char[end - start];
+        int length = 0;
+        for (int i = start; i < asciiEnd; i++) {
+            chars[length++] = (char) buffer.get(i);
+        }
+        int i = asciiEnd;
+        while (i < end) {
+            int b0 = buffer.get(i++) & 0xFF;
+            if (b0 < 0x80) {
+                chars[length++] = (char) b0;
+            } else if (b0 >= 0xC2 && b0 <= 0xDF) {
+                int b1 = continuation(buffer, i++, end, 0x80, 0xBF);
+                chars[length++] = (char) (((b0 & 0x1F) << 6) | b1);
+            } else if (b0 >= 0xE0 && b0 <= 0xEF) {
+                int b1 = continuation(buffer, i++, end, b0 == 0xE0 ? 0xA0 : 0x80, b0 == 0xED ? 0x9F : 0xBF);
+                int b2 = continuation(buffer, i++, end, 0x80, 0xBF);
+                chars[length++] = (char) (((b0 & 0x0F) << 12) | (b1 << 6) | b2);
+            } else if (b0 >= 0xF0 && b0 <= 0xF4) {
+                int b1 = continuation(buffer, i++, end, b0 == 0xF0 ? 0x90 : 0x80, b0 == 0xF4 ? 0x8F : 0xBF);
+                int b2 = continuation(buffer, i++, end, 0x80, 0xBF);
+                int b3 = continuation(buffer, i++, end, 0x80, 0xBF);
+                int codePoint = ((b0 & 0x07) << 18) | (b1 << 12) | (b2 << 6) | b3;
+                chars[length++] = Character.highSurrogate(codePoint);
+                chars[length++] = Character.lowSurrogate(codePoint);
+            } else {
+                throw new CharacterCodingException();
+            }
+        }
+        return new String(chars, 0, length);
+    }
+
+    /**
+     * Returns the payload bits of the continuation byte at {@code index}, which must be in
+     * {@code [min, max]}.
+     */
+    private static int continuation(ByteBuffer buffer, int index, int end, int min, int max) throws CharacterCodingException {
+        if (index >= end) {
+            throw new CharacterCodingException();
+        }
+        int b = buffer.get(index) & 0xFF;
+        if (b < min || b > max) {
+            throw new CharacterCodingException();
+        }
+        return b & 0x3F;
+    }
+
+    // Latin-1, ASCII
+
+    /**
+     * Writes the low bytes of the characters of the string to {@code [index, end)}.
+     *
+     * @return the number of bytes written
+     */
+    @TruffleBoundary
+    static int latin1Write(String str, ByteBuffer buffer, int index, int end) {
+        int length = Math.min(str.length(), end - index);
+        for (int i = 0; i < length; i++) {
+            buffer.put(index + i, (byte) str.charAt(i));
+        }
+        return length;
+    }
+
+    /**
+     * Copies {@code [start, end)} into a one-byte string; ASCII additionally clears the high bit of
+     * every byte (like Node.js).
+     */
+    @TruffleBoundary
+    static CharSequence latin1Slice(ByteBuffer buffer, int start, int end, boolean ascii) {
+        byte[] bytes = new byte[end - start];
+        ByteBuffer source = buffer.duplicate();
+        source.limit(end).position(start);
+        source.get(bytes);
+        if (ascii) {
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] &= 0x7f;
+            }
+        }
+        return JSLazyString.createOneByte(bytes);
+    }
+
+    // UCS-2
+
+    /**
+     * Writes the characters of the string to {@code [index, end)} in little-endian byte order.
+     * Only complete characters are written.
+     *
+     * @return the number of bytes written
+     */
+    @TruffleBoundary
+    static int ucs2Write(String str, ByteBuffer buffer, int index, int end) {
+        int length = Math.min(str.length(), (end - index) / 2);
+        for (int i = 0; i < length; i++) {
+            char c = str.charAt(i);
+            buffer.put(index + 2 * i, (byte) c);
+            buffer.put(index + 2 * i + 1, (byte) (c >> 8));
+        }
+        return 2 * length;
+    }
+
+    /**
+     * Decodes little-endian UTF-16 code units from {@code [start, end)}; an odd last byte is
+     * ignored.
+     */
+    @TruffleBoundary
+    static CharSequence ucs2Slice(ByteBuffer buffer, int start, int end) {
+        char[] chars = new char[(end - start) / 2];
+        for (int i = 0; i < chars.length; i++) {
+            int index = start + 2 * i;
+            chars[i] = (char) ((buffer.get(index) & 0xFF) | (buffer.get(index + 1) << 8));
+        }
+        return new String(chars);
+    }
+
+    // hex
+
+    /**
+     * Decodes pairs of hex digits into {@code [index, end)}, stopping at the first invalid pair.
+     *
+     * @return the number of bytes written
+     */
+    @TruffleBoundary
+    static int hexWrite(String str, ByteBuffer buffer, int index, int end) {
+        int length = Math.min(str.length() / 2, end - index);
+        for (int i = 0; i < length; i++) {
+            int high = UNHEX[str.charAt(2 * i) & 0xFF];
+            int low = UNHEX[str.charAt(2 * i + 1) & 0xFF];
+            if (high < 0 || low < 0) {
+                return i;
+            }
+            buffer.put(index + i, (byte) ((high << 4) | low));
+        }
+        return length;
+    }
+
+    @TruffleBoundary
+    static CharSequence hexSlice(ByteBuffer buffer, int start, int end) {
+        byte[] digits = new byte[2 * (end - start)];
+        for (int i = start, k = 0; i < end; i++) {
+            int b = buffer.get(i);
+            digits[k++] = HEX_DIGITS[(b >> 4) & 0xF];
+            digits[k++] = HEX_DIGITS[b & 0xF];
+        }
+        return JSLazyString.createOneByte(digits);
+    }
+
+    // base64
+
+    /**
+     * Upper bound of the number of bytes encoded by a base64 string, ignoring padding.
+     */
+    private static int base64DecodedSize(String str) {
+        int size = str.length();
+        if (size > 0 && str.charAt(size - 1) == '=') {
+            size--;
+        }
+        if (size > 0 && str.charAt(size - 1) == '=') {
+            size--;
+        }
+        int remainder = size % 4;
+        size = size / 4 * 3;
+        if (remainder != 0) {
+            if (size == 0 && remainder == 1) {
+                // a single character cannot be decoded
+                size = 0;
+            } else {
+                size += remainder == 3 ? 2 : 1;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Decodes base64 (standard or URL-safe alphabet) into {@code [index, end)}. Characters outside
+     * of the alphabet are skipped and decoding stops at padding, like {@code base64_decode()}: runs
+     * of four valid characters are decoded at once and everything else one character at a time.
+     *
+     * @return the number of bytes written
+     */
+    @TruffleBoundary
+    static int base64Write(String str, ByteBuffer buffer, int index, int end) {
+        int srcLength = str.length();
+        int dstLength = end - index;
+        int maxK = Math.min(dstLength, base64DecodedSize(str)) / 3 * 3;
+        int maxI = srcLength / 4 * 4;
+        int i = 0;
+        int k = 0;
+        while (true) {
+            boolean fast = i < maxI && k < maxK;
+            if (fast) {
+                int a = UNBASE64[str.charAt(i) & 0xFF];
+                int b = UNBASE64[str.charAt(i + 1) & 0xFF];
+                int c = UNBASE64[str.charAt(i + 2) & 0xFF];
+                int d = UNBASE64[str.charAt(i + 3) & 0xFF];
+                if ((a | b | c | d) >= 0) {
+                    buffer.put(index + k, (byte) ((a << 2) | (b >> 4)));
+                    buffer.put(index + k + 1, (byte) ((b << 4) | (c >> 2)));
+                    buffer.put(index + k + 2, (byte) ((c << 6) | d));
+                    i += 4;
+                    k += 3;
+                    continue;
+                }
+            } else if (i >= srcLength || k >= dstLength) {
+                return k;
+            }
+            // decode one group of four characters, skipping invalid ones
+            int hi = 0;
+            for (int n = 0; n < 4; n++) {
+                int lo;
+                while (true) {
+                    int c = str.charAt(i++) & 0xFF;
+                    lo = UNBASE64[c];
+                    if (lo >= 0) {
+                        break;
+                    }
+                    if (c == '=' || i >= srcLength) {
+                        return k;
+                    }
+                }
+                if (n == 1) {
+                    buffer.put(index + k++, (byte) ((hi << 2) | (lo >> 4)));
+                } else if (n == 2) {
+                    buffer.put(index + k++, (byte) ((hi << 4) | (lo >> 2)));
+                } else if (n == 3) {
+                    buffer.put(index + k++, (byte) ((hi << 6) | lo));
+                }
+                if (i >= srcLength || k >= dstLength) {
+                    return k;
+                }
+                hi = lo;
+            }
+            if (!fast) {
+                // only a single group is decoded after the fast loop
+                return k;
+            }
+            maxI = i + (srcLength - i) / 4 * 4;
+        }
+    }
+
+    @TruffleBoundary
+    static CharSequence base64Slice(ByteBuffer buffer, int start, int end) {
+        int length = end - start;
+        byte[] digits = new byte[(length + 2) / 3 * 4];
+        int i = start;
+        int k = 0;
+        for (int groupsEnd = start + length / 3 * 3; i < groupsEnd; i += 3) {
+            int a = buffer.get(i) & 0xFF;
+            int b = buffer.get(i + 1) & 0xFF;
+            int c = buffer.get(i + 2) & 0xFF;
+            digits[k++] = BASE64_DIGITS[a >> 2];
+            digits[k++] = BASE64_DIGITS[((a & 3) << 4) | (b >> 4)];
+            digits[k++] = BASE64_DIGITS[((b & 0x0F) << 2) | (c >> 6)];
+            digits[k++] = BASE64_DIGITS[c & 0x3F];
+        }
+        if (i < end) {
+            int a = buffer.get(i) & 0xFF;
+            int b = i + 1 < end ? buffer.get(i + 1) & 0xFF : 0;
+            digits[k++] = BASE64_DIGITS[a >> 2];
+            digits[k++] = BASE64_DIGITS[((a & 3) << 4) | (b >> 4)];
+            digits[k++] = i + 1 < end ? BASE64_DIGITS[(b & 0x0F) << 2] : (byte) '=';
+            digits[k++] = '=';
+        }
+        return JSLazyString.createOneByte(digits);
+    }
+
+    // searching and comparing
+
+    /**
+     * Compares {@code length} bytes as unsigned values, like {@code memcmp()}.
+     *
+     * @return -1, 0 or 1
+     */
+    @TruffleBoundary
+    static int compare(ByteBuffer a, int aIndex, ByteBuffer b, int bIndex, int length) {
+        for (int i = 0; i < length; i++) {
+            int diff = (a.get(aIndex + i) & 0xFF) - (b.get(bIndex + i) & 0xFF);
+            if (diff != 0) {
+                return diff < 0 ? -1 : 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Searches for the needle in the haystack in units of {@code unitSize} bytes, i.e., only at
+     * offsets that are multiples of the unit size. The forward search returns the first match at or
+     * after {@code startIndex}, the backward search the last match at or before it.
+     *
+     * @return the byte offset of the match relative to {@code hayIndex}, or -1
+     */
+    @TruffleBoundary
+    static int indexOf(ByteBuffer haystack, int hayIndex, int hayLength, ByteBuffer needle, int needleIndex, int needleLength, int startIndex, boolean forward, int unitSize) {
+        int hayUnits = hayLength / unitSize;
+        int needleUnits = needleLength / unitSize;
+        if (hayUnits < needleUnits) {
+            return -1;
+        }
+        int last = hayUnits - needleUnits;
+        int start = startIndex / unitSize;
+        int compareLength = needleUnits * unitSize;
+        byte first = needle.get(needleIndex);
+        if (forward) {
+            for (int pos = start; pos <= last; pos++) {
+                int offset = pos * unitSize;
+                if (haystack.get(hayIndex + offset) == first && compare(haystack, hayIndex + offset, needle, needleIndex, compareLength) == 0) {
+                    return offset;
+                }
+            }
+        } else {
+            for (int pos = Math.min(start, last); pos >= 0; pos--) {
+                int offset = pos * unitSize;
+                if (haystack.get(hayIndex + offset) == first && compare(haystack, hayIndex + offset, needle, needleIndex, compareLength) == 0) {
+                    return offset;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Computes the offset at which an {@code indexOf} or {@code lastIndexOf} search starts, like
+     * {@code IndexOfOffset()} in {@code node_buffer.cc}.
+     *
+     * @return an offset into the buffer, or -1 if there cannot be a match
+     */
+    static long indexOfOffset(int length, long offset, int needleLength, boolean forward) {
+        if (offset < 0) {
+            if (offset + length >= 0) {
+                // negative offsets count backwards from the end of the buffer
+                return length + offset;
+            } else if (forward || needleLength == 0) {
+                return 0;
+            } else {
+                return -1;
+            }
+        } else {
+            if (offset + needleLength <= length) {
+                return offset;
+            } else if (needleLength == 0) {
+                return length;
+            } else if (forward) {
+                return -1;
+            } else {
+                return length - 1;
+            }
+        }
+    }
+
+    /**
+     * Normalizes a comparison result like {@code normalizeCompareVal()}: equal prefixes are ordered
+     * by their length.
+     */
+    static int normalizeCompareValue(int value, int aLength, int bLength) {
+        if (value == 0) {
+            if (aLength > bLength) {
+                return 1;
+            } else if (aLength < bLength) {
+                return -1;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Searches for a byte, forward from {@code startIndex} or backward from it.
+     *
+     * @return the offset of the byte relative to {@code index}, or -1
+     */
+    @TruffleBoundary
+    static int indexOfByte(ByteBuffer buffer, int index, int length, byte value, int startIndex, boolean forward) {
+        if (forward) {
+            for (int i = startIndex; i < length; i++) {
+                if (buffer.get(index + i) == value) {
+                    return i;
+                }
+            }
+        } else {
+            for (int i = startIndex; i >= 0; i--) {
+                if (buffer.get(index + i) == value) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Encodes the string into a new heap buffer of exactly {@code length} bytes.
+     */
+    @TruffleBoundary
+    static ByteBuffer encode(Encoding encoding, String str, int length) {
+        ByteBuffer needle = ByteBuffer.allocate(length);
+        write(encoding, str, needle, 0, length);
+        return needle;
+    }
+
+    @TruffleBoundary
+    static void fill(ByteBuffer buffer, int index, int end, byte value) {
+        for (int i = index; i < end; i++) {
+            buffer.put(i, value);
+        }
+    }
+
+    /**
+     * Fills {@code [index, end)} by repeatedly copying the pattern at {@code [index, index +
+     * patternLength)}, doubling the copied block every time.
+     */
+    static void repeat(ByteBuffer buffer, int index, int end, int patternLength) {
+        int filled = patternLength;
+        while (filled < end - index) {
+            int chunk = Math.min(filled, end - index - filled);
+            copy(buffer, index, buffer, index + filled, chunk);
+            filled += chunk;
+        }
+    }
+
+    @TruffleBoundary
+    static void copy(ByteBuffer source, int sourceIndex, ByteBuffer target, int targetIndex, int length) {
+        ByteBuffer from = source.duplicate();
+        from.limit(sourceIndex + length).position(sourceIndex);
+        ByteBuffer to = target.duplicate();
+        to.position(targetIndex);
+        to.put(from);
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2018, 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.trufflenode.buffer;
+
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.profiles.BranchProfile;
+import com.oracle.truffle.js.nodes.function.JSBuiltin;
+import com.oracle.truffle.js.runtime.JSContext;
+
+/**
+ * {@code compareOffset(source, target, targetStart, sourceStart, targetEnd, sourceEnd)} of the
+ * buffer binding. Ranges that are out of bounds are left to the native implementation, which throws
+ * the appropriate errors.
+ */
+public abstract class NIOBufferCompareOffsetNode extends NIOBufferAccessNode {
+
+    protected final BranchProfile nativePath = BranchProfile.create();
+
+    public NIOBufferCompareOffsetNode(JSContext context, JSBuiltin builtin) {
+        super(context, builtin);
+    }
+
+    @Specialization(guards = {"accept(source)", "accept(target)"})
+    public Object compareOffset(DynamicObject source, DynamicObject target, int targetStart, int sourceStart, int targetEnd, int sourceEnd) {
+        int sourceLength = getLength(source);
+        int targetLength = getLength(target);
+        if (sourceStart < 0 || sourceStart > sourceEnd || sourceEnd > sourceLength || targetStart < 0 || targetStart > targetEnd || targetEnd > targetLength) {
+            nativePath.enter();
+            return compareOffsetDefault(source, target, targetStart, sourceStart, targetEnd, sourceEnd);
+        }
+        int length = Math.min(sourceEnd - sourceStart, targetEnd - targetStart);
+        int result = NIOBufferCodecs.compare(getViewByteBuffer(source), getOffset(source) + sourceStart, getViewByteBuffer(target), getOffset(target) + targetStart, length);
+        return NIOBufferCodecs.normalizeCompareValue(result, sourceEnd - sourceStart, targetEnd - targetStart);
+    }
+
+    @Specialization
+    public Object compareOffsetDefault(Object source, Object target, Object targetStart, Object sourceStart, Object targetEnd, Object sourceEnd) {
+        return callNativeBuiltin(NIOBufferBuiltins.Buffer.compareOffset, source, target, targetStart, sourceStart, targetEnd, sourceEnd);
+    }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2018, 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.trufflenode.buffer;
+
+import java.nio.ByteBuffer;
+
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.profiles.BranchProfile;
+import com.oracle.truffle.js.nodes.function.JSBuiltin;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
+import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.trufflenode.buffer.NIOBufferCodecs.Encoding;
+
+/**
+ * {@code fill(buffer, value, start, end, encoding)} of the buffer binding. The value is written
+ * once at the start of the range and then copied with doubling block sizes. Returns -2 for an
+ * invalid range and -1 when no byte of the value could be written, like the native implementation.
+ */
+public abstract class NIOBufferFillNode extends NIOBufferAccessNode {
+
+    protected final BranchProfile nativePath = BranchProfile.create();
+
+    public NIOBufferFillNode(JSContext context, JSBuiltin builtin) {
+        super(context, builtin);
+    }
+
+    @Specialization(guards = {"accept(target)", "start >= 0", "end >= 0"})
+    public Object fill(DynamicObject target, Object value, int start, int end, Object encoding) {
+        if (start > end || end > getLength(target)) {
+            return -2;
+        }
+        ByteBuffer buffer = getWritableViewByteBuffer(target);
+        int index = getOffset(target) + start;
+        int fillEnd = index + (end - start);
+        int patternLength;
+        if (JSArrayBufferView.isJSArrayBufferView(value)) {
+            DynamicObject source = (DynamicObject) value;
+            patternLength = getLength(source);
+            NIOBufferCodecs.copy(getViewByteBuffer(source), getOffset(source), buffer, index, Math.min(patternLength, fillEnd - index));
+        } else if (value instanceof Integer) {
+            NIOBufferCodecs.fill(buffer, index, fillEnd, (byte) (int) value);
+            return Undefined.instance;
+        } else if (value instanceof String) {
+            Encoding enc = NIOBufferCodecs.parseEncoding(encoding);
+            if (enc == null) {
+                nativePath.enter();
+                return fillDefault(target, value, start, end, encoding);
+            }
+            patternLength = writePattern((String) value, enc, buffer, index, fillEnd);
+        } else {
+            nativePath.enter();
+            return fillDefault(target, value, start, end, encoding);
+        }
+        if (patternLength >= fillEnd - index) {
+            return Undefined.instance;
+        }
+        if (patternLength == 0) {
+            // the value is invalid; this throws in JavaScript
+            return -1;
+        }
+        NIOBufferCodecs.repeat(buffer, index, fillEnd, patternLength);
+        return Undefined.instance;
+    }
+
+    /**
+     * Writes the string at the start of the range. UTF-8 and UCS-2 values that do not fit are cut
+     * off in the middle of a character (like the native implementation).
+     *
+     * @return the length of the pattern to repeat
+     */
+    private static int writePattern(String str, Encoding enc, ByteBuffer buffer, int index, int end) {
+        int length;
+        if (enc == Encoding.UTF8) {
+            length = NIOBufferCodecs.utf8Length(str);
+        } else if (enc == Encoding.UCS2) {
+            length = 2 * str.length();
+        } else {
+            return NIOBufferCodecs.write(enc, str, buffer, index, end);
+        }
+        if (length <= end - index) {
+            NIOBufferCodecs.write(enc, str, buffer, index, end);
+        } else {
+            ByteBuffer pattern = NIOBufferCodecs.encode(enc, str, length);
+            NIOBufferCodecs.copy(pattern, 0, buffer, index, end - index);
+        }
+        return length;
+    }
+
+    @Specialization
+    public Object fillDefault(Object target, Object value, Object start, Object end, Object encoding) {
+        return callNativeBuiltin(NIOBufferBuiltins.Buffer.fill, target, value, start, end, encoding);
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2018, 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.trufflenode.buffer;
+
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.profiles.BranchProfile;
+import com.oracle.truffle.js.nodes.function.JSBuiltin;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.trufflenode.buffer.NIOBufferCodecs.Encoding;
+
+/**
+ * {@code indexOfBuffer(buffer, needle, byteOffset, encoding, forward)} of the buffer binding. With
+ * UCS-2 encoding, matches are only searched at even offsets.
+ */
+public abstract class NIOBufferIndexOfBufferNode extends NIOBufferAccessNode {
+
+    protected final BranchProfile nativePath = BranchProfile.create();
+
+    public NIOBufferIndexOfBufferNode(JSContext context, JSBuiltin builtin) {
+        super(context, builtin);
+    }
+
+    @Specialization(guards = {"accept(target)", "accept(needle)", "isNumber(byteOffset)"})
+    public Object indexOf(DynamicObject target, DynamicObject needle, Object byteOffset, Object encoding, boolean forward) {
+        Encoding enc = NIOBufferCodecs.parseEncoding(encoding);
+        if (enc == null) {
+            nativePath.enter();
+            return indexOfDefault(target, needle, byteOffset, encoding, forward);
+        }
+        int haystackLength = getLength(target);
+        int needleLength = getLength(needle);
+        long offset = NIOBufferCodecs.indexOfOffset(haystackLength, toInteger(byteOffset), needleLength, forward);
+        if (needleLength == 0) {
+            // match String.prototype.indexOf() and lastIndexOf()
+            return (int) offset;
+        }
+        if (haystackLength == 0 || offset <= -1) {
+            return -1;
+        }
+        if ((forward && needleLength + offset > haystackLength) || needleLength > haystackLength) {
+            return -1;
+        }
+        if (enc == Encoding.UCS2) {
+            if (haystackLength < 2 || needleLength < 2) {
+                return -1;
+            }
+            int result = NIOBufferCodecs.indexOf(getViewByteBuffer(target), getOffset(target), haystackLength, getViewByteBuffer(needle), getOffset(needle), needleLength, (int) offset, forward, 2);
+            if (result == -1 && (haystackLength & 1) != 0) {
+                // the native implementation reports a miss in an odd-sized haystack this way
+                return haystackLength - 1;
+            }
+            return result;
+        }
+        return NIOBufferCodecs.indexOf(getViewByteBuffer(target), getOffset(target), haystackLength, getViewByteBuffer(needle), getOffset(needle), needleLength, (int) offset, forward, 1);
+    }
+
+    @Specialization
+    public Object indexOfDefault(Object target, Object needle, Object byteOffset, Object encoding, Object forward) {
+        return callNativeBuiltin(NIOBufferBuiltins.Buffer.indexOfBuffer, target, needle, byteOffset, encoding, forward);
+    }
+
+}
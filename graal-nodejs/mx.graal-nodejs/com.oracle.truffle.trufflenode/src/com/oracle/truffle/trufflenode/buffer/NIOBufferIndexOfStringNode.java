@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2018, 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.trufflenode.buffer;
+
+import java.nio.ByteBuffer;
+
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.profiles.BranchProfile;
+import com.oracle.truffle.js.nodes.function.JSBuiltin;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.trufflenode.buffer.NIOBufferCodecs.Encoding;
+
+/**
+ * {@code indexOfString(buffer, string, byteOffset, encoding, forward)} of the buffer binding. The
+ * string is encoded once and searched for in the memory of the buffer; UTF-16 data is searched at
+ * even offsets only.
+ */
+public abstract class NIOBufferIndexOfStringNode extends NIOBufferAccessNode {
+
+    protected final BranchProfile nativePath = BranchProfile.create();
+
+    public NIOBufferIndexOfStringNode(JSContext context, JSBuiltin builtin) {
+        super(context, builtin);
+    }
+
+    @Specialization(guards = {"accept(target)", "isNumber(byteOffset)"})
+    public Object indexOf(DynamicObject target, String needle, Object byteOffset, Object encoding, boolean forward) {
+        Encoding enc = NIOBufferCodecs.parseEncoding(encoding);
+        if (enc != Encoding.UTF8 && enc != Encoding.UCS2 && enc != Encoding.LATIN1) {
+            nativePath.enter();
+            return indexOfDefault(target, needle, byteOffset, encoding, forward);
+        }
+        // round down to a multiple of 2 in case of UCS-2
+        int haystackLength = (enc == Encoding.UCS2) ? getLength(target) & ~1 : getLength(target);
+        int needleLength = (enc == Encoding.UTF8) ? NIOBufferCodecs.utf8Length(needle) : (enc == Encoding.UCS2) ? 2 * needle.length() : needle.length();
+        long offset = NIOBufferCodecs.indexOfOffset(haystackLength, toInteger(byteOffset), needleLength, forward);
+        if (needleLength == 0) {
+            // match String.prototype.indexOf() and lastIndexOf()
+            return (int) offset;
+        }
+        if (haystackLength == 0 || offset <= -1) {
+            return -1;
+        }
+        if ((forward && needleLength + offset > haystackLength) || needleLength > haystackLength) {
+            return -1;
+        }
+        ByteBuffer needleBuffer = NIOBufferCodecs.encode(enc, needle, needleLength);
+        return NIOBufferCodecs.indexOf(getViewByteBuffer(target), getOffset(target), haystackLength, needleBuffer, 0, needleLength, (int) offset, forward, enc == Encoding.UCS2 ? 2 : 1);
+    }
+
+    @Specialization
+    public Object indexOfDefault(Object target, Object needle, Object byteOffset, Object encoding, Object forward) {
+        return callNativeBuiltin(NIOBufferBuiltins.Buffer.indexOfString, target, needle, byteOffset, encoding, forward);
+    }
+
+}
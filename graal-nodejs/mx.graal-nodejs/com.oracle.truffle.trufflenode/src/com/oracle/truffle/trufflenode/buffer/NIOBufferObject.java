@@ -53,6 +53,7 @@ import com.oracle.truffle.js.runtime.JavaScriptRootNode;
 import com.oracle.truffle.js.runtime.builtins.JSBuiltinObject;
 import com.oracle.truffle.js.runtime.builtins.JSFunction;
 import com.oracle.truffle.js.runtime.builtins.JSFunctionData;
+import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
 import com.oracle.truffle.trufflenode.GraalJSAccess;
 import com.oracle.truffle.trufflenode.RealmData;
@@ -91,17 +92,28 @@ public final class NIOBufferObject extends JSBuiltinObject {
             @Override
             public Object execute(VirtualFrame frame) {
                 Object[] args = frame.getArguments();
-                assert args.length == 4;
-                DynamicObject nativeUtf8Write = (DynamicObject) args[2];
-                DynamicObject nativeUtf8Slice = (DynamicObject) args[3];
-                RealmData embedderData = GraalJSAccess.getRealmEmbedderData(context.getRealm());
-                embedderData.setNativeUtf8Write(nativeUtf8Write);
-                embedderData.setNativeUtf8Slice(nativeUtf8Slice);
+                assert args.length == 3;
+                registerNativeBuiltins(context, (DynamicObject) args[2]);
                 return create(context);
             }
         };
-        JSFunctionData functionData = JSFunctionData.createCallOnly(context, Truffle.getRuntime().createCallTarget(wrapperNode), 2, "NIOBufferBuiltinsInitFunction");
+        JSFunctionData functionData = JSFunctionData.createCallOnly(context, Truffle.getRuntime().createCallTarget(wrapperNode), 1, "NIOBufferBuiltinsInitFunction");
         return JSFunction.create(realm, functionData);
     }
 
+    /**
+     * Remembers the native implementations passed in the {@code natives} object by name. The Java
+     * builtins fall back to them for arguments they do not handle.
+     */
+    @TruffleBoundary
+    private static void registerNativeBuiltins(JSContext context, DynamicObject natives) {
+        RealmData embedderData = GraalJSAccess.getRealmEmbedderData(context.getRealm());
+        for (NIOBufferBuiltins.Buffer builtin : NIOBufferBuiltins.Buffer.values()) {
+            Object nativeBuiltin = JSObject.get(natives, builtin.name());
+            if (JSFunction.isJSFunction(nativeBuiltin)) {
+                embedderData.setNativeBufferBuiltin(builtin, (DynamicObject) nativeBuiltin);
+            }
+        }
+    }
+
 }
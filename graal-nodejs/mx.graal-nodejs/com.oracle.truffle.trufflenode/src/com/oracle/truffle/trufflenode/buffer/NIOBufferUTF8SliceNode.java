@@ -41,109 +41,26 @@
 package com.oracle.truffle.trufflenode.buffer;
 
 import java.nio.ByteBuffer;
-import java.nio.CharBuffer;
 import java.nio.charset.CharacterCodingException;
-import java.nio.charset.CharsetDecoder;
-import java.nio.charset.CodingErrorAction;
 
-import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
-import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.object.DynamicObject;
-import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.js.nodes.function.JSBuiltin;
-import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSContext;
-import com.oracle.truffle.js.runtime.builtins.JSFunction;
-import com.oracle.truffle.trufflenode.GraalJSAccess;
 
-public abstract class NIOBufferUTF8SliceNode extends NIOBufferAccessNode {
-
-    private static final int V8MaxStringLength = (1 << 30) - 1 - 24;
-
-    protected final BranchProfile nativePath = BranchProfile.create();
+public abstract class NIOBufferUTF8SliceNode extends NIOBufferSliceNode {
 
     public NIOBufferUTF8SliceNode(JSContext context, JSBuiltin builtin) {
         super(context, builtin);
     }
 
-    private DynamicObject getNativeUtf8Slice() {
-        return GraalJSAccess.getRealmEmbedderData(getContext().getRealm()).getNativeUtf8Slice();
-    }
-
-    @Specialization(guards = {"accept(target)"})
-    public Object slice(DynamicObject target, int start, int end) {
-        try {
-            return doSlice(target, start, end);
-        } catch (CharacterCodingException e) {
-            return doNativeFallback(target, start, end);
-        }
-    }
-
-    @Specialization(guards = {"accept(target)"})
-    public Object slice(DynamicObject target, double start, double end) {
-        try {
-            return doSlice(target, (int) start, (int) end);
-        } catch (CharacterCodingException e) {
-            return doNativeFallback(target, start, end);
-        }
-    }
-
-    @Specialization
-    public Object sliceDefault(DynamicObject target, Object start, Object end) {
-        return JSFunction.call(getNativeUtf8Slice(), target, new Object[]{start, end});
-    }
-
-    @SuppressWarnings("unused")
-    @Specialization(guards = {"!isJSArrayBufferView(target)"})
-    public Object sliceAbort(Object target, Object start, Object end) {
-        throw Errors.createTypeErrorArrayBufferViewExpected();
-    }
-
-    private Object doNativeFallback(DynamicObject target, Object start, Object end) {
-        nativePath.enter();
-        return JSFunction.call(getNativeUtf8Slice(), target, new Object[]{start, end});
-    }
-
-    private Object doSlice(DynamicObject target, int start, int end) throws CharacterCodingException {
-        DynamicObject arrayBuffer = getArrayBuffer(target);
-        ByteBuffer rawBuffer = getDirectByteBuffer(arrayBuffer);
-        int byteOffset = getOffset(target);
-        int actualEnd = end;
-        if (end < start) {
-            actualEnd = start;
-        }
-        if (rawBuffer.capacity() == 0) {
-            // By default, an empty buffer returns an empty string
-            return "";
-        }
-        if (actualEnd > rawBuffer.capacity() || !oobCheck(start, end)) {
-            outOfBoundsFail();
-        }
-        int length = actualEnd - start;
-        if (length > V8MaxStringLength) {
-            return doNativeFallback(target, start, end);
-        }
-        int bufferLen = getLength(target);
-        if (length > bufferLen) {
-            outOfBoundsFail();
-        }
-        ByteBuffer data = sliceBuffer(rawBuffer, byteOffset);
-        data.position(start);
-        data.limit(end);
-        return doDecode(data);
-    }
-
-    @TruffleBoundary
-    private static Object doDecode(ByteBuffer data) throws CharacterCodingException {
-        CharsetDecoder decoder = utf8.newDecoder();
-        decoder.onMalformedInput(CodingErrorAction.REPORT);
-        decoder.onUnmappableCharacter(CodingErrorAction.REPORT);
-        CharBuffer decoded = decoder.decode(data);
-        return decoded.toString();
+    @Override
+    protected DynamicObject getNativeSlice() {
+        return getNativeBuiltin(NIOBufferBuiltins.Buffer.utf8Slice);
     }
 
-    private static boolean oobCheck(int start, int end) {
-        return start <= end && start >= 0;
+    @Override
+    protected Object decode(ByteBuffer buffer, int start, int end) throws CharacterCodingException {
+        return NIOBufferCodecs.utf8Slice(buffer, start, end);
     }
 
 }
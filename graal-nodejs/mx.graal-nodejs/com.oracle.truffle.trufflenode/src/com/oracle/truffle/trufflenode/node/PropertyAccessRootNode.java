@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2018, 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.trufflenode.node;
+
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.js.nodes.access.HasPropertyCacheNode;
+import com.oracle.truffle.js.nodes.access.PropertyGetNode;
+import com.oracle.truffle.js.nodes.access.PropertySetNode;
+import com.oracle.truffle.js.nodes.access.ReadElementNode;
+import com.oracle.truffle.js.nodes.access.WriteElementNode;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JavaScriptRootNode;
+
+/**
+ * Property access on behalf of native code (v8::Object::Get/Set/Has). The call targets of these
+ * nodes are cached per property key, so that repeated accesses (like an addon that creates many
+ * objects with the same keys) use an inline cache instead of a generic property lookup.
+ */
+public abstract class PropertyAccessRootNode extends JavaScriptRootNode {
+
+    public static PropertyAccessRootNode createGet(JSContext context, Object key) {
+        return new GetRootNode(context, key);
+    }
+
+    public static PropertyAccessRootNode createSet(JSContext context, Object key) {
+        return new SetRootNode(context, key);
+    }
+
+    public static PropertyAccessRootNode createHas(JSContext context, Object key) {
+        return new HasRootNode(context, key);
+    }
+
+    public static PropertyAccessRootNode createGetIndex(JSContext context) {
+        return new GetIndexRootNode(context);
+    }
+
+    public static PropertyAccessRootNode createSetIndex(JSContext context) {
+        return new SetIndexRootNode(context);
+    }
+
+    /**
+     * Arguments: object.
+     */
+    static class GetRootNode extends PropertyAccessRootNode {
+        @Child private PropertyGetNode getNode;
+
+        GetRootNode(JSContext context, Object key) {
+            this.getNode = PropertyGetNode.create(key, false, context);
+        }
+
+        @Override
+        public Object execute(VirtualFrame frame) {
+            return getNode.getValue(frame.getArguments()[0]);
+        }
+    }
+
+    /**
+     * Arguments: object, value.
+     */
+    static class SetRootNode extends PropertyAccessRootNode {
+        @Child private PropertySetNode setNode;
+
+        SetRootNode(JSContext context, Object key) {
+            this.setNode = PropertySetNode.create(key, false, context, false);
+        }
+
+        @Override
+        public Object execute(VirtualFrame frame) {
+            Object[] arguments = frame.getArguments();
+            setNode.setValue(arguments[0], arguments[1]);
+            return true;
+        }
+    }
+
+    /**
+     * Arguments: object.
+     */
+    static class HasRootNode extends PropertyAccessRootNode {
+        @Child private HasPropertyCacheNode hasNode;
+
+        HasRootNode(JSContext context, Object key) {
+            this.hasNode = HasPropertyCacheNode.create(key, context);
+        }
+
+        @Override
+        public Object execute(VirtualFrame frame) {
+            return hasNode.hasProperty(frame.getArguments()[0]);
+        }
+    }
+
+    /**
+     * Arguments: object, index.
+     */
+    static class GetIndexRootNode extends PropertyAccessRootNode {
+        @Child private ReadElementNode readNode;
+
+        GetIndexRootNode(JSContext context) {
+            this.readNode = ReadElementNode.create(context);
+        }
+
+        @Override
+        public Object execute(VirtualFrame frame) {
+            Object[] arguments = frame.getArguments();
+            return readNode.executeWithTargetAndIndex(arguments[0], (int) arguments[1]);
+        }
+    }
+
+    /**
+     * Arguments: object, index, value.
+     */
+    static class SetIndexRootNode extends PropertyAccessRootNode {
+        @Child private WriteElementNode writeNode;
+
+        SetIndexRootNode(JSContext context) {
+            this.writeNode = WriteElementNode.create(context, false);
+        }
+
+        @Override
+        public Object execute(VirtualFrame frame) {
+            Object[] arguments = frame.getArguments();
+            writeNode.executeWithTargetAndIndexAndValue(arguments[0], (int) arguments[1], arguments[2]);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2018, 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.trufflenode.serialization;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of direct {@code ByteBuffer} chunks used by {@link Serializer}. The pool is shared by all
+ * agents (i.e. by the main thread and the workers).
+ */
+final class BufferPool {
+    /** Size of the pooled chunks. */
+    static final int CHUNK_SIZE = 16 * 1024;
+    /** Maximum number of chunks kept in the pool. */
+    private static final int MAX_POOLED_CHUNKS = 256;
+
+    private static final ConcurrentLinkedQueue<ByteBuffer> POOL = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger POOLED_CHUNKS = new AtomicInteger();
+
+    private BufferPool() {
+    }
+
+    /**
+     * Returns a cleared chunk of at least the given size. Chunks larger than {@link #CHUNK_SIZE} are
+     * not pooled.
+     */
+    static ByteBuffer acquire(int minSize) {
+        if (minSize <= CHUNK_SIZE) {
+            ByteBuffer chunk = POOL.poll();
+            if (chunk != null) {
+                POOLED_CHUNKS.decrementAndGet();
+                return chunk;
+            }
+        }
+        return ByteBuffer.allocateDirect(Math.max(minSize, CHUNK_SIZE)).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Returns the given chunk to the pool.
+     */
+    static void release(ByteBuffer chunk) {
+        if (chunk.capacity() != CHUNK_SIZE) {
+            return;
+        }
+        if (POOLED_CHUNKS.incrementAndGet() > MAX_POOLED_CHUNKS) {
+            POOLED_CHUNKS.decrementAndGet();
+            return;
+        }
+        chunk.clear();
+        POOL.offer(chunk);
+    }
+
+}
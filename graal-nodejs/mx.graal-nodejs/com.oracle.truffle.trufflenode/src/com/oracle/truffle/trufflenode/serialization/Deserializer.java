@@ -70,10 +70,11 @@ import com.oracle.truffle.trufflenode.NativeAccess;
 import com.oracle.truffle.trufflenode.threading.JavaMessagePortData;
 import com.oracle.truffle.trufflenode.threading.SharedMemMessagingManager;
 
-import java.io.UnsupportedEncodingException;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -259,32 +260,22 @@ public class Deserializer {
     }
 
     private String readOneByteString() {
-        int charCount = readVarInt();
-        char[] chars = new char[charCount];
-        for (int i = 0; i < charCount; i++) {
-            byte b = buffer.get();
-            chars[i] = (char) (b & 0xff);
-        }
-        return new String(chars);
+        return readString(StandardCharsets.ISO_8859_1);
     }
 
     private String readTwoByteString() {
-        return readString(Serializer.NATIVE_UTF16_ENCODING);
+        return readString(Serializer.NATIVE_UTF16_CHARSET);
     }
 
     private String readUTF8String() {
-        return readString("UTF-8");
+        return readString(StandardCharsets.UTF_8);
     }
 
-    private String readString(String encoding) {
+    private String readString(Charset charset) {
         int byteCount = readVarInt();
         byte[] bytes = new byte[byteCount];
         buffer.get(bytes);
-        try {
-            return new String(bytes, encoding);
-        } catch (UnsupportedEncodingException ueex) {
-            throw Errors.shouldNotReachHere();
-        }
+        return new String(bytes, charset);
     }
 
     private DynamicObject readDate(JSContext context) {
@@ -316,10 +307,12 @@ public class Deserializer {
     private DynamicObject readJSArrayBuffer(JSContext context) {
         int byteLength = readVarInt();
         DynamicObject arrayBuffer = JSArrayBuffer.createDirectArrayBuffer(context, byteLength);
-        ByteBuffer byteBuffer = JSArrayBuffer.getDirectByteBuffer(arrayBuffer);
-        for (int i = 0; i < byteLength; i++) {
-            byteBuffer.put(i, buffer.get());
-        }
+        ByteBuffer contents = JSArrayBuffer.getDirectByteBuffer(arrayBuffer).duplicate();
+        contents.clear();
+        ByteBuffer source = buffer.duplicate();
+        source.limit(source.position() + byteLength);
+        contents.put(source);
+        buffer.position(buffer.position() + byteLength);
         assignId(arrayBuffer);
         return (peekTag() == SerializationTag.ARRAY_BUFFER_VIEW) ? readJSArrayBufferView(context, arrayBuffer) : arrayBuffer;
     }
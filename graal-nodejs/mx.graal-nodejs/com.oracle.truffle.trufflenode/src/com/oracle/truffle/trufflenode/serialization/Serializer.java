@@ -43,7 +43,6 @@ package com.oracle.truffle.trufflenode.serialization;
 import com.oracle.truffle.api.TruffleLanguage.Env;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.js.runtime.BigInt;
-import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.array.TypedArray;
@@ -71,10 +70,12 @@ import com.oracle.truffle.trufflenode.GraalJSAccess;
 import com.oracle.truffle.trufflenode.NativeAccess;
 import com.oracle.truffle.trufflenode.threading.JavaMessagePortData;
 
-import java.io.UnsupportedEncodingException;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
@@ -85,12 +86,21 @@ import java.util.Map;
 public class Serializer {
     static final byte VERSION = (byte) 0xFF; // SerializationTag::kVersion
     static final byte LATEST_VERSION = (byte) 13; // kLatestVersion
-    static final String NATIVE_UTF16_ENCODING = (ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN) ? "UTF-16BE" : "UTF-16LE";
+    static final Charset NATIVE_UTF16_CHARSET = (ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN) ? StandardCharsets.UTF_16BE : StandardCharsets.UTF_16LE;
+    /** Placeholder for the current chunk before the first chunk is acquired. */
+    private static final ByteBuffer NO_CHUNK = ByteBuffer.allocateDirect(0);
 
     /** Pointer to the corresponding v8::ValueSerializer. */
     private final long delegate;
-    /** Buffer used for serialization. */
-    private ByteBuffer buffer = allocateBuffer(1024);
+    /**
+     * Chunks of the serialized data. The data are not copied when the serializer runs out of
+     * space, a new chunk is started instead. The chunks are concatenated by {@link #release}.
+     */
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    /** The last chunk, i.e., the chunk that is currently written into. */
+    private ByteBuffer buffer = NO_CHUNK;
+    /** Number of bytes written into the chunks before the current one. */
+    private int previousChunksSize;
     /** ID of the next serialized object. **/
     private int nextId;
     /** Maps a serialized object to its ID. */
@@ -113,20 +123,24 @@ public class Serializer {
         this.treatArrayBufferViewsAsHostObjects = treatArrayBufferViewsAsHostObjects;
     }
 
-    private static ByteBuffer allocateBuffer(int capacity) {
-        return ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+    /**
+     * Ensures that the given number of bytes can be written into {@link #buffer} as one piece.
+     */
+    private void ensureFreeSpace(int spaceNeeded) {
+        if (buffer.remaining() < spaceNeeded) {
+            previousChunksSize += buffer.position();
+            buffer = BufferPool.acquire(spaceNeeded);
+            chunks.add(buffer);
+        }
     }
 
-    private void ensureFreeSpace(int spaceNeeded) {
-        ByteBuffer oldBuffer = buffer;
-        int capacity = oldBuffer.capacity();
-        int capacityNeeded = oldBuffer.position() + spaceNeeded;
-        if (capacityNeeded > capacity) {
-            int newCapacity = Math.max(capacityNeeded, 2 * capacity);
-            ByteBuffer newBuffer = allocateBuffer(newCapacity);
-            oldBuffer.flip();
-            newBuffer.put(oldBuffer);
-            buffer = newBuffer;
+    /**
+     * Ensures that {@link #buffer} has some free space. Used by writes that can be split between
+     * chunks.
+     */
+    private void ensureSomeFreeSpace(int spaceNeeded) {
+        if (!buffer.hasRemaining()) {
+            ensureFreeSpace(spaceNeeded);
         }
     }
 
@@ -249,28 +263,27 @@ public class Serializer {
     }
 
     public void writeVarInt(long value) {
+        ensureFreeSpace(10);
         long rest = value;
-        byte[] bytes = new byte[10];
-        int idx = 0;
-        do {
-            byte b = (byte) rest;
-            b |= 0x80;
-            bytes[idx] = b;
-            idx++;
+        while ((rest & ~0x7fL) != 0) {
+            buffer.put((byte) (rest | 0x80));
             rest >>>= 7;
-        } while (rest != 0);
-        bytes[idx - 1] &= 0x7f;
-        writeBytes(bytes, idx);
-    }
-
-    private void writeBytes(byte[] bytes, int length) {
-        ensureFreeSpace(length);
-        buffer.put(bytes, 0, length);
+        }
+        buffer.put((byte) rest);
     }
 
+    /**
+     * Writes the remaining bytes of the given buffer by bulk copies (into one or more chunks).
+     */
     public void writeBytes(ByteBuffer bytes) {
-        ensureFreeSpace(bytes.remaining());
-        buffer.put(bytes);
+        int limit = bytes.limit();
+        while (bytes.hasRemaining()) {
+            ensureSomeFreeSpace(bytes.remaining());
+            int count = Math.min(bytes.remaining(), buffer.remaining());
+            bytes.limit(bytes.position() + count);
+            buffer.put(bytes);
+            bytes.limit(limit);
+        }
     }
 
     public void writeIntOrDouble(double value) {
@@ -288,29 +301,31 @@ public class Serializer {
     }
 
     private void writeString(String string) {
-        try {
-            byte[] bytes;
-            SerializationTag tag;
-            String encoding;
-            if (isOneByteString(string)) {
-                tag = SerializationTag.ONE_BYTE_STRING;
-                encoding = "ISO-8859-1";
-            } else {
-                tag = SerializationTag.TWO_BYTE_STRING;
-                encoding = NATIVE_UTF16_ENCODING;
+        int length = string.length();
+        if (isOneByteString(string)) {
+            writeTag(SerializationTag.ONE_BYTE_STRING);
+            writeVarInt(length);
+            int index = 0;
+            while (index < length) {
+                ensureSomeFreeSpace(length - index);
+                int end = index + Math.min(length - index, buffer.remaining());
+                for (; index < end; index++) {
+                    buffer.put((byte) string.charAt(index));
+                }
+            }
+        } else {
+            writeTag(SerializationTag.TWO_BYTE_STRING);
+            writeVarInt(2L * length);
+            for (int index = 0; index < length; index++) {
+                ensureFreeSpace(2);
+                buffer.putChar(string.charAt(index));
             }
-            writeTag(tag);
-            bytes = string.getBytes(encoding);
-            writeVarInt(bytes.length);
-            writeBytes(bytes, bytes.length);
-        } catch (UnsupportedEncodingException ueex) {
-            throw Errors.shouldNotReachHere();
         }
     }
 
     private static boolean isOneByteString(String string) {
-        for (char c : string.toCharArray()) {
-            if (c >= 256) {
+        for (int i = 0; i < string.length(); i++) {
+            if (string.charAt(i) >= 256) {
                 return false;
             }
         }
@@ -358,10 +373,9 @@ public class Serializer {
             ByteBuffer byteBuffer = JSArrayBuffer.getDirectByteBuffer(arrayBuffer);
             writeTag(SerializationTag.ARRAY_BUFFER);
             writeVarInt(byteLength);
-            ensureFreeSpace(byteLength);
-            for (int i = 0; i < byteLength; i++) {
-                buffer.put(byteBuffer.get(i));
-            }
+            ByteBuffer contents = byteBuffer.duplicate();
+            contents.position(0).limit(byteLength);
+            writeBytes(contents);
         } else {
             writeTag(SerializationTag.ARRAY_BUFFER_TRANSFER);
             writeVarInt(Integer.toUnsignedLong(id));
@@ -524,12 +538,22 @@ public class Serializer {
     }
 
     public int size() {
-        return buffer.position();
+        return previousChunksSize + buffer.position();
     }
 
+    /**
+     * Copies the serialized data into the given (native) buffer and returns the chunks of this
+     * serializer to the pool.
+     */
     public void release(ByteBuffer targetBuffer) {
-        buffer.flip();
-        targetBuffer.put(buffer);
+        for (ByteBuffer chunk : chunks) {
+            chunk.flip();
+            targetBuffer.put(chunk);
+            BufferPool.release(chunk);
+        }
+        chunks.clear();
+        previousChunksSize = 0;
+        buffer = NO_CHUNK;
     }
 
     private void assignId(Object object) {
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2018, 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.trufflenode.threading;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free multi-producer/single-consumer queue of messages that do not need V8
+ * serialization (primitives, strings and Java objects). There is one channel per receiving
+ * node::MessagePortData; any thread holding the sibling port may post into it, while only the
+ * thread owning the receiving port drains it.
+ */
+public final class JavaMessageChannel {
+
+    /**
+     * Default number of messages that can be pending in a channel (rounded up to a power of two).
+     */
+    private static final int CAPACITY = Integer.getInteger("truffle.node.js.messageChannelCapacity", 1024);
+
+    /** Result of {@link #offer}: the channel is full, the message was not enqueued. */
+    public static final int REJECTED = 0;
+    /** Result of {@link #offer}: the message was enqueued, the consumer is already signalled. */
+    public static final int ENQUEUED = 1;
+    /** Result of {@link #offer}: the message was enqueued, the consumer has to be woken up. */
+    public static final int ENQUEUED_WAKEUP = 2;
+
+    private final AtomicReferenceArray<Object> slots;
+    private final int mask;
+    /** Next slot to be claimed by a producer. */
+    private final AtomicLong producerIndex = new AtomicLong();
+    /** Next slot to be read by the consumer. Written by the consumer thread only. */
+    private volatile long consumerIndex;
+    /** Set when a wake-up of the consumer has been requested but the consumer did not drain yet. */
+    private final AtomicBoolean wakeupPending = new AtomicBoolean();
+
+    public JavaMessageChannel() {
+        this(CAPACITY);
+    }
+
+    JavaMessageChannel(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+
+    /**
+     * Enqueues a message. Safe to be called concurrently by any number of threads.
+     */
+    public int offer(Object message) {
+        assert message != null;
+        long index;
+        do {
+            index = producerIndex.get();
+            if (index - consumerIndex >= slots.length()) {
+                return REJECTED;
+            }
+        } while (!producerIndex.compareAndSet(index, index + 1));
+        // The slot is published only after the claim, so the consumer may see a claimed slot
+        // that is still empty. It stops there and the producer's wake-up brings it back.
+        slots.lazySet((int) index & mask, message);
+        return wakeupPending.compareAndSet(false, true) ? ENQUEUED_WAKEUP : ENQUEUED;
+    }
+
+    /**
+     * Removes the next message, or returns {@code null} if there is none (yet). Must be called by
+     * the consumer thread only.
+     */
+    public Object poll() {
+        long index = consumerIndex;
+        int offset = (int) index & mask;
+        Object message = slots.get(offset);
+        if (message != null) {
+            slots.lazySet(offset, null);
+            consumerIndex = index + 1;
+        }
+        return message;
+    }
+
+    /**
+     * Signals that the consumer is about to drain the channel. Messages published after this call
+     * request a new wake-up.
+     */
+    public void beginDrain() {
+        wakeupPending.set(false);
+    }
+
+    /**
+     * Wrapper of Java objects posted to the channel, so that they can be told apart from JS
+     * primitives (that are Java objects as well) when they are received.
+     */
+    static final class HostObject {
+        final Object object;
+
+        HostObject(Object object) {
+            this.object = object;
+        }
+    }
+
+}
@@ -40,20 +40,34 @@
  */
 package com.oracle.truffle.trufflenode.threading;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleLanguage.Env;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.js.builtins.JSBuiltinsContainer;
 import com.oracle.truffle.js.nodes.function.JSBuiltin;
 import com.oracle.truffle.js.nodes.function.JSBuiltinNode;
+import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.builtins.BuiltinEnum;
+import com.oracle.truffle.js.runtime.builtins.JSArray;
+import com.oracle.truffle.js.runtime.objects.Null;
+import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.trufflenode.GraalJSAccess;
 import com.oracle.truffle.trufflenode.JSExternalObject;
+import com.oracle.truffle.trufflenode.threading.SharedMemMessagingBuiltinsFactory.CloseChannelNodeGen;
 import com.oracle.truffle.trufflenode.threading.SharedMemMessagingBuiltinsFactory.DisposeNodeGen;
 import com.oracle.truffle.trufflenode.threading.SharedMemMessagingBuiltinsFactory.EncodedRefsNodeGen;
 import com.oracle.truffle.trufflenode.threading.SharedMemMessagingBuiltinsFactory.EnterNodeGen;
 import com.oracle.truffle.trufflenode.threading.SharedMemMessagingBuiltinsFactory.FreeNodeGen;
 import com.oracle.truffle.trufflenode.threading.SharedMemMessagingBuiltinsFactory.LeaveNodeGen;
+import com.oracle.truffle.trufflenode.threading.SharedMemMessagingBuiltinsFactory.OpenChannelNodeGen;
+import com.oracle.truffle.trufflenode.threading.SharedMemMessagingBuiltinsFactory.PostNodeGen;
+import com.oracle.truffle.trufflenode.threading.SharedMemMessagingBuiltinsFactory.ReceiveNodeGen;
 
 public class SharedMemMessagingBuiltins extends JSBuiltinsContainer.SwitchEnum<SharedMemMessagingBuiltins.API> {
     protected SharedMemMessagingBuiltins() {
@@ -65,7 +79,11 @@ public class SharedMemMessagingBuiltins extends JSBuiltinsContainer.SwitchEnum<S
         leave(0),
         free(0),
         encodedJavaRefs(0),
-        dispose(1);
+        dispose(1),
+        openChannel(1),
+        closeChannel(1),
+        post(2),
+        receive(2);
 
         private final int length;
 
@@ -92,6 +110,14 @@ public class SharedMemMessagingBuiltins extends JSBuiltinsContainer.SwitchEnum<S
                 return EncodedRefsNodeGen.create(context, builtin, args().withThis().fixedArgs(0).createArgumentNodes(context));
             case dispose:
                 return DisposeNodeGen.create(context, builtin, args().withThis().fixedArgs(1).createArgumentNodes(context));
+            case openChannel:
+                return OpenChannelNodeGen.create(context, builtin, args().withThis().fixedArgs(1).createArgumentNodes(context));
+            case closeChannel:
+                return CloseChannelNodeGen.create(context, builtin, args().withThis().fixedArgs(1).createArgumentNodes(context));
+            case post:
+                return PostNodeGen.create(context, builtin, args().withThis().fixedArgs(2).createArgumentNodes(context));
+            case receive:
+                return ReceiveNodeGen.create(context, builtin, args().withThis().fixedArgs(2).createArgumentNodes(context));
         }
         return null;
     }
@@ -182,4 +208,120 @@ public class SharedMemMessagingBuiltins extends JSBuiltinsContainer.SwitchEnum<S
         }
     }
 
+    /**
+     * Converts a channel id, as returned by MessagePort.prototype.javaChannelId, to a long.
+     */
+    static long toChannelId(Object channelId) {
+        assert JSRuntime.isNumber(channelId);
+        return (long) JSRuntime.doubleValue((Number) channelId);
+    }
+
+    /**
+     * Opens the Java message channel of a (receiving) MessagePortData object.
+     */
+    public abstract static class OpenChannelNode extends JSBuiltinNode {
+
+        protected OpenChannelNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization
+        public Object openChannel(DynamicObject self, Object channelId) {
+            SharedMemMessagingManager.openChannel(toChannelId(channelId));
+            return self;
+        }
+    }
+
+    /**
+     * Closes the Java message channel of a MessagePortData object, discarding pending messages.
+     */
+    public abstract static class CloseChannelNode extends JSBuiltinNode {
+
+        protected CloseChannelNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization
+        public Object closeChannel(DynamicObject self, Object channelId) {
+            SharedMemMessagingManager.closeChannel(toChannelId(channelId));
+            return self;
+        }
+    }
+
+    /**
+     * Posts a primitive, a string or a Java object to the Java message channel of the sibling
+     * MessagePortData. Returns one of the {@link JavaMessageChannel#offer} results; the channel is
+     * treated as full when the sibling does not accept Java messages.
+     */
+    public abstract static class PostNode extends JSBuiltinNode {
+
+        protected PostNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization
+        public int post(@SuppressWarnings("unused") DynamicObject self, Object siblingChannelId, Object value) {
+            Object message = toMessage(value);
+            JavaMessageChannel channel = SharedMemMessagingManager.getChannel(toChannelId(siblingChannelId));
+            return (channel == null) ? JavaMessageChannel.REJECTED : channel.offer(message);
+        }
+
+        @TruffleBoundary
+        private Object toMessage(Object value) {
+            if (JSRuntime.isString(value)) {
+                // flatten lazy strings, they are not meant to be shared by threads
+                return JSRuntime.toStringIsString(value);
+            } else if (JSRuntime.isNumber(value) || value instanceof Boolean || JSRuntime.isBigInt(value) || value == Undefined.instance || value == Null.instance) {
+                return value;
+            }
+            Env env = getContext().getRealm().getEnv();
+            if (env.isHostObject(value)) {
+                return new JavaMessageChannel.HostObject(env.asHostObject(value));
+            }
+            throw Errors.createTypeError("Only primitives, strings and Java objects can be posted as Java messages");
+        }
+    }
+
+    /**
+     * Drains the Java message channel of a (receiving) MessagePortData object. Returns an array of
+     * the received messages or undefined when there are none. The channel previously opened by the
+     * port is closed when the port owns a different (transferred) MessagePortData now.
+     */
+    public abstract static class ReceiveNode extends JSBuiltinNode {
+
+        protected ReceiveNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization
+        public Object receive(@SuppressWarnings("unused") DynamicObject self, Object channelId, Object previousChannelId) {
+            long id = toChannelId(channelId);
+            if (previousChannelId != Undefined.instance && toChannelId(previousChannelId) != id) {
+                SharedMemMessagingManager.closeChannel(toChannelId(previousChannelId));
+            }
+            return drain(SharedMemMessagingManager.getOrOpenChannel(id));
+        }
+
+        @TruffleBoundary
+        private Object drain(JavaMessageChannel channel) {
+            channel.beginDrain();
+            Object message = channel.poll();
+            if (message == null) {
+                return Undefined.instance;
+            }
+            // Messages posted after beginDrain() trigger another wake-up,
+            // so we can stop after one channel's worth of messages.
+            Env env = getContext().getRealm().getEnv();
+            List<Object> messages = new ArrayList<>();
+            int limit = channel.capacity();
+            do {
+                if (message instanceof JavaMessageChannel.HostObject) {
+                    message = env.asGuestValue(((JavaMessageChannel.HostObject) message).object);
+                }
+                messages.add(message);
+            } while (messages.size() < limit && (message = channel.poll()) != null);
+            return JSArray.createConstant(getContext(), messages.toArray());
+        }
+    }
+
 }
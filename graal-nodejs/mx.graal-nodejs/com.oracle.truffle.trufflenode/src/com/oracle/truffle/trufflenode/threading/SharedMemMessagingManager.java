@@ -80,4 +80,45 @@ public class SharedMemMessagingManager {
         long pointer = JSExternalObject.getPointer(nativeMessagePortData);
         activeMessagePortRefs.remove(pointer);
     }
+
+    /**
+     * Java message channels of receiving MessagePortData objects. Map from the id of the
+     * MessagePortData to the channel. Ids are generated by the native side and, unlike the
+     * addresses of MessagePortData objects, are never reused, so a message cannot end up in a stale
+     * channel of a freed MessagePortData.
+     */
+    private static final Map<Long, JavaMessageChannel> activeChannels = new ConcurrentHashMap<>();
+
+    /**
+     * Opens a fresh channel for the given (receiving) MessagePortData id.
+     */
+    public static JavaMessageChannel openChannel(long channelId) {
+        JavaMessageChannel channel = new JavaMessageChannel();
+        activeChannels.put(channelId, channel);
+        return channel;
+    }
+
+    /**
+     * Returns the channel of the given (receiving) MessagePortData id, opening it if needed (e.g.,
+     * because the port has been transferred to another worker).
+     */
+    public static JavaMessageChannel getOrOpenChannel(long channelId) {
+        JavaMessageChannel channel = activeChannels.get(channelId);
+        if (channel == null) {
+            channel = activeChannels.computeIfAbsent(channelId, id -> new JavaMessageChannel());
+        }
+        return channel;
+    }
+
+    /**
+     * Returns the channel of the given (receiving) MessagePortData id, or {@code null} if it does
+     * not accept Java messages.
+     */
+    public static JavaMessageChannel getChannel(long channelId) {
+        return activeChannels.get(channelId);
+    }
+
+    public static void closeChannel(long channelId) {
+        activeChannels.remove(channelId);
+    }
 }
@@ -114,6 +114,7 @@ struct PackageConfig {
   V(handle_onclose_symbol, "handle_onclose")                                  \
   V(owner_symbol, "owner")                                                    \
   V(oninit_symbol, "oninit")                                                  \
+  V(onjavamessages_symbol, "onjavamessages")                                  \
 
 // Strings are per-isolate primitives but Environment proxies them
 // for the sake of convenience.  Strings should be ASCII-only.
@@ -7,6 +7,7 @@
 #include "util-inl.h"
 #include "async_wrap.h"
 #include "async_wrap-inl.h"
+#include <atomic>
 
 using v8::Array;
 using v8::ArrayBuffer;
@@ -332,7 +333,13 @@ void Message::MemoryInfo(MemoryTracker* tracker) const {
   tracker->TrackField("message_ports", message_ports_);
 }
 
-MessagePortData::MessagePortData(MessagePort* owner) : owner_(owner) { }
+// Graal.js: ids of Java message channels, exactly representable as doubles
+// for the first 2^53 ports.
+static std::atomic<uint64_t> next_java_channel_id { 1 };
+
+MessagePortData::MessagePortData(MessagePort* owner)
+    : owner_(owner),
+      java_channel_id_(static_cast<double>(next_java_channel_id++)) { }
 
 MessagePortData::~MessagePortData() {
   CHECK_EQ(owner_, nullptr);
@@ -505,6 +512,15 @@ void MessagePort::OnMessage() {
   HandleScope handle_scope(env()->isolate());
   Local<Context> context = object(env()->isolate())->CreationContext();
 
+  // Graal.js: deliver messages of the Java message channel first. They are
+  // posted from other threads without going through `incoming_messages_`,
+  // the sender just triggers this handle.
+  if (!OnJavaMessages(context)) {
+    if (data_)
+      TriggerAsync();
+    return;
+  }
+
   // data_ can only ever be modified by the owner thread, so no need to lock.
   // However, the message port may be transferred while it is processing
   // messages, so we need to check that this handle still owns its `data_` field
@@ -562,6 +578,25 @@ void MessagePort::OnMessage() {
   }
 }
 
+bool MessagePort::OnJavaMessages(Local<Context> context) {
+  if (!data_ || !env()->can_call_into_js())
+    return true;
+  {
+    Mutex::ScopedLock lock(data_->mutex_);
+    if (!data_->receiving_messages_)
+      return true;
+  }
+  HandleScope handle_scope(env()->isolate());
+  Context::Scope context_scope(context);
+  Local<Value> fn;
+  Local<Object> wrap = object(env()->isolate());
+  if (!wrap->Get(context, env()->onjavamessages_symbol()).ToLocal(&fn))
+    return false;
+  if (!fn->IsFunction())
+    return true;
+  return !MakeCallback(fn.As<Function>(), 0, nullptr).IsEmpty();
+}
+
 bool MessagePort::IsSiblingClosed() const {
   CHECK(data_);
   return data_->IsSiblingClosed();
@@ -714,6 +749,44 @@ void MessagePort::MessageData(const FunctionCallbackInfo<Value>& args) {
   args.GetReturnValue().Set(external_data);
 }
 
+void MessagePort::JavaChannelId(const FunctionCallbackInfo<Value>& args) {
+  MessagePort* port;
+  ASSIGN_OR_RETURN_UNWRAP(&port, args.This());
+  if (!port->data_)
+    return;
+  args.GetReturnValue().Set(port->data_->java_channel_id_);
+}
+
+void MessagePort::SiblingJavaChannelId(
+    const FunctionCallbackInfo<Value>& args) {
+  MessagePort* port;
+  ASSIGN_OR_RETURN_UNWRAP(&port, args.This());
+  // Graal.js: the Java message channel of a port belongs to the `data_`
+  // of the receiving side, so the sender needs to know its sibling.
+  if (!port->data_)
+    return;
+  Mutex::ScopedLock lock(*port->data_->sibling_mutex_);
+  if (port->data_->sibling_ == nullptr)
+    return;
+  args.GetReturnValue().Set(port->data_->sibling_->java_channel_id_);
+}
+
+void MessagePort::WakeSibling(const FunctionCallbackInfo<Value>& args) {
+  MessagePort* port;
+  ASSIGN_OR_RETURN_UNWRAP(&port, args.This());
+  // Graal.js: let the owner of the sibling port know that messages have been
+  // posted to its Java message channel.
+  if (!port->data_)
+    return;
+  Mutex::ScopedLock lock(*port->data_->sibling_mutex_);
+  MessagePortData* sibling = port->data_->sibling_;
+  if (sibling == nullptr)
+    return;
+  Mutex::ScopedLock sibling_lock(sibling->mutex_);
+  if (sibling->owner_ != nullptr)
+    sibling->owner_->TriggerAsync();
+}
+
 void MessagePort::Entangle(MessagePort* a, MessagePort* b) {
   Entangle(a, b->data_.get());
 }
@@ -741,6 +814,10 @@ MaybeLocal<Function> GetMessagePortConstructor(
     env->SetProtoMethod(m, "stop", MessagePort::Stop);
     env->SetProtoMethod(m, "drain", MessagePort::Drain);
     env->SetProtoMethod(m, "messageData", MessagePort::MessageData);
+    env->SetProtoMethod(m, "javaChannelId", MessagePort::JavaChannelId);
+    env->SetProtoMethod(m, "siblingJavaChannelId",
+                        MessagePort::SiblingJavaChannelId);
+    env->SetProtoMethod(m, "wakeSibling", MessagePort::WakeSibling);
 
     env->set_message_port_constructor_template(m);
   }
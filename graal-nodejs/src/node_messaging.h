@@ -120,6 +120,9 @@ class MessagePortData : public MemoryRetainer {
   // acquired first.
   std::shared_ptr<Mutex> sibling_mutex_ = std::make_shared<Mutex>();
   MessagePortData* sibling_ = nullptr;
+  // Graal.js: identifies the Java message channel of this object. Unlike the
+  // address of the object, it is never reused.
+  const double java_channel_id_;
 
   friend class MessagePort;
 };
@@ -165,6 +168,10 @@ class MessagePort : public HandleWrap {
   static void Stop(const v8::FunctionCallbackInfo<v8::Value>& args);
   static void Drain(const v8::FunctionCallbackInfo<v8::Value>& args);
   static void MessageData(const v8::FunctionCallbackInfo<v8::Value>& args);
+  static void JavaChannelId(const v8::FunctionCallbackInfo<v8::Value>& args);
+  static void SiblingJavaChannelId(
+      const v8::FunctionCallbackInfo<v8::Value>& args);
+  static void WakeSibling(const v8::FunctionCallbackInfo<v8::Value>& args);
 
   // Turns `a` and `b` into siblings, i.e. connects the sending side of one
   // to the receiving side of the other. This is not thread-safe.
@@ -199,6 +206,9 @@ class MessagePort : public HandleWrap {
  private:
   void OnClose() override;
   void OnMessage();
+  // Used by Graal.js to deliver messages posted through the Java message
+  // channel of `data_`. Returns false if the JS callback threw.
+  bool OnJavaMessages(v8::Local<v8::Context> context);
   void TriggerAsync();
   inline uv_async_t* async();
 
@@ -41,6 +41,7 @@
 
 #include "arguments.cc"
 #include "array.cc"
+#include "array_buffer.cc"
 #include "bigint.cc"
 #include "boolean.cc"
 #include "bootstrap.cc"
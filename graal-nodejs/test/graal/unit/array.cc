@@ -54,4 +54,14 @@ EXPORT_TO_JS(New) {
     args.GetReturnValue().Set(Array::New(args.GetIsolate(), len));
 }
 
+EXPORT_TO_JS(NewFromElements) {
+    int len = args.Length();
+    Local<Value>* elements = new Local<Value>[len];
+    for (int i = 0; i < len; i++) {
+        elements[i] = args[i];
+    }
+    args.GetReturnValue().Set(Array::New(args.GetIsolate(), elements, len));
+    delete[] elements;
+}
+
 #undef SUITE
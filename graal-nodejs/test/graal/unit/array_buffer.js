@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2018, 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+var assert = require('assert');
+var module = require('./_unit');
+var memory = require('./_memory');
+var v8 = require('v8');
+
+var mallocedMemory = memory.mallocedMemory;
+var waitForRelease = memory.waitForRelease;
+
+describe('ArrayBuffer', function () {
+    describe('New (kInternalized)', function () {
+        it('should expose the native memory', function () {
+            var buffer = module.ArrayBuffer_NewInternalized(16);
+            assert.strictEqual(buffer.byteLength, 16);
+            assert.strictEqual(new Uint8Array(buffer)[15], 42);
+        });
+        it.skipOnNode('should account the native memory', function () {
+            var size = 1024 * 1024;
+            var before = mallocedMemory();
+            var buffer = module.ArrayBuffer_NewInternalized(size);
+            assert.ok(mallocedMemory() - before >= size);
+            assert.ok(v8.getHeapStatistics().peak_malloced_memory >= mallocedMemory());
+            assert.strictEqual(buffer.byteLength, size);
+        });
+    });
+    describe.skipOnNode('deallocation stress test', function () {
+        this.timeout(120000);
+        it('should release buffers allocated at a high rate from JavaScript', function (done) {
+            var size = 4096;
+            var count = 100000;
+            var before = mallocedMemory();
+            for (var i = 0; i < count; i++) {
+                module.ArrayBuffer_NewInternalized(size);
+            }
+            waitForRelease(before + count * size / 2, done);
+        });
+        it('should release buffers allocated at a high rate from native code', function (done) {
+            var size = 64;
+            var count = 1000000;
+            var before = mallocedMemory();
+            for (var i = 0; i < 10; i++) {
+                module.ArrayBuffer_NewInternalizedMany(size, count / 10);
+            }
+            waitForRelease(before + count * size / 2, done);
+        });
+        it('should release buffers while the allocation continues', function (done) {
+            var size = 1024;
+            var count = 400000;
+            var before = mallocedMemory();
+            var rounds = 0;
+            var allocate = function () {
+                module.ArrayBuffer_NewInternalizedMany(size, count / 100);
+                if (++rounds % 10 === 0) {
+                    global.gc();
+                }
+                if (rounds === 100) {
+                    waitForRelease(before + count * size / 2, done);
+                } else {
+                    setImmediate(allocate);
+                }
+            };
+            allocate();
+        });
+    });
+});
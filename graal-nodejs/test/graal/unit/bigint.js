@@ -88,6 +88,66 @@ describe('BigInt', function () {
             assert.strictEqual(module.BigInt_Uint64ValueLossLess(maxUint64+1n), false);
         });
     });
+    describe('64-bit arithmetic', function () {
+        var twoPow63 = 2n**63n;
+        it('should widen on overflow', function () {
+            assert.strictEqual(maxInt64 + 1n, twoPow63);
+            assert.strictEqual(minInt64 - 1n, -twoPow63 - 1n);
+            assert.strictEqual(maxInt64 * 2n, 2n**64n - 2n);
+            assert.strictEqual(minInt64 * -1n, twoPow63);
+            assert.strictEqual(minInt64 / -1n, twoPow63);
+            assert.strictEqual(-minInt64, twoPow63);
+            assert.strictEqual(1n << 63n, twoPow63);
+            assert.strictEqual(3n << 62n, 3n * 2n**62n);
+        });
+        it('should narrow results that fit into 64 bits', function () {
+            assert.strictEqual((maxInt64 + 1n) - 1n, maxInt64);
+            assert.strictEqual(twoPow63 / 2n, 2n**62n);
+            assert.strictEqual(new Map([[twoPow63 - twoPow63 + 5n, 'x']]).get(5n), 'x');
+            assert.ok(new Set([maxInt64 + 1n - 1n]).has(maxInt64));
+        });
+        it('should compute small results', function () {
+            assert.strictEqual(minInt64 % -1n, 0n);
+            assert.strictEqual(-7n / 2n, -3n);
+            assert.strictEqual(-7n % 2n, -1n);
+            assert.strictEqual(-1n << 63n, minInt64);
+            assert.strictEqual(5n >> 100n, 0n);
+            assert.strictEqual(-5n >> 100n, -1n);
+            assert.strictEqual(-5n >> 1n, -3n);
+            assert.strictEqual(~maxInt64, minInt64);
+            assert.strictEqual(-6n & 7n, 2n);
+            assert.strictEqual(-6n | 1n, -5n);
+            assert.strictEqual(-6n ^ -1n, 5n);
+        });
+        it('should compare across representations', function () {
+            assert.ok(maxInt64 < maxInt64 + 1n);
+            assert.ok(minInt64 > minInt64 - 1n);
+            assert.ok(maxInt64 == 9223372036854775807n);
+            assert.ok(maxInt64 > 9007199254740992);
+            assert.ok(5n < 5.5);
+            assert.ok(0n == -0);
+            assert.ok(-1n < -0.5);
+        });
+        it('should implement asIntN and asUintN', function () {
+            assert.strictEqual(BigInt.asIntN(64, maxInt64 + 1n), minInt64);
+            assert.strictEqual(BigInt.asIntN(64, twoPow63 * 4n + 5n), 5n);
+            assert.strictEqual(BigInt.asIntN(8, 255n), -1n);
+            assert.strictEqual(BigInt.asIntN(0, 5n), 0n);
+            assert.strictEqual(BigInt.asIntN(65, maxInt64 + 1n), twoPow63);
+            assert.strictEqual(BigInt.asUintN(64, -1n), maxUint64);
+            assert.strictEqual(BigInt.asUintN(8, -1n), 255n);
+            assert.strictEqual(BigInt.asUintN(63, -1n), maxInt64);
+            assert.strictEqual(BigInt.asUintN(0, 5n), 0n);
+        });
+        it('should round-trip through BigInt64Array and BigUint64Array', function () {
+            var signed = new BigInt64Array([minInt64, maxInt64, -1n]);
+            assert.deepStrictEqual(Array.from(signed), [minInt64, maxInt64, -1n]);
+            var unsigned = new BigUint64Array(signed.buffer);
+            assert.deepStrictEqual(Array.from(unsigned), [twoPow63, maxInt64, maxUint64]);
+            signed[0] += 1n;
+            assert.strictEqual(signed[0], minInt64 + 1n);
+        });
+    });
     describe('WordCount', function () {
         it('should return correct value for zero', function () {
             assert.strictEqual(module.BigInt_WordCount(0n), 0);
@@ -145,4 +145,164 @@ describe('Buffer.utf8Slice', function() {
     it('length is zero', function() {
         assert.strictEqual(new Buffer(0).utf8Slice.length, 0);
     });
-});
\ No newline at end of file
+});
+describe('Buffer.latin1Slice and Buffer.asciiSlice', function() {
+    var bytes = [];
+    for (var i = 0; i < 256; i++) {
+        bytes.push(i);
+    }
+    var buffer = Buffer.from(bytes);
+    it('should decode every byte as latin1', function() {
+        var str = buffer.latin1Slice(0, 256);
+        assert.strictEqual(str.length, 256);
+        for (var i = 0; i < 256; i++) {
+            assert.strictEqual(str.charCodeAt(i), i);
+        }
+        assert.strictEqual(str, String.fromCharCode.apply(null, bytes));
+    });
+    it('should clear the high bit in ascii', function() {
+        var str = buffer.asciiSlice(0, 256);
+        for (var i = 0; i < 256; i++) {
+            assert.strictEqual(str.charCodeAt(i), i & 0x7f);
+        }
+    });
+    it('should slice', function() {
+        assert.strictEqual(Buffer.from('abcdefghijklmnopqrstuvwxyz').latin1Slice(1, 25), 'bcdefghijklmnopqrstuvwxy');
+        assert.strictEqual(Buffer.from('abcdefghijklmnopqrstuvwxyz').asciiSlice(24), 'yz');
+        assert.strictEqual(Buffer.from('abc').latin1Slice(2, 1), '');
+    });
+    it('should fail when out of range', function() {
+        assert.throws(() => {
+            new Buffer(10).latin1Slice(0, 11)
+        }, RangeError);
+    });
+    it('should be used by toString', function() {
+        var str = Buffer.from('été ' + 'x'.repeat(100), 'latin1').toString('latin1');
+        assert.strictEqual(str, 'été ' + 'x'.repeat(100));
+        assert.strictEqual(str.charAt(0), 'é');
+        assert.strictEqual((str + '!').length, 105);
+        assert.strictEqual(Buffer.from('hello world, hello world').toString('ascii').indexOf('world', 10), 19);
+    });
+});
+
+describe('Buffer.utf8Slice of ASCII data', function() {
+    it('should decode long ASCII strings', function() {
+        var text = 'GET /index.html HTTP/1.1\r\nHost: localhost\r\n\r\n';
+        var str = Buffer.from(text).utf8Slice(0, text.length);
+        assert.strictEqual(str, text);
+        assert.strictEqual(str.charCodeAt(3), 32);
+        assert.strictEqual(JSON.stringify(str), JSON.stringify(text));
+        assert.deepStrictEqual(str.split('\r\n'), text.split('\r\n'));
+    });
+    it('should decode non-ASCII strings', function() {
+        var text = 'ASCII first, then ½€😀 and ASCII again';
+        assert.strictEqual(Buffer.from(text).utf8Slice(), text);
+    });
+});
+
+describe('Buffer encodings', function() {
+    var bytes = [];
+    for (var i = 0; i < 256; i++) {
+        bytes.push(i);
+    }
+    var buffer = Buffer.from(bytes);
+    ['utf8', 'ucs2', 'latin1', 'ascii', 'hex', 'base64'].forEach(function(encoding) {
+        it('should round-trip ' + encoding, function() {
+            var text = (encoding === 'ascii') ? 'Hello, world' : 'H\u00e9llo, w\u00f6rld';
+            if (encoding === 'utf8' || encoding === 'ucs2') {
+                text += ' \u20ac \ud83d\ude00';
+            }
+            if (encoding === 'hex' || encoding === 'base64') {
+                text = buffer.toString(encoding);
+            }
+            assert.strictEqual(Buffer.from(text, encoding).toString(encoding), text);
+        });
+    });
+    it('should encode lone surrogates as U+FFFD', function() {
+        assert.deepStrictEqual(Array.from(Buffer.from('a\ud800b\udc00', 'utf8')), [0x61, 0xef, 0xbf, 0xbd, 0x62, 0xef, 0xbf, 0xbd]);
+        assert.strictEqual(Buffer.byteLength('\ud800\udc00\ud800'), 7);
+    });
+    it('should write complete characters only', function() {
+        var buf = Buffer.alloc(5, 0);
+        assert.strictEqual(buf.write('\u20ac\u20ac'), 3);
+        assert.strictEqual(buf.write('ab', 4, 'ucs2'), 0);
+        assert.strictEqual(buf.write('ab', 3, 'ucs2'), 2);
+    });
+    it('should decode ucs2 in little-endian order', function() {
+        assert.strictEqual(Buffer.from([0x61, 0x00, 0xac, 0x20, 0x62]).toString('ucs2'), 'a\u20ac');
+    });
+    it('should encode hex and base64', function() {
+        assert.strictEqual(Buffer.from([0, 15, 16, 255]).toString('hex'), '000f10ff');
+        assert.strictEqual(Buffer.from('ab').toString('base64'), 'YWI=');
+        assert.strictEqual(Buffer.from('abcd').toString('base64'), 'YWJjZA==');
+    });
+    it('should stop at invalid hex digits', function() {
+        assert.strictEqual(Buffer.from('00FFzz11', 'hex').toString('hex'), '00ff');
+        assert.strictEqual(Buffer.alloc(4).write('abcdef', 'hex'), 3);
+    });
+    it('should decode url-safe base64 and skip whitespace', function() {
+        assert.strictEqual(Buffer.from('-_-_', 'base64').toString('hex'), 'fbffbf');
+        assert.strictEqual(Buffer.from('YW Jj\nZA', 'base64').toString(), 'abcd');
+        assert.strictEqual(Buffer.from('YWJj=ZGVm', 'base64').toString(), 'abc');
+        assert.strictEqual(Buffer.from('Y', 'base64').length, 0);
+    });
+});
+
+describe('Buffer search, compare and fill', function() {
+    var buf = Buffer.from('abcabcab');
+    it('should find strings', function() {
+        assert.strictEqual(buf.indexOf('ab'), 0);
+        assert.strictEqual(buf.indexOf('ab', 1), 3);
+        assert.strictEqual(buf.indexOf('ab', -2), 6);
+        assert.strictEqual(buf.indexOf('x'), -1);
+        assert.strictEqual(buf.indexOf(''), 0);
+        assert.strictEqual(buf.lastIndexOf('ab'), 6);
+        assert.strictEqual(buf.lastIndexOf('ab', 5), 3);
+        assert.strictEqual(buf.lastIndexOf('abc', 7), 3);
+        assert.strictEqual(Buffer.from('a\u00e9a\u00e9', 'latin1').indexOf('\u00e9a', 0, 'latin1'), 1);
+        assert.strictEqual(Buffer.from('\u20ac\u20ac', 'utf8').lastIndexOf('\u20ac'), 3);
+    });
+    it('should find ucs2 strings at even offsets', function() {
+        var ucs2 = Buffer.from('abab', 'ucs2');
+        assert.strictEqual(ucs2.indexOf('b', 0, 'ucs2'), 2);
+        assert.strictEqual(ucs2.indexOf('b', 4, 'ucs2'), 6);
+        assert.strictEqual(ucs2.lastIndexOf('a', undefined, 'ucs2'), 4);
+        assert.strictEqual(Buffer.from([0, 0x61, 0]).indexOf('a', 0, 'ucs2'), -1);
+    });
+    it('should find buffers and numbers', function() {
+        assert.strictEqual(buf.indexOf(Buffer.from('ca')), 2);
+        assert.strictEqual(buf.lastIndexOf(Buffer.from('ca')), 5);
+        assert.strictEqual(buf.indexOf(new Uint8Array([0x62, 0x63]), 2), 4);
+        assert.strictEqual(buf.indexOf(0x63), 2);
+        assert.strictEqual(buf.indexOf(0x163), 2);
+        assert.strictEqual(buf.lastIndexOf(0x63), 5);
+        assert.strictEqual(buf.lastIndexOf(0x63, 4), 2);
+        assert.strictEqual(buf.indexOf(0x64), -1);
+        assert.strictEqual(buf.includes('cab'), true);
+    });
+    it('should compare', function() {
+        assert.strictEqual(Buffer.compare(Buffer.from('abc'), Buffer.from('abd')), -1);
+        assert.strictEqual(Buffer.compare(Buffer.from([0xff]), Buffer.from([0x01])), 1);
+        assert.strictEqual(Buffer.compare(Buffer.from('ab'), Buffer.from('abc')), -1);
+        assert.strictEqual(Buffer.from('abc').equals(Buffer.from('abc')), true);
+        assert.strictEqual(buf.compare(Buffer.from('xbcx'), 1, 3, 1, 3), 0);
+        assert.strictEqual(buf.compare(Buffer.from('bca'), 0, 3, 1), 1);
+        assert.strictEqual(buf.compare(Buffer.from('bcb'), 0, 3, 1, 4), -1);
+        assert.throws(() => {
+            buf.compare(Buffer.from('abc'), 0, 4);
+        }, RangeError);
+    });
+    it('should fill', function() {
+        assert.strictEqual(Buffer.alloc(7).fill('abc').toString(), 'abcabca');
+        assert.strictEqual(Buffer.alloc(5).fill('\u20ac').toString('hex'), 'e282ace282');
+        assert.strictEqual(Buffer.alloc(5).fill('ab', 'ucs2').toString('hex'), '6100620061');
+        assert.strictEqual(Buffer.alloc(5).fill('0102', 'hex').toString('hex'), '0102010201');
+        assert.strictEqual(Buffer.alloc(4).fill('YWI=', 'base64').toString(), 'abab');
+        assert.strictEqual(Buffer.alloc(5).fill(Buffer.from('xy'), 1).toString('latin1'), '\u0000xyxy');
+        assert.strictEqual(Buffer.alloc(3).fill(0x101).toString('hex'), '010101');
+        assert.strictEqual(Buffer.alloc(4).fill('a', 1, 3).toString('hex'), '00616100');
+        assert.throws(() => {
+            Buffer.alloc(4).fill('zz', 'hex');
+        }, TypeError);
+    });
+});
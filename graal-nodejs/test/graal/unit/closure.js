@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2018, 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+var assert = require('assert');
+var module = require('./_unit');
+var memory = require('./_memory');
+
+var mallocedMemory = memory.mallocedMemory;
+var waitForRelease = memory.waitForRelease;
+
+// The buffers are accounted as malloced memory until their backing store
+// is deallocated, i.e., until the buffer object itself has been collected.
+describe.skipOnNode('Closures', function () {
+    this.timeout(20000);
+    var size = 16 * 1024 * 1024;
+    it('should not retain locals that are not captured', function (done) {
+        var before = mallocedMemory();
+        var closure = (function () {
+            var buffer = module.ArrayBuffer_NewInternalized(size);
+            var length = buffer.byteLength;
+            return function () {
+                return length;
+            };
+        })();
+        assert.strictEqual(closure(), size);
+        waitForRelease(before + size / 2, function (error) {
+            assert.strictEqual(closure(), size);
+            done(error);
+        });
+    });
+    it('should not retain block-scoped locals that are not captured', function (done) {
+        var before = mallocedMemory();
+        var closure = (function () {
+            const buffer = module.ArrayBuffer_NewInternalized(size);
+            let first = new Uint8Array(buffer)[0];
+            return () => first;
+        })();
+        assert.strictEqual(closure(), 42);
+        waitForRelease(before + size / 2, function (error) {
+            assert.strictEqual(closure(), 42);
+            done(error);
+        });
+    });
+    it('should retain captured locals', function () {
+        var closure = (function () {
+            var buffer = module.ArrayBuffer_NewInternalized(size);
+            var unused = module.ArrayBuffer_NewInternalized(size);
+            return function () {
+                return buffer;
+            };
+        })();
+        global.gc();
+        global.gc();
+        assert.strictEqual(closure().byteLength, size);
+        assert.strictEqual(new Uint8Array(closure())[size - 1], 42);
+    });
+    it('should retain locals captured by nested closures', function () {
+        var outer = (function (a, b) {
+            var c = a + b;
+            return function () {
+                return function () {
+                    return a + c;
+                };
+            };
+        })(1, 2);
+        global.gc();
+        assert.strictEqual(outer()(), 4);
+    });
+    it('should retain locals that may be accessed by eval', function () {
+        var closure = (function () {
+            var value = {answer: 42};
+            return function (name) {
+                return eval(name);
+            };
+        })();
+        global.gc();
+        assert.strictEqual(closure('value').answer, 42);
+    });
+    it('should keep locals of a running function', function () {
+        var result = (function () {
+            var values = [1, 2, 3];
+            var sum = function () {
+                return values.length;
+            };
+            var local = {count: sum()};
+            global.gc();
+            return local.count + values.length;
+        })();
+        assert.strictEqual(result, 6);
+    });
+});
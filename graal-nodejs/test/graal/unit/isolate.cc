@@ -61,4 +61,43 @@ EXPORT_TO_JS(BasicTest) {
     args.GetReturnValue().Set(true);
 }
 
+// Isolate::GetHeapStatistics
+
+EXPORT_TO_JS(GetHeapStatistics) {
+    Isolate* isolate = args.GetIsolate();
+    HeapStatistics stats;
+    isolate->GetHeapStatistics(&stats);
+    bool result = true;
+    result &= (stats.used_heap_size() > 0);
+    result &= (stats.used_heap_size() <= stats.total_heap_size());
+    result &= (stats.total_heap_size() <= stats.heap_size_limit());
+    result &= (stats.malloced_memory() <= stats.peak_malloced_memory());
+    args.GetReturnValue().Set(result);
+}
+
+// Isolate::NumberOfHeapSpaces
+// Isolate::GetHeapSpaceStatistics
+
+EXPORT_TO_JS(GetHeapSpaceStatistics) {
+    Isolate* isolate = args.GetIsolate();
+    size_t count = isolate->NumberOfHeapSpaces();
+    bool result = (count > 0);
+    HeapSpaceStatistics stats;
+    for (size_t i = 0; i < count; i++) {
+        result &= isolate->GetHeapSpaceStatistics(&stats, i);
+        result &= (stats.space_name() != nullptr);
+        result &= (stats.space_used_size() <= stats.space_size());
+    }
+    result &= !isolate->GetHeapSpaceStatistics(&stats, count);
+    args.GetReturnValue().Set(result);
+}
+
+// Isolate::AdjustAmountOfExternalAllocatedMemory
+
+EXPORT_TO_JS(AdjustAmountOfExternalAllocatedMemory) {
+    Isolate* isolate = args.GetIsolate();
+    int64_t change = args[0]->IntegerValue(isolate->GetCurrentContext()).FromJust();
+    args.GetReturnValue().Set((double) isolate->AdjustAmountOfExternalAllocatedMemory(change));
+}
+
 #undef SUITE
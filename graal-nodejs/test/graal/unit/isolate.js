@@ -41,6 +41,7 @@
 
 var assert = require('assert');
 var module = require('./_unit');
+var v8 = require('v8');
 
 describe('Isolate', function () {
     describe('Basic test', function () {
@@ -48,4 +49,65 @@ describe('Isolate', function () {
             assert.strictEqual(module.Isolate_BasicTest(), true);
         });
     });
+    describe('GetHeapStatistics', function () {
+        it('should return consistent heap statistics', function () {
+            assert.strictEqual(module.Isolate_GetHeapStatistics(), true);
+        });
+        it('should be reflected by v8.getHeapStatistics()', function () {
+            var stats = v8.getHeapStatistics();
+            assert.ok(stats.used_heap_size > 0);
+            assert.ok(stats.used_heap_size <= stats.total_heap_size);
+            assert.ok(stats.heap_size_limit > 0);
+        });
+    });
+    describe('GetHeapSpaceStatistics', function () {
+        it('should return statistics of all heap spaces', function () {
+            assert.strictEqual(module.Isolate_GetHeapSpaceStatistics(), true);
+        });
+        it('should be reflected by v8.getHeapSpaceStatistics()', function () {
+            var spaces = v8.getHeapSpaceStatistics();
+            assert.ok(spaces.length > 0);
+            spaces.forEach(function (space) {
+                assert.strictEqual(typeof space.space_name, 'string');
+                assert.ok(space.space_used_size <= space.space_size);
+            });
+        });
+    });
+    describe('AdjustAmountOfExternalAllocatedMemory', function () {
+        it('should track the reported changes', function () {
+            var size = 1024 * 1024;
+            var before = module.Isolate_AdjustAmountOfExternalAllocatedMemory(0);
+            assert.strictEqual(module.Isolate_AdjustAmountOfExternalAllocatedMemory(size), before + size);
+            assert.strictEqual(module.Isolate_AdjustAmountOfExternalAllocatedMemory(-size), before);
+        });
+    });
+    describe('process.memoryUsage().external', function () {
+        this.timeout(20000);
+        var size = 32 * 1024 * 1024;
+        it('should include memory of allocated buffers', function () {
+            var before = process.memoryUsage().external;
+            var buffer = Buffer.allocUnsafeSlow(size);
+            var after = process.memoryUsage().external;
+            assert.ok(after - before >= size, 'before: ' + before + ', after: ' + after);
+            assert.strictEqual(buffer.length, size);
+        });
+        it('should not include memory of released buffers', function (done) {
+            var buffer = Buffer.allocUnsafeSlow(size);
+            var allocated = process.memoryUsage().external;
+            buffer = null;
+            var attempts = 0;
+            var check = function () {
+                global.gc();
+                var released = process.memoryUsage().external;
+                if (allocated - released >= size) {
+                    done();
+                } else if (++attempts < 50) {
+                    setTimeout(check, 100);
+                } else {
+                    done(new Error('allocated: ' + allocated + ', released: ' + released));
+                }
+            };
+            check();
+        });
+    });
 });
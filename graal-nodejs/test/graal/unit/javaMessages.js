@@ -283,3 +283,122 @@ describe('Java interop messages', function() {
         }
     });
 });
+
+describe.skipOnNode('Java message channel', function() {
+    it('delivers primitives and strings in order', function(done) {
+        let w = new Worker(`
+                        const {
+                            parentPort
+                        } = require('worker_threads');
+
+                        parentPort.on('message', (m) => {
+                            parentPort.postJavaMessage(m);
+                        });
+        `, {
+            eval: true
+        });
+        const messages = [42, 4.2, 'forty-two', true, null, undefined, 42n];
+        var received = 0;
+        w.on('message', (m) => {
+            assert.strictEqual(m, messages[received]);
+            if (++received === messages.length) {
+                w.terminate(done);
+            }
+        });
+        for (const m of messages) {
+            assert.strictEqual(w.postJavaMessage(m), true);
+        }
+    });
+    it('rejects values that need serialization', function(done) {
+        let w = new Worker(`require('worker_threads').parentPort.on('message', () => {});`, {
+            eval: true
+        });
+        assert.throws(() => w.postJavaMessage({}), TypeError);
+        assert.throws(() => w.postJavaMessage(Symbol()), TypeError);
+        w.terminate(done);
+    });
+    it('applies backpressure when the channel is full', function(done) {
+        const {
+            MessageChannel
+        } = require('worker_threads');
+        const channel = new MessageChannel();
+        const n = 10000;
+        var posted = 0;
+        var received = 0;
+        function post() {
+            while (posted < n && channel.port1.postJavaMessage(posted)) {
+                posted++;
+            }
+        }
+        channel.port2.on('message', (m) => {
+            assert.strictEqual(m, received++);
+            if (received === n) {
+                channel.port1.close();
+                done();
+            } else {
+                post();
+            }
+        });
+        post();
+        // the channel is bounded and nothing was received yet
+        assert(posted < n);
+    });
+    it('does not deliver messages to ports of later channels', function(done) {
+        const {
+            MessageChannel
+        } = require('worker_threads');
+        // Closed ports free their native data, whose addresses may then be
+        // reused by the ports created afterwards.
+        const rounds = 100;
+        var closed = 0;
+        for (var i = 0; i < rounds; i++) {
+            const stale = new MessageChannel();
+            stale.port2.on('message', () => assert.fail('closed port received a message'));
+            stale.port2.on('close', () => {
+                if (++closed === rounds) {
+                    checkFreshChannels();
+                }
+            });
+            stale.port1.postJavaMessage('stale');
+            stale.port2.close();
+        }
+        function checkFreshChannels() {
+            var received = 0;
+            for (var j = 0; j < rounds; j++) {
+                const fresh = new MessageChannel();
+                const expected = 'fresh ' + j;
+                fresh.port2.on('message', (m) => {
+                    assert.strictEqual(m, expected);
+                    fresh.port2.close();
+                    if (++received === rounds) {
+                        done();
+                    }
+                });
+                assert.strictEqual(fresh.port1.postJavaMessage(expected), true);
+            }
+        }
+    });
+    if (typeof Java === 'object') {
+        it('can share Java objects', function(done) {
+            var A = Java.type('java.util.concurrent.atomic.AtomicInteger');
+            var atomic = new A();
+            let w = new Worker(`
+                            const {
+                                parentPort
+                            } = require('worker_threads');
+
+                            parentPort.on('message', (m) => {
+                                parentPort.postJavaMessage(m.incrementAndGet());
+                            });
+            `, {
+                eval: true
+            });
+            w.on('message', (m) => {
+                assert.strictEqual(m, 1);
+                assert.strictEqual(atomic.get(), 1);
+                w.terminate(done);
+            });
+            assert.strictEqual(w.postJavaMessage(atomic), true);
+        });
+    }
+});
@@ -109,6 +109,27 @@ describe('Object', function () {
             assert.strictEqual(module.Object_SetByName(o, 654, 321), true);
             assert.strictEqual(o[654], 321);
         });
+        it('should set the same keys on objects of various shapes', function () {
+            var setterValue;
+            var objects = [{}, {x: 1}, Object.create({}), Object.freeze({a: 1}), [], {set a(value) { setterValue = value; }}];
+            for (var i = 0; i < 1000; i++) {
+                objects.forEach(function (o, index) {
+                    module.Object_SetByName(o, "a", i + index);
+                    module.Object_SetByName(o, "b", i);
+                });
+            }
+            assert.strictEqual(objects[0].a, 999);
+            assert.strictEqual(objects[1].a, 1000);
+            assert.strictEqual(objects[2].b, 999);
+            assert.strictEqual(objects[3].a, 1);
+            assert.strictEqual(objects[3].b, undefined);
+            assert.strictEqual(objects[4].a, 1003);
+            assert.strictEqual(setterValue, 1004);
+            assert.strictEqual(module.Object_GetByName(objects[0], "a"), 999);
+            assert.strictEqual(module.Object_GetByName(objects[5], "b"), 999);
+            assert.strictEqual(module.Object_HasByName(objects[2], "a"), true);
+            assert.strictEqual(module.Object_HasByName(objects[3], "b"), false);
+        });
     });
     describe('Set by index', function () {
         it('should set simple properties by name', function () {
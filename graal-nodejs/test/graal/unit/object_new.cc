@@ -98,4 +98,23 @@ EXPORT_TO_JS(NumberObject) {
     args.GetReturnValue().Set(numberObj);
 }
 
+// Object::New (with properties)
+
+EXPORT_TO_JS(ObjectWithProperties) {
+    Isolate* isolate = args.GetIsolate();
+    Local<Array> names = args[1].As<Array>();
+    Local<Array> values = args[2].As<Array>();
+    int length = names->Length();
+    Local<Name>* name_array = new Local<Name>[length];
+    Local<Value>* value_array = new Local<Value>[length];
+    for (int i = 0; i < length; i++) {
+        name_array[i] = names->Get(i).As<Name>();
+        value_array[i] = values->Get(i);
+    }
+    Local<Object> object = Object::New(isolate, args[0], name_array, value_array, length);
+    delete[] name_array;
+    delete[] value_array;
+    args.GetReturnValue().Set(object);
+}
+
 #undef SUITE
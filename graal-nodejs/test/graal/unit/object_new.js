@@ -77,6 +77,33 @@ describe('ObjectNew', function () {
             assert.strictEqual(number.valueOf(), 42);
         });
     });
+    describe('Object::New', function () {
+        it('should create an object with the given properties', function () {
+            var o = module.ObjectNew_ObjectWithProperties(Object.prototype, ["a", "b", "1"], [1, "x", true]);
+            assert.strictEqual(Object.getPrototypeOf(o), Object.prototype);
+            assert.deepStrictEqual(Object.keys(o), ["1", "a", "b"]);
+            assert.strictEqual(o.a, 1);
+            assert.strictEqual(o.b, "x");
+            assert.strictEqual(o[1], true);
+            assert.deepStrictEqual(Object.getOwnPropertyDescriptor(o, "a"), {value: 1, writable: true, enumerable: true, configurable: true});
+        });
+        it('should use the given prototype', function () {
+            var proto = {foo: 42};
+            var o = module.ObjectNew_ObjectWithProperties(proto, ["bar"], [43]);
+            assert.strictEqual(Object.getPrototypeOf(o), proto);
+            assert.strictEqual(o.foo, 42);
+            assert.strictEqual(o.bar, 43);
+        });
+        it('should create an object without prototype for null', function () {
+            var o = module.ObjectNew_ObjectWithProperties(null, ["a"], [1]);
+            assert.strictEqual(Object.getPrototypeOf(o), null);
+            assert.strictEqual(o.a, 1);
+        });
+        it('should use the last value of a repeated name', function () {
+            var o = module.ObjectNew_ObjectWithProperties(null, ["a", "a"], [1, 2]);
+            assert.strictEqual(o.a, 2);
+        });
+    });
     describe('StringObject::New', function () {
         it('should return a String object', function () {
             var string = module.ObjectNew_StringObject("beer");
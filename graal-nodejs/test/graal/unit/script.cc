@@ -41,6 +41,53 @@
 
 #define SUITE Script
 
+#include <atomic>
+#include <string.h>
+#include <thread>
+
+#ifdef SUITE_INTERNALS
+
+static std::atomic<bool> Script_streaming_source_ended;
+
+// Supplies the source in chunks of the given size (like a network stream)
+class Script_ChunkedSourceStream : public ScriptCompiler::ExternalSourceStream {
+public:
+    Script_ChunkedSourceStream(const char* source, size_t length, size_t chunk_size) : source_(source), length_(length), position_(0), chunk_size_(chunk_size) {
+    }
+
+    ~Script_ChunkedSourceStream() {
+        delete[] source_;
+    }
+
+    size_t GetMoreData(const uint8_t** src) override {
+        size_t size = length_ - position_;
+        if (size > chunk_size_) {
+            size = chunk_size_;
+        }
+        if (size != 0) {
+            uint8_t* chunk = new uint8_t[size];
+            memcpy(chunk, source_ + position_, size);
+            *src = chunk;
+            position_ += size;
+        } else {
+            // the streaming task signals the end of the source and starts parsing
+            Script_streaming_source_ended = true;
+        }
+        return size;
+    }
+private:
+    const char* source_;
+    size_t length_;
+    size_t position_;
+    size_t chunk_size_;
+};
+
+static ScriptCompiler::StreamedSource* Script_streamed_source;
+static std::thread* Script_streaming_thread;
+static std::atomic<bool> Script_streaming_done;
+
+#endif
+
 // Script::Compile
 
 EXPORT_TO_JS(Compile) {
@@ -67,4 +114,49 @@ EXPORT_TO_JS(Run) {
     args.GetReturnValue().Set(result);
 }
 
+// ScriptCompiler::StartStreamingScript
+
+EXPORT_TO_JS(StartStreaming) {
+    Isolate* isolate = args.GetIsolate();
+    String::Utf8Value source(isolate, args[0]);
+    size_t chunk_size = args[1]->Int32Value(isolate->GetCurrentContext()).FromJust();
+    char* copy = new char[source.length()];
+    memcpy(copy, *source, source.length());
+    Script_streamed_source = new ScriptCompiler::StreamedSource(new Script_ChunkedSourceStream(copy, source.length(), chunk_size), ScriptCompiler::StreamedSource::UTF8);
+    ScriptCompiler::ScriptStreamingTask* task = ScriptCompiler::StartStreamingScript(isolate, Script_streamed_source);
+    Script_streaming_source_ended = false;
+    Script_streaming_done = false;
+    Script_streaming_thread = new std::thread([task]() {
+        task->Run();
+        delete task;
+        Script_streaming_done = true;
+    });
+}
+
+EXPORT_TO_JS(IsStreamingDone) {
+    args.GetReturnValue().Set(Script_streaming_done.load());
+}
+
+EXPORT_TO_JS(IsStreamingSourceEnded) {
+    args.GetReturnValue().Set(Script_streaming_source_ended.load());
+}
+
+// ScriptCompiler::Compile (streamed source)
+
+EXPORT_TO_JS(FinishStreamingAndRun) {
+    Local<Context> context = args.GetIsolate()->GetCurrentContext();
+    Local<String> source = args[0].As<String>();
+    Local<String> fileName = args[1].As<String>();
+    ScriptOrigin origin(fileName);
+
+    Script_streaming_thread->join();
+    delete Script_streaming_thread;
+    MaybeLocal<Script> script = ScriptCompiler::Compile(context, Script_streamed_source, source, origin);
+    delete Script_streamed_source;
+    if (!script.IsEmpty()) {
+        Local<Value> result = script.ToLocalChecked()->Run(context).ToLocalChecked();
+        args.GetReturnValue().Set(result);
+    }
+}
+
 #undef SUITE
@@ -65,4 +65,50 @@ describe('Script', function () {
             assert.strictEqual(result, 42);
         });
     });
+    describe('StartStreamingScript', function () {
+        this.timeout(60000);
+        function streamScript(source, chunkSize, done) {
+            module.Script_StartStreaming(source, chunkSize);
+            var parseTicks = 0;
+            var poll = function () {
+                // sampled before the done flag, so that the tick certainly overlapped the parse
+                var parsing = module.Script_IsStreamingSourceEnded();
+                if (module.Script_IsStreamingDone()) {
+                    var result = module.Script_FinishStreamingAndRun(source, "streamed.js");
+                    done({ result: result, parseTicks: parseTicks });
+                } else {
+                    if (parsing) {
+                        parseTicks++;
+                    }
+                    setImmediate(poll);
+                }
+            };
+            setImmediate(poll);
+        }
+        it('should be able to compile and run an easy script', function (done) {
+            streamScript(ret42Script, 5, function (stats) {
+                assert.strictEqual(stats.result, 42);
+                done();
+            });
+        });
+        it('should decode multi-byte characters split between chunks', function (done) {
+            streamScript("'\u00e9\u20ac\ud83d\ude00'.length + ':\u00e9\u20ac\ud83d\ude00'", 1, function (stats) {
+                assert.strictEqual(stats.result, "4:\u00e9\u20ac\ud83d\ude00");
+                done();
+            });
+        });
+        it('should not block the event loop while parsing a large script', function (done) {
+            var source = 'var sum = 0;\n';
+            for (var i = 0; i < 20000; i++) {
+                source += 'function f' + i + '(a, b) { var c = a * ' + i + '; return { x: [c, b, "' + i + '"] }; }\n';
+            }
+            source += 'sum = f19999(1, 2).x[0]; sum;';
+            streamScript(source, 16 * 1024, function (stats) {
+                assert.strictEqual(stats.result, 19999);
+                // the event loop kept running between the end of the source and the end of the parse
+                assert.ok(stats.parseTicks > 1);
+                done();
+            });
+        });
+    });
 });
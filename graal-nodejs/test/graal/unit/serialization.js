@@ -160,4 +160,21 @@ describe('Serialization', function () {
         assert.deepEqual(deserialized.ref1, object);
         assert.deepEqual(deserialized.ref2, object);
     })
+    it('should handle values larger than one serialization chunk', function () {
+        var largeTypedArray = new Uint8Array(100000);
+        for (var i = 0; i < largeTypedArray.length; i++) {
+            largeTypedArray[i] = i & 0xff;
+        }
+        var largeValues = [
+            'x'.repeat(100000),
+            'č'.repeat(100000),
+            largeTypedArray,
+            largeTypedArray.buffer,
+            new Float64Array(largeTypedArray.buffer, 8, 1000),
+            Array.from({ length: 10000 }, (_, i) => ({ index: i, value: 'v' + i }))
+        ];
+        for (var value of largeValues) {
+            assert.deepEqual(v8.deserialize(v8.serialize(value)), value);
+        }
+    });
 });
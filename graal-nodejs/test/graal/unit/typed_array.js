@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2018, 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+var assert = require('assert');
+
+var types = [Int8Array, Uint8Array, Uint8ClampedArray, Int16Array, Uint16Array,
+    Int32Array, Uint32Array, Float32Array, Float64Array];
+
+function sample(type, i) {
+    return (type === Float32Array || type === Float64Array) ? i + 0.5 : (i * 7) % 100;
+}
+
+describe('TypedArray bulk operations', function () {
+    types.forEach(function (type) {
+        describe(type.name, function () {
+            it('fill should replicate the converted value', function () {
+                var array = new type(37);
+                array.fill(5, 3, 30);
+                for (var i = 0; i < array.length; i++) {
+                    assert.strictEqual(array[i], (i >= 3 && i < 30) ? 5 : 0);
+                }
+                array.fill(-1);
+                var expected = new type([-1])[0];
+                for (var j = 0; j < array.length; j++) {
+                    assert.strictEqual(array[j], expected);
+                }
+            });
+            it('fill should respect the byte offset of the view', function () {
+                var buffer = new ArrayBuffer(type.BYTES_PER_ELEMENT * 20);
+                var view = new type(buffer, type.BYTES_PER_ELEMENT * 4, 10);
+                view.fill(9);
+                var whole = new type(buffer);
+                for (var i = 0; i < whole.length; i++) {
+                    assert.strictEqual(whole[i], (i >= 4 && i < 14) ? 9 : 0);
+                }
+            });
+            it('copyWithin should handle overlapping ranges', function () {
+                var array = new type(20);
+                var reference = [];
+                for (var i = 0; i < array.length; i++) {
+                    array[i] = sample(type, i);
+                    reference.push(array[i]);
+                }
+                array.copyWithin(2, 0, 15);
+                Array.prototype.copyWithin.call(reference, 2, 0, 15);
+                assert.deepStrictEqual(Array.from(array), reference);
+                array.copyWithin(0, 5);
+                Array.prototype.copyWithin.call(reference, 0, 5);
+                assert.deepStrictEqual(Array.from(array), reference);
+            });
+            it('reverse should reverse the elements of a view', function () {
+                var buffer = new ArrayBuffer(type.BYTES_PER_ELEMENT * 12);
+                var view = new type(buffer, type.BYTES_PER_ELEMENT, 9);
+                var reference = [];
+                for (var i = 0; i < view.length; i++) {
+                    view[i] = sample(type, i);
+                    reference.push(view[i]);
+                }
+                assert.strictEqual(view.reverse(), view);
+                assert.deepStrictEqual(Array.from(view), reference.reverse());
+                assert.strictEqual(new type(buffer)[0], 0);
+                assert.strictEqual(new type(buffer)[10], 0);
+            });
+            it('indexOf, lastIndexOf and includes should find numbers', function () {
+                var array = new type(50);
+                array[10] = sample(type, 3);
+                array[40] = sample(type, 3);
+                assert.strictEqual(array.indexOf(sample(type, 3)), 10);
+                assert.strictEqual(array.indexOf(sample(type, 3), 11), 40);
+                assert.strictEqual(array.indexOf(sample(type, 3), -5), -1);
+                assert.strictEqual(array.lastIndexOf(sample(type, 3)), 40);
+                assert.strictEqual(array.lastIndexOf(sample(type, 3), 39), 10);
+                assert.strictEqual(array.includes(sample(type, 3)), true);
+                assert.strictEqual(array.includes(sample(type, 3), 41), false);
+                assert.strictEqual(array.indexOf(-0), 0);
+                assert.strictEqual(array.indexOf('0'), -1);
+                assert.strictEqual(array.indexOf(0.25), -1);
+                assert.strictEqual(array.indexOf(NaN), -1);
+                assert.strictEqual(array.includes(NaN), false);
+            });
+        });
+    });
+    it('should not match values outside of the element range', function () {
+        assert.strictEqual(new Uint8Array([255]).indexOf(-1), -1);
+        assert.strictEqual(new Int8Array([-1]).indexOf(255), -1);
+        assert.strictEqual(new Uint32Array([0xFFFFFFFF]).indexOf(-1), -1);
+        assert.strictEqual(new Uint32Array([0xFFFFFFFF]).indexOf(0xFFFFFFFF), 0);
+        assert.strictEqual(new Int32Array([-1]).indexOf(0xFFFFFFFF), -1);
+        assert.strictEqual(new Float32Array([0.1]).indexOf(0.1), -1);
+        assert.strictEqual(new Float32Array([0.5]).indexOf(0.5), 0);
+    });
+    it('includes should find NaN in float arrays', function () {
+        assert.strictEqual(new Float64Array([1, NaN]).includes(NaN), true);
+        assert.strictEqual(new Float32Array([1, NaN]).includes(NaN), true);
+        assert.strictEqual(new Float64Array([1, NaN]).indexOf(NaN), -1);
+    });
+    it('should handle BigInt arrays', function () {
+        var array = new BigInt64Array(8);
+        array.fill(-3n, 2, 6);
+        assert.deepStrictEqual(Array.from(array), [0n, 0n, -3n, -3n, -3n, -3n, 0n, 0n]);
+        assert.strictEqual(array.indexOf(-3n), 2);
+        assert.strictEqual(array.indexOf(-3), -1);
+        assert.strictEqual(array.includes(0), false);
+        array.copyWithin(0, 2, 4);
+        array[7] = 7n;
+        array.reverse();
+        assert.deepStrictEqual(Array.from(array), [7n, 0n, -3n, -3n, -3n, -3n, -3n, -3n]);
+    });
+});
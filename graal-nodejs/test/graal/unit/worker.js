@@ -53,4 +53,96 @@ describe('Worker', function () {
             });
         }).timeout(5000);
     }
+    it('terminate should terminate Atomics.wait()', function (done) {
+        var sab = new SharedArrayBuffer(4);
+        var worker = new Worker(`
+            const { workerData } = require('worker_threads');
+            const ia = new Int32Array(workerData);
+            Atomics.store(ia, 0, 1);
+            Atomics.wait(ia, 0, 1, Infinity);
+        `, {eval: true, workerData: sab});
+        var ia = new Int32Array(sab);
+        (function terminateWhenWaiting() {
+            if (Atomics.load(ia, 0) === 0) {
+                setTimeout(terminateWhenWaiting, 10);
+            } else {
+                setTimeout(function () {
+                    worker.terminate(done);
+                }, 500);
+            }
+        })();
+    }).timeout(10000);
+});
+
+describe('Atomics.wait/notify', function () {
+    it('returns not-equal when the value differs', function () {
+        var ia = new Int32Array(new SharedArrayBuffer(4));
+        assert.strictEqual(Atomics.wait(ia, 0, 1), 'not-equal');
+    });
+    it('returns timed-out when nobody notifies', function () {
+        var ia = new Int32Array(new SharedArrayBuffer(4));
+        var start = Date.now();
+        assert.strictEqual(Atomics.wait(ia, 0, 0, 50), 'timed-out');
+        assert(Date.now() - start >= 45);
+    });
+    it('notify returns 0 when there are no waiters', function () {
+        var ia = new Int32Array(new SharedArrayBuffer(4));
+        assert.strictEqual(Atomics.notify(ia, 0), 0);
+    });
+    it('notify wakes the waiting workers once', function (done) {
+        var workersNum = 3;
+        // [0]: the waited-on value, [1]: number of workers about to wait
+        var sab = new SharedArrayBuffer(8);
+        var ia = new Int32Array(sab);
+        var results = [];
+        for (var i = 0; i < workersNum; i++) {
+            var worker = new Worker(`
+                const { parentPort, workerData } = require('worker_threads');
+                const ia = new Int32Array(workerData);
+                Atomics.add(ia, 1, 1);
+                parentPort.postMessage(Atomics.wait(ia, 0, 0, 30000));
+            `, {eval: true, workerData: sab});
+            worker.on('message', function (result) {
+                results.push(result);
+                if (results.length === workersNum) {
+                    assert.deepStrictEqual(results, ['ok', 'ok', 'ok']);
+                    done();
+                }
+            });
+        }
+        var woken = 0;
+        (function notifyWhenWaiting() {
+            if (Atomics.load(ia, 1) === workersNum) {
+                // a worker may not have suspended yet, so retry until all are woken
+                woken += Atomics.notify(ia, 0, 1);
+                assert(woken <= workersNum);
+            }
+            if (woken < workersNum) {
+                setTimeout(notifyWhenWaiting, 10);
+            }
+        })();
+    }).timeout(30000);
+    it('notify wakes waiters on the notified index only', function (done) {
+        var sab = new SharedArrayBuffer(8);
+        var ia = new Int32Array(sab);
+        var worker = new Worker(`
+            const { parentPort, workerData } = require('worker_threads');
+            const ia = new Int32Array(workerData);
+            Atomics.store(ia, 1, 1);
+            parentPort.postMessage(Atomics.wait(ia, 0, 0, 30000));
+        `, {eval: true, workerData: sab});
+        worker.on('message', function (result) {
+            assert.strictEqual(result, 'ok');
+            done();
+        });
+        (function notifyWhenWaiting() {
+            if (Atomics.load(ia, 1) === 1) {
+                assert.strictEqual(Atomics.notify(ia, 1), 0);
+                if (Atomics.notify(ia, 0) === 1) {
+                    return;
+                }
+            }
+            setTimeout(notifyWhenWaiting, 10);
+        })();
+    }).timeout(30000);
 });
@@ -7,6 +7,8 @@ const runBenchmark = require('../common/benchmark');
 runBenchmark('v8',
              [
                'method=getHeapStatistics',
+               'type=small',
+               'operation=roundtrip',
                'n=1'
              ],
              { NODEJS_BENCHMARK_ZERO_ALLOWED: 1 });